@@ -0,0 +1,47 @@
+#!/bin/bash
+
+# Payroll Management System - AOT + CDS fast-startup build
+#
+# 1. Builds the service jar with Spring AOT processing (./gradlew bootJar -Paot)
+# 2. Extracts it into an exploded, CDS-friendly layout (build/aot-cds/application)
+# 3. Runs a training start (dev profile, exits after context refresh) that records
+#    a JDK AOT cache (JDK 24+, JEP 483) or, on older JDKs, a dynamic AppCDS archive
+#
+# Start the result with:
+#   java -Dspring.aot.enabled=true -XX:AOTCache=application.aot -jar application.jar      (JDK 24+)
+#   java -Dspring.aot.enabled=true -XX:SharedArchiveFile=application.jsa -jar application.jar
+# from inside build/aot-cds/application. The training and runtime JDK must be the same build.
+
+set -euo pipefail
+
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+OUT_DIR="$ROOT_DIR/build/aot-cds"
+APP_DIR="$OUT_DIR/application"
+TRAINING_PROFILE="${TRAINING_PROFILE:-dev}"
+
+echo "🔧 Building AOT-processed jar..."
+cd "$ROOT_DIR"
+./gradlew clean bootJar -Paot -x test --no-daemon
+
+JAR="$(ls build/libs/*.jar | grep -v -- '-plain.jar' | head -n 1)"
+rm -rf "$OUT_DIR"
+mkdir -p "$OUT_DIR"
+
+echo "📦 Extracting $JAR for CDS..."
+java -Djarmode=tools -jar "$JAR" extract --destination "$APP_DIR"
+cd "$APP_DIR"
+
+TRAINING_OPTS="-Dspring.aot.enabled=true -Dspring.context.exit=onRefresh -Dspring.profiles.active=$TRAINING_PROFILE"
+JAVA_MAJOR="$(java -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')"
+
+if [ "${JAVA_MAJOR%%.*}" -ge 24 ]; then
+    echo "🏋️  Training run (JDK $JAVA_MAJOR AOT cache)..."
+    java $TRAINING_OPTS -XX:AOTMode=record -XX:AOTConfiguration=application.aotconf -jar application.jar
+    java -XX:AOTMode=create -XX:AOTConfiguration=application.aotconf -XX:AOTCache=application.aot -jar application.jar
+    rm -f application.aotconf
+    echo "✅ Run: cd $APP_DIR && java -Dspring.aot.enabled=true -XX:AOTCache=application.aot -jar application.jar"
+else
+    echo "🏋️  Training run (JDK $JAVA_MAJOR AppCDS)..."
+    java $TRAINING_OPTS -XX:ArchiveClassesAtExit=application.jsa -jar application.jar
+    echo "✅ Run: cd $APP_DIR && java -Dspring.aot.enabled=true -XX:SharedArchiveFile=application.jsa -jar application.jar"
+fi
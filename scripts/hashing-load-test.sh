@@ -0,0 +1,84 @@
+#!/bin/bash
+
+# Payroll Management System - Password hashing isolation load test
+#
+# Saturates the bounded BCrypt pool with concurrent logins and checks that other endpoints keep
+# their latency meanwhile. It probes PROBE_PATH sequentially twice: once idle, once during the
+# login flood. It reports latency percentiles for both runs and how the flood's logins ended
+# (200 hashed, 429 shed by the hashing pool).
+#
+# Usage: ./scripts/hashing-load-test.sh [logins] [concurrency] [probes]
+#   defaults: 2000 logins, 64 concurrent clients, 200 probes of PROBE_PATH=/api/v1/grades
+#   LOGIN_USER / LOGIN_PASSWORD pick the flooded account (default employee dev001 / admin123)
+
+set -euo pipefail
+
+LOGINS="${1:-2000}"
+CONCURRENCY="${2:-64}"
+PROBES="${3:-200}"
+BASE_URL="${BASE_URL:-http://localhost:20001/pms}"
+PROBE_PATH="${PROBE_PATH:-/api/v1/grades}"
+LOGIN_USER="${LOGIN_USER:-dev001}"
+LOGIN_PASSWORD="${LOGIN_PASSWORD:-admin123}"
+
+TOKEN=$(curl -sf -X POST "$BASE_URL/api/v1/auth/login" \
+    -H "Content-Type: application/json" \
+    -d "{\"username\":\"${ADMIN_USER:-admin}\",\"password\":\"${ADMIN_PASSWORD:-admin123}\"}" \
+    | sed -n 's/.*"accessToken":"\([^"]*\)".*/\1/p')
+if [ -z "$TOKEN" ]; then
+    echo "❌ Login failed"
+    exit 1
+fi
+
+# Sequential probes; prints one latency in ms per line
+probe() {
+    for _ in $(seq "$PROBES"); do
+        curl -s -o /dev/null -w "%{time_total}\n" "$BASE_URL$PROBE_PATH" -H "Authorization: Bearer $TOKEN"
+    done | awk '{ printf "%.1f\n", $1 * 1000 }'
+}
+
+# p50 / p95 / p99 / max of the latencies on stdin
+percentiles() {
+    sort -n | awk '{ v[NR] = $1 } END {
+        printf "p50 %7.1f ms   p95 %7.1f ms   p99 %7.1f ms   max %7.1f ms\n",
+            v[int(NR * 0.50) + 1], v[int(NR * 0.95) + 1], v[int(NR * 0.99) + 1], v[NR] }'
+}
+
+login() {
+    curl -s -o /dev/null -w "%{http_code}\n" -X POST "$BASE_URL/api/v1/auth/login" \
+        -H "Content-Type: application/json" \
+        -d "{\"username\":\"$LOGIN_USER\",\"password\":\"$LOGIN_PASSWORD\"}"
+}
+export -f login
+export BASE_URL LOGIN_USER LOGIN_PASSWORD
+
+echo "🔐 Calibration: $(curl -sf "$BASE_URL/actuator/passwordhashing" || echo unavailable)"
+echo "🏁 $PROBES probes of $PROBE_PATH, then again during $LOGINS logins from $CONCURRENCY clients"
+
+idle=$(probe)
+
+flood_out=$(mktemp)
+trap 'rm -f "$flood_out"' EXIT
+started=$(date +%s%3N)
+seq "$LOGINS" | xargs -P "$CONCURRENCY" -I{} bash -c 'login' > "$flood_out" &
+flood_pid=$!
+sleep 2 # let the hashing queue fill up
+loaded=$(probe)
+wait "$flood_pid"
+elapsed=$(( $(date +%s%3N) - started ))
+
+ok=$(grep -c '^200$' "$flood_out" || true)
+shed=$(grep -c '^429$' "$flood_out" || true)
+other=$(( LOGINS - ok - shed ))
+
+echo ""
+echo "Probe latency, idle:        $(percentiles <<< "$idle")"
+echo "Probe latency, saturated:   $(percentiles <<< "$loaded")"
+echo ""
+echo "Flood elapsed:              ${elapsed} ms"
+echo "Logins hashed (200):        $ok ($(awk "BEGIN { printf \"%.1f\", $ok * 1000 / $elapsed }")/s)"
+echo "Logins shed (429):          $shed"
+echo "Other responses:            $other"
+if [ "$ok" -eq 0 ] || [ "$shed" -eq 0 ]; then
+    echo "⚠️  Hashing pool was not saturated; raise the login count or concurrency"
+fi
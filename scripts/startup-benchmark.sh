@@ -0,0 +1,83 @@
+#!/bin/bash
+
+# Payroll Management System - Startup benchmark
+#
+# Compares the regular jar with the AOT + CDS build from scripts/build-aot-cds.sh:
+#   - cold start: "Started ... in X seconds" reported by Spring Boot
+#   - time to first request: wall time from JVM launch to the first 200 from /actuator/health
+#
+# Usage: ./scripts/startup-benchmark.sh [runs]   (default 5, dev profile / in-memory H2)
+# Build both variants first:
+#   ./gradlew bootJar -x test && cp build/libs/<jar> build/baseline.jar
+#   ./scripts/build-aot-cds.sh
+
+set -euo pipefail
+
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+RUNS="${1:-5}"
+PROFILE="${PROFILE:-dev}"
+PORT="${PORT:-20001}"
+HEALTH_URL="http://localhost:$PORT/pms/actuator/health"
+BASELINE_JAR="${BASELINE_JAR:-$ROOT_DIR/build/baseline.jar}"
+AOT_DIR="$ROOT_DIR/build/aot-cds/application"
+
+if [ ! -f "$BASELINE_JAR" ]; then
+    echo "❌ Baseline jar not found: $BASELINE_JAR"
+    exit 1
+fi
+if [ ! -f "$AOT_DIR/application.jar" ]; then
+    echo "❌ AOT/CDS build not found, run scripts/build-aot-cds.sh first"
+    exit 1
+fi
+
+if [ -f "$AOT_DIR/application.aot" ]; then
+    CDS_OPTS="-XX:AOTCache=application.aot"
+else
+    CDS_OPTS="-XX:SharedArchiveFile=application.jsa"
+fi
+
+now_ms() { date +%s%3N; }
+
+# run_once <workdir> <java args...>; prints "<started seconds> <first request ms>"
+run_once() {
+    local workdir="$1"; shift
+    local log_file
+    log_file="$(mktemp)"
+    local start
+    start="$(now_ms)"
+    (cd "$workdir" && exec java -Dspring.profiles.active="$PROFILE" "$@" > "$log_file" 2>&1) &
+    local pid=$!
+
+    until curl -sf -o /dev/null "$HEALTH_URL"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "❌ Application exited during startup, log: $log_file" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    local first_request=$(( $(now_ms) - start ))
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    local started
+    started="$(grep -oE 'Started [A-Za-z]+ in [0-9.]+ seconds' "$log_file" | grep -oE '[0-9]+\.[0-9]+' | head -n 1)"
+    rm -f "$log_file"
+    echo "$started $first_request"
+}
+
+benchmark() {
+    local label="$1"; shift
+    local total_started=0 total_first=0
+    for i in $(seq 1 "$RUNS"); do
+        read -r started first_request < <(run_once "$@")
+        echo "   $label run $i: started in ${started}s, first request after ${first_request}ms"
+        total_started="$(echo "$total_started + $started" | bc)"
+        total_first=$(( total_first + first_request ))
+    done
+    printf "📊 %-10s avg started %.3fs, avg first request %dms\n" "$label" \
+        "$(echo "scale=3; $total_started / $RUNS" | bc)" $(( total_first / RUNS ))
+}
+
+echo "🚀 Startup benchmark ($RUNS runs each, profile $PROFILE)"
+benchmark "baseline" "$ROOT_DIR" -jar "$BASELINE_JAR"
+benchmark "aot+cds" "$AOT_DIR" -Dspring.aot.enabled=true $CDS_OPTS -jar application.jar
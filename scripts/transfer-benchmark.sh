@@ -0,0 +1,72 @@
+#!/bin/bash
+
+# Payroll Management System - Concurrent transfer benchmark
+#
+# Fires transfers between a small set of accounts from many parallel clients and reports
+# throughput and outcome counts. Run it once per transfer mode and compare:
+#   APP_TRANSACTIONS_TRANSFER_MODE=SERIALIZABLE ./gradlew bootRun   (PostgreSQL profile)
+#   APP_TRANSACTIONS_TRANSFER_MODE=OPTIMISTIC ./gradlew bootRun
+#
+# Usage: ACCOUNTS="<uuid> <uuid> ..." ./scripts/transfer-benchmark.sh [requests] [concurrency]
+#   ACCOUNTS  two or more funded account ids; each request moves AMOUNT between a random pair
+#   defaults: 500 requests, 16 concurrent clients, AMOUNT=1.00
+
+set -euo pipefail
+
+REQUESTS="${1:-500}"
+CONCURRENCY="${2:-16}"
+BASE_URL="${BASE_URL:-http://localhost:20001/pms}"
+AMOUNT="${AMOUNT:-1.00}"
+read -r -a ACCOUNT_IDS <<< "${ACCOUNTS:-}"
+
+if [ "${#ACCOUNT_IDS[@]}" -lt 2 ]; then
+    echo "❌ Set ACCOUNTS to at least two account ids"
+    exit 1
+fi
+
+TOKEN=$(curl -sf -X POST "$BASE_URL/api/v1/auth/login" \
+    -H "Content-Type: application/json" \
+    -d "{\"username\":\"${ADMIN_USER:-admin}\",\"password\":\"${ADMIN_PASSWORD:-admin123}\"}" \
+    | sed -n 's/.*"accessToken":"\([^"]*\)".*/\1/p')
+if [ -z "$TOKEN" ]; then
+    echo "❌ Login failed"
+    exit 1
+fi
+
+metric() {
+    curl -sf "$BASE_URL/actuator/metrics/$1" | sed -n 's/.*"value":\([0-9.E]*\).*/\1/p' || echo 0
+}
+
+transfer() {
+    local n=$1 count=${#ACCOUNT_IDS[@]}
+    local from=$((RANDOM % count)) to=$((RANDOM % (count - 1)))
+    [ "$to" -ge "$from" ] && to=$((to + 1))
+    curl -s -o /dev/null -w "%{http_code}\n" -X POST "$BASE_URL/api/v1/transactions/transfer" \
+        -H "Authorization: Bearer $TOKEN" -H "Content-Type: application/json" \
+        -d "{\"debitAccountId\":\"${ACCOUNT_IDS[$from]}\",\"creditAccountId\":\"${ACCOUNT_IDS[$to]}\",\"amount\":$AMOUNT,\"referenceId\":\"BENCH-$$-$n\",\"description\":\"transfer benchmark\"}"
+}
+export -f transfer
+export BASE_URL TOKEN AMOUNT
+export ACCOUNTS_SERIALIZED="${ACCOUNT_IDS[*]}"
+
+conflicts_before=$(metric transactions.transfer.conflicts)
+aborted_before=$(metric transactions.transfer.aborted)
+
+echo "🏁 $REQUESTS transfers, $CONCURRENCY clients, ${#ACCOUNT_IDS[@]} accounts"
+started=$(date +%s%3N)
+results=$(seq "$REQUESTS" | xargs -P "$CONCURRENCY" -I{} bash -c \
+    'read -r -a ACCOUNT_IDS <<< "$ACCOUNTS_SERIALIZED"; transfer {}')
+elapsed=$(( $(date +%s%3N) - started ))
+
+ok=$(grep -c '^201$' <<< "$results" || true)
+conflict=$(grep -c '^409$' <<< "$results" || true)
+failed=$(( REQUESTS - ok - conflict ))
+
+echo ""
+echo "Elapsed:              ${elapsed} ms"
+echo "Throughput:           $(awk "BEGIN { printf \"%.1f\", $ok * 1000 / $elapsed }") transfers/s"
+echo "Succeeded (201):      $ok"
+echo "Aborted (409):        $conflict"
+echo "Other failures:       $failed"
+echo "Retried conflicts:    $(awk "BEGIN { print $(metric transactions.transfer.conflicts) - $conflicts_before }")"
+echo "Retries exhausted:    $(awk "BEGIN { print $(metric transactions.transfer.aborted) - $aborted_before }")"
@@ -0,0 +1,115 @@
+package org.sp.payroll_service.api.mapper;
+
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.config.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.sp.payroll_service.api.wallet.dto.AccountResponse;
+import org.sp.payroll_service.api.wallet.mapper.AccountMapper;
+import org.sp.payroll_service.domain.common.enums.AccountType;
+import org.sp.payroll_service.domain.common.enums.EntityStatus;
+import org.sp.payroll_service.domain.common.enums.OwnerType;
+import org.sp.payroll_service.domain.core.entity.Branch;
+import org.sp.payroll_service.domain.wallet.entity.Account;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-object cost of mapping an {@link Account} to its response: the generated MapStruct mapper,
+ * the hand-written constructor call it replaced, and ModelMapper configured like the removed
+ * ObjectMapperUtils (private field matching).
+ * <p>
+ * ModelMapper cannot construct records, so it maps into {@link AccountView}, a mutable copy of
+ * {@link AccountResponse}; that only flatters the reflective baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MappingBenchmark {
+
+    private Account account;
+    private AccountMapper generated;
+    private ModelMapper modelMapper;
+
+    @Setup
+    public void setUp() {
+        Branch branch = Branch.builder().branchName("Main Branch").build();
+        branch.setId(UUID.randomUUID());
+        account = Account.builder()
+                .ownerType(OwnerType.EMPLOYEE)
+                .ownerId(UUID.randomUUID())
+                .accountType(AccountType.SAVINGS)
+                .accountName("Benchmark Account")
+                .accountNumber("ACC-0000001")
+                .currentBalance(new BigDecimal("125000.50"))
+                .overdraftLimit(BigDecimal.ZERO)
+                .branch(branch)
+                .build();
+        account.setId(UUID.randomUUID());
+        account.setStatus(EntityStatus.ACTIVE);
+        account.setCreatedAt(Instant.now());
+        account.setCreatedBy(UUID.randomUUID());
+
+        generated = Mappers.getMapper(AccountMapper.class);
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setFieldMatchingEnabled(true)
+                .setFieldAccessLevel(Configuration.AccessLevel.PRIVATE);
+    }
+
+    @Benchmark
+    public AccountResponse mapStruct() {
+        return generated.toResponse(account);
+    }
+
+    @Benchmark
+    public AccountResponse handWritten() {
+        return new AccountResponse(
+                account.getId(),
+                account.getOwnerType(),
+                account.getOwnerId(),
+                account.getAccountType(),
+                account.getAccountName(),
+                account.getAccountNumber(),
+                account.getCurrentBalance(),
+                account.getOverdraftLimit(),
+                account.getBranch() != null ? account.getBranch().getId() : null,
+                account.getBranch() != null ? account.getBranch().getBranchName() : null,
+                account.getStatus(),
+                account.getCreatedAt(),
+                account.getCreatedBy());
+    }
+
+    @Benchmark
+    public AccountView modelMapper() {
+        return modelMapper.map(account, AccountView.class);
+    }
+
+    /**
+     * Mutable mirror of {@link AccountResponse} for ModelMapper.
+     */
+    public static class AccountView {
+        private UUID id;
+        private OwnerType ownerType;
+        private UUID ownerId;
+        private AccountType accountType;
+        private String accountName;
+        private String accountNumber;
+        private BigDecimal currentBalance;
+        private BigDecimal overdraftLimit;
+        private UUID branchId;
+        private String branchName;
+        private EntityStatus status;
+        private Instant createdAt;
+        private UUID createdBy;
+    }
+}
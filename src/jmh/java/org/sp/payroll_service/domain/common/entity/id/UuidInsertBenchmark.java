@@ -0,0 +1,107 @@
+package org.sp.payroll_service.domain.common.entity.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sp.payroll_service.utils.UuidUtils;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput into a UUID-keyed table with random (v4) against time-ordered (v7) ids, in
+ * JDBC batches the way Hibernate writes payroll items and transactions.
+ * <p>
+ * Each trial starts from a table pre-filled with {@code prefill} rows so the primary-key index
+ * no longer fits in a few pages. The PostgreSQL runs expect the docker-compose database; point
+ * them elsewhere with {@code -Dbench.pg.url}, {@code -Dbench.pg.user} and {@code -Dbench.pg.password}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"h2", "postgresql"})
+    public String database;
+
+    @Param({"v4", "v7"})
+    public String idVersion;
+
+    @Param({"200000"})
+    public int prefill;
+
+    private Connection connection;
+    private PreparedStatement insert;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = "postgresql".equals(database)
+                ? DriverManager.getConnection(
+                        System.getProperty("bench.pg.url", "jdbc:postgresql://localhost:5432/payroll_db"),
+                        System.getProperty("bench.pg.user", "payroll_user"),
+                        System.getProperty("bench.pg.password", "payroll_pass"))
+                : DriverManager.getConnection("jdbc:h2:mem:uuid_bench;DB_CLOSE_DELAY=-1", "sa", "");
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS uuid_insert_bench");
+            statement.execute("""
+                    CREATE TABLE uuid_insert_bench (
+                        id UUID PRIMARY KEY,
+                        amount NUMERIC(15, 2) NOT NULL,
+                        created_at TIMESTAMP NOT NULL
+                    )
+                    """);
+        }
+        connection.commit();
+        insert = connection.prepareStatement(
+                "INSERT INTO uuid_insert_bench (id, amount, created_at) VALUES (?, ?, ?)");
+        for (int inserted = 0; inserted < prefill; inserted += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS uuid_insert_bench");
+        }
+        connection.commit();
+        insert.close();
+        connection.close();
+    }
+
+    /**
+     * One committed JDBC batch; the score is rows per second.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        Timestamp now = Timestamp.from(Instant.now());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, "v7".equals(idVersion) ? UuidUtils.timeOrdered() : UUID.randomUUID());
+            insert.setBigDecimal(2, BigDecimal.valueOf(i, 2));
+            insert.setTimestamp(3, now);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+}
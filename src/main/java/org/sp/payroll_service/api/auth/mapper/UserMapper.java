@@ -0,0 +1,15 @@
+package org.sp.payroll_service.api.auth.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+import org.sp.payroll_service.api.auth.dto.UserResponse;
+import org.sp.payroll_service.domain.auth.entity.User;
+
+/**
+ * Compile-time generated mapper for {@link User} responses.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface UserMapper {
+
+    UserResponse toResponse(User user);
+}
@@ -0,0 +1,17 @@
+package org.sp.payroll_service.api.core.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.sp.payroll_service.api.core.dto.BankResponse;
+import org.sp.payroll_service.domain.core.entity.Bank;
+
+/**
+ * Compile-time generated mapper for {@link Bank} responses.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface BankMapper {
+
+    @Mapping(target = "swiftCode", source = "swiftBicCode")
+    BankResponse toResponse(Bank bank);
+}
@@ -0,0 +1,18 @@
+package org.sp.payroll_service.api.core.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.sp.payroll_service.api.core.dto.BranchResponse;
+import org.sp.payroll_service.domain.core.entity.Branch;
+
+/**
+ * Compile-time generated mapper for {@link Branch} responses.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface BranchMapper {
+
+    @Mapping(target = "bankId", source = "bank.id")
+    @Mapping(target = "bankName", source = "bank.name")
+    BranchResponse toResponse(Branch branch);
+}
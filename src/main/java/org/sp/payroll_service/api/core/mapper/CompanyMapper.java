@@ -0,0 +1,28 @@
+package org.sp.payroll_service.api.core.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.Named;
+import org.sp.payroll_service.api.core.dto.CompanyResponse;
+import org.sp.payroll_service.api.wallet.mapper.AccountMapper;
+import org.sp.payroll_service.domain.core.entity.Company;
+
+/**
+ * Compile-time generated mapper for {@link Company} responses.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = AccountMapper.class)
+public interface CompanyMapper {
+
+    @Mapping(target = "salaryFormulaId", source = "salaryFormula.id")
+    @Mapping(target = "mainAccount", source = "account")
+    CompanyResponse toResponse(Company company);
+
+    /**
+     * Company view nested in other responses; skips the main account so it is not loaded.
+     */
+    @Named("companySummary")
+    @Mapping(target = "salaryFormulaId", source = "salaryFormula.id")
+    @Mapping(target = "mainAccount", ignore = true)
+    CompanyResponse toSummary(Company company);
+}
@@ -0,0 +1,18 @@
+package org.sp.payroll_service.api.core.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.sp.payroll_service.api.core.dto.GradeResponse;
+import org.sp.payroll_service.domain.core.entity.Grade;
+
+/**
+ * Compile-time generated mapper for {@link Grade} responses.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface GradeMapper {
+
+    @Mapping(target = "parentId", source = "parent.id")
+    @Mapping(target = "parentName", source = "parent.name")
+    GradeResponse toResponse(Grade grade);
+}
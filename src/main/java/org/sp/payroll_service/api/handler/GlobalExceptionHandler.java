@@ -3,10 +3,12 @@ package org.sp.payroll_service.api.handler;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.config.BulkheadFullException;
 import org.sp.payroll_service.domain.common.dto.response.ErrorResponse;
 import org.sp.payroll_service.domain.common.exception.*; // Assuming your custom exceptions are here
 import org.sp.payroll_service.domain.payroll.exception.InsufficientFundsException;
 import org.sp.payroll_service.domain.payroll.exception.PayrollProcessingException;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -446,6 +448,9 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     @ExceptionHandler(DataAccessException.class)
     public ResponseEntity<ErrorResponse> handleDataAccessException(
             DataAccessException ex, WebRequest request) {
+        if (NestedExceptionUtils.getRootCause(ex) instanceof BulkheadFullException bulkheadFull) {
+            return bulkheadFullResponse(bulkheadFull, request);
+        }
 
         String traceId = UUID.randomUUID().toString();
 
@@ -468,6 +473,9 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     @ExceptionHandler(TransactionException.class)
     public ResponseEntity<ErrorResponse> handleTransactionException(
             TransactionException ex, WebRequest request) {
+        if (NestedExceptionUtils.getRootCause(ex) instanceof BulkheadFullException bulkheadFull) {
+            return bulkheadFullResponse(bulkheadFull, request);
+        }
 
         String traceId = UUID.randomUUID().toString();
 
@@ -484,6 +492,25 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
 
+    /**
+     * Connection bulkhead of the request's workload class was saturated (HTTP 503, retryable).
+     */
+    private ResponseEntity<ErrorResponse> bulkheadFullResponse(BulkheadFullException ex, WebRequest request) {
+        ErrorResponse errorResponse = getErrorResponse(
+                ErrorCodes.SYSTEM_CAPACITY_EXCEEDED,
+                "Service is busy, please retry shortly",
+                ErrorCategory.SYSTEM,
+                getRequestPath(request),
+                Map.of(),
+                UUID.randomUUID().toString()
+        );
+
+        log.warn("Connection bulkhead full: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
     // --- Fallback Handler (Catch all uncaught exceptions) ---
 
     /**
@@ -15,6 +15,12 @@ import org.sp.payroll_service.api.payroll.dto.PayrollBatchSummary;
 import org.sp.payroll_service.api.payroll.dto.PayrollItemResponse;
 import org.sp.payroll_service.api.payroll.dto.PayrollResult;
 import org.sp.payroll_service.api.payroll.dto.SalaryCalculation;
+import org.sp.payroll_service.domain.common.service.IdempotencyService;
+import org.sp.payroll_service.domain.payroll.dto.PayrollQueueState;
+import org.sp.payroll_service.domain.payroll.dto.PayrollReversalProgress;
+import org.sp.payroll_service.domain.payroll.dto.PayrollRunStatus;
+import org.sp.payroll_service.domain.payroll.service.PayrollReversalService;
+import org.sp.payroll_service.domain.payroll.service.PayrollRunScheduler;
 import org.sp.payroll_service.domain.payroll.service.PayrollService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -44,6 +50,9 @@ import java.util.UUID;
 public class PayrollController {
 
     private final PayrollService payrollService;
+    private final PayrollReversalService payrollReversalService;
+    private final PayrollRunScheduler payrollRunScheduler;
+    private final IdempotencyService idempotencyService;
 
         @Operation(summary = "Get first pending or partial pending payroll batch for a company")
         @ApiResponses(value = {
@@ -160,23 +169,70 @@ public class PayrollController {
             @ApiResponse(responseCode = "200", description = "Payroll processed successfully"),
             @ApiResponse(responseCode = "400", description = "Insufficient funds or processing error"),
             @ApiResponse(responseCode = "404", description = "Payroll batch not found"),
-            @ApiResponse(responseCode = "403", description = "Access denied")
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "409", description = "Same Idempotency-Key still in progress"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key reused with a different batch")
     })
     @PostMapping("/batches/{batchId}/process")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<PayrollResult> processPayroll(
+            @Parameter(description = "Client key that makes retries of this run safe")
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @Parameter(description = "Payroll batch ID") @PathVariable UUID batchId) {
         log.warn("Processing payroll batch with ACID transactions: {}", batchId);
-        PayrollResult result = payrollService.processPayroll(batchId);
-
-        if (result.success()) {
-            log.info("Payroll batch {} processed successfully. Processed: {}, Failed: {}",
-                    batchId, result.successfulPayments(), result.failedPayments());
-            return ResponseEntity.ok(result);
-        } else {
-            log.error("Payroll batch {} failed: {}", batchId, result.errorMessages());
-            return ResponseEntity.badRequest().body(result);
-        }
+        return idempotencyService.execute(idempotencyKey, "payroll.process", batchId, PayrollResult.class, () -> {
+            PayrollResult result = payrollRunScheduler.runAndWait(batchId);
+
+            if (result.success()) {
+                log.info("Payroll batch {} processed successfully. Processed: {}, Failed: {}",
+                        batchId, result.successfulPayments(), result.failedPayments());
+                return ResponseEntity.ok(result);
+            } else {
+                log.error("Payroll batch {} failed: {}", batchId, result.errorMessages());
+                return ResponseEntity.badRequest().body(result);
+            }
+        });
+    }
+
+    @Operation(summary = "Queue payroll batch for processing")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Batch queued, or the run already queued or running"),
+            @ApiResponse(responseCode = "400", description = "Batch is not PENDING"),
+            @ApiResponse(responseCode = "404", description = "Payroll batch not found"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PostMapping("/batches/{batchId}/schedule")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PayrollRunStatus> schedulePayroll(
+            @Parameter(description = "Payroll batch ID") @PathVariable UUID batchId) {
+        log.info("Queuing payroll batch: {}", batchId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(payrollRunScheduler.submit(batchId));
+    }
+
+    @Operation(summary = "Get status of a queued or finished payroll run")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Run status retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "No run of this batch on this instance"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @GetMapping("/batches/{batchId}/run")
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYER')")
+    public ResponseEntity<PayrollRunStatus> getPayrollRun(
+            @Parameter(description = "Payroll batch ID") @PathVariable UUID batchId) {
+        return payrollRunScheduler.getRun(batchId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Get payroll run queues per company")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Queue state retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @GetMapping("/scheduler/queue")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PayrollQueueState> getQueueState() {
+        return ResponseEntity.ok(payrollRunScheduler.queueState());
     }
 
     // --- PAYROLL ITEM MANAGEMENT ---
@@ -211,4 +267,51 @@ public class PayrollController {
         log.info("Cancelling payroll batch: {}", batchId);
         return ResponseEntity.ok(payrollService.cancelBatch(batchId));
     }
+
+    @Operation(summary = "Recalculate the items of a pending payroll batch affected by recent changes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Payroll batch refreshed successfully"),
+            @ApiResponse(responseCode = "400", description = "Batch is not pending"),
+            @ApiResponse(responseCode = "404", description = "Payroll batch not found"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PostMapping("/batches/{batchId}/refresh")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PayrollBatchResponse> refreshBatch(
+            @Parameter(description = "Payroll batch ID") @PathVariable UUID batchId) {
+        log.info("Refreshing pending payroll batch: {}", batchId);
+        payrollService.refreshPendingBatch(batchId);
+        return ResponseEntity.ok(payrollService.getBatchById(batchId));
+    }
+
+    @Operation(summary = "Reverse all PAID items of a processed payroll batch")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Reversal started; poll its progress"),
+            @ApiResponse(responseCode = "400", description = "Batch cannot be reversed"),
+            @ApiResponse(responseCode = "404", description = "Payroll batch not found"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PostMapping("/batches/{batchId}/reverse")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PayrollReversalProgress> reverseBatch(
+            @Parameter(description = "Payroll batch ID") @PathVariable UUID batchId,
+            @Parameter(description = "Reason for reversal") @RequestBody String reason) {
+        log.warn("Reversing payroll batch: {} with reason: {}", batchId, reason);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(payrollReversalService.startBatchReversal(batchId, reason));
+    }
+
+    @Operation(summary = "Get progress of a payroll batch reversal")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Progress retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "No reversal of this batch on this instance"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @GetMapping("/batches/{batchId}/reversal")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PayrollReversalProgress> getReversalProgress(
+            @Parameter(description = "Payroll batch ID") @PathVariable UUID batchId) {
+        return payrollReversalService.getReversalProgress(batchId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 }
\ No newline at end of file
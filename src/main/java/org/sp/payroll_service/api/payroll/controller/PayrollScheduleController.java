@@ -0,0 +1,98 @@
+package org.sp.payroll_service.api.payroll.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.api.payroll.dto.CreatePayrollScheduleRequest;
+import org.sp.payroll_service.api.payroll.dto.PayrollScheduleResponse;
+import org.sp.payroll_service.domain.payroll.service.PayrollScheduleService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST Controller for recurring payroll schedules.
+ * <p>
+ * This is a **synchronous** controller implementation, calling the service directly.
+ */
+@Tag(name = "Payroll Schedules", description = "Recurring payroll with batches prepared ahead of payday")
+@RestController
+@RequestMapping("/api/v1/payroll/schedules")
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollScheduleController {
+
+    private final PayrollScheduleService payrollScheduleService;
+
+    @Operation(summary = "Create or replace a company's payroll schedule")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Schedule saved"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @ApiResponse(responseCode = "404", description = "Company or funding account not found"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PutMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PayrollScheduleResponse> saveSchedule(
+            @Valid @RequestBody CreatePayrollScheduleRequest request) {
+        log.info("Saving payroll schedule for company: {}", request.companyId());
+        return ResponseEntity.ok(payrollScheduleService.saveSchedule(request));
+    }
+
+    @Operation(summary = "Get all payroll schedules")
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYER')")
+    public ResponseEntity<List<PayrollScheduleResponse>> getAllSchedules() {
+        return ResponseEntity.ok(payrollScheduleService.getAllSchedules());
+    }
+
+    @Operation(summary = "Get payroll schedule by ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Schedule found"),
+            @ApiResponse(responseCode = "404", description = "Schedule not found"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @GetMapping("/{scheduleId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYER')")
+    public ResponseEntity<PayrollScheduleResponse> getSchedule(
+            @Parameter(description = "Schedule ID") @PathVariable UUID scheduleId) {
+        return ResponseEntity.ok(payrollScheduleService.getSchedule(scheduleId));
+    }
+
+    @Operation(summary = "Generate or refresh the next scheduled batch now")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch prepared"),
+            @ApiResponse(responseCode = "404", description = "Schedule not found"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PostMapping("/{scheduleId}/prepare")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PayrollScheduleResponse> prepareNow(
+            @Parameter(description = "Schedule ID") @PathVariable UUID scheduleId) {
+        log.info("Preparing scheduled payroll now for schedule: {}", scheduleId);
+        return ResponseEntity.ok(payrollScheduleService.prepareNow(scheduleId));
+    }
+
+    @Operation(summary = "Disable a payroll schedule")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Schedule disabled"),
+            @ApiResponse(responseCode = "404", description = "Schedule not found"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @DeleteMapping("/{scheduleId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> disableSchedule(
+            @Parameter(description = "Schedule ID") @PathVariable UUID scheduleId) {
+        log.warn("Disabling payroll schedule: {}", scheduleId);
+        payrollScheduleService.disableSchedule(scheduleId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,53 @@
+package org.sp.payroll_service.api.payroll.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.domain.payroll.dto.ReconciliationReport;
+import org.sp.payroll_service.domain.payroll.service.ReconciliationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for ledger reconciliation runs and their mismatch reports.
+ */
+@Tag(name = "Ledger Reconciliation", description = "Balance-vs-journal, journal-vs-transactions and batch-vs-items reconciliation")
+@RestController
+@RequestMapping("/api/v1/reconciliation")
+@RequiredArgsConstructor
+@Slf4j
+public class ReconciliationController {
+
+    private final ReconciliationService reconciliationService;
+
+    @Operation(summary = "Start a reconciliation run in the background")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Run started, or the run already in progress"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PostMapping("/runs")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReconciliationReport> startRun() {
+        log.info("Starting ledger reconciliation on request");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reconciliationService.start());
+    }
+
+    @Operation(summary = "Get the report of the latest reconciliation run")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "No reconciliation has run on this instance"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @GetMapping("/report")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReconciliationReport> getLatestReport() {
+        return reconciliationService.latestReport()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
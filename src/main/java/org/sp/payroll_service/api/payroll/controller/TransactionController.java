@@ -12,6 +12,7 @@ import org.sp.payroll_service.api.payroll.dto.TransactionFilter;
 import org.sp.payroll_service.api.payroll.dto.TransactionResponse;
 import org.sp.payroll_service.api.payroll.dto.TransferRequest;
 import org.sp.payroll_service.domain.common.dto.response.Money;
+import org.sp.payroll_service.domain.common.service.IdempotencyService;
 import org.sp.payroll_service.domain.payroll.service.TransactionService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -21,6 +22,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -38,6 +40,7 @@ import java.util.UUID;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final IdempotencyService idempotencyService;
 
     // --- MONEY TRANSFER OPERATIONS ---
 
@@ -45,17 +48,21 @@ public class TransactionController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Transfer executed successfully"),
             @ApiResponse(responseCode = "400", description = "Insufficient funds or invalid request"),
-            @ApiResponse(responseCode = "403", description = "Access denied")
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "409", description = "Concurrent update, or same Idempotency-Key still in progress"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key reused with a different request")
     })
     @PostMapping("/transfer")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<TransactionResponse> executeTransfer(
+            @Parameter(description = "Client key that makes retries of this transfer safe")
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody TransferRequest request) {
         log.info("Executing transfer: {} from {} to {}",
                 request.amount(), request.debitAccountId(), request.creditAccountId());
 
-        TransactionResponse transaction = transactionService.executeTransfer(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(transaction);
+        return idempotencyService.execute(idempotencyKey, "transactions.transfer", request, TransactionResponse.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(transactionService.executeTransfer(request)));
     }
 
     // --- BALANCE QUERIES ---
@@ -69,9 +76,14 @@ public class TransactionController {
     @GetMapping("/accounts/{accountId}/balance")
     @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYER')")
     public ResponseEntity<Money> getAccountBalance(
-            @Parameter(description = "Account ID") @PathVariable UUID accountId) {
+            @Parameter(description = "Account ID") @PathVariable UUID accountId,
+            @Parameter(description = "Balance at this instant instead of now (ISO-8601)")
+            @RequestParam(required = false) Instant asOf) {
         log.debug("Retrieving balance for account: {}", accountId);
 
+        if (asOf != null) {
+            return ResponseEntity.ok(transactionService.getAccountBalanceAsOf(accountId, asOf));
+        }
         return ResponseEntity.ok(transactionService.getAccountBalance(accountId));
     }
 
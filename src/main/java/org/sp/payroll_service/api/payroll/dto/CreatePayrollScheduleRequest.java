@@ -0,0 +1,51 @@
+package org.sp.payroll_service.api.payroll.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * DTO for creating or replacing a company's recurring payroll schedule.
+ */
+@Builder
+@Schema(description = "Request to schedule recurring monthly payroll for a company")
+public record CreatePayrollScheduleRequest(
+
+    @NotNull(message = "Company ID is required")
+    @Schema(description = "ID of the company paid by this schedule")
+    UUID companyId,
+
+    @NotNull(message = "Funding account ID is required")
+    @Schema(description = "ID of the company account that funds every run")
+    UUID fundingAccountId,
+
+    @NotBlank(message = "Schedule name is required")
+    @Schema(description = "Batch name prefix; the payroll month is appended", example = "Monthly Payroll")
+    String name,
+
+    @NotNull(message = "Base salary for the lowest grade is required")
+    @DecimalMin(value = "0.01", message = "Base salary must be greater than zero")
+    @Schema(description = "Base salary for the lowest grade (Grade 6)", example = "30000.00")
+    BigDecimal baseSalary,
+
+    @NotNull(message = "Day of month is required")
+    @Min(value = 1, message = "Day of month must be between 1 and 31")
+    @Max(value = 31, message = "Day of month must be between 1 and 31")
+    @Schema(description = "Payday in each month; shorter months pay on their last day", example = "25")
+    Integer dayOfMonth,
+
+    @Min(value = 0, message = "Lead days cannot be negative")
+    @Max(value = 27, message = "Lead days must be less than 28")
+    @Schema(description = "Days before payday the batch is generated", example = "3")
+    Integer leadDays,
+
+    @Schema(description = "Disburse automatically on payday; otherwise the batch waits for a manual run", example = "true")
+    Boolean autoProcess
+) {}
@@ -0,0 +1,59 @@
+package org.sp.payroll_service.api.payroll.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import org.sp.payroll_service.domain.common.dto.response.AuditInfo;
+import org.sp.payroll_service.domain.common.dto.response.Money;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * DTO representing a recurring payroll schedule.
+ */
+@Builder
+@Schema(description = "Recurring payroll schedule details")
+public record PayrollScheduleResponse(
+
+    @Schema(description = "Unique identifier of the schedule")
+    UUID id,
+
+    @Schema(description = "Company paid by this schedule")
+    UUID companyId,
+
+    @Schema(description = "Company account that funds every run")
+    UUID fundingAccountId,
+
+    @Schema(description = "Batch name prefix", example = "Monthly Payroll")
+    String name,
+
+    @Schema(description = "Base salary for the lowest grade")
+    Money baseSalary,
+
+    @Schema(description = "Payday in each month", example = "25")
+    int dayOfMonth,
+
+    @Schema(description = "Days before payday the batch is generated", example = "3")
+    int leadDays,
+
+    @Schema(description = "Whether payday disburses automatically")
+    boolean autoProcess,
+
+    @Schema(description = "Whether the schedule is active")
+    boolean enabled,
+
+    @Schema(description = "Next payday")
+    LocalDate nextPayday,
+
+    @Schema(description = "Date from which the next batch is generated")
+    LocalDate generationDate,
+
+    @Schema(description = "Batch pre-generated for the next payday, if generated yet")
+    UUID pendingBatchId,
+
+    @Schema(description = "When the pending batch was last generated or refreshed")
+    Instant lastGeneratedAt,
+
+    AuditInfo auditInfo
+) {}
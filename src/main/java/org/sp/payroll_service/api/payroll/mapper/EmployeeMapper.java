@@ -0,0 +1,21 @@
+package org.sp.payroll_service.api.payroll.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.sp.payroll_service.api.core.mapper.CompanyMapper;
+import org.sp.payroll_service.api.core.mapper.GradeMapper;
+import org.sp.payroll_service.api.payroll.dto.EmployeeResponse;
+import org.sp.payroll_service.api.wallet.mapper.AccountMapper;
+import org.sp.payroll_service.domain.payroll.entity.Employee;
+
+/**
+ * Compile-time generated mapper for {@link Employee} responses.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING,
+        uses = {CompanyMapper.class, GradeMapper.class, AccountMapper.class})
+public interface EmployeeMapper {
+
+    @Mapping(target = "company", source = "company", qualifiedByName = "companySummary")
+    EmployeeResponse toResponse(Employee employee);
+}
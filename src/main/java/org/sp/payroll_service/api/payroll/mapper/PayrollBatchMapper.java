@@ -1,58 +1,41 @@
 package org.sp.payroll_service.api.payroll.mapper;
 
-import org.sp.payroll_service.api.payroll.dto.*;
-import org.sp.payroll_service.domain.common.dto.response.AuditInfo;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.sp.payroll_service.api.payroll.dto.PayrollBatchResponse;
+import org.sp.payroll_service.api.payroll.dto.PayrollBatchSummary;
 import org.sp.payroll_service.domain.common.dto.response.Money;
 import org.sp.payroll_service.domain.payroll.entity.PayrollBatch;
-import org.springframework.stereotype.Component;
 
 /**
- * Mapper class for converting between PayrollBatch entities and DTOs.
+ * Compile-time generated mapper for {@link PayrollBatch} responses. Counts and amounts are
+ * aggregated from the batch's items by the caller.
  */
-@Component
-public class PayrollBatchMapper {
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = ValueMapper.class)
+public interface PayrollBatchMapper {
 
-    public PayrollBatchResponse toResponse(PayrollBatch batch, Integer employeeCount, 
-                                         Integer successfulPayments, Integer failedPayments,
-                                         Money totalAmount, Money executedAmount, Money basicBaseAmount) {
-        return PayrollBatchResponse.builder()
-                .id(batch.getId())
-                .name(batch.getName())
-                .payrollMonth(batch.getPayrollMonth())
-                .payrollStatus(batch.getPayrollStatus())
-                .totalAmount(totalAmount)
-                .executedAmount(executedAmount)
-                .basicBaseAmount(basicBaseAmount)
-                .companyId(batch.getCompany() != null ? batch.getCompany().getId() : null)
-                .companyName(batch.getCompany() != null ? batch.getCompany().getName() : null)
-                .fundingAccountId(batch.getFundingAccountId())
-                .employeeCount(employeeCount)
-                .successfulPayments(successfulPayments)
-                .failedPayments(failedPayments)
-                .description(batch.getDescription())
-                .auditInfo(AuditInfo.builder()
-                        .createdAt(batch.getCreatedAt())
-                        .lastModifiedAt(batch.getUpdatedAt())
-                        .createdBy(batch.getCreatedBy() != null ? batch.getCreatedBy().toString() : null)
-                        .lastModifiedBy(batch.getUpdatedBy() != null ? batch.getUpdatedBy().toString() : null)
-                        .version(batch.getVersion())
-                        .build())
-                .build();
-    }
+    @Mapping(target = "id", source = "batch.id")
+    @Mapping(target = "totalAmount", source = "totalAmount")
+    @Mapping(target = "executedAmount", source = "executedAmount")
+    @Mapping(target = "basicBaseAmount", source = "basicBaseAmount")
+    @Mapping(target = "companyId", source = "batch.company.id")
+    @Mapping(target = "companyName", source = "batch.company.name")
+    @Mapping(target = "employeeCount", source = "employeeCount")
+    @Mapping(target = "successfulPayments", source = "successfulPayments")
+    @Mapping(target = "failedPayments", source = "failedPayments")
+    @Mapping(target = "auditInfo", source = "batch")
+    PayrollBatchResponse toResponse(PayrollBatch batch, Integer employeeCount,
+                                    Integer successfulPayments, Integer failedPayments,
+                                    Money totalAmount, Money executedAmount, Money basicBaseAmount);
 
-    public PayrollBatchSummary toSummary(PayrollBatch batch, Integer employeeCount, 
-                                        Integer successfulPayments, Integer failedPayments,
-                                        Money totalAmount) {
-        return PayrollBatchSummary.builder()
-                .id(batch.getId())
-                .name(batch.getName())
-                .payrollMonth(batch.getPayrollMonth())
-                .payrollStatus(batch.getPayrollStatus())
-                .totalAmount(totalAmount)
-                .companyName(batch.getCompany() != null ? batch.getCompany().getName() : null)
-                .employeeCount(employeeCount)
-                .successfulPayments(successfulPayments)
-                .failedPayments(failedPayments)
-                .build();
-    }
-}
\ No newline at end of file
+    @Mapping(target = "id", source = "batch.id")
+    @Mapping(target = "totalAmount", source = "totalAmount")
+    @Mapping(target = "companyName", source = "batch.company.name")
+    @Mapping(target = "employeeCount", source = "employeeCount")
+    @Mapping(target = "successfulPayments", source = "successfulPayments")
+    @Mapping(target = "failedPayments", source = "failedPayments")
+    PayrollBatchSummary toSummary(PayrollBatch batch, Integer employeeCount,
+                                  Integer successfulPayments, Integer failedPayments,
+                                  Money totalAmount);
+}
@@ -1,54 +1,44 @@
 package org.sp.payroll_service.api.payroll.mapper;
 
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
 import org.sp.payroll_service.api.payroll.dto.PayrollItemResponse;
 import org.sp.payroll_service.api.payroll.dto.SalaryCalculation;
 import org.sp.payroll_service.domain.common.dto.response.Money;
 import org.sp.payroll_service.domain.payroll.entity.Employee;
 import org.sp.payroll_service.domain.payroll.entity.PayrollItem;
-import org.springframework.stereotype.Component;
-
-import java.math.BigDecimal;
 
 /**
- * Mapper class for converting between PayrollItem entities and DTOs.
+ * Compile-time generated mapper for {@link PayrollItem} responses and salary calculations.
  */
-@Component
-public class PayrollItemMapper {
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = ValueMapper.class, imports = Money.class)
+public interface PayrollItemMapper {
 
-    public PayrollItemResponse toResponse(PayrollItem item) {
-        Employee employee = item.getEmployee();
-        return PayrollItemResponse.builder()
-                .id(item.getId())
-                .employeeId(employee.getId())
-                .employeeBizId(employee.getCode())
-                .employeeName(employee.getName())
-                .grade(employee.getGrade() != null ? employee.getGrade().getName() : null)
-                .basicSalary(Money.of(item.getBasics()))
-                .hra(Money.of(item.getHra()))
-                .medicalAllowance(Money.of(item.getMedicalAllowance()))
-                .grossSalary(Money.of(item.getGross()))
-                .netAmount(Money.of(item.getAmount()))
-                .status(item.getPayrollItemStatus())
-                .failureReason(item.getFailureReason())
-                .accountNumber(employee.getAccount() != null ? employee.getAccount().getAccountNumber() : null)
-                .build();
-    }
+    @Mapping(target = "employeeId", source = "employee.id")
+    @Mapping(target = "employeeBizId", source = "employee.code")
+    @Mapping(target = "employeeName", source = "employee.name")
+    @Mapping(target = "grade", source = "employee.grade.name")
+    @Mapping(target = "basicSalary", source = "basics")
+    @Mapping(target = "grossSalary", source = "gross")
+    @Mapping(target = "netAmount", source = "amount")
+    @Mapping(target = "status", source = "payrollItemStatus")
+    @Mapping(target = "accountNumber", source = "employee.account.accountNumber")
+    PayrollItemResponse toResponse(PayrollItem item);
 
-    public SalaryCalculation toSalaryCalculation(Employee employee, PayrollItem item) {
-        return SalaryCalculation.builder()
-                .employeeId(employee.getId())
-                .employeeBizId(employee.getCode())
-                .employeeName(employee.getName())
-                .gradeName(employee.getGrade() != null ? employee.getGrade().getName() : null)
-                .gradeRank(employee.getGrade() != null ? employee.getGrade().getRank() : null)
-                .basicSalary(Money.of(item.getBasics()))
-                .hra(Money.of(item.getHra()))
-                .medicalAllowance(Money.of(item.getMedicalAllowance()))
-                .grossSalary(Money.of(item.getGross()))
-                .netAmount(Money.of(item.getAmount()))
-                .accountId(employee.getAccount() != null ? employee.getAccount().getId() : null)
-                .accountNumber(employee.getAccount() != null ? employee.getAccount().getAccountNumber() : null)
-                .currentBalance(employee.getAccount() != null ? Money.of(employee.getAccount().getCurrentBalance()) : Money.of(BigDecimal.ZERO))
-                .build();
-    }
-}
\ No newline at end of file
+    @Mapping(target = "employeeId", source = "employee.id")
+    @Mapping(target = "employeeBizId", source = "employee.code")
+    @Mapping(target = "employeeName", source = "employee.name")
+    @Mapping(target = "gradeName", source = "employee.grade.name")
+    @Mapping(target = "gradeRank", source = "employee.grade.rank")
+    @Mapping(target = "basicSalary", source = "item.basics")
+    @Mapping(target = "hra", source = "item.hra")
+    @Mapping(target = "medicalAllowance", source = "item.medicalAllowance")
+    @Mapping(target = "grossSalary", source = "item.gross")
+    @Mapping(target = "netAmount", source = "item.amount")
+    @Mapping(target = "accountId", source = "employee.account.id")
+    @Mapping(target = "accountNumber", source = "employee.account.accountNumber")
+    @Mapping(target = "currentBalance", source = "employee.account.currentBalance",
+            defaultExpression = "java(Money.zero())")
+    SalaryCalculation toSalaryCalculation(Employee employee, PayrollItem item);
+}
@@ -0,0 +1,19 @@
+package org.sp.payroll_service.api.payroll.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.sp.payroll_service.api.payroll.dto.PayrollScheduleResponse;
+import org.sp.payroll_service.domain.payroll.entity.PayrollSchedule;
+
+/**
+ * Compile-time generated mapper for {@link PayrollSchedule} responses.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = ValueMapper.class)
+public interface PayrollScheduleMapper {
+
+    @Mapping(target = "companyId", source = "company.id")
+    @Mapping(target = "generationDate", expression = "java(schedule.generationDate())")
+    @Mapping(target = "auditInfo", source = "schedule")
+    PayrollScheduleResponse toResponse(PayrollSchedule schedule);
+}
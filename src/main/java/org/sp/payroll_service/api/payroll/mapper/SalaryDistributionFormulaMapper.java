@@ -0,0 +1,15 @@
+package org.sp.payroll_service.api.payroll.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+import org.sp.payroll_service.api.payroll.dto.SalaryDistributionFormulaResponse;
+import org.sp.payroll_service.domain.payroll.entity.SalaryDistributionFormula;
+
+/**
+ * Compile-time generated mapper for {@link SalaryDistributionFormula} responses.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface SalaryDistributionFormulaMapper {
+
+    SalaryDistributionFormulaResponse toResponse(SalaryDistributionFormula formula);
+}
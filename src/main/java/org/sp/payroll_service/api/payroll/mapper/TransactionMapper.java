@@ -1,41 +1,34 @@
 package org.sp.payroll_service.api.payroll.mapper;
 
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
 import org.sp.payroll_service.api.payroll.dto.TransactionResponse;
 import org.sp.payroll_service.domain.common.dto.response.AuditInfo;
-import org.sp.payroll_service.domain.common.dto.response.Money;
 import org.sp.payroll_service.domain.payroll.entity.Transaction;
-import org.springframework.stereotype.Component;
+import org.sp.payroll_service.repository.projection.TransactionListRow;
 
 /**
- * Mapper class for converting between Transaction entities and DTOs.
+ * Compile-time generated mapper for {@link Transaction} responses.
  */
-@Component
-public class TransactionMapper {
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = ValueMapper.class)
+public interface TransactionMapper {
 
-    public TransactionResponse toResponse(Transaction transaction) {
-        return TransactionResponse.builder()
-                .id(transaction.getId())
-                .amount(Money.of(transaction.getAmount()))
-                .type(transaction.getType())
-                .category(transaction.getCategory())
-                .status(transaction.getStatus())
-                .transactionStatus(transaction.getTransactionStatus())
-                .debitAccountId(transaction.getDebitAccount() != null ? transaction.getDebitAccount().getId() : null)
-                .debitAccountName(transaction.getDebitAccount() != null ? transaction.getDebitAccount().getAccountName() : null)
-                .creditAccountId(transaction.getCreditAccount() != null ? transaction.getCreditAccount().getId() : null)
-                .creditAccountName(transaction.getCreditAccount() != null ? transaction.getCreditAccount().getAccountName() : null)
-                .payrollBatchId(transaction.getPayrollBatch() != null ? transaction.getPayrollBatch().getId() : null)
-                .referenceId(transaction.getReferenceId())
-                .description(transaction.getDescription())
-                .requestedAt(transaction.getRequestedAt())
-                .processedAt(transaction.getProcessedAt())
-                .auditInfo(AuditInfo.builder()
-                        .createdAt(transaction.getCreatedAt())
-                        .lastModifiedAt(transaction.getUpdatedAt())
-                        .createdBy(transaction.getCreatedBy() != null ? transaction.getCreatedBy().toString() : null)
-                        .lastModifiedBy(transaction.getUpdatedBy() != null ? transaction.getUpdatedBy().toString() : null)
-                        .version(transaction.getVersion())
-                        .build())
-                .build();
-    }
-}
\ No newline at end of file
+    @Mapping(target = "debitAccountId", source = "debitAccount.id")
+    @Mapping(target = "debitAccountName", source = "debitAccount.accountName")
+    @Mapping(target = "creditAccountId", source = "creditAccount.id")
+    @Mapping(target = "creditAccountName", source = "creditAccount.accountName")
+    @Mapping(target = "payrollBatchId", source = "payrollBatch.id")
+    @Mapping(target = "auditInfo", source = "transaction")
+    TransactionResponse toResponse(Transaction transaction);
+
+    /**
+     * Maps a projected list row; produces the same shape as {@link #toResponse(Transaction)}.
+     */
+    @Mapping(target = "auditInfo", source = "row")
+    TransactionResponse toResponse(TransactionListRow row);
+
+    @Mapping(target = "lastModifiedAt", source = "updatedAt")
+    @Mapping(target = "lastModifiedBy", source = "updatedBy")
+    AuditInfo toAuditInfo(TransactionListRow row);
+}
@@ -0,0 +1,26 @@
+package org.sp.payroll_service.api.payroll.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.sp.payroll_service.domain.common.dto.response.AuditInfo;
+import org.sp.payroll_service.domain.common.dto.response.Money;
+import org.sp.payroll_service.domain.common.entity.BaseAuditingEntity;
+
+import java.math.BigDecimal;
+
+/**
+ * Compile-time generated conversions shared by the payroll mappers: amounts to {@link Money}
+ * and audit columns to {@link AuditInfo}.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface ValueMapper {
+
+    default Money toMoney(BigDecimal amount) {
+        return amount != null ? Money.of(amount) : null;
+    }
+
+    @Mapping(target = "lastModifiedAt", source = "updatedAt")
+    @Mapping(target = "lastModifiedBy", source = "updatedBy")
+    AuditInfo toAuditInfo(BaseAuditingEntity entity);
+}
@@ -0,0 +1,18 @@
+package org.sp.payroll_service.api.wallet.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.sp.payroll_service.api.wallet.dto.AccountResponse;
+import org.sp.payroll_service.domain.wallet.entity.Account;
+
+/**
+ * Compile-time generated mapper for {@link Account} responses.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface AccountMapper {
+
+    @Mapping(target = "branchId", source = "branch.id")
+    @Mapping(target = "branchName", source = "branch.branchName")
+    AccountResponse toResponse(Account account);
+}
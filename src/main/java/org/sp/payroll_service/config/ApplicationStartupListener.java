@@ -27,13 +27,6 @@ public class ApplicationStartupListener {
         String baseUrl = "http://localhost:" + serverPort;
         String fullContextPath = contextPath.isEmpty() ? "" : contextPath;
         
-        // Wait a moment to ensure all startup logs are complete
-        try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        
         log.info("🚀 ==========================================");
         log.info("🚀 {} Started Successfully!", applicationName);
         log.info("🚀 ==========================================");
@@ -0,0 +1,138 @@
+package org.sp.payroll_service.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps concurrent connections per {@link WorkloadClass} over the shared pool, so payroll runs
+ * queue for connections instead of exhausting the pool for logins and dashboards.
+ * <p>
+ * Every connection takes a permit, including nested ones (REQUIRES_NEW) opened by a thread that
+ * already holds one, so no class can exceed its cap. A nested connection opened at the cap waits
+ * for the class's acquire timeout and then fails rather than borrowing from another class.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Map<WorkloadClass, Bulkhead> bulkheads = new EnumMap<>(WorkloadClass.class);
+
+    public BulkheadDataSource(DataSource target, Map<WorkloadClass, Limit> limits) {
+        super(target);
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            bulkheads.put(workload, new Bulkhead(workload, limits.get(workload)));
+        }
+    }
+
+    /**
+     * Concurrency limit and permit wait time of one workload class.
+     */
+    public record Limit(int maxConcurrent, Duration acquireTimeout) {
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Bulkhead bulkhead = bulkheads.get(WorkloadContext.current());
+        bulkhead.acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection(), bulkhead);
+        } catch (SQLException | RuntimeException e) {
+            bulkhead.semaphore.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    /**
+     * Registers per-class gauges (active, waiting), the permit wait timer and the rejection counter.
+     */
+    public void bindTo(MeterRegistry registry) {
+        bulkheads.values().forEach(bulkhead -> bulkhead.bindTo(registry));
+    }
+
+    private Connection releasingOnClose(Connection connection, Bulkhead bulkhead) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        bulkhead.semaphore.release();
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    private static final class Bulkhead {
+        private final WorkloadClass workload;
+        private final Limit limit;
+        private final Semaphore semaphore;
+        private volatile Timer acquireTimer;
+        private volatile Counter rejected;
+
+        private Bulkhead(WorkloadClass workload, Limit limit) {
+            this.workload = workload;
+            this.limit = limit;
+            this.semaphore = new Semaphore(limit.maxConcurrent(), true);
+        }
+
+        private void acquire() throws BulkheadFullException {
+            long started = System.nanoTime();
+            boolean acquired;
+            try {
+                acquired = semaphore.tryAcquire(limit.acquireTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            if (acquireTimer != null) {
+                acquireTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+            if (!acquired) {
+                if (rejected != null) {
+                    rejected.increment();
+                }
+                throw new BulkheadFullException(workload, limit.acquireTimeout().toMillis());
+            }
+        }
+
+        private void bindTo(MeterRegistry registry) {
+            String tag = workload.name().toLowerCase();
+            Gauge.builder("datasource.bulkhead.active", semaphore, s -> limit.maxConcurrent() - s.availablePermits())
+                    .description("Connections held by the workload class")
+                    .tag("workload", tag)
+                    .register(registry);
+            Gauge.builder("datasource.bulkhead.waiting", semaphore, Semaphore::getQueueLength)
+                    .description("Threads waiting for a connection permit")
+                    .tag("workload", tag)
+                    .register(registry);
+            acquireTimer = Timer.builder("datasource.bulkhead.acquire")
+                    .description("Time spent waiting for a connection permit")
+                    .tag("workload", tag)
+                    .register(registry);
+            rejected = Counter.builder("datasource.bulkhead.rejected")
+                    .description("Connection requests rejected after the permit timeout")
+                    .tag("workload", tag)
+                    .register(registry);
+        }
+    }
+}
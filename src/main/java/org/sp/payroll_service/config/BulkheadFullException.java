@@ -0,0 +1,14 @@
+package org.sp.payroll_service.config;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Thrown when a workload class could not get a connection permit within its timeout.
+ */
+public class BulkheadFullException extends SQLTransientConnectionException {
+    private static final long serialVersionUID = 1L;
+
+    public BulkheadFullException(WorkloadClass workload, long timeoutMillis) {
+        super("No " + workload.name().toLowerCase() + " connection permit available within " + timeoutMillis + " ms");
+    }
+}
@@ -0,0 +1,124 @@
+package org.sp.payroll_service.config;
+
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * SpringLiquibase that skips the changelog pass at boot when the changelog files are unchanged
+ * since the last successful migration.
+ * <p>
+ * The checksum covers every file under the changelog directory plus contexts/labels, and is stored
+ * in {@code schema_checksum_marker} after a full pass. A missing table or row counts as changed.
+ */
+@Slf4j
+public class ChecksumGuardedLiquibase extends SpringLiquibase {
+
+    static final String MARKER_ID = "db.changelog-master";
+
+    private final String changelogPattern;
+    private final boolean force;
+    private final boolean migrateOnChange;
+
+    public ChecksumGuardedLiquibase(String changelogPattern, boolean force, boolean migrateOnChange) {
+        this.changelogPattern = changelogPattern;
+        this.force = force;
+        this.migrateOnChange = migrateOnChange;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws LiquibaseException {
+        String checksum = computeChecksum();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(getDataSource());
+
+        if (!force && !isDropFirst() && checksum.equals(readMarker(jdbcTemplate))) {
+            log.info("Liquibase changelog unchanged (checksum {}), skipping migration pass", checksum.substring(0, 12));
+            return;
+        }
+        if (!force && !isDropFirst() && !migrateOnChange) {
+            throw new IllegalStateException("Liquibase changelog changed since the last migration; "
+                    + "run the service with the 'migrate' profile first");
+        }
+
+        long started = System.nanoTime();
+        super.afterPropertiesSet();
+        writeMarker(jdbcTemplate, checksum);
+        log.info("Liquibase migration pass completed in {} ms, marker {}",
+                (System.nanoTime() - started) / 1_000_000, checksum.substring(0, 12));
+    }
+
+    private String computeChecksum() {
+        try {
+            ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(getResourceLoader());
+            List<Resource> resources = Arrays.stream(resolver.getResources(changelogPattern))
+                    .filter(Resource::isReadable)
+                    .sorted(Comparator.comparing(this::relativeName))
+                    .toList();
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(Objects.toString(getContexts(), "").getBytes(StandardCharsets.UTF_8));
+            digest.update(Objects.toString(getLabelFilter(), "").getBytes(StandardCharsets.UTF_8));
+            for (Resource resource : resources) {
+                digest.update(relativeName(resource).getBytes(StandardCharsets.UTF_8));
+                try (InputStream in = resource.getInputStream()) {
+                    digest.update(in.readAllBytes());
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to checksum Liquibase changelogs " + changelogPattern, e);
+        }
+    }
+
+    /**
+     * Path below {@code db/changelog/}, so the checksum does not depend on jar vs. exploded layout.
+     */
+    private String relativeName(Resource resource) {
+        try {
+            String uri = resource.getURI().toString();
+            int index = uri.lastIndexOf("db/changelog/");
+            return index >= 0 ? uri.substring(index) : Objects.toString(resource.getFilename(), uri);
+        } catch (IOException e) {
+            return Objects.toString(resource.getFilename(), "");
+        }
+    }
+
+    private String readMarker(JdbcTemplate jdbcTemplate) {
+        try {
+            List<String> checksums = jdbcTemplate.queryForList(
+                    "SELECT checksum FROM schema_checksum_marker WHERE id = ?", String.class, MARKER_ID);
+            return checksums.isEmpty() ? null : checksums.get(0);
+        } catch (DataAccessException e) {
+            // Table not created yet: first migration
+            return null;
+        }
+    }
+
+    private void writeMarker(JdbcTemplate jdbcTemplate, String checksum) {
+        Timestamp now = Timestamp.from(Instant.now());
+        int updated = jdbcTemplate.update(
+                "UPDATE schema_checksum_marker SET checksum = ?, applied_at = ? WHERE id = ?", checksum, now, MARKER_ID);
+        if (updated == 0) {
+            jdbcTemplate.update(
+                    "INSERT INTO schema_checksum_marker (id, checksum, applied_at) VALUES (?, ?, ?)", MARKER_ID, checksum, now);
+        }
+    }
+}
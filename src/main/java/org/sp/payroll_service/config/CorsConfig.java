@@ -77,7 +77,8 @@ public class CorsConfig {
             "Authorization",
             "X-Total-Count",
             "X-Page-Number",
-            "X-Page-Size"
+            "X-Page-Size",
+            "Idempotent-Replayed"
         ));
 
         // ✅ Apply to all endpoints
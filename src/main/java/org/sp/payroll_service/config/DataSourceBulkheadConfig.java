@@ -0,0 +1,81 @@
+package org.sp.payroll_service.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Wraps the application DataSource in a {@link BulkheadDataSource} with limits per workload class
+ * ({@code app.datasource.bulkhead.<class>.max-concurrent / acquire-timeout}).
+ * <p>
+ * The caps together must fit in the pool ({@code spring.datasource.hikari.maximum-pool-size}),
+ * otherwise a class at its cap could still be starved by the others; startup fails if they do not.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.bulkhead", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceBulkheadConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public static BeanPostProcessor dataSourceBulkheadPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof BulkheadDataSource)) {
+                    return new BulkheadDataSource(dataSource, limits(environment));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder dataSourceBulkheadMetrics(DataSource dataSource) {
+        return registry -> {
+            try {
+                if (dataSource.isWrapperFor(BulkheadDataSource.class)) {
+                    dataSource.unwrap(BulkheadDataSource.class).bindTo(registry);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Unable to bind bulkhead metrics", e);
+            }
+        };
+    }
+
+    private static Map<WorkloadClass, BulkheadDataSource.Limit> limits(Environment environment) {
+        Map<WorkloadClass, BulkheadDataSource.Limit> limits = new EnumMap<>(WorkloadClass.class);
+        limits.put(WorkloadClass.BATCH, limit(environment, "batch", 3, Duration.ofMinutes(10)));
+        limits.put(WorkloadClass.INTERACTIVE, limit(environment, "interactive", 4, Duration.ofSeconds(5)));
+        limits.put(WorkloadClass.AUTH, limit(environment, "auth", 2, Duration.ofSeconds(3)));
+        limits.put(WorkloadClass.INFRA, limit(environment, "infra", 1, Duration.ofSeconds(5)));
+
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class,
+                DEFAULT_POOL_SIZE);
+        int total = limits.values().stream().mapToInt(BulkheadDataSource.Limit::maxConcurrent).sum();
+        if (total > poolSize) {
+            throw new IllegalStateException("Connection bulkheads allow " + total + " connections " + limits
+                    + " but the pool holds " + poolSize + "; lower app.datasource.bulkhead.*.max-concurrent");
+        }
+        return limits;
+    }
+
+    private static BulkheadDataSource.Limit limit(Environment environment, String workload,
+                                                  int defaultMax, Duration defaultTimeout) {
+        String prefix = "app.datasource.bulkhead." + workload + ".";
+        return new BulkheadDataSource.Limit(
+                environment.getProperty(prefix + "max-concurrent", Integer.class, defaultMax),
+                environment.getProperty(prefix + "acquire-timeout", Duration.class, defaultTimeout));
+    }
+}
@@ -0,0 +1,53 @@
+package org.sp.payroll_service.config;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces the auto-configured SpringLiquibase with {@link ChecksumGuardedLiquibase}, so boot only
+ * runs the changelog when it changed. Migrations are applied explicitly with the {@code migrate}
+ * profile ({@code app.liquibase.force=true}), which exits once the schema is up to date.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.liquibase", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(LiquibaseProperties.class)
+public class LiquibaseConfig {
+
+    @Value("${app.liquibase.changelog-pattern:classpath*:db/changelog/**/*.xml}")
+    private String changelogPattern;
+
+    @Value("${app.liquibase.force:false}")
+    private boolean force;
+
+    @Value("${app.liquibase.migrate-on-change:true}")
+    private boolean migrateOnChange;
+
+    @Bean
+    public SpringLiquibase liquibase(DataSource dataSource, LiquibaseProperties properties) {
+        SpringLiquibase liquibase = new ChecksumGuardedLiquibase(changelogPattern, force, migrateOnChange);
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog(properties.getChangeLog());
+        liquibase.setContexts(StringUtils.collectionToCommaDelimitedString(properties.getContexts()));
+        liquibase.setLabelFilter(StringUtils.collectionToCommaDelimitedString(properties.getLabelFilter()));
+        liquibase.setDefaultSchema(properties.getDefaultSchema());
+        liquibase.setLiquibaseSchema(properties.getLiquibaseSchema());
+        liquibase.setLiquibaseTablespace(properties.getLiquibaseTablespace());
+        liquibase.setDatabaseChangeLogTable(properties.getDatabaseChangeLogTable());
+        liquibase.setDatabaseChangeLogLockTable(properties.getDatabaseChangeLogLockTable());
+        liquibase.setDropFirst(properties.isDropFirst());
+        liquibase.setClearCheckSums(properties.isClearChecksums());
+        liquibase.setChangeLogParameters(properties.getParameters());
+        liquibase.setRollbackFile(properties.getRollbackFile());
+        liquibase.setTestRollbackOnUpdate(properties.isTestRollbackOnUpdate());
+        liquibase.setTag(properties.getTag());
+        return liquibase;
+    }
+}
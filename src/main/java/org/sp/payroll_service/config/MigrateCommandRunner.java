@@ -0,0 +1,33 @@
+package org.sp.payroll_service.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ends the process once migrations ran when started as a migrate command
+ * ({@code --spring.profiles.active=migrate}).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MigrateCommandRunner implements ApplicationRunner {
+
+    private final ConfigurableApplicationContext context;
+
+    @Value("${app.liquibase.exit-after-migrate:false}")
+    private boolean exitAfterMigrate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (exitAfterMigrate) {
+            log.info("Database migration finished, exiting");
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.sp.payroll_service.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+/**
+ * Identity of this service instance in work shared through the database, e.g. as the owner of
+ * claimed payroll chunks. Defaults to the host name plus a per-start suffix, so a restarted
+ * instance never mistakes the claims of its previous run for its own.
+ */
+@Component
+@Slf4j
+public class NodeIdentity {
+
+    private final String nodeId;
+
+    public NodeIdentity(@Value("${app.node-id:}") String configuredNodeId) {
+        String base = configuredNodeId.isBlank() ? hostName() : configuredNodeId;
+        this.nodeId = base + "-" + UUID.randomUUID().toString().substring(0, 8);
+        log.info("Node identity: {}", nodeId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "node";
+        }
+    }
+}
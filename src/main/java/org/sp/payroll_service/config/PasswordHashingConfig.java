@@ -0,0 +1,114 @@
+package org.sp.payroll_service.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.security.PasswordHashCalibration;
+import org.sp.payroll_service.utils.PasswordHashUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated platform-thread pool for BCrypt hashing and verification.
+ * Keeps CPU-bound hashes off virtual-thread carriers and bounds the backlog so
+ * login bursts are shed instead of starving other endpoints. By default the pool
+ * takes half the cores, so a burst of hashes cannot occupy every core the
+ * request handlers and their virtual-thread carriers also run on.
+ * Also calibrates the BCrypt work factor against a latency target at startup.
+ */
+@Configuration
+@Slf4j
+public class PasswordHashingConfig {
+
+    private static final String BENCHMARK_PASSWORD = "calibration-Passw0rd!";
+    private static final int BENCHMARK_SAMPLES = 3;
+
+    @Value("${app.security.password-hashing.threads:0}")
+    private int threads;
+
+    @Value("${app.security.password-hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${app.security.password-hashing.calibrate:true}")
+    private boolean calibrate;
+
+    @Value("${app.security.password-hashing.target-latency:250ms}")
+    private Duration targetLatency;
+
+    @Value("${app.security.password-hashing.default-cost:12}")
+    private int defaultCost;
+
+    @Value("${app.security.password-hashing.min-cost:10}")
+    private int minCost;
+
+    @Value("${app.security.password-hashing.max-cost:14}")
+    private int maxCost;
+
+    @Bean(name = "passwordHashingExecutor", destroyMethod = "shutdown")
+    public ExecutorService passwordHashingExecutor(MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "password.hashing");
+    }
+
+    /**
+     * Times BCrypt at {@code min-cost} and extrapolates (each cost step doubles the work) to
+     * the highest cost whose hash stays within the target latency.
+     */
+    @Bean
+    public PasswordHashCalibration passwordHashCalibration() {
+        long targetMillis = targetLatency.toMillis();
+        if (!calibrate) {
+            log.info("Password hash calibration disabled, using bcrypt cost {}", defaultCost);
+            return new PasswordHashCalibration(PasswordHashUtils.BCRYPT, defaultCost, -1, targetMillis, false, Instant.now());
+        }
+
+        double baselineMillis = timeHash(minCost);
+        int cost = minCost;
+        while (cost < maxCost && baselineMillis * Math.pow(2, cost + 1 - minCost) <= targetMillis) {
+            cost++;
+        }
+        long measuredMillis = Math.round(cost == minCost ? baselineMillis : timeHash(cost));
+
+        log.info("Password hash calibration: bcrypt cost {} takes {} ms (target {} ms, baseline cost {} took {} ms)",
+                cost, measuredMillis, targetMillis, minCost, Math.round(baselineMillis));
+        return new PasswordHashCalibration(PasswordHashUtils.BCRYPT, cost, measuredMillis, targetMillis, true, Instant.now());
+    }
+
+    /**
+     * Best-of-N wall time in milliseconds for one hash at the given cost, after one warm-up.
+     */
+    private double timeHash(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        encoder.encode(BENCHMARK_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < BENCHMARK_SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(BENCHMARK_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000.0;
+    }
+}
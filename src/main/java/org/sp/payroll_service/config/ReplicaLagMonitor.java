@@ -0,0 +1,91 @@
+package org.sp.payroll_service.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Periodically measures replication lag of the read replica. The replica is used for read-only
+ * transactions only while it answers and its lag is within {@code max-lag}.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String POSTGRES_LAG_QUERY = """
+            SELECT CASE WHEN pg_is_in_recovery()
+                        THEN COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) * 1000
+                        ELSE 0 END
+            """;
+
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private final String configuredLagQuery;
+
+    private volatile boolean usable = true;
+    private volatile long lagMillis;
+    private String lagQuery;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, Duration maxLag, String lagQuery, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.maxLag = maxLag;
+        this.configuredLagQuery = lagQuery;
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagMillis)
+                .description("Replication lag of the read replica in milliseconds")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, monitor -> monitor.usable ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    /**
+     * Marks the replica unusable until the next successful check, e.g. after a connection failure.
+     */
+    public void markUnavailable(Exception cause) {
+        if (usable) {
+            log.warn("Read replica unavailable, routing read-only transactions to primary: {}", cause.getMessage());
+        }
+        usable = false;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:5s}")
+    public void check() {
+        try {
+            Number lag = replica.queryForObject(resolveLagQuery(), Number.class);
+            lagMillis = lag != null ? lag.longValue() : 0L;
+            boolean withinLimit = lagMillis <= maxLag.toMillis();
+            if (withinLimit != usable) {
+                log.info("Read replica {} (lag {} ms, limit {} ms)",
+                        withinLimit ? "back in rotation" : "lagging, routing read-only transactions to primary",
+                        lagMillis, maxLag.toMillis());
+            }
+            usable = withinLimit;
+        } catch (Exception e) {
+            markUnavailable(e);
+        }
+    }
+
+    private String resolveLagQuery() {
+        if (lagQuery == null) {
+            if (configuredLagQuery != null && !configuredLagQuery.isBlank()) {
+                lagQuery = configuredLagQuery;
+            } else {
+                String product = replica.execute((ConnectionCallback<String>) connection ->
+                        connection.getMetaData().getDatabaseProductName());
+                // Other databases (H2 in dev) have no replication to measure; this only checks reachability
+                lagQuery = "PostgreSQL".equalsIgnoreCase(product) ? POSTGRES_LAG_QUERY : "SELECT 0";
+            }
+        }
+        return lagQuery;
+    }
+}
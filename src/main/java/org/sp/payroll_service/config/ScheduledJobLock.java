@@ -0,0 +1,184 @@
+package org.sp.payroll_service.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Cluster-wide lock for scheduled jobs, leased through the {@code scheduler_leases} table.
+ * <p>
+ * All replicas fire the same schedule; the first to move a job's lease forward runs the tick and
+ * the others skip it. A lease is held for at most {@code lockAtMostFor}, so a crashed node does
+ * not block the job, and at least {@code app.scheduling.lock.at-least-for} after it was taken, so
+ * a replica whose clock or trigger runs slightly late does not repeat the same tick.
+ * <p>
+ * Every acquisition increments the job's fencing token. Jobs add {@link #FENCE_SQL} to their
+ * writes, so a node that lost its lease mid-run (e.g. after a long GC pause) cannot write once
+ * another node has taken over.
+ * <p>
+ * Lease writes run under {@link WorkloadClass#INFRA}, so busy payroll workers cannot delay them.
+ */
+@Slf4j
+public class ScheduledJobLock {
+
+    /**
+     * Condition that holds only while the lease bound by {@link Lease#bind} is the current one.
+     */
+    public static final String FENCE_SQL =
+            "EXISTS (SELECT 1 FROM scheduler_leases WHERE name = :leaseName AND fencing_token = :fencingToken)";
+
+    private static final String ACQUIRE_SQL = """
+            UPDATE scheduler_leases
+            SET owner = :owner, fencing_token = fencing_token + 1, lease_until = :leaseUntil, acquired_at = :now
+            WHERE name = :name AND lease_until <= :now
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO scheduler_leases (name, owner, fencing_token, lease_until, acquired_at)
+            VALUES (:name, :owner, 1, :leaseUntil, :now)
+            """;
+
+    private static final String RELEASE_SQL = """
+            UPDATE scheduler_leases SET lease_until = :leaseUntil
+            WHERE name = :name AND fencing_token = :fencingToken
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final String owner;
+    private final Duration lockAtLeastFor;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger held = new AtomicInteger();
+
+    public ScheduledJobLock(JdbcTemplate jdbcTemplate, NodeIdentity nodeIdentity, Duration lockAtLeastFor,
+                            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.owner = nodeIdentity.getNodeId();
+        this.lockAtLeastFor = lockAtLeastFor;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("scheduler.lease.held", held, AtomicInteger::get)
+                .description("Scheduled job leases currently held by this instance")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A job lease held by this instance.
+     * @param name job name
+     * @param fencingToken token of this acquisition; larger than every earlier one for the job
+     * @param acquiredAt when this instance took the lease
+     */
+    public record Lease(String name, long fencingToken, Instant acquiredAt) {
+
+        /**
+         * Adds the parameters referenced by {@link #FENCE_SQL}.
+         */
+        public MapSqlParameterSource bind(MapSqlParameterSource params) {
+            return params.addValue("leaseName", name).addValue("fencingToken", fencingToken);
+        }
+    }
+
+    /**
+     * Runs the task if this instance wins the job's lease for the current tick.
+     * @param jobName cluster-wide job name
+     * @param lockAtMostFor lease length; longer than any normal run of the job
+     * @param task job body, given the lease for fenced writes
+     * @return true if the task ran on this instance
+     */
+    public boolean runExclusively(String jobName, Duration lockAtMostFor, Consumer<Lease> task) {
+        Optional<Lease> lease = tryAcquire(jobName, lockAtMostFor);
+        if (lease.isEmpty()) {
+            return false;
+        }
+        try {
+            task.accept(lease.get());
+        } finally {
+            release(lease.get());
+        }
+        return true;
+    }
+
+    /**
+     * Takes the job's lease if no other instance holds it. Callers must {@link #release} it.
+     * @return the lease, or empty when another instance holds it
+     */
+    public Optional<Lease> tryAcquire(String jobName, Duration lockAtMostFor) {
+        Instant now = Instant.now();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("name", jobName)
+                .addValue("owner", owner)
+                .addValue("now", Timestamp.from(now))
+                .addValue("leaseUntil", Timestamp.from(now.plus(lockAtMostFor)));
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return WorkloadContext.callAs(WorkloadClass.INFRA, () -> acquire(jobName, params, now, sample));
+        } catch (RuntimeException e) {
+            record(sample, jobName, "error");
+            throw e;
+        }
+    }
+
+    private Optional<Lease> acquire(String jobName, MapSqlParameterSource params, Instant now, Timer.Sample sample) {
+        boolean acquired = jdbcTemplate.update(ACQUIRE_SQL, params) == 1 || insertLease(params);
+        if (!acquired) {
+            record(sample, jobName, "busy");
+            log.debug("Skipping scheduled job {}: lease held by another instance", jobName);
+            return Optional.empty();
+        }
+        // Nobody else can move the lease before it expires, so this reads our own token
+        Long token = jdbcTemplate.queryForObject(
+                "SELECT fencing_token FROM scheduler_leases WHERE name = :name AND owner = :owner", params, Long.class);
+        record(sample, jobName, "acquired");
+        held.incrementAndGet();
+        log.debug("Acquired lease for scheduled job {} with fencing token {}", jobName, token);
+        return Optional.of(new Lease(jobName, token, now));
+    }
+
+    /**
+     * Ends a lease, keeping it until {@code lockAtLeastFor} after acquisition. Does nothing if
+     * another instance has taken over since.
+     */
+    public void release(Lease lease) {
+        held.decrementAndGet();
+        Instant now = Instant.now();
+        Instant minimum = lease.acquiredAt().plus(lockAtLeastFor);
+        Duration heldFor = Duration.between(lease.acquiredAt(), now);
+        meterRegistry.timer("scheduler.lease.duration", "job", lease.name()).record(heldFor);
+        try {
+            int updated = WorkloadContext.callAs(WorkloadClass.INFRA, () -> jdbcTemplate.update(RELEASE_SQL,
+                    new MapSqlParameterSource()
+                            .addValue("name", lease.name())
+                            .addValue("fencingToken", lease.fencingToken())
+                            .addValue("leaseUntil", Timestamp.from(minimum.isAfter(now) ? minimum : now))));
+            if (updated == 0) {
+                log.warn("Lease for scheduled job {} (token {}) was taken over after {}; its run outlived the lease",
+                        lease.name(), lease.fencingToken(), heldFor);
+            }
+        } catch (RuntimeException e) {
+            // The lease then simply runs until lockAtMostFor
+            log.error("Failed to release lease for scheduled job {}", lease.name(), e);
+        }
+    }
+
+    private boolean insertLease(MapSqlParameterSource params) {
+        try {
+            return jdbcTemplate.update(INSERT_SQL, params) == 1;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private void record(Timer.Sample sample, String jobName, String outcome) {
+        sample.stop(meterRegistry.timer("scheduler.lease.acquire", "job", jobName, "outcome", outcome));
+    }
+}
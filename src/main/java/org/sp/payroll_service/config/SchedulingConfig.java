@@ -1,12 +1,28 @@
 package org.sp.payroll_service.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.time.Duration;
+
 /**
  * Configuration for enabling scheduled tasks.
+ * <p>
+ * Jobs that maintain shared data run through {@link ScheduledJobLock}, so each tick runs on one
+ * replica only. Jobs that work on per-instance state (journals, work queue polling) run everywhere.
  */
 @Configuration
 @EnableScheduling
 public class SchedulingConfig {
-}
\ No newline at end of file
+
+    @Bean
+    public ScheduledJobLock scheduledJobLock(JdbcTemplate jdbcTemplate, NodeIdentity nodeIdentity,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${app.scheduling.lock.at-least-for:30s}") Duration lockAtLeastFor) {
+        return new ScheduledJobLock(jdbcTemplate, nodeIdentity, lockAtLeastFor, meterRegistry);
+    }
+}
@@ -1,8 +1,13 @@
 package org.sp.payroll_service.config;
 
 import org.sp.payroll_service.security.AuthenticationFilter;
+import org.sp.payroll_service.security.BoundedPasswordEncoder;
+import org.sp.payroll_service.security.CalibratedPasswordEncoder;
 import org.sp.payroll_service.security.JwtAccessDeniedHandler;
 import org.sp.payroll_service.security.JwtAuthenticationEntryPoint;
+import org.sp.payroll_service.security.PasswordHashCalibration;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,12 +18,14 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
 /**
  * ✅ CLEAN SECURITY CONFIGURATION
  * 
@@ -89,8 +96,15 @@ public class SecurityConfig {
         return authenticationConfiguration.getAuthenticationManager();
     }
 
+    /**
+     * BCrypt at the calibrated cost, run on the bounded password-hashing pool so that
+     * login bursts cannot pin virtual-thread carriers.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(
+            PasswordHashCalibration passwordHashCalibration,
+            @Qualifier("passwordHashingExecutor") ExecutorService passwordHashingExecutor,
+            @Value("${app.security.password-hashing.timeout:5s}") Duration timeout) {
+        return new BoundedPasswordEncoder(new CalibratedPasswordEncoder(passwordHashCalibration), passwordHashingExecutor, timeout);
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package org.sp.payroll_service.config;
+
+/**
+ * Workload classes that get separate connection bulkheads.
+ */
+public enum WorkloadClass {
+    /** Payroll runs and background jobs; queue for connections rather than fail. */
+    BATCH,
+    /** Dashboard and CRUD requests. */
+    INTERACTIVE,
+    /** Login, refresh, logout and token bookkeeping. */
+    AUTH,
+    /** Job lease acquisition and heartbeats; short statements that must not queue behind batch work. */
+    INFRA
+}
@@ -0,0 +1,46 @@
+package org.sp.payroll_service.config;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.function.Supplier;
+
+/**
+ * Workload class of the current thread, used to pick a connection bulkhead.
+ * Threads without a class (scheduled jobs, startup) count as {@link WorkloadClass#BATCH}; lease and
+ * heartbeat writes switch to {@link WorkloadClass#INFRA} explicitly.
+ */
+@UtilityClass
+public class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    public static WorkloadClass current() {
+        WorkloadClass workload = CURRENT.get();
+        return workload != null ? workload : WorkloadClass.BATCH;
+    }
+
+    public static void set(WorkloadClass workload) {
+        CURRENT.set(workload);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Runs {@code task} under the given workload class, restoring the previous class afterwards.
+     */
+    public static <T> T callAs(WorkloadClass workload, Supplier<T> task) {
+        WorkloadClass previous = CURRENT.get();
+        CURRENT.set(workload);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
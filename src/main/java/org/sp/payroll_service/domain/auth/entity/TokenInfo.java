@@ -3,6 +3,7 @@ package org.sp.payroll_service.domain.auth.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.sp.payroll_service.domain.common.entity.BaseAuditingEntity;
+import org.sp.payroll_service.domain.common.entity.id.TimeOrderedUuid;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -22,7 +23,7 @@ import java.util.UUID;
 public class TokenInfo extends BaseAuditingEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedUuid
     @Column(name = "id")
     private UUID id;
 
@@ -39,6 +40,12 @@ public class TokenInfo extends BaseAuditingEntity {
     @Column(name = "refresh_token", nullable = false, length = 500)
     private String refreshToken;
 
+    /**
+     * SHA-256 hex digest of the refresh token, the unique lookup key
+     */
+    @Column(name = "refresh_token_hash", nullable = false, unique = true, length = 64)
+    private String refreshTokenHash;
+
     /**
      * Access token JTI (JWT ID) for unique identification
      */
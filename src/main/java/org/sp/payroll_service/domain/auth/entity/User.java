@@ -6,6 +6,7 @@ import lombok.experimental.SuperBuilder;
 import org.sp.payroll_service.domain.common.entity.BaseEntity;
 import org.sp.payroll_service.domain.common.enums.Role;
 import org.sp.payroll_service.domain.common.enums.EntityStatus;
+import org.sp.payroll_service.utils.PasswordHashUtils;
 
 /**
  * User entity for authentication and authorization.
@@ -28,7 +29,23 @@ public class User extends BaseEntity {
     @Column(name = "password_hash", nullable = false)
     private String passwordHash;
 
+    @Column(name = "password_algorithm", length = 20)
+    private String passwordAlgorithm;
+
+    @Column(name = "password_cost")
+    private Integer passwordCost;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "role", nullable = false)
     private Role role;
-}
\ No newline at end of file
+
+    /**
+     * Keeps algorithm/cost metadata in step with whatever hash was written.
+     */
+    @PrePersist
+    @PreUpdate
+    void syncPasswordHashMetadata() {
+        this.passwordAlgorithm = PasswordHashUtils.algorithmOf(passwordHash);
+        this.passwordCost = PasswordHashUtils.costOf(passwordHash);
+    }
+}
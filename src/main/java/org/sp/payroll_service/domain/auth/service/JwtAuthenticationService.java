@@ -91,6 +91,12 @@ public class JwtAuthenticationService implements AuthenticationService {
         }
 
         log.info("SERVICE: Password verified successfully");
+
+        // Transparently move the stored hash to the calibrated cost
+        if (passwordEncoder.upgradeEncoding(user.getPasswordHash())) {
+            user.setPasswordHash(passwordEncoder.encode(request.password()));
+            log.info("SERVICE: Password rehashed for user {} (previous cost {})", user.getId(), user.getPasswordCost());
+        }
         
         // Generate token pair
         log.info("SERVICE: Generating JWT tokens...");
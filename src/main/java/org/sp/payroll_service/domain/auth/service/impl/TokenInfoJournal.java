@@ -0,0 +1,631 @@
+package org.sp.payroll_service.domain.auth.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.domain.auth.entity.TokenInfo;
+import org.sp.payroll_service.utils.HashUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Write-behind store for {@link TokenInfo} records.
+ * <p>
+ * New, updated and revoked token records are appended to a local journal file and kept in memory
+ * until {@link #flush()} writes them to {@code token_info} in one JDBC batch. Flushed journal
+ * segments are deleted; segments left behind by a crash are replayed before the application serves
+ * traffic. Lookups must consult {@link #findPending(Predicate)} before the database. Revocations do
+ * not wait for a flush: they revoke matching pending records here, and the flush applies the
+ * {@link TokenRevocationStore} tombstones of revocations that reached no row to the rows it writes.
+ * <p>
+ * A record the database rejects outright (constraint or data errors) is moved to a rejected file
+ * instead of being retried, so it cannot hold back the records flushed with it. The rejected file
+ * keeps the refresh token's digest, never the token, and drops records once their token expired.
+ * <p>
+ * Appends are group committed: concurrent appenders share one {@code force} of the journal, and
+ * no appender forces while holding the append lock. The journal holds refresh tokens, so its
+ * directory must be configured as an absolute path; it is restricted to the service's user.
+ */
+@Component
+@Slf4j
+public class TokenInfoJournal implements SmartInitializingSingleton {
+
+    private static final String ACTIVE_SEGMENT = "token-info.journal";
+    private static final String FLUSHING_SUFFIX = ".flushing";
+    private static final String REJECTED_SEGMENT = "token-info.rejected";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO token_info (id, user_id, refresh_token, refresh_token_hash, access_jti, access_expires,
+                                    refresh_expires, is_revoked, device_info, ip_address, version, status,
+                                    created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 'ACTIVE', ?, ?)
+            """;
+
+    private static final String UPDATE_SQL = """
+            UPDATE token_info SET access_jti = ?, access_expires = ?, is_revoked = is_revoked OR ?,
+                                  updated_at = ?, version = version + 1
+            WHERE id = ?
+            """;
+
+    private static final String APPLY_REVOCATIONS_SQL = """
+            UPDATE token_info t SET is_revoked = TRUE
+            WHERE t.id IN (:ids) AND t.is_revoked = FALSE
+              AND EXISTS (SELECT 1 FROM token_revocations r WHERE %s)
+            """.formatted(TokenRevocationStore.MATCHES_TOKEN_SQL);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate flushTransaction;
+    private final ObjectMapper objectMapper;
+
+    private static final Set<PosixFilePermission> OWNER_ONLY_DIRECTORY = PosixFilePermissions.fromString("rwx------");
+    private static final Set<PosixFilePermission> OWNER_ONLY_FILE = PosixFilePermissions.fromString("rw-------");
+
+    private final Map<UUID, TokenInfo> pending = new ConcurrentHashMap<>();
+    private final Object appendLock = new Object();
+    private final Object flushLock = new Object();
+    private final Object syncLock = new Object();
+
+    @Value("${app.auth.token-journal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.auth.token-journal.directory:}")
+    private String directory;
+
+    @Value("${app.auth.token-journal.fsync:true}")
+    private boolean fsync;
+
+    private Path journalDirectory;
+    private boolean posix;
+
+    // Guarded by appendLock; segments rotated away wait in retiredChannels for the next sync
+    private FileChannel activeChannel;
+    private final List<FileChannel> retiredChannels = new ArrayList<>();
+    private long segmentSequence;
+    private long appendedSequence;
+
+    // Guarded by syncLock
+    private long syncedSequence;
+    private boolean syncing;
+
+    public TokenInfoJournal(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * One journal line. Later lines for the same id supersede earlier ones.
+     */
+    record Entry(UUID id, UUID userId, String refreshToken, String accessJti,
+                 Instant accessExpires, Instant refreshExpires, boolean revoked,
+                 String deviceInfo, String ipAddress, Instant createdAt, Instant updatedAt) {
+
+        static Entry of(TokenInfo tokenInfo) {
+            return new Entry(tokenInfo.getId(), tokenInfo.getUser().getId(), tokenInfo.getRefreshToken(),
+                    tokenInfo.getAccessJti(), tokenInfo.getAccessExpires(), tokenInfo.getRefreshExpires(),
+                    Boolean.TRUE.equals(tokenInfo.getIsRevoked()),
+                    tokenInfo.getDeviceInfo(), tokenInfo.getIpAddress(), tokenInfo.getCreatedAt(), tokenInfo.getUpdatedAt());
+        }
+    }
+
+    /**
+     * One line of the rejected file: enough to trace the record, without the refresh token itself.
+     */
+    record Rejected(UUID id, UUID userId, String refreshTokenHash, Instant refreshExpires,
+                    Instant rejectedAt, String reason) {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Replays segments left by a previous run before the web server starts accepting requests.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            prepareDirectory();
+            pruneRejected();
+            Map<UUID, Entry> recovered = new LinkedHashMap<>();
+            try (DirectoryStream<Path> segments = Files.newDirectoryStream(journalDirectory, ACTIVE_SEGMENT + "*")) {
+                for (Path segment : sortedSegments(segments)) {
+                    readSegment(segment, recovered);
+                }
+            }
+            if (!recovered.isEmpty()) {
+                writeIsolated(new ArrayList<>(recovered.values()));
+                log.info("Replayed {} token records from journal {}", recovered.size(), journalDirectory);
+            }
+            deleteFlushingSegments();
+            Files.deleteIfExists(journalDirectory.resolve(ACTIVE_SEGMENT));
+            openActiveSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to recover token journal in " + journalDirectory, e);
+        }
+    }
+
+    /**
+     * Durably records a new or updated token and keeps it visible until it is flushed.
+     */
+    public void append(TokenInfo tokenInfo) {
+        long sequence;
+        synchronized (appendLock) {
+            sequence = journal(tokenInfo);
+        }
+        awaitDurable(sequence);
+    }
+
+    /**
+     * Revokes the pending records matching {@code filter} and journals the revocation, so the
+     * flush writes those rows already revoked.
+     *
+     * @return number of pending records revoked
+     */
+    public int revokePending(Predicate<TokenInfo> filter) {
+        int revoked = 0;
+        long sequence = 0;
+        synchronized (appendLock) {
+            for (TokenInfo tokenInfo : pending.values()) {
+                if (!Boolean.TRUE.equals(tokenInfo.getIsRevoked()) && filter.test(tokenInfo)) {
+                    tokenInfo.setIsRevoked(true);
+                    tokenInfo.setUpdatedAt(Instant.now());
+                    sequence = journal(tokenInfo);
+                    revoked++;
+                }
+            }
+        }
+        if (revoked > 0) {
+            awaitDurable(sequence);
+        }
+        return revoked;
+    }
+
+    public boolean isPending(UUID id) {
+        return pending.containsKey(id);
+    }
+
+    public Optional<TokenInfo> findPending(Predicate<TokenInfo> filter) {
+        return pending.values().stream().filter(filter).findFirst();
+    }
+
+    public List<TokenInfo> findAllPending(Predicate<TokenInfo> filter) {
+        return pending.values().stream().filter(filter).toList();
+    }
+
+    /**
+     * Writes all pending records to {@code token_info} in one transaction. Records appended while
+     * the batch is written stay pending for the next flush. If the batch violates a constraint, the
+     * records are written one by one and those the database rejects are set aside.
+     *
+     * @return number of records flushed
+     */
+    public int flush() {
+        if (!enabled) {
+            return 0;
+        }
+        synchronized (flushLock) {
+            List<Entry> entries;
+            synchronized (appendLock) {
+                if (pending.isEmpty()) {
+                    return 0;
+                }
+                entries = pending.values().stream().map(Entry::of).toList();
+                rotateActiveSegment();
+            }
+
+            writeIsolated(entries);
+            synchronized (appendLock) {
+                // A record re-appended since the snapshot differs from its entry and stays pending
+                entries.forEach(entry -> pending.computeIfPresent(entry.id(),
+                        (id, tokenInfo) -> Entry.of(tokenInfo).equals(entry) ? null : tokenInfo));
+            }
+            deleteFlushingSegments();
+            return entries.size();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Token journal flush on shutdown failed; records will be replayed on next start", e);
+        }
+        synchronized (appendLock) {
+            retiredChannels.forEach(this::closeQuietly);
+            retiredChannels.clear();
+            closeQuietly(activeChannel);
+        }
+    }
+
+    /**
+     * Writes the journal line of a record and makes it pending. The caller holds the append lock.
+     *
+     * @return sequence number of the line, for {@link #awaitDurable(long)}
+     */
+    private long journal(TokenInfo tokenInfo) {
+        appendLine(activeChannel, Entry.of(tokenInfo));
+        pending.put(tokenInfo.getId(), tokenInfo);
+        return ++appendedSequence;
+    }
+
+    /**
+     * Group commit: returns once the journal line with the given sequence number is on disk. The
+     * first caller to find no sync in progress forces every line appended so far, including lines
+     * in segments rotated away since the last sync; callers arriving meanwhile wait for it and are
+     * released together, or lead the next sync if theirs came too late for this one.
+     */
+    private void awaitDurable(long sequence) {
+        if (!fsync) {
+            return;
+        }
+        boolean interrupted = false;
+        synchronized (syncLock) {
+            while (syncedSequence < sequence && syncing) {
+                try {
+                    syncLock.wait();
+                } catch (InterruptedException e) {
+                    // The line is written already; finish waiting for it and keep the interrupt
+                    interrupted = true;
+                }
+            }
+            if (syncedSequence >= sequence) {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                return;
+            }
+            syncing = true;
+        }
+
+        long target;
+        List<FileChannel> retired;
+        FileChannel active;
+        synchronized (appendLock) {
+            target = appendedSequence;
+            retired = List.copyOf(retiredChannels);
+            active = activeChannel;
+        }
+        boolean synced = false;
+        try {
+            for (FileChannel channel : retired) {
+                channel.force(false);
+            }
+            active.force(false);
+            synced = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to sync token journal", e);
+        } finally {
+            if (synced) {
+                synchronized (appendLock) {
+                    retiredChannels.removeAll(retired);
+                }
+                retired.forEach(this::closeQuietly);
+            }
+            synchronized (syncLock) {
+                if (synced) {
+                    syncedSequence = Math.max(syncedSequence, target);
+                }
+                syncing = false;
+                syncLock.notifyAll();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Writes the entries in one transaction, falling back to one transaction per entry when the
+     * batch violates a constraint. Entries rejected on their own are moved to the rejected file.
+     * Any other failure propagates and leaves the entries journaled for the next attempt.
+     */
+    private void writeIsolated(List<Entry> entries) {
+        try {
+            flushTransaction.executeWithoutResult(status -> write(entries));
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Token journal batch of {} records rejected; writing them one by one", entries.size(), e);
+            for (Entry entry : entries) {
+                try {
+                    flushTransaction.executeWithoutResult(status -> write(List.of(entry)));
+                } catch (DataIntegrityViolationException rejected) {
+                    reject(entry, rejected);
+                }
+            }
+        }
+    }
+
+    private void reject(Entry entry, DataIntegrityViolationException cause) {
+        Path rejectedFile = journalDirectory.resolve(REJECTED_SEGMENT);
+        log.error("Token record {} of user {} rejected by token_info; moved to {}",
+                entry.id(), entry.userId(), rejectedFile, cause);
+        // The error type only: constraint messages may echo the key values of the row
+        Rejected rejected = new Rejected(entry.id(), entry.userId(), HashUtils.sha256Hex(entry.refreshToken()),
+                entry.refreshExpires(), Instant.now(), cause.getMostSpecificCause().getClass().getSimpleName());
+        try {
+            pruneRejected();
+            try (FileChannel channel = openOwnerOnly(rejectedFile)) {
+                appendLine(channel, rejected);
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            log.error("Unable to record rejected token record {}", entry.id(), e);
+        }
+    }
+
+    /**
+     * Rewrites the rejected file without the records whose refresh token has expired. Lines of
+     * older versions that carry the refresh token itself keep only its digest.
+     */
+    private void pruneRejected() throws IOException {
+        Path rejectedFile = journalDirectory.resolve(REJECTED_SEGMENT);
+        if (!Files.exists(rejectedFile)) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<String> kept = new ArrayList<>();
+        int dropped = 0;
+        for (String line : Files.readAllLines(rejectedFile, StandardCharsets.UTF_8)) {
+            Optional<ObjectNode> record = readRejected(line).filter(node -> expiresAfter(node, now));
+            if (record.isEmpty()) {
+                dropped++;
+                continue;
+            }
+            JsonNode refreshToken = record.get().remove("refreshToken");
+            if (refreshToken != null && refreshToken.isTextual()) {
+                record.get().put("refreshTokenHash", HashUtils.sha256Hex(refreshToken.asText()));
+            }
+            kept.add(objectMapper.writeValueAsString(record.get()));
+        }
+        if (kept.isEmpty()) {
+            Files.delete(rejectedFile);
+            log.info("Dropped {} expired or unreadable records from {}", dropped, rejectedFile);
+            return;
+        }
+        Path rewritten = journalDirectory.resolve(REJECTED_SEGMENT + ".tmp");
+        Files.deleteIfExists(rewritten);
+        try (FileChannel channel = openOwnerOnly(rewritten)) {
+            for (String line : kept) {
+                writeFully(channel, line);
+            }
+            channel.force(false);
+        }
+        Files.move(rewritten, rejectedFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (dropped > 0) {
+            log.info("Dropped {} expired or unreadable records from {}", dropped, rejectedFile);
+        }
+    }
+
+    private boolean expiresAfter(ObjectNode record, Instant now) {
+        try {
+            return record.hasNonNull("refreshExpires")
+                    && objectMapper.convertValue(record.get("refreshExpires"), Instant.class).isAfter(now);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private Optional<ObjectNode> readRejected(String line) {
+        if (line.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return objectMapper.readTree(line) instanceof ObjectNode node ? Optional.of(node) : Optional.empty();
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private void write(List<Entry> entries) {
+        Set<UUID> existing = new HashSet<>(namedJdbcTemplate.queryForList(
+                "SELECT id FROM token_info WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", entries.stream().map(Entry::id).toList()),
+                UUID.class));
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (existing.contains(entry.id())) {
+                updates.add(new Object[]{entry.accessJti(), Timestamp.from(entry.accessExpires()),
+                        entry.revoked(), Timestamp.from(entry.updatedAt()), entry.id()});
+            } else {
+                inserts.add(new Object[]{entry.id(), entry.userId(), entry.refreshToken(),
+                        HashUtils.sha256Hex(entry.refreshToken()), entry.accessJti(),
+                        Timestamp.from(entry.accessExpires()), Timestamp.from(entry.refreshExpires()),
+                        entry.revoked(), entry.deviceInfo(), entry.ipAddress(),
+                        Timestamp.from(entry.createdAt()), Timestamp.from(entry.updatedAt())});
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+        }
+        // Revocations that ran while these records were only journaled, here or on another replica
+        namedJdbcTemplate.update(APPLY_REVOCATIONS_SQL,
+                new MapSqlParameterSource("ids", entries.stream().map(Entry::id).toList()));
+        log.debug("Flushed {} token records ({} inserted, {} updated)", entries.size(), inserts.size(), updates.size());
+    }
+
+    private void appendLine(FileChannel channel, Object line) {
+        try {
+            writeFully(channel, objectMapper.writeValueAsString(line));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to append to token journal", e);
+        }
+    }
+
+    private void writeFully(FileChannel channel, String line) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Moves the active segment aside for flushing. Without fsync the old channel is closed right
+     * away; with it, the next sync forces and closes it, since it may hold lines still awaited.
+     */
+    private void rotateActiveSegment() {
+        try {
+            if (fsync) {
+                retiredChannels.add(activeChannel);
+            } else {
+                activeChannel.close();
+            }
+            Files.move(journalDirectory.resolve(ACTIVE_SEGMENT),
+                    journalDirectory.resolve(ACTIVE_SEGMENT + "." + (++segmentSequence) + FLUSHING_SUFFIX));
+            openActiveSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to rotate token journal", e);
+        }
+    }
+
+    private void openActiveSegment() throws IOException {
+        activeChannel = openOwnerOnly(journalDirectory.resolve(ACTIVE_SEGMENT));
+    }
+
+    private FileChannel openOwnerOnly(Path file) throws IOException {
+        Set<StandardOpenOption> options = Set.of(StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        if (!posix) {
+            return FileChannel.open(file, options);
+        }
+        FileChannel channel = FileChannel.open(file, options, PosixFilePermissions.asFileAttribute(OWNER_ONLY_FILE));
+        // The attribute only applies to files created here
+        Files.setPosixFilePermissions(file, OWNER_ONLY_FILE);
+        return channel;
+    }
+
+    /**
+     * Resolves the configured directory, which must be absolute: a relative one would follow the
+     * working directory of whoever started the service. The directory is created, or narrowed,
+     * to owner-only access.
+     */
+    private void prepareDirectory() throws IOException {
+        if (directory == null || directory.isBlank() || !Path.of(directory).isAbsolute()) {
+            throw new IllegalStateException("app.auth.token-journal.directory must be set to an absolute path "
+                    + "while the token journal is enabled (was '" + directory + "')");
+        }
+        journalDirectory = Path.of(directory);
+        posix = journalDirectory.getFileSystem().supportedFileAttributeViews().contains("posix");
+        if (!posix) {
+            Files.createDirectories(journalDirectory);
+            log.warn("Token journal directory {} does not support POSIX permissions; restrict access to it "
+                    + "by other means", journalDirectory);
+            return;
+        }
+        FileAttribute<Set<PosixFilePermission>> ownerOnly = PosixFilePermissions.asFileAttribute(OWNER_ONLY_DIRECTORY);
+        Files.createDirectories(journalDirectory, ownerOnly);
+        Files.setPosixFilePermissions(journalDirectory, OWNER_ONLY_DIRECTORY);
+    }
+
+    private void deleteFlushingSegments() {
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(journalDirectory, "*" + FLUSHING_SUFFIX)) {
+            for (Path segment : segments) {
+                Files.deleteIfExists(segment);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to delete flushed token journal segments in {}", journalDirectory, e);
+        }
+    }
+
+    private void readSegment(Path segment, Map<UUID, Entry> recovered) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    Entry entry = objectMapper.readValue(line, Entry.class);
+                    recovered.put(entry.id(), entry);
+                } catch (IOException e) {
+                    // A torn final line from a crash mid-append; the login it belonged to never returned
+                    log.warn("Skipping unreadable token journal line in {}", segment);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rotated segments in rotation order, followed by the active segment.
+     */
+    private List<Path> sortedSegments(DirectoryStream<Path> segments) {
+        List<Path> sorted = new ArrayList<>();
+        segments.forEach(sorted::add);
+        sorted.sort((a, b) -> Long.compare(segmentOrder(a), segmentOrder(b)));
+        return sorted;
+    }
+
+    private long segmentOrder(Path segment) {
+        String name = segment.getFileName().toString();
+        if (!name.endsWith(FLUSHING_SUFFIX)) {
+            return Long.MAX_VALUE;
+        }
+        String sequence = name.substring(ACTIVE_SEGMENT.length() + 1, name.length() - FLUSHING_SUFFIX.length());
+        try {
+            return Long.parseLong(sequence);
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE - 1;
+        }
+    }
+
+    private void closeQuietly(FileChannel channel) {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            log.debug("Error closing token journal", e);
+        }
+    }
+}
@@ -6,18 +6,24 @@ import org.sp.payroll_service.domain.auth.entity.TokenInfo;
 import org.sp.payroll_service.domain.auth.entity.User;
 import org.sp.payroll_service.domain.auth.service.TokenInfoService;
 import org.sp.payroll_service.repository.TokenInfoRepository;
+import org.sp.payroll_service.utils.HashUtils;
+import org.sp.payroll_service.utils.UuidUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Implementation of TokenInfoService for managing JWT token lifecycle.
+ * New token records go through the {@link TokenInfoJournal} write-behind path and lookups check its
+ * pending records first. Revocations never wait for a flush: they update existing rows, revoke
+ * pending records in the journal, and leave a {@link TokenRevocationStore} tombstone when no row
+ * matched, since the token may still be pending on another replica. Validation honours tombstones.
  */
 @Service
 @Transactional
@@ -26,6 +32,8 @@ import java.util.UUID;
 public class TokenInfoServiceImpl implements TokenInfoService {
 
     private final TokenInfoRepository tokenInfoRepository;
+    private final TokenInfoJournal tokenInfoJournal;
+    private final TokenRevocationStore tokenRevocationStore;
 
     @Value("${app.jwt.expiration:86400000}") // 24 hours in milliseconds
     private long accessTokenValidityMs;
@@ -42,9 +50,11 @@ public class TokenInfoServiceImpl implements TokenInfoService {
         Instant refreshExpires = now.plusSeconds(refreshTokenValidityMs / 1000);
 
         TokenInfo tokenInfo = TokenInfo.builder()
+                .id(UuidUtils.timeOrdered())
                 .user(user)
                 .accessJti(accessJti)
                 .refreshToken(refreshToken)
+                .refreshTokenHash(HashUtils.sha256Hex(refreshToken))
                 .accessExpires(accessExpires)
                 .refreshExpires(refreshExpires)
                 .isRevoked(false)
@@ -52,6 +62,14 @@ public class TokenInfoServiceImpl implements TokenInfoService {
                 .ipAddress(ipAddress)
                 .build();
 
+        if (tokenInfoJournal.isEnabled()) {
+            tokenInfo.setCreatedAt(now);
+            tokenInfo.setUpdatedAt(now);
+            tokenInfoJournal.append(tokenInfo);
+            log.debug("Token info journaled with ID: {}", tokenInfo.getId());
+            return tokenInfo;
+        }
+
         TokenInfo saved = tokenInfoRepository.save(tokenInfo);
         log.debug("Token info created with ID: {}", saved.getId());
         return saved;
@@ -60,37 +78,54 @@ public class TokenInfoServiceImpl implements TokenInfoService {
     @Override
     @Transactional(readOnly = true)
     public Optional<TokenInfo> findByRefreshToken(String refreshToken) {
-        return tokenInfoRepository.findByRefreshToken(refreshToken);
+        String refreshTokenHash = HashUtils.sha256Hex(refreshToken);
+        return tokenInfoJournal.findPending(t -> t.getRefreshTokenHash().equals(refreshTokenHash))
+                .or(() -> tokenInfoRepository.findByRefreshTokenHash(refreshTokenHash));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<TokenInfo> findByAccessJti(String accessJti) {
-        return tokenInfoRepository.findByAccessJti(accessJti);
+        return tokenInfoJournal.findPending(t -> t.getAccessJti().equals(accessJti))
+                .or(() -> tokenInfoRepository.findByAccessJti(accessJti));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<TokenInfo> validateRefreshToken(String refreshToken) {
-        return tokenInfoRepository.findValidRefreshToken(refreshToken, Instant.now());
+        return findValidRefreshToken(refreshToken);
     }
 
     @Override
     public int revokeAllTokensForUser(User user) {
         log.info("Revoking all tokens for user: {}", user.getUsername());
-        return tokenInfoRepository.revokeAllTokensForUser(user);
+        int revoked = tokenInfoRepository.revokeAllTokensForUser(user)
+                + tokenInfoJournal.revokePending(t -> t.getUser().getId().equals(user.getId()));
+        tokenRevocationStore.revokeAllForUser(user.getId(), latestRefreshExpiry());
+        return revoked;
     }
 
     @Override
     public int revokeTokenByRefreshToken(String refreshToken) {
         log.debug("Revoking token by refresh token");
-        return tokenInfoRepository.revokeTokenByRefreshToken(refreshToken);
+        String refreshTokenHash = HashUtils.sha256Hex(refreshToken);
+        int revoked = tokenInfoRepository.revokeTokenByRefreshTokenHash(refreshTokenHash);
+        if (revoked == 0) {
+            revoked = tokenInfoJournal.revokePending(t -> t.getRefreshTokenHash().equals(refreshTokenHash));
+            tokenRevocationStore.revokeRefreshToken(refreshTokenHash, latestRefreshExpiry());
+        }
+        return revoked;
     }
 
     @Override
     public int revokeTokenByAccessJti(String accessJti) {
         log.debug("Revoking token by access JTI: {}", accessJti);
-        return tokenInfoRepository.revokeTokenByAccessJti(accessJti);
+        int revoked = tokenInfoRepository.revokeTokenByAccessJti(accessJti);
+        if (revoked == 0) {
+            revoked = tokenInfoJournal.revokePending(t -> t.getAccessJti().equals(accessJti));
+            tokenRevocationStore.revokeAccessJti(accessJti, latestRefreshExpiry());
+        }
+        return revoked;
     }
 
     @Override
@@ -102,14 +137,24 @@ public class TokenInfoServiceImpl implements TokenInfoService {
         
         tokenInfo.setAccessJti(newAccessJti);
         tokenInfo.setAccessExpires(newAccessExpires);
-        
+
+        // Not yet flushed: supersede the journaled record instead of writing a row that does not exist yet
+        if (tokenInfoJournal.isPending(tokenInfo.getId())) {
+            tokenInfo.setUpdatedAt(now);
+            tokenInfoJournal.append(tokenInfo);
+            return tokenInfo;
+        }
         return tokenInfoRepository.save(tokenInfo);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TokenInfo> getActiveTokensForUser(User user) {
-        return tokenInfoRepository.findActiveTokensByUser(user);
+        return Stream.concat(pendingActiveTokens(user).stream(),
+                        tokenInfoRepository.findActiveTokensByUser(user).stream()
+                                .filter(t -> !tokenInfoJournal.isPending(t.getId())))
+                .filter(t -> !tokenRevocationStore.isRevoked(t))
+                .toList();
     }
 
     @Override
@@ -123,24 +168,49 @@ public class TokenInfoServiceImpl implements TokenInfoService {
     @Override
     @Transactional(readOnly = true)
     public boolean hasExceededMaxSessions(User user, int maxSessions) {
-        long activeTokenCount = tokenInfoRepository.countActiveTokensByUser(user, Instant.now());
+        Instant now = Instant.now();
+        long activeTokenCount = tokenInfoRepository.countActiveTokensByUser(user, now)
+                + pendingActiveTokens(user).stream()
+                        .filter(t -> t.getRefreshExpires().isAfter(now) && !tokenInfoRepository.existsById(t.getId()))
+                        .count();
         return activeTokenCount >= maxSessions;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<TokenInfo> findValidRefreshToken(String refreshToken) {
-        return tokenInfoRepository.findValidRefreshToken(refreshToken, Instant.now());
+        Instant now = Instant.now();
+        String refreshTokenHash = HashUtils.sha256Hex(refreshToken);
+        return tokenInfoJournal.findPending(t -> t.getRefreshTokenHash().equals(refreshTokenHash)
+                        && !t.getIsRevoked() && t.getRefreshExpires().isAfter(now))
+                .or(() -> tokenInfoRepository.findValidRefreshToken(refreshTokenHash, now))
+                .filter(t -> !tokenRevocationStore.isRevoked(t));
     }
 
     /**
      * Checks if a token (identified by its JTI) has been explicitly revoked or has expired
-     * based on the database record. Used for access token validation.
+     * based on the pending journal record or the database record, and on revocation tombstones.
+     * Used for access token validation.
      * * @param jti The JWT ID of the access token.
      * @return True if the token is revoked or expired; false otherwise.
      */
     @Transactional(readOnly = true)
     public boolean isRevoked(String jti) {
-        return tokenInfoRepository.findByAccessJtiAndIsRevokedFalseAndAccessExpiresAfter(jti, Instant.now())
-                .isEmpty();
+        Instant now = Instant.now();
+        return tokenInfoJournal.findPending(t -> t.getAccessJti().equals(jti) && !t.getIsRevoked() && t.getAccessExpires().isAfter(now))
+                .or(() -> tokenInfoRepository.findByAccessJtiAndIsRevokedFalseAndAccessExpiresAfter(jti, now))
+                .map(tokenRevocationStore::isRevoked)
+                .orElse(true);
+    }
+
+    private List<TokenInfo> pendingActiveTokens(User user) {
+        return tokenInfoJournal.findAllPending(t -> t.getUser().getId().equals(user.getId()) && !t.getIsRevoked());
+    }
+
+    /**
+     * Latest expiry of any refresh token issued up to now; a tombstone is kept until then.
+     */
+    private Instant latestRefreshExpiry() {
+        return Instant.now().plusMillis(refreshTokenValidityMs);
     }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package org.sp.payroll_service.domain.auth.service.impl;
+
+import org.sp.payroll_service.domain.auth.entity.TokenInfo;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Revocation tombstones in {@code token_revocations}.
+ * <p>
+ * A revocation that updates no {@code token_info} row may target a token still held in the
+ * {@link TokenInfoJournal} of this or another replica, or one whose flush is committing right now.
+ * The tombstone records it durably: journal flushes apply tombstones to the rows they write, and
+ * token validation checks them for rows written after the revocation. A tombstone can be purged
+ * once every token it can match has expired.
+ */
+@Component
+public class TokenRevocationStore {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO token_revocations (refresh_token_hash, access_jti, user_id, revoked_at, expires_at)
+            VALUES (:refreshTokenHash, :accessJti, :userId, :revokedAt, :expiresAt)
+            """;
+
+    /**
+     * Tombstones matching a token: by its refresh digest, its access JTI, or a revocation of all
+     * tokens its user held at that time.
+     */
+    static final String MATCHES_TOKEN_SQL = """
+            r.refresh_token_hash = t.refresh_token_hash
+               OR r.access_jti = t.access_jti
+               OR (r.user_id = t.user_id AND r.revoked_at >= t.created_at)
+            """;
+
+    private static final String IS_REVOKED_SQL = """
+            SELECT COUNT(*) FROM token_revocations r
+            WHERE r.refresh_token_hash = :refreshTokenHash
+               OR r.access_jti = :accessJti
+               OR (r.user_id = :userId AND r.revoked_at >= :createdAt)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TokenRevocationStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public void revokeRefreshToken(String refreshTokenHash, Instant expiresAt) {
+        insert(refreshTokenHash, null, null, expiresAt);
+    }
+
+    public void revokeAccessJti(String accessJti, Instant expiresAt) {
+        insert(null, accessJti, null, expiresAt);
+    }
+
+    /**
+     * Revokes every token the user holds now, including tokens not yet written to {@code token_info}.
+     */
+    public void revokeAllForUser(UUID userId, Instant expiresAt) {
+        insert(null, null, userId, expiresAt);
+    }
+
+    public boolean isRevoked(TokenInfo tokenInfo) {
+        Long matches = jdbcTemplate.queryForObject(IS_REVOKED_SQL, new MapSqlParameterSource()
+                        .addValue("refreshTokenHash", tokenInfo.getRefreshTokenHash())
+                        .addValue("accessJti", tokenInfo.getAccessJti())
+                        .addValue("userId", tokenInfo.getUser().getId())
+                        .addValue("createdAt", Timestamp.from(tokenInfo.getCreatedAt())),
+                Long.class);
+        return matches != null && matches > 0;
+    }
+
+    /**
+     * Deletes tombstones that can no longer match an unexpired token.
+     *
+     * @return number of tombstones deleted
+     */
+    public int purgeExpired(Instant now) {
+        return jdbcTemplate.update("DELETE FROM token_revocations WHERE expires_at < :now",
+                new MapSqlParameterSource("now", Timestamp.from(now)));
+    }
+
+    private void insert(String refreshTokenHash, String accessJti, UUID userId, Instant expiresAt) {
+        jdbcTemplate.update(INSERT_SQL, new MapSqlParameterSource()
+                .addValue("refreshTokenHash", refreshTokenHash)
+                .addValue("accessJti", accessJti)
+                .addValue("userId", userId)
+                .addValue("revokedAt", Timestamp.from(Instant.now()))
+                .addValue("expiresAt", Timestamp.from(expiresAt)));
+    }
+}
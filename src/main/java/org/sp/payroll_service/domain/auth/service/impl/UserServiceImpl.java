@@ -1,8 +1,10 @@
 package org.sp.payroll_service.domain.auth.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.api.auth.mapper.UserMapper;
 import org.sp.payroll_service.api.auth.dto.*;
 import org.sp.payroll_service.api.wallet.dto.AccountResponse;
+import org.sp.payroll_service.api.wallet.mapper.AccountMapper;
 import org.sp.payroll_service.domain.auth.entity.User;
 import org.sp.payroll_service.domain.auth.service.UserService;
 import org.sp.payroll_service.domain.common.exception.DuplicateEntryException;
@@ -11,7 +13,6 @@ import org.sp.payroll_service.domain.common.exception.ResourceNotFoundException;
 import org.sp.payroll_service.domain.common.exception.ValidationException;
 import org.sp.payroll_service.domain.common.service.AbstractCrudService;
 import org.sp.payroll_service.domain.core.entity.Company;
-import org.sp.payroll_service.domain.wallet.entity.Account;
 import org.sp.payroll_service.repository.CompanyRepository;
 import org.sp.payroll_service.repository.EmployeeRepository;
 import org.sp.payroll_service.repository.UserRepository;
@@ -47,6 +48,8 @@ public class UserServiceImpl extends AbstractCrudService<User, UUID, UserRespons
     private final EmployeeRepository employeeRepository;
     private final CompanyRepository companyRepository;
     private final JwtTokenProvider jwtTokenProvider;
+    private final UserMapper userMapper;
+    private final AccountMapper accountMapper;
 
     /**
      * Constructs the UserServiceImpl.
@@ -56,14 +59,18 @@ public class UserServiceImpl extends AbstractCrudService<User, UUID, UserRespons
      *
      * @param userRepository  The JPA repository for User entities.
      * @param passwordEncoder The Spring Security password encoder for hashing.
+     * @param userMapper      Generated entity-to-response mapper.
+     * @param accountMapper   Generated mapper for the account shown with the user's details.
      */
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, EmployeeRepository employeeRepository, CompanyRepository companyRepository, JwtTokenProvider jwtTokenProvider) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, EmployeeRepository employeeRepository, CompanyRepository companyRepository, JwtTokenProvider jwtTokenProvider, UserMapper userMapper, AccountMapper accountMapper) {
         super(userRepository, "User");
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.employeeRepository = employeeRepository;
         this.companyRepository = companyRepository;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.userMapper = userMapper;
+        this.accountMapper = accountMapper;
     }
 
     // --- Overrides for Creation and Update with Business Logic ---
@@ -171,7 +178,7 @@ public class UserServiceImpl extends AbstractCrudService<User, UUID, UserRespons
                 // Get account details if available
                 if (employee.getAccount() != null) {
                     var account = employee.getAccount();
-                    accountResponse = mapToAccountResponse(account);
+                    accountResponse = accountMapper.toResponse(account);
                 }
             } else {
                 // User is not an employee (might be admin/employer)
@@ -183,7 +190,7 @@ public class UserServiceImpl extends AbstractCrudService<User, UUID, UserRespons
                 if (!companies.isEmpty()) {
                     Company company = companies.getFirst(); // Default company
                     companyId = company.getId();
-                    accountResponse = mapToAccountResponse(company.getAccount());
+                    accountResponse = accountMapper.toResponse(company.getAccount());
                 }
             }
             
@@ -204,24 +211,6 @@ public class UserServiceImpl extends AbstractCrudService<User, UUID, UserRespons
         }
     }
 
-    private static AccountResponse mapToAccountResponse(Account account) {
-        return new AccountResponse(
-                account.getId(),
-                account.getOwnerType(),
-                account.getOwnerId(),
-                account.getAccountType(),
-                account.getAccountName(),
-                account.getAccountNumber(),
-                account.getCurrentBalance(),
-                account.getOverdraftLimit(),
-                account.getBranch() != null ? account.getBranch().getId() : null,
-                account.getBranch() != null ? account.getBranch().getBranchName() : null,
-                account.getStatus(),
-                account.getCreatedAt(),
-                account.getCreatedBy()
-        );
-    }
-
 
     // --- Abstract Mapping Implementations (No changes needed) ---
 
@@ -270,14 +259,7 @@ public class UserServiceImpl extends AbstractCrudService<User, UUID, UserRespons
      */
     @Override
     protected UserResponse mapToResponse(User entity) {
-        // ... (implementation code) ...
-        return new UserResponse(
-                entity.getId(),
-                entity.getUsername(),
-                entity.getEmail(),
-                entity.getRole(),
-                entity.getCreatedAt()
-        );
+        return userMapper.toResponse(entity);
     }
 
     // --- Private Helper: Best Industry Practice Uniqueness Check ---
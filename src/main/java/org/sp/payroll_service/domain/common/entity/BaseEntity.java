@@ -5,11 +5,13 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.sp.payroll_service.domain.common.entity.id.TimeOrderedUuid;
 
 import java.util.UUID;
 
 /**
  * Base entity with UUID identifier and audit fields.
+ * Ids are time-ordered (UUIDv7); existing random v4 ids remain valid.
  */
 @Data
 @EqualsAndHashCode(callSuper = true)
@@ -18,6 +20,6 @@ import java.util.UUID;
 @NoArgsConstructor
 public abstract class BaseEntity extends BaseAuditingEntity{
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package org.sp.payroll_service.domain.common.entity.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.sp.payroll_service.utils.UuidUtils;
+
+import java.util.EnumSet;
+
+/**
+ * Hibernate id generator producing time-ordered UUIDv7 values in memory, before the insert.
+ * No database round-trip is needed, so inserts stay eligible for JDBC batching.
+ */
+public class TimeOrderedUuidGenerator implements BeforeExecutionGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return currentValue != null ? currentValue : UuidUtils.timeOrdered();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    /**
+     * Lets callers pre-generate ids with {@link UuidUtils#timeOrdered()} and assign them up front.
+     */
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+}
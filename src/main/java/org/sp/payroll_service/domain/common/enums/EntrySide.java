@@ -0,0 +1,9 @@
+package org.sp.payroll_service.domain.common.enums;
+
+/**
+ * Side of a journal line: a debit lowers the account balance, a credit raises it.
+ */
+public enum EntrySide {
+    DEBIT,
+    CREDIT
+}
@@ -6,5 +6,7 @@ public enum PayrollStatus {
     COMPLETED,
     PARTIALLY_COMPLETED,
     FAILED,
-    CANCELLED
+    CANCELLED,
+    REVERSED,
+    PARTIALLY_REVERSED
 }
\ No newline at end of file
@@ -41,6 +41,7 @@ public final class ErrorCodes {
     public static final String SYSTEM_DATABASE_ERROR = "50002";
     public static final String SYSTEM_IO_ERROR = "50003";
     public static final String SYSTEM_CONFIGURATION_ERROR = "50004";
+    public static final String SYSTEM_CAPACITY_EXCEEDED = "50005";
 
     // Resource Errors (60xxx)
     public static final String RESOURCE_NOT_FOUND = "60001";
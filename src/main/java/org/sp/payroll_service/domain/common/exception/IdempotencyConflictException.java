@@ -0,0 +1,15 @@
+package org.sp.payroll_service.domain.common.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when an Idempotency-Key cannot be honoured: it was reused with a different
+ * request, or the original request is still being processed elsewhere
+ */
+public class IdempotencyConflictException extends BusinessException {
+    private static final long serialVersionUID = 1L;
+
+    public IdempotencyConflictException(String message, HttpStatus status) {
+        super(message, ErrorCodes.RESOURCE_STATE_CONFLICT, ErrorCategory.BUSINESS, status);
+    }
+}
@@ -0,0 +1,14 @@
+package org.sp.payroll_service.domain.common.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a request is shed because a bounded resource is saturated
+ */
+public class TooManyRequestsException extends BusinessException {
+    private static final long serialVersionUID = 1L;
+
+    public TooManyRequestsException(String message) {
+        super(message, ErrorCodes.SYSTEM_CAPACITY_EXCEEDED, ErrorCategory.SYSTEM, HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
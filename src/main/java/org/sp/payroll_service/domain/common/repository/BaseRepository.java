@@ -18,10 +18,11 @@ import java.util.UUID;
 
 /**
  * Base repository interface with auditing and soft-deletion support.
+ * List views can be served as projections through {@link ProjectionRepository}.
  */
 @NoRepositoryBean
 public interface BaseRepository<T, ID extends Serializable>
-        extends JpaRepository<T, ID>, JpaSpecificationExecutor<T> {
+        extends JpaRepository<T, ID>, JpaSpecificationExecutor<T>, ProjectionRepository<T> {
 
     /**
      * Find an entity by ID (excluding DELETED transactionStatus).
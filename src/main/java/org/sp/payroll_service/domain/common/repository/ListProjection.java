@@ -0,0 +1,28 @@
+package org.sp.payroll_service.domain.common.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Describes a flat, read-only list view over an entity.
+ * The selector picks only the columns the row constructor needs, so rows are built
+ * straight from the result set without managed entities or dirty-checking snapshots.
+ *
+ * @param entityType the queried entity
+ * @param rowType    record whose canonical constructor matches the selections in order
+ * @param selector   column selection (joins for optional associations must be LEFT)
+ * @param <E>        entity type
+ * @param <P>        projected row type
+ */
+public record ListProjection<E, P>(Class<E> entityType, Class<P> rowType, Selector<E> selector) {
+
+    @FunctionalInterface
+    public interface Selector<E> {
+        Selection<?>[] select(Root<E> root, CriteriaBuilder cb);
+    }
+
+    public static <E, P> ListProjection<E, P> of(Class<E> entityType, Class<P> rowType, Selector<E> selector) {
+        return new ListProjection<>(entityType, rowType, selector);
+    }
+}
@@ -0,0 +1,22 @@
+package org.sp.payroll_service.domain.common.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Repository fragment for DTO-projected list queries.
+ *
+ * @param <E> entity type
+ */
+public interface ProjectionRepository<E> {
+
+    /**
+     * Pages over {@code projection} rows matching {@code spec}.
+     * @param spec filter, may be null for no filtering
+     * @param pageable page and sort (sort properties are entity paths)
+     * @param projection row definition
+     * @return page of projected rows
+     */
+    <P> Page<P> findAllProjected(Specification<E> spec, Pageable pageable, ListProjection<E, P> projection);
+}
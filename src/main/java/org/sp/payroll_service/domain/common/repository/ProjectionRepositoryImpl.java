@@ -0,0 +1,67 @@
+package org.sp.payroll_service.domain.common.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+/**
+ * Criteria implementation of {@link ProjectionRepository}, shared by every {@link BaseRepository}.
+ * Uses a constructor select, so the persistence context never sees the rows.
+ */
+public class ProjectionRepositoryImpl<E> implements ProjectionRepository<E> {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public <P> Page<P> findAllProjected(Specification<E> spec, Pageable pageable, ListProjection<E, P> projection) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<P> query = cb.createQuery(projection.rowType());
+        Root<E> root = query.from(projection.entityType());
+        query.select(cb.construct(projection.rowType(), projection.selector().select(root, cb)));
+        Predicate predicate = toPredicate(spec, root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<P> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<P> rows = typedQuery.getResultList();
+
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(spec, projection.entityType()));
+    }
+
+    private long count(Specification<E> spec, Class<E> entityType) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<E> root = query.from(entityType);
+        query.select(cb.count(root));
+        Predicate predicate = toPredicate(spec, root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private Predicate toPredicate(Specification<E> spec, Root<E> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        return spec == null ? null : spec.toPredicate(root, query, cb);
+    }
+}
@@ -3,6 +3,8 @@ package org.sp.payroll_service.domain.common.service;
 import org.sp.payroll_service.api.payroll.dto.PageResponse;
 import org.sp.payroll_service.domain.common.entity.BaseEntity;
 import org.sp.payroll_service.domain.common.enums.EntityStatus;
+import org.sp.payroll_service.domain.common.repository.ListProjection;
+import org.sp.payroll_service.domain.common.repository.ProjectionRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -36,12 +38,17 @@ public abstract class AbstractCrudService<
     protected final JpaRepository<E, ID> repository;
     // We cast the repository to JpaSpecificationExecutor for the search/pagination logic
     protected final JpaSpecificationExecutor<E> specExecutor;
+    // Null when the repository is not a BaseRepository; list views then fall back to entity hydration
+    protected final ProjectionRepository<E> projectionRepository;
     protected final String entityName;
 
     @SuppressWarnings("unchecked")
     protected AbstractCrudService(JpaRepository<E, ID> repository, String entityName) {
         this.repository = repository;
         this.specExecutor = (JpaSpecificationExecutor<E>) repository; // Safe cast since all your Repos extend JpaSpecificationExecutor
+        this.projectionRepository = repository instanceof ProjectionRepository<?>
+                ? (ProjectionRepository<E>) repository
+                : null;
         this.entityName = entityName;
     }
 
@@ -55,6 +62,23 @@ public abstract class AbstractCrudService<
                 .toList();
     }
 
+    /**
+     * Hook for list views (findPageAll/search): a projection selecting only the response columns.
+     * Rows are built from the result set, so no managed entities or snapshots are created per page.
+     * Returning null keeps the entity-hydrating path.
+     */
+    protected ListProjection<E, ?> listProjection() {
+        return null;
+    }
+
+    /**
+     * Maps a projected row to the response. The default covers projections whose row type is R itself.
+     */
+    @SuppressWarnings("unchecked")
+    protected R mapListRow(Object row) {
+        return (R) row;
+    }
+
     // --- BASE CRUD IMPLEMENTATIONS (Transactional & Asynchronous) ---
 
     @Override
@@ -106,6 +130,10 @@ public abstract class AbstractCrudService<
     @Override
     @Transactional(readOnly = true)
     public PageResponse<R> findPageAll(Pageable pageable) {
+        ListProjection<E, ?> projection = listProjection();
+        if (projection != null && projectionRepository != null) {
+            return toPageResponse(projectionRepository.findAllProjected(null, pageable, projection));
+        }
         Page<E> entityPage = repository.findAll(pageable);
         return PageResponse.from(
                 this.mapToResponse(entityPage.getContent()),
@@ -127,6 +155,10 @@ public abstract class AbstractCrudService<
     @Transactional(readOnly = true)
     public PageResponse<R> search(F filter, Pageable pageable) {
         Specification<E> spec = buildSpecificationFromFilter(filter);
+        ListProjection<E, ?> projection = listProjection();
+        if (projection != null && projectionRepository != null) {
+            return toPageResponse(projectionRepository.findAllProjected(spec, pageable, projection));
+        }
         Page<E> entityPage = specExecutor.findAll(spec, pageable);
         return PageResponse.from(
                 this.mapToResponse(entityPage.getContent()),
@@ -153,4 +185,12 @@ public abstract class AbstractCrudService<
         // No filtering by default
         return (root, query, cb) -> cb.conjunction();
     }
-}
\ No newline at end of file
+
+    private PageResponse<R> toPageResponse(Page<?> rowPage) {
+        return PageResponse.from(
+                rowPage.getContent().stream().map(this::mapListRow).toList(),
+                rowPage.getTotalElements(),
+                rowPage.getPageable()
+        );
+    }
+}
@@ -0,0 +1,37 @@
+package org.sp.payroll_service.domain.common.service;
+
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Service interface for Idempotency-Key handling on non-repeatable endpoints.
+ * The first request with a key runs; later requests with the same key get the stored response.
+ */
+public interface IdempotencyService {
+
+    String HEADER = "Idempotency-Key";
+    String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /**
+     * Runs {@code action} at most once per key and caller. A duplicate that arrives while the
+     * first request is running waits for it and returns the same response. Failed actions are
+     * not stored, so the client may retry them with the same key.
+     * @param key client supplied key; {@code null} runs the action without idempotency
+     * @param operation name of the endpoint the key is scoped to
+     * @param request request payload; a key reused with a different payload is rejected
+     * @param bodyType response body type, used to rebuild stored responses
+     * @param action the request handler
+     * @return the handler's response, or the stored response of the first request
+     */
+    <T> ResponseEntity<T> execute(String key, String operation, Object request, Class<T> bodyType,
+                                  Supplier<ResponseEntity<T>> action);
+
+    /**
+     * Removes keys whose retention period ended before {@code now}.
+     * @param now current time
+     * @return number of stored keys removed
+     */
+    int purgeExpired(Instant now);
+}
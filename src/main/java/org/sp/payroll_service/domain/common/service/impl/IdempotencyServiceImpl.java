@@ -0,0 +1,262 @@
+package org.sp.payroll_service.domain.common.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.domain.common.exception.IdempotencyConflictException;
+import org.sp.payroll_service.domain.common.exception.ValidationException;
+import org.sp.payroll_service.domain.common.service.IdempotencyService;
+import org.sp.payroll_service.utils.HashUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key store: an in-memory index in front of the {@code idempotency_keys} table.
+ * <p>
+ * Duplicates on this instance wait on the running request's future. The table row is the claim
+ * across instances: the first request inserts it as IN_PROGRESS and completes it with the
+ * response, and other instances poll it until it completes. A claim left IN_PROGRESS by a crash
+ * blocks its key until it expires, because the ledger work may or may not have committed.
+ */
+@Service
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final String STATUS_IN_PROGRESS = "IN_PROGRESS";
+    private static final String STATUS_COMPLETED = "COMPLETED";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, StoredResponse> completed = new ConcurrentHashMap<>();
+
+    @Value("${app.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${app.idempotency.wait-timeout:60s}")
+    private Duration waitTimeout;
+
+    @Value("${app.idempotency.poll-interval:200ms}")
+    private Duration pollInterval;
+
+    @Value("${app.idempotency.local-cache-size:10000}")
+    private int localCacheSize;
+
+    public IdempotencyServiceImpl(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * A finished request: what the client sent and what it got back.
+     */
+    record StoredResponse(String requestHash, int status, String body, Instant expiresAt) {
+    }
+
+    private record ClaimRow(String requestHash, String status, Integer responseStatus, String responseBody,
+                            Instant expiresAt) {
+    }
+
+    @Override
+    public <T> ResponseEntity<T> execute(String key, String operation, Object request, Class<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException(HEADER, key, "must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String scope = operation + ":" + currentUser();
+        String requestHash = HashUtils.sha256Hex(toJson(request));
+        String id = scope + "|" + key;
+
+        StoredResponse cached = completed.get(id);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return replay(cached, requestHash, bodyType);
+        }
+
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(id, execution);
+        if (running != null) {
+            return replay(await(running), requestHash, bodyType);
+        }
+
+        try {
+            Optional<StoredResponse> stored = claim(scope, key, requestHash);
+            if (stored.isPresent()) {
+                remember(id, stored.get());
+                execution.complete(stored.get());
+                return replay(stored.get(), requestHash, bodyType);
+            }
+
+            ResponseEntity<T> response;
+            try {
+                response = action.get();
+            } catch (RuntimeException e) {
+                // Nothing was stored, so the key is free for a retry
+                jdbcTemplate.update("DELETE FROM idempotency_keys WHERE scope = ? AND idempotency_key = ?", scope, key);
+                throw e;
+            }
+
+            StoredResponse result = complete(scope, key, requestHash, response);
+            remember(id, result);
+            execution.complete(result);
+            return response;
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, execution);
+        }
+    }
+
+    @Override
+    public int purgeExpired(Instant now) {
+        completed.values().removeIf(stored -> !stored.expiresAt().isAfter(now));
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < ?", Timestamp.from(now));
+    }
+
+    /**
+     * Inserts the IN_PROGRESS claim, or returns the stored response when the key already completed.
+     * Waits while another instance holds the claim.
+     */
+    private Optional<StoredResponse> claim(String scope, String key, String requestHash) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            Instant now = Instant.now();
+            try {
+                jdbcTemplate.update("""
+                        INSERT INTO idempotency_keys (scope, idempotency_key, request_hash, status, created_at, expires_at)
+                        VALUES (?, ?, ?, ?, ?, ?)
+                        """, scope, key, requestHash, STATUS_IN_PROGRESS, Timestamp.from(now), Timestamp.from(now.plus(ttl)));
+                return Optional.empty();
+            } catch (DuplicateKeyException e) {
+                ClaimRow row = findClaim(scope, key);
+                if (row == null) {
+                    continue;
+                }
+                if (!row.expiresAt().isAfter(now)) {
+                    jdbcTemplate.update("DELETE FROM idempotency_keys WHERE scope = ? AND idempotency_key = ? AND expires_at = ?",
+                            scope, key, Timestamp.from(row.expiresAt()));
+                    continue;
+                }
+                if (STATUS_COMPLETED.equals(row.status())) {
+                    return Optional.of(new StoredResponse(row.requestHash(), row.responseStatus(), row.responseBody(), row.expiresAt()));
+                }
+                checkSameRequest(row.requestHash(), requestHash);
+                if (System.nanoTime() > deadline) {
+                    throw new IdempotencyConflictException(
+                            "A request with this Idempotency-Key is still being processed", HttpStatus.CONFLICT);
+                }
+                sleep(pollInterval);
+            }
+        }
+    }
+
+    private StoredResponse complete(String scope, String key, String requestHash, ResponseEntity<?> response) {
+        StoredResponse result = new StoredResponse(requestHash, response.getStatusCode().value(),
+                response.getBody() != null ? toJson(response.getBody()) : null, Instant.now().plus(ttl));
+        jdbcTemplate.update("""
+                UPDATE idempotency_keys SET status = ?, response_status = ?, response_body = ?, expires_at = ?
+                WHERE scope = ? AND idempotency_key = ?
+                """, STATUS_COMPLETED, result.status(), result.body(), Timestamp.from(result.expiresAt()), scope, key);
+        return result;
+    }
+
+    private ClaimRow findClaim(String scope, String key) {
+        List<ClaimRow> rows = jdbcTemplate.query("""
+                        SELECT request_hash, status, response_status, response_body, expires_at
+                        FROM idempotency_keys WHERE scope = ? AND idempotency_key = ?
+                        """,
+                (rs, rowNum) -> new ClaimRow(rs.getString("request_hash"), rs.getString("status"),
+                        (Integer) rs.getObject("response_status"), rs.getString("response_body"),
+                        rs.getTimestamp("expires_at").toInstant()),
+                scope, key);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // The first request failed; its duplicates fail the same way
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException(
+                    "A request with this Idempotency-Key is still being processed", HttpStatus.CONFLICT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the original request", e);
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, String requestHash, Class<T> bodyType) {
+        checkSameRequest(stored.requestHash(), requestHash);
+        try {
+            T body = stored.body() != null ? objectMapper.readValue(stored.body(), bodyType) : null;
+            return ResponseEntity.status(stored.status()).header(REPLAYED_HEADER, "true").body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to read stored idempotent response", e);
+        }
+    }
+
+    private void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new IdempotencyConflictException(
+                    "Idempotency-Key was already used with a different request", HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+    }
+
+    private void remember(String id, StoredResponse stored) {
+        if (completed.size() < localCacheSize) {
+            completed.put(id, stored);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize idempotent request", e);
+        }
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the original request", e);
+        }
+    }
+}
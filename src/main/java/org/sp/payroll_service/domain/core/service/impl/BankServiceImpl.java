@@ -1,10 +1,12 @@
 package org.sp.payroll_service.domain.core.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.api.core.mapper.BankMapper;
 import org.sp.payroll_service.api.core.dto.BankCreateRequest;
 import org.sp.payroll_service.api.core.dto.BankFilter;
 import org.sp.payroll_service.api.core.dto.BankResponse;
 import org.sp.payroll_service.api.core.dto.BankUpdateRequest;
+import org.sp.payroll_service.domain.common.repository.ListProjection;
 import org.sp.payroll_service.domain.common.exception.DuplicateEntryException;
 import org.sp.payroll_service.domain.common.service.AbstractCrudService;
 import org.sp.payroll_service.domain.core.entity.Bank;
@@ -35,10 +37,12 @@ public class BankServiceImpl extends AbstractCrudService<
         implements BankService {
 
     private final BankRepository bankRepository;
+    private final BankMapper bankMapper;
 
-    public BankServiceImpl(BankRepository bankRepository) {
+    public BankServiceImpl(BankRepository bankRepository, BankMapper bankMapper) {
         super(bankRepository, "Bank");
         this.bankRepository = bankRepository;
+        this.bankMapper = bankMapper;
     }
 
     // --- Overrides for Creation and Update with Business Logic ---
@@ -83,16 +87,14 @@ public class BankServiceImpl extends AbstractCrudService<
         return entity;
     }
 
+    @Override
+    protected ListProjection<Bank, ?> listProjection() {
+        return BankRepository.LIST_VIEW;
+    }
+
     @Override
     protected BankResponse mapToResponse(Bank entity) {
-        return new BankResponse(
-                entity.getId(),
-                entity.getName(),
-                entity.getSwiftBicCode(),
-                entity.getCountryCode(),
-                entity.getCreatedAt(),
-                entity.getCreatedBy()
-        );
+        return bankMapper.toResponse(entity);
     }
 
     // --- Private Helper: Uniqueness Check (No changes needed) ---
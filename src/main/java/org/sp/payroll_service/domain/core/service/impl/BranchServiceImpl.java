@@ -1,7 +1,9 @@
 package org.sp.payroll_service.domain.core.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.api.core.mapper.BranchMapper;
 import org.sp.payroll_service.api.core.dto.*;
+import org.sp.payroll_service.domain.common.repository.ListProjection;
 import org.sp.payroll_service.domain.common.exception.DuplicateEntryException;
 import org.sp.payroll_service.domain.common.exception.ResourceNotFoundException;
 import org.sp.payroll_service.domain.common.service.AbstractCrudService;
@@ -36,11 +38,13 @@ public class BranchServiceImpl extends AbstractCrudService<
 
     private final BranchRepository branchRepository;
     private final BankRepository bankRepository;
+    private final BranchMapper branchMapper;
 
-    public BranchServiceImpl(BranchRepository branchRepository, BankRepository bankRepository) {
+    public BranchServiceImpl(BranchRepository branchRepository, BankRepository bankRepository, BranchMapper branchMapper) {
         super(branchRepository, "Branch");
         this.branchRepository = branchRepository;
         this.bankRepository = bankRepository;
+        this.branchMapper = branchMapper;
     }
 
     // --- Overrides for Creation and Update with Business Logic ---
@@ -94,19 +98,14 @@ public class BranchServiceImpl extends AbstractCrudService<
         return entity;
     }
 
+    @Override
+    protected ListProjection<Branch, ?> listProjection() {
+        return BranchRepository.LIST_VIEW;
+    }
+
     @Override
     protected BranchResponse mapToResponse(Branch entity) {
-        String bankName = (entity.getBank() != null) ? entity.getBank().getName() : null;
-
-        return new BranchResponse(
-                entity.getId(),
-                entity.getBranchName(),
-                entity.getAddress(),
-                entity.getBank().getId(),
-                bankName,
-                entity.getCreatedAt(),
-                entity.getCreatedBy()
-        );
+        return branchMapper.toResponse(entity);
     }
 
     // --- Private Helpers (No changes needed) ---
@@ -1,9 +1,11 @@
 package org.sp.payroll_service.domain.core.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.api.core.mapper.CompanyMapper;
 import org.sp.payroll_service.api.core.dto.*;
 import org.sp.payroll_service.api.payroll.dto.TransactionResponse;
 import org.sp.payroll_service.api.wallet.dto.AccountResponse;
+import org.sp.payroll_service.domain.common.repository.ListProjection;
 import org.sp.payroll_service.domain.common.dto.response.AuditInfo;
 import org.sp.payroll_service.domain.common.dto.response.Money;
 import org.sp.payroll_service.domain.common.enums.AccountType;
@@ -16,12 +18,15 @@ import org.sp.payroll_service.domain.core.service.CompanyService;
 import org.sp.payroll_service.domain.core.entity.Branch;
 import org.sp.payroll_service.domain.payroll.entity.SalaryDistributionFormula;
 import org.sp.payroll_service.domain.payroll.entity.Transaction;
+import org.sp.payroll_service.domain.payroll.service.PayrollItemChangeTracker;
 import org.sp.payroll_service.domain.wallet.entity.Account;
+import org.sp.payroll_service.domain.wallet.service.LedgerService;
 import org.sp.payroll_service.repository.AccountRepository;
 import org.sp.payroll_service.repository.BranchRepository;
 import org.sp.payroll_service.repository.CompanyRepository;
 import org.sp.payroll_service.repository.SalaryDistributionFormulaRepository;
 import org.sp.payroll_service.repository.TransactionRepository;
+import org.sp.payroll_service.repository.projection.CompanyListRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -55,18 +60,27 @@ public class CompanyServiceImpl extends AbstractCrudService<
     private final BranchRepository branchRepository;
     private final SalaryDistributionFormulaRepository formulaRepository;
     private final TransactionRepository transactionRepository;
+    private final CompanyMapper companyMapper;
+    private final LedgerService ledgerService;
+    private final PayrollItemChangeTracker payrollItemChangeTracker;
 
     public CompanyServiceImpl(CompanyRepository companyRepository,
                               AccountRepository accountRepository,
                               BranchRepository branchRepository,
                               SalaryDistributionFormulaRepository formulaRepository,
-                              TransactionRepository transactionRepository) {
+                              TransactionRepository transactionRepository,
+                              CompanyMapper companyMapper,
+                              LedgerService ledgerService,
+                              PayrollItemChangeTracker payrollItemChangeTracker) {
         super(companyRepository, "Company");
         this.companyRepository = companyRepository;
         this.accountRepository = accountRepository;
         this.branchRepository = branchRepository;
         this.formulaRepository = formulaRepository;
         this.transactionRepository = transactionRepository;
+        this.companyMapper = companyMapper;
+        this.ledgerService = ledgerService;
+        this.payrollItemChangeTracker = payrollItemChangeTracker;
     }
 
     // --- CORE CRUD IMPLEMENTATIONS ---
@@ -81,7 +95,26 @@ public class CompanyServiceImpl extends AbstractCrudService<
         }
 
         // We assume createMainAccountEntity handles Account uniqueness (accountNumber)
-        return super.create(request);
+        CompanyResponse response = super.create(request);
+
+        // The initial balance enters the journal as an external credit
+        AccountResponse mainAccount = response.mainAccount();
+        if (mainAccount != null && mainAccount.currentBalance() != null
+                && mainAccount.currentBalance().signum() > 0) {
+            ledgerService.postExternalCredit(mainAccount.id(), mainAccount.currentBalance(), "Opening balance");
+        }
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public CompanyResponse update(UUID id, CompanyUpdateRequest request) {
+        CompanyResponse response = super.update(id, request);
+        // A new salary formula reprices every employee of the company in its pending batches
+        if (request.salaryFormulaId() != null) {
+            payrollItemChangeTracker.companyChanged(id);
+        }
+        return response;
     }
 
     // --- MAPPING LOGIC (No changes needed) ---
@@ -129,20 +162,45 @@ public class CompanyServiceImpl extends AbstractCrudService<
     }
 
     @Override
-    protected CompanyResponse mapToResponse(Company entity) {
-        AccountResponse accountResponse = mapAccountToResponse(entity.getAccount());
+    protected ListProjection<Company, ?> listProjection() {
+        return CompanyRepository.LIST_VIEW;
+    }
+
+    @Override
+    protected CompanyResponse mapListRow(Object row) {
+        CompanyListRow r = (CompanyListRow) row;
+        AccountResponse accountResponse = r.accountId() == null ? null : new AccountResponse(
+                r.accountId(),
+                r.accountOwnerType(),
+                r.accountOwnerId(),
+                r.accountType(),
+                r.accountName(),
+                r.accountNumber(),
+                r.accountCurrentBalance(),
+                r.accountOverdraftLimit(),
+                r.accountBranchId(),
+                r.accountBranchName(),
+                r.accountStatus(),
+                r.accountCreatedAt(),
+                r.accountCreatedBy()
+        );
 
         return new CompanyResponse(
-                entity.getId(),
-                entity.getName(),
-                entity.getDescription(),
-                entity.getSalaryFormula() != null ? entity.getSalaryFormula().getId() : null,
+                r.id(),
+                r.name(),
+                r.description(),
+                r.salaryFormulaId(),
                 accountResponse,
-                entity.getCreatedAt(),
-                entity.getCreatedBy()
+                r.createdAt(),
+                r.createdBy()
         );
     }
 
+    @Override
+    protected CompanyResponse mapToResponse(Company entity) {
+        return companyMapper.toResponse(entity);
+    }
+
     // --- Helper Methods (No changes needed) ---
 
     private SalaryDistributionFormula getFormulaOrThrow(UUID formulaId) {
@@ -151,27 +209,6 @@ public class CompanyServiceImpl extends AbstractCrudService<
     }
 
 
-    private AccountResponse mapAccountToResponse(Account account) {
-        if (account == null) return null;
-        String branchName = account.getBranch() != null ? account.getBranch().getBranchName() : null;
-
-        return new AccountResponse(
-                account.getId(),
-                account.getOwnerType(),
-                account.getOwnerId(),
-                account.getAccountType(),
-                account.getAccountName(),
-                account.getAccountNumber(),
-                account.getCurrentBalance(),
-                account.getOverdraftLimit(),
-                account.getBranch().getId(),
-                branchName,
-                account.getStatus(),
-                account.getCreatedAt(),
-                account.getCreatedBy()
-        );
-    }
-
     private Account createMainAccountEntity(CompanyMainAccountRequest request, UUID companyId) {
         if (accountRepository.existsByAccountNumber(request.accountNumber())) {
             throw DuplicateEntryException.forEntity("Account", "accountNumber", request.accountNumber());
@@ -213,8 +250,9 @@ public class CompanyServiceImpl extends AbstractCrudService<
         BigDecimal newBalance = currentBalance.add(request.amount());
         companyAccount.setCurrentBalance(newBalance);
 
-        // 4. Save the updated account
+        // 4. Save the updated account and journal the deposit
         accountRepository.save(companyAccount);
+        ledgerService.postExternalCredit(companyAccount.getId(), request.amount(), "Company top-up");
 
         // 5. Log the top-up operation
         log.info("Company {} account topped up with {}. Previous balance: {}, New balance: {}",
@@ -1,15 +1,18 @@
 package org.sp.payroll_service.domain.core.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.api.core.mapper.GradeMapper;
 import org.sp.payroll_service.api.core.dto.GradeCreateRequest;
 import org.sp.payroll_service.api.core.dto.GradeFilter;
 import org.sp.payroll_service.api.core.dto.GradeResponse;
 import org.sp.payroll_service.api.core.dto.GradeUpdateRequest;
+import org.sp.payroll_service.domain.common.repository.ListProjection;
 import org.sp.payroll_service.domain.common.exception.DuplicateEntryException;
 import org.sp.payroll_service.domain.common.exception.ResourceNotFoundException;
 import org.sp.payroll_service.domain.common.service.AbstractCrudService;
 import org.sp.payroll_service.domain.core.entity.Grade;
 import org.sp.payroll_service.domain.core.service.GradeService;
+import org.sp.payroll_service.domain.payroll.service.PayrollItemChangeTracker;
 import org.sp.payroll_service.repository.GradeRepository;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -38,10 +41,15 @@ public class GradeServiceImpl extends AbstractCrudService<
         implements GradeService {
 
     private final GradeRepository gradeRepository;
+    private final GradeMapper gradeMapper;
+    private final PayrollItemChangeTracker payrollItemChangeTracker;
 
-    public GradeServiceImpl(GradeRepository gradeRepository) {
+    public GradeServiceImpl(GradeRepository gradeRepository, GradeMapper gradeMapper,
+                            PayrollItemChangeTracker payrollItemChangeTracker) {
         super(gradeRepository, "Grade");
         this.gradeRepository = gradeRepository;
+        this.gradeMapper = gradeMapper;
+        this.payrollItemChangeTracker = payrollItemChangeTracker;
     }
 
 
@@ -66,7 +74,9 @@ public class GradeServiceImpl extends AbstractCrudService<
         if (gradeRepository.existsByNameAndIdNot(request.name(), id)) {
             throw DuplicateEntryException.forEntity("Grade", "name", request.name());
         }
-        return super.update(id, request);
+        GradeResponse response = super.update(id, request);
+        payrollItemChangeTracker.gradeChanged(id);
+        return response;
     }
 
     // --- Abstract Mapping Implementations (No changes needed) ---
@@ -103,25 +113,13 @@ public class GradeServiceImpl extends AbstractCrudService<
     }
 
     @Override
-    protected GradeResponse mapToResponse(Grade entity) {
-        // Handle the self-referential parent relationship
-        UUID parentId = null;
-        String parentName = null;
-
-        if (entity.getParent() != null) {
-            parentId = entity.getParent().getId();
-            parentName = entity.getParent().getName();
-        }
+    protected ListProjection<Grade, ?> listProjection() {
+        return GradeRepository.LIST_VIEW;
+    }
 
-        return new GradeResponse(
-                entity.getId(),
-                entity.getName(),
-                entity.getRank(),
-                parentId,
-                parentName,
-                entity.getCreatedAt(),
-                entity.getCreatedBy()
-        );
+    @Override
+    protected GradeResponse mapToResponse(Grade entity) {
+        return gradeMapper.toResponse(entity);
     }
 
     // --- Private Helpers (No changes needed) ---
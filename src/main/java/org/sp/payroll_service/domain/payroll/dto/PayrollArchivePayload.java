@@ -0,0 +1,16 @@
+package org.sp.payroll_service.domain.payroll.dto;
+
+import org.sp.payroll_service.api.payroll.dto.PayrollItemResponse;
+import org.sp.payroll_service.api.payroll.dto.TransactionResponse;
+
+import java.util.List;
+
+/**
+ * Archived content of a payroll batch, stored as the same DTOs the API serves.
+ * @param items payroll items of the batch
+ * @param transactions transactions created for the batch
+ */
+public record PayrollArchivePayload(
+        List<PayrollItemResponse> items,
+        List<TransactionResponse> transactions
+) {}
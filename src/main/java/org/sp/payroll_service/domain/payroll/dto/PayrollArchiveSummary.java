@@ -0,0 +1,27 @@
+package org.sp.payroll_service.domain.payroll.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Counters kept for an archived payroll batch, read without loading the archive payload.
+ * @param batchId archived batch
+ * @param itemCount number of payroll items
+ * @param paidCount number of PAID items
+ * @param failedCount number of FAILED items
+ * @param transactionCount number of archived transactions
+ * @param totalAmount sum of all item amounts
+ * @param paidAmount sum of PAID item amounts
+ * @param archivedAt archival timestamp
+ */
+public record PayrollArchiveSummary(
+        UUID batchId,
+        int itemCount,
+        int paidCount,
+        int failedCount,
+        int transactionCount,
+        BigDecimal totalAmount,
+        BigDecimal paidAmount,
+        Instant archivedAt
+) {}
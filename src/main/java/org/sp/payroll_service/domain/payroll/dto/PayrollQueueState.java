@@ -0,0 +1,25 @@
+package org.sp.payroll_service.domain.payroll.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Snapshot of the payroll run scheduler.
+ * @param workers worker slots shared by all companies
+ * @param running runs holding a slot
+ * @param queued runs waiting for a slot
+ * @param companies per-company queues, next to be served first
+ */
+public record PayrollQueueState(int workers, int running, int queued, List<CompanyQueue> companies) {
+
+    /**
+     * One company's share of the scheduler.
+     * @param companyId company identifier
+     * @param weight share weight; a company with weight 2 gets twice the payroll items processed
+     * @param running runs of the company holding a slot
+     * @param virtualTime items already served divided by weight; the lowest is served next
+     * @param queuedBatchIds batches waiting, in submission order
+     */
+    public record CompanyQueue(UUID companyId, int weight, int running, double virtualTime, List<UUID> queuedBatchIds) {
+    }
+}
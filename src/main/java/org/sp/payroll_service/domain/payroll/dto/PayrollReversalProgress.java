@@ -0,0 +1,39 @@
+package org.sp.payroll_service.domain.payroll.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress of a bulk reversal of one payroll batch.
+ * @param batchId payroll batch being reversed
+ * @param state RUNNING while chunks are still being reversed
+ * @param totalItems PAID items when the reversal started
+ * @param reversedItems items reversed so far
+ * @param failedItems items left PAID because their account could not be debited
+ * @param reversedAmount total amount returned to the funding account so far
+ * @param startedAt start of the reversal
+ * @param finishedAt end of the reversal; null while running
+ * @param errors per-item failure messages, up to the report limit
+ * @param error failure message when the reversal stopped early
+ */
+public record PayrollReversalProgress(
+        UUID batchId,
+        State state,
+        long totalItems,
+        long reversedItems,
+        long failedItems,
+        BigDecimal reversedAmount,
+        Instant startedAt,
+        Instant finishedAt,
+        List<String> errors,
+        String error
+) {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
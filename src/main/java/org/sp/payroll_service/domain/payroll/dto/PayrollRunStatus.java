@@ -0,0 +1,40 @@
+package org.sp.payroll_service.domain.payroll.dto;
+
+import org.sp.payroll_service.api.payroll.dto.PayrollResult;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A payroll run submitted to the payroll run scheduler.
+ * @param batchId payroll batch to process
+ * @param companyId company whose queue the run is in
+ * @param fundingAccountId funding account; runs sharing it never overlap
+ * @param itemCount payroll items in the batch, the run's cost in the fair share
+ * @param state QUEUED until a worker slot is free, then RUNNING
+ * @param submittedAt time the run was queued
+ * @param startedAt time the run started; null while queued
+ * @param finishedAt time the run ended; null until then
+ * @param result processing result when the run completed
+ * @param error failure message when the run failed
+ */
+public record PayrollRunStatus(
+        UUID batchId,
+        UUID companyId,
+        UUID fundingAccountId,
+        long itemCount,
+        State state,
+        Instant submittedAt,
+        Instant startedAt,
+        Instant finishedAt,
+        PayrollResult result,
+        String error
+) {
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
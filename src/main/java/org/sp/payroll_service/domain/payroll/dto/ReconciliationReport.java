@@ -0,0 +1,61 @@
+package org.sp.payroll_service.domain.payroll.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of one ledger reconciliation run.
+ * @param runId run identifier
+ * @param state RUNNING while the run is in progress
+ * @param startedAt start of the run
+ * @param finishedAt end of the run; null while running
+ * @param accountsChecked accounts compared against the journal, and their journals against transactions
+ * @param batchesChecked payroll batches compared against their PAID items
+ * @param rowsScanned account, journal, transaction, batch and item rows read
+ * @param rowsPerSecond scan throughput of the run
+ * @param mismatchCount all mismatches found, including those beyond the report limit
+ * @param mismatches mismatches kept in the report
+ * @param error failure message when the run did not complete
+ */
+public record ReconciliationReport(
+        UUID runId,
+        State state,
+        Instant startedAt,
+        Instant finishedAt,
+        long accountsChecked,
+        long batchesChecked,
+        long rowsScanned,
+        long rowsPerSecond,
+        long mismatchCount,
+        List<Mismatch> mismatches,
+        String error
+) {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public enum Kind {
+        /** accounts.current_balance differs from opening snapshot + journal lines */
+        ACCOUNT_BALANCE,
+        /** transaction-posted journal lines differ from sum(credits) - sum(debits) over settled transactions */
+        ACCOUNT_TRANSACTIONS,
+        /** payroll_batches.executed_amount differs from the sum of its PAID items */
+        BATCH_EXECUTED_AMOUNT
+    }
+
+    /**
+     * One entity whose stored amount disagrees with the amount derived from its detail rows.
+     * @param kind check that failed
+     * @param entityId account or batch id
+     * @param reference account number or batch name
+     * @param expected amount derived from the detail rows
+     * @param actual stored amount
+     */
+    public record Mismatch(Kind kind, UUID entityId, String reference, BigDecimal expected, BigDecimal actual) {
+    }
+}
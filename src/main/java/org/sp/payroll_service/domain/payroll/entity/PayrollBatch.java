@@ -76,4 +76,14 @@ public class PayrollBatch extends BaseEntity {
      */
     @Column(name = "executed_at")
     private Instant executedAt;
+
+    /**
+     * Set once items and transactions were moved to {@link PayrollBatchArchive}; the batch row stays as a stub.
+     */
+    @Column(name = "archived_at")
+    private Instant archivedAt;
+
+    public boolean isArchived() {
+        return archivedAt != null;
+    }
 }
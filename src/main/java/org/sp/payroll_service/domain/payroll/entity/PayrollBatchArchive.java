@@ -0,0 +1,57 @@
+package org.sp.payroll_service.domain.payroll.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.sp.payroll_service.domain.common.entity.BaseEntity;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Cold-storage record of an archived payroll batch.
+ * The counters act as a stub for batch summaries; the payload holds the gzip-compressed JSON
+ * of the batch's items and transactions, which are removed from the hot tables.
+ */
+@Entity
+@Table(name = "payroll_batch_archives")
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class PayrollBatchArchive extends BaseEntity {
+
+    @Column(name = "batch_id", nullable = false, unique = true)
+    private UUID batchId;
+
+    @Column(name = "item_count", nullable = false)
+    private int itemCount;
+
+    @Column(name = "paid_count", nullable = false)
+    private int paidCount;
+
+    @Column(name = "failed_count", nullable = false)
+    private int failedCount;
+
+    @Column(name = "transaction_count", nullable = false)
+    private int transactionCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "paid_amount", nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal paidAmount = BigDecimal.ZERO;
+
+    /**
+     * Gzip-compressed JSON of {@link org.sp.payroll_service.domain.payroll.dto.PayrollArchivePayload}.
+     */
+    @Column(name = "payload", nullable = false)
+    private byte[] payload;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
@@ -0,0 +1,94 @@
+package org.sp.payroll_service.domain.payroll.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.sp.payroll_service.domain.common.entity.BaseEntity;
+import org.sp.payroll_service.domain.core.entity.Company;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.UUID;
+
+/**
+ * Recurring monthly payroll of a company (e.g., "paid on the 25th").
+ * The batch for {@code nextPayday} is generated {@code leadDays} ahead, so payday itself only
+ * checks funds and disburses.
+ */
+@Entity
+@Table(name = "payroll_schedules")
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class PayrollSchedule extends BaseEntity {
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "company_id", nullable = false, unique = true)
+    private Company company;
+
+    @Column(name = "funding_account_id", nullable = false)
+    private UUID fundingAccountId;
+
+    /**
+     * Batch name prefix; the payroll month is appended per batch.
+     */
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    /**
+     * Base salary for the lowest grade, used for every generated batch.
+     */
+    @Column(name = "base_salary", nullable = false, precision = 15, scale = 2)
+    private BigDecimal baseSalary;
+
+    /**
+     * Payday in each month; months that are shorter pay on their last day.
+     */
+    @Column(name = "day_of_month", nullable = false)
+    private int dayOfMonth;
+
+    @Column(name = "lead_days", nullable = false)
+    @Builder.Default
+    private int leadDays = 3;
+
+    /**
+     * When false, the pre-generated batch is left PENDING for a manual run on payday.
+     */
+    @Column(name = "auto_process", nullable = false)
+    @Builder.Default
+    private boolean autoProcess = true;
+
+    @Column(name = "enabled", nullable = false)
+    @Builder.Default
+    private boolean enabled = true;
+
+    @Column(name = "next_payday", nullable = false)
+    private LocalDate nextPayday;
+
+    /**
+     * Batch pre-generated for {@code nextPayday}; cleared once payday has passed.
+     */
+    @Column(name = "pending_batch_id")
+    private UUID pendingBatchId;
+
+    @Column(name = "last_generated_at")
+    private Instant lastGeneratedAt;
+
+    /**
+     * Payday of the schedule in the given month.
+     */
+    public LocalDate paydayIn(YearMonth month) {
+        return month.atDay(Math.min(dayOfMonth, month.lengthOfMonth()));
+    }
+
+    /**
+     * First day on which the batch for {@code nextPayday} is generated.
+     */
+    public LocalDate generationDate() {
+        return nextPayday.minusDays(leadDays);
+    }
+}
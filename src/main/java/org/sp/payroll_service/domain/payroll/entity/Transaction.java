@@ -11,6 +11,7 @@ import org.sp.payroll_service.domain.wallet.entity.Account;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.UUID;
 
 /**
  * Enhanced transaction entity supporting double-entry accounting.
@@ -87,6 +88,12 @@ public class Transaction extends BaseEntity {
     @Column(name = "failure_reason")
     private String failureReason;
 
+    /**
+     * Transaction this one reverses, for reversal transactions.
+     */
+    @Column(name = "reverses_transaction_id")
+    private UUID reversesTransactionId;
+
     /**
      * Mark transaction as processed successfully.
      */
@@ -0,0 +1,21 @@
+package org.sp.payroll_service.domain.payroll.exception;
+
+import org.sp.payroll_service.domain.common.exception.BusinessException;
+import org.sp.payroll_service.domain.common.exception.ErrorCategory;
+import org.sp.payroll_service.domain.common.exception.ErrorCodes;
+import org.springframework.http.HttpStatus;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when a transfer keeps losing to concurrent updates of the same accounts.
+ * The request did not take effect and is safe to resubmit.
+ */
+public class TransferConflictException extends BusinessException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public TransferConflictException(String message, Throwable cause) {
+        super(message, ErrorCodes.RESOURCE_STATE_CONFLICT, ErrorCategory.BUSINESS, HttpStatus.CONFLICT, cause);
+    }
+}
@@ -0,0 +1,45 @@
+package org.sp.payroll_service.domain.payroll.service;
+
+import org.sp.payroll_service.domain.payroll.dto.PayrollArchivePayload;
+import org.sp.payroll_service.domain.payroll.dto.PayrollArchiveSummary;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service interface for moving finished payroll batches to cold storage and reading them back.
+ * An archived batch keeps its payroll_batches row; its items and transactions live in the archive.
+ */
+public interface PayrollArchiveService {
+
+    /**
+     * Finds COMPLETED, CANCELLED or REVERSED batches created before the cutoff that are not archived yet.
+     * @param cutoff creation cutoff
+     * @param limit maximum number of ids returned
+     * @return batch ids, oldest first
+     */
+    List<UUID> findArchivableBatchIds(Instant cutoff, int limit);
+
+    /**
+     * Archives one batch: snapshots items and transactions, removes them from the hot tables
+     * and marks the batch archived. Runs in its own transaction.
+     * @param batchId payroll batch identifier
+     */
+    void archiveBatch(UUID batchId);
+
+    /**
+     * Reads the summary counters of an archived batch.
+     * @param batchId payroll batch identifier
+     * @return summary, empty when the batch is not archived
+     */
+    Optional<PayrollArchiveSummary> findSummary(UUID batchId);
+
+    /**
+     * Reads the archived items and transactions of a batch.
+     * @param batchId payroll batch identifier
+     * @return payload, empty when the batch is not archived
+     */
+    Optional<PayrollArchivePayload> findPayload(UUID batchId);
+}
@@ -0,0 +1,66 @@
+package org.sp.payroll_service.domain.payroll.service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service interface for tracking which items of PENDING payroll batches are stale.
+ * Writes to employees, grades and salary formulas mark the affected (batch, employee) pairs in
+ * the same transaction; a delta refresh then recalculates only those items.
+ */
+public interface PayrollItemChangeTracker {
+
+    /**
+     * One stale (batch, employee) pair as marked; {@code markIds} are the marks it was read from.
+     */
+    record StaleEmployee(UUID employeeId, List<Long> markIds) {
+    }
+
+    /**
+     * Marks the employee's item in the PENDING batches of its company, including batches it has
+     * no item in yet, and in any other PENDING batch still holding an item for it (a transfer).
+     * @param employeeId hired, updated, transferred or removed employee
+     */
+    void employeeChanged(UUID employeeId);
+
+    /**
+     * Marks the items of every employee in the grade in the PENDING batches of their company.
+     * @param gradeId changed grade
+     */
+    void gradeChanged(UUID gradeId);
+
+    /**
+     * Marks every employee of the company in its PENDING batches.
+     * @param companyId company whose salary formula changed
+     */
+    void companyChanged(UUID companyId);
+
+    /**
+     * Marks every item of PENDING batches of companies using the formula.
+     * @param formulaId changed salary distribution formula
+     */
+    void formulaChanged(UUID formulaId);
+
+    /**
+     * @param batchId payroll batch identifier
+     * @return stale employees of the batch, one entry per employee
+     */
+    List<StaleEmployee> findStale(UUID batchId);
+
+    /**
+     * @return PENDING batches with stale items
+     */
+    List<UUID> findStaleBatchIds();
+
+    /**
+     * Removes marks once their items are refreshed. Marks added after they were read stay.
+     * @param markIds marks to remove
+     */
+    void clear(List<Long> markIds);
+
+    /**
+     * Drops marks of batches that left PENDING, whose items no longer change.
+     * @return number of marks dropped
+     */
+    int purgeSettled();
+}
@@ -0,0 +1,37 @@
+package org.sp.payroll_service.domain.payroll.service;
+
+import org.sp.payroll_service.domain.payroll.dto.PayrollReversalProgress;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service interface for reversing every PAID item of a processed payroll batch in one job.
+ */
+public interface PayrollReversalService {
+
+    /**
+     * Starts reversing a COMPLETED or PARTIALLY_COMPLETED batch in the background, or resumes a
+     * PARTIALLY_REVERSED one. The batch is PROCESSING while the job runs and ends REVERSED, or
+     * PARTIALLY_REVERSED when some items could not be reversed.
+     * @param batchId payroll batch identifier
+     * @param reason reason recorded on the reversal transactions
+     * @return initial progress
+     * @throws PayrollProcessingException if the batch cannot be reversed
+     */
+    PayrollReversalProgress startBatchReversal(UUID batchId, String reason);
+
+    /**
+     * Progress of the current or last reversal of a batch on this instance.
+     * @param batchId payroll batch identifier
+     * @return Optional progress
+     */
+    Optional<PayrollReversalProgress> getReversalProgress(UUID batchId);
+
+    /**
+     * Takes over reversals whose owning instance stopped renewing their lease and resumes them
+     * on this instance.
+     * @return number of reversals resumed
+     */
+    int recoverAbandonedReversals();
+}
@@ -0,0 +1,44 @@
+package org.sp.payroll_service.domain.payroll.service;
+
+import org.sp.payroll_service.api.payroll.dto.PayrollResult;
+import org.sp.payroll_service.domain.payroll.dto.PayrollQueueState;
+import org.sp.payroll_service.domain.payroll.dto.PayrollRunStatus;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service interface for queuing payroll runs. Batches queue per company, companies share the
+ * worker slots by weight, and runs on the same funding account never overlap.
+ */
+public interface PayrollRunScheduler {
+
+    /**
+     * Queues a PENDING batch for processing. Submitting a batch that is already queued or
+     * running returns that run.
+     * @param batchId payroll batch identifier
+     * @return status of the queued run
+     * @throws PayrollProcessingException if the batch is not PENDING
+     */
+    PayrollRunStatus submit(UUID batchId);
+
+    /**
+     * Queues a PENDING batch and waits for its run to finish.
+     * @param batchId payroll batch identifier
+     * @return processing result
+     */
+    PayrollResult runAndWait(UUID batchId);
+
+    /**
+     * Status of the current or last run of a batch on this instance.
+     * @param batchId payroll batch identifier
+     * @return Optional run status
+     */
+    Optional<PayrollRunStatus> getRun(UUID batchId);
+
+    /**
+     * Current queues and slot usage.
+     * @return scheduler snapshot
+     */
+    PayrollQueueState queueState();
+}
@@ -0,0 +1,63 @@
+package org.sp.payroll_service.domain.payroll.service;
+
+import org.sp.payroll_service.api.payroll.dto.CreatePayrollScheduleRequest;
+import org.sp.payroll_service.api.payroll.dto.PayrollScheduleResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service interface for recurring payroll schedules.
+ * Batches are generated ahead of payday during off-peak hours and kept current until payday,
+ * when they are only checked for funds and disbursed.
+ */
+public interface PayrollScheduleService {
+
+    /**
+     * Creates the company's schedule, or replaces it. A PENDING batch generated with the old
+     * settings is cancelled and generated again with the new ones.
+     * @param request schedule settings
+     * @return saved schedule
+     */
+    PayrollScheduleResponse saveSchedule(CreatePayrollScheduleRequest request);
+
+    /**
+     * @param scheduleId schedule identifier
+     * @return schedule details
+     */
+    PayrollScheduleResponse getSchedule(UUID scheduleId);
+
+    /**
+     * @return all schedules
+     */
+    List<PayrollScheduleResponse> getAllSchedules();
+
+    /**
+     * Stops the schedule; a batch it already generated is left as is.
+     * @param scheduleId schedule identifier
+     */
+    void disableSchedule(UUID scheduleId);
+
+    /**
+     * Generates or refreshes the batch for the next payday now, regardless of lead time.
+     * @param scheduleId schedule identifier
+     * @return updated schedule
+     */
+    PayrollScheduleResponse prepareNow(UUID scheduleId);
+
+    /**
+     * Generates batches whose generation date has come and refreshes those already generated.
+     * @param today current date
+     * @return number of schedules prepared
+     */
+    int prepareUpcoming(LocalDate today);
+
+    /**
+     * Submits the batches of schedules whose payday has come. A schedule moves to the next month
+     * only once its batch has left PENDING; until then each call submits the batch again.
+     * @param today current date
+     * @return number of schedules submitted or moved on without error
+     */
+    int disburseDue(LocalDate today);
+}
@@ -84,6 +84,16 @@ public interface PayrollService {
      * @return updated batch response
      */
     PayrollBatchResponse cancelBatch(UUID batchId);
+
+    /**
+     * Brings the items of a PENDING batch in line with current employees, grades and formula.
+     * Only employees marked stale by {@link PayrollItemChangeTracker} since the last refresh are
+     * recalculated: their items are added, dropped or rewritten when the amounts changed.
+     * @param batchId batch identifier
+     * @return number of items added, updated or removed
+     * @throws PayrollProcessingException if the batch is not PENDING
+     */
+    int refreshPendingBatch(UUID batchId);
     /**
      * Finds the first pending or partial pending payroll batch for a company.
      * @param companyId company identifier
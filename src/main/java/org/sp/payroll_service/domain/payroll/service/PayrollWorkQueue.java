@@ -0,0 +1,44 @@
+package org.sp.payroll_service.domain.payroll.service;
+
+import org.sp.payroll_service.api.payroll.dto.PayrollResult;
+
+import java.util.UUID;
+
+/**
+ * Service interface for processing a payroll batch as chunks of items that any instance can
+ * claim from the database, so one batch is paid out by all running instances together.
+ */
+public interface PayrollWorkQueue {
+
+    /**
+     * @return true when payroll runs are split into claimable chunks
+     */
+    boolean isEnabled();
+
+    /**
+     * Splits a PENDING batch into chunks and waits until all chunks are done and the batch is final.
+     * @param batchId payroll batch identifier
+     * @return processing result
+     * @throws InsufficientFundsException if the funding account cannot cover the batch
+     * @throws PayrollProcessingException if the batch is not PENDING or does not finish in time
+     */
+    PayrollResult process(UUID batchId);
+
+    /**
+     * Claims chunks while this instance has free worker capacity and starts processing them.
+     * @return number of chunks claimed
+     */
+    int claimAndRun();
+
+    /**
+     * Extends the leases of the chunks this instance is processing.
+     * @return number of leases extended
+     */
+    int renewLeases();
+
+    /**
+     * Fails chunks whose lease expired after the last allowed attempt, together with their items.
+     * @return number of chunks failed
+     */
+    int failExhaustedChunks();
+}
@@ -0,0 +1,31 @@
+package org.sp.payroll_service.domain.payroll.service;
+
+import org.sp.payroll_service.domain.payroll.dto.ReconciliationReport;
+
+import java.util.Optional;
+
+/**
+ * Service interface for verifying stored totals against the rows they are derived from:
+ * account balances against the journal, the journal against transactions, and batch executed
+ * amounts against PAID items.
+ */
+public interface ReconciliationService {
+
+    /**
+     * Runs a reconciliation on the calling thread.
+     * @return the finished report
+     */
+    ReconciliationReport run();
+
+    /**
+     * Starts a reconciliation in the background unless one is already running.
+     * @return the report of the started or already running run, in RUNNING state
+     */
+    ReconciliationReport start();
+
+    /**
+     * Report of the current or last run on this instance.
+     * @return Optional report
+     */
+    Optional<ReconciliationReport> latestReport();
+}
@@ -7,6 +7,7 @@ import org.sp.payroll_service.domain.common.dto.response.Money;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -31,6 +32,14 @@ public interface TransactionService {
      * @return current balance
      */
     Money getAccountBalance(UUID accountId);
+
+    /**
+     * Gets the balance of an account at a point in time, from the journal and its snapshots.
+     * @param accountId account identifier
+     * @param asOf point in time
+     * @return balance including every entry posted at or before {@code asOf}
+     */
+    Money getAccountBalanceAsOf(UUID accountId, Instant asOf);
     
     /**
      * Retrieves transaction history with optional filtering.
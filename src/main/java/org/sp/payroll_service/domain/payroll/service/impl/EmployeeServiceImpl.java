@@ -2,11 +2,13 @@ package org.sp.payroll_service.domain.payroll.service.impl;
 
 import jakarta.persistence.criteria.Predicate;
 import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.api.payroll.mapper.EmployeeMapper;
 import org.sp.payroll_service.api.core.dto.CompanyResponse;
 import org.sp.payroll_service.api.core.dto.GradeResponse;
 import org.sp.payroll_service.api.payroll.dto.*;
 import org.sp.payroll_service.api.wallet.dto.AccountResponse;
 import org.sp.payroll_service.domain.auth.entity.User;
+import org.sp.payroll_service.domain.common.repository.ListProjection;
 import org.sp.payroll_service.domain.common.enums.AccountType;
 import org.sp.payroll_service.domain.common.enums.EntityStatus;
 import org.sp.payroll_service.domain.common.enums.OwnerType;
@@ -19,8 +21,10 @@ import org.sp.payroll_service.domain.core.entity.Company;
 import org.sp.payroll_service.domain.core.entity.Grade;
 import org.sp.payroll_service.domain.payroll.entity.Employee;
 import org.sp.payroll_service.domain.payroll.service.EmployeeService;
+import org.sp.payroll_service.domain.payroll.service.PayrollItemChangeTracker;
 import org.sp.payroll_service.domain.wallet.entity.Account;
 import org.sp.payroll_service.repository.*;
+import org.sp.payroll_service.repository.projection.EmployeeListRow;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -58,6 +62,8 @@ public class EmployeeServiceImpl extends AbstractCrudService<
     private final AccountRepository accountRepository;
     private final BranchRepository branchRepository;
     private final PasswordEncoder passwordEncoder;
+    private final EmployeeMapper employeeMapper;
+    private final PayrollItemChangeTracker payrollItemChangeTracker;
 
     public EmployeeServiceImpl(
             EmployeeRepository employeeRepository,
@@ -66,7 +72,9 @@ public class EmployeeServiceImpl extends AbstractCrudService<
             CompanyRepository companyRepository,
             AccountRepository accountRepository,
             BranchRepository branchRepository,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder,
+            EmployeeMapper employeeMapper,
+            PayrollItemChangeTracker payrollItemChangeTracker) {
         super(employeeRepository, "Employee");
         this.employeeRepository = employeeRepository;
         this.userRepository = userRepository;
@@ -75,6 +83,8 @@ public class EmployeeServiceImpl extends AbstractCrudService<
         this.accountRepository = accountRepository;
         this.branchRepository = branchRepository;
         this.passwordEncoder = passwordEncoder;
+        this.employeeMapper = employeeMapper;
+        this.payrollItemChangeTracker = payrollItemChangeTracker;
     }
 
     // --- Overrides for Creation and Update with Business Logic ---
@@ -132,7 +142,11 @@ public class EmployeeServiceImpl extends AbstractCrudService<
                 .orElseThrow(() -> ResourceNotFoundException.forEntity("Company", "default"));
 
         // Delegation to super.create will trigger mapToEntity() for final object assembly and persistence
-        return super.create(request);
+        EmployeeResponse response = super.create(request);
+        // The tracker reads the employee's company over JDBC
+        employeeRepository.flush();
+        payrollItemChangeTracker.employeeChanged(response.id());
+        return response;
     }
 
     /**
@@ -209,7 +223,20 @@ public class EmployeeServiceImpl extends AbstractCrudService<
         }
 
         // 4. Delegate to abstract base class for simple field mapping and final save
-        return super.update(id, request);
+        EmployeeResponse response = super.update(id, request);
+        employeeRepository.flush();
+        payrollItemChangeTracker.employeeChanged(id);
+        return response;
+    }
+
+    /**
+     * Soft-deletes the employee and drops them from pending payroll batches on their next refresh.
+     */
+    @Override
+    @Transactional
+    public void delete(UUID id) {
+        super.delete(id);
+        payrollItemChangeTracker.employeeChanged(id);
     }
 
     // --- Abstract Mapping Implementations ---
@@ -345,91 +372,69 @@ public class EmployeeServiceImpl extends AbstractCrudService<
     }
 
     @Override
-    protected EmployeeResponse mapToResponse(Employee entity) {
-        log.error("🔍 [EMPLOYEE-MAPPING-DEBUG] Employee ID: {}", entity != null ? entity.getId() : "NULL");
-        
-        if (entity == null) {
-            log.error("🔍 [EMPLOYEE-MAPPING-DEBUG] ❌ Employee entity is NULL");
-            return null;
-        }
-        
-        try {
-            // Complete mapping logic for nested DTOs (GradeResponse and AccountResponse)
-            GradeResponse gradeResponse = null;
-            if (entity.getGrade() != null) {
-                gradeResponse = new GradeResponse(
-                        entity.getGrade().getId(),
-                        entity.getGrade().getName(),
-                        entity.getGrade().getRank(),
-                        entity.getGrade().getParent() != null? entity.getGrade().getParent().getId():null,
-                        entity.getGrade().getParent() != null? entity.getGrade().getParent().getName():null,
-                        entity.getCreatedAt(),
-                        entity.getCreatedBy()
-                );
-                log.error("🔍 [EMPLOYEE-MAPPING-DEBUG] ✅ Grade mapped: {}", gradeResponse.name());
-            } else {
-                log.error("🔍 [EMPLOYEE-MAPPING-DEBUG] ❌ Grade is NULL");
-            }
-
-            log.error("🔍 [EMPLOYEE-MAPPING-DEBUG] Checking account...");
-            AccountResponse accountResponse = null;
-            if (entity.getAccount() != null) {
-                accountResponse = new AccountResponse(
-                        entity.getAccount().getId(),
-                        entity.getAccount().getOwnerType(),
-                        entity.getAccount().getOwnerId(),
-                        entity.getAccount().getAccountType(),
-                        entity.getAccount().getAccountName(),
-                        entity.getAccount().getAccountNumber(),
-                        entity.getAccount().getCurrentBalance(),
-                        entity.getAccount().getOverdraftLimit(),
-                        entity.getAccount().getBranch() != null? entity.getAccount().getBranch().getId():null,
-                        entity.getAccount().getBranch() != null? entity.getAccount().getBranch().getBranchName():null,
-                        entity.getStatus(),
-                        entity.getCreatedAt(),
-                        entity.getCreatedBy()
-                );
-                log.error("🔍 [EMPLOYEE-MAPPING-DEBUG] ✅ Account mapped: {}", accountResponse.accountNumber());
-            } else {
-                log.error("🔍 [EMPLOYEE-MAPPING-DEBUG] ❌ Account is NULL");
-            }
+    protected ListProjection<Employee, ?> listProjection() {
+        return EmployeeRepository.LIST_VIEW;
+    }
 
-            log.error("🔍 [EMPLOYEE-MAPPING-DEBUG] Checking company...");
-            CompanyResponse companyResponse = null;
-            if (entity.getCompany() != null) {
-                companyResponse = new CompanyResponse(
-                        entity.getCompany().getId(),
-                        entity.getCompany().getName(),
-                        entity.getCompany().getDescription(),
-                        entity.getCompany().getSalaryFormula() != null ? entity.getCompany().getSalaryFormula().getId() : null,
-                        null,
-                        entity.getCompany().getCreatedAt(),
-                        entity.getCompany().getCreatedBy()
-                );
-                log.error("🔍 [EMPLOYEE-MAPPING-DEBUG] ✅ Company mapped: {}", companyResponse.name());
-            } else {
-                log.error("🔍 [EMPLOYEE-MAPPING-DEBUG] ❌ Company is NULL");
-            }
+    /**
+     * Builds the list response from a projected row; nested values mirror {@link #mapToResponse(Employee)}.
+     */
+    @Override
+    protected EmployeeResponse mapListRow(Object row) {
+        EmployeeListRow r = (EmployeeListRow) row;
+
+        GradeResponse gradeResponse = r.gradeId() == null ? null : new GradeResponse(
+                r.gradeId(),
+                r.gradeName(),
+                r.gradeRank(),
+                r.gradeParentId(),
+                r.gradeParentName(),
+                r.gradeCreatedAt(),
+                r.gradeCreatedBy()
+        );
+
+        AccountResponse accountResponse = r.accountId() == null ? null : new AccountResponse(
+                r.accountId(),
+                r.accountOwnerType(),
+                r.accountOwnerId(),
+                r.accountType(),
+                r.accountName(),
+                r.accountNumber(),
+                r.accountCurrentBalance(),
+                r.accountOverdraftLimit(),
+                r.accountBranchId(),
+                r.accountBranchName(),
+                r.accountStatus(),
+                r.accountCreatedAt(),
+                r.accountCreatedBy()
+        );
+
+        CompanyResponse companyResponse = r.companyId() == null ? null : new CompanyResponse(
+                r.companyId(),
+                r.companyName(),
+                r.companyDescription(),
+                r.companySalaryFormulaId(),
+                null,
+                r.companyCreatedAt(),
+                r.companyCreatedBy()
+        );
+
+        return new EmployeeResponse(
+                r.id(),
+                r.code(),
+                r.name(),
+                r.address(),
+                r.mobile(),
+                companyResponse,
+                gradeResponse,
+                accountResponse,
+                r.status()
+        );
+    }
 
-            EmployeeResponse response = new EmployeeResponse(
-                    entity.getId(),
-                    entity.getCode(),
-                    entity.getName(),
-                    entity.getAddress(),
-                    entity.getMobile(),
-                    companyResponse,
-                    gradeResponse,
-                    accountResponse,
-                    entity.getStatus()
-            );
-            
-            log.error("🔍 [EMPLOYEE-MAPPING-DEBUG] ✅ Response created: {}", response.id());
-            return response;
-            
-        } catch (Exception e) {
-            log.error("🔍 [EMPLOYEE-MAPPING-DEBUG] ❌ MAPPING FAILED: {}", e.getMessage(), e);
-            throw e;
-        }
+    @Override
+    protected EmployeeResponse mapToResponse(Employee entity) {
+        return employeeMapper.toResponse(entity);
     }
 
     @Override
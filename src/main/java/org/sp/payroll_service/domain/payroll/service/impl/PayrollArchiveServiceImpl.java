@@ -0,0 +1,154 @@
+package org.sp.payroll_service.domain.payroll.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.api.payroll.mapper.PayrollItemMapper;
+import org.sp.payroll_service.api.payroll.mapper.TransactionMapper;
+import org.sp.payroll_service.domain.common.enums.PayrollItemStatus;
+import org.sp.payroll_service.domain.common.enums.PayrollStatus;
+import org.sp.payroll_service.domain.common.exception.ResourceNotFoundException;
+import org.sp.payroll_service.domain.payroll.dto.PayrollArchivePayload;
+import org.sp.payroll_service.domain.payroll.dto.PayrollArchiveSummary;
+import org.sp.payroll_service.domain.payroll.entity.PayrollBatch;
+import org.sp.payroll_service.domain.payroll.entity.PayrollBatchArchive;
+import org.sp.payroll_service.domain.payroll.entity.PayrollItem;
+import org.sp.payroll_service.domain.payroll.entity.Transaction;
+import org.sp.payroll_service.domain.payroll.exception.PayrollProcessingException;
+import org.sp.payroll_service.domain.payroll.service.PayrollArchiveService;
+import org.sp.payroll_service.repository.PayrollBatchArchiveRepository;
+import org.sp.payroll_service.repository.PayrollBatchRepository;
+import org.sp.payroll_service.repository.PayrollItemRepository;
+import org.sp.payroll_service.repository.TransactionRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Archives finished payroll batches into payroll_batch_archives as gzip-compressed JSON.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollArchiveServiceImpl implements PayrollArchiveService {
+
+    private static final List<PayrollStatus> ARCHIVABLE_STATUSES = List.of(PayrollStatus.COMPLETED, PayrollStatus.CANCELLED,
+            PayrollStatus.REVERSED);
+
+    private final PayrollBatchRepository payrollBatchRepository;
+    private final PayrollItemRepository payrollItemRepository;
+    private final TransactionRepository transactionRepository;
+    private final PayrollBatchArchiveRepository payrollBatchArchiveRepository;
+    private final PayrollItemMapper payrollItemMapper;
+    private final TransactionMapper transactionMapper;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UUID> findArchivableBatchIds(Instant cutoff, int limit) {
+        return payrollBatchRepository.findArchivableBatchIds(ARCHIVABLE_STATUSES, cutoff, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void archiveBatch(UUID batchId) {
+        PayrollBatch batch = payrollBatchRepository.findById(batchId)
+                .orElseThrow(() -> ResourceNotFoundException.forEntity("PayrollBatch", batchId));
+
+        if (batch.isArchived()) {
+            log.debug("Payroll batch {} is already archived", batchId);
+            return;
+        }
+        if (!ARCHIVABLE_STATUSES.contains(batch.getPayrollStatus())) {
+            throw new PayrollProcessingException("Cannot archive batch in status: " + batch.getPayrollStatus());
+        }
+
+        List<PayrollItem> items = payrollItemRepository.findAllByPayrollBatchId(batchId);
+        List<Transaction> transactions = transactionRepository.findAllForBatch(batchId);
+
+        PayrollArchivePayload payload = new PayrollArchivePayload(
+                items.stream().map(payrollItemMapper::toResponse).toList(),
+                transactions.stream().map(transactionMapper::toResponse).toList()
+        );
+
+        Instant now = Instant.now();
+        payrollBatchArchiveRepository.save(PayrollBatchArchive.builder()
+                .batchId(batchId)
+                .itemCount(items.size())
+                .paidCount(countByStatus(items, PayrollItemStatus.PAID))
+                .failedCount(countByStatus(items, PayrollItemStatus.FAILED))
+                .transactionCount(transactions.size())
+                .totalAmount(sumAmount(items, null))
+                .paidAmount(sumAmount(items, PayrollItemStatus.PAID))
+                .payload(compress(payload))
+                .archivedAt(now)
+                .build());
+
+        // Transactions first: they may reference the items through source_item_id
+        int deletedTransactions = transactionRepository.deleteAllForBatch(batchId);
+        int deletedItems = payrollItemRepository.deleteAllByBatchId(batchId);
+
+        batch.setArchivedAt(now);
+        payrollBatchRepository.save(batch);
+
+        log.info("Archived payroll batch {}: {} items, {} transactions", batchId, deletedItems, deletedTransactions);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PayrollArchiveSummary> findSummary(UUID batchId) {
+        return payrollBatchArchiveRepository.findSummaryByBatchId(batchId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PayrollArchivePayload> findPayload(UUID batchId) {
+        return payrollBatchArchiveRepository.findByBatchId(batchId)
+                .map(archive -> decompress(archive.getPayload()));
+    }
+
+    // --- Helper Methods ---
+
+    private static int countByStatus(List<PayrollItem> items, PayrollItemStatus status) {
+        return (int) items.stream().filter(item -> item.getPayrollItemStatus() == status).count();
+    }
+
+    private static BigDecimal sumAmount(List<PayrollItem> items, PayrollItemStatus status) {
+        return items.stream()
+                .filter(item -> status == null || item.getPayrollItemStatus() == status)
+                .map(PayrollItem::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private byte[] compress(PayrollArchivePayload payload) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, payload);
+        } catch (IOException e) {
+            throw new PayrollProcessingException("Failed to serialize payroll archive", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private PayrollArchivePayload decompress(byte[] data) {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return objectMapper.readValue(gzip, PayrollArchivePayload.class);
+        } catch (IOException e) {
+            throw new PayrollProcessingException("Failed to read payroll archive", e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.sp.payroll_service.domain.payroll.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.domain.payroll.service.PayrollItemChangeTracker;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JDBC change tracker. Marks are appended to {@code payroll_item_changes} by one set-based
+ * INSERT per write, never updated, so concurrent writes cannot conflict on a mark and a mark
+ * added while a refresh runs survives the refresh's clear.
+ */
+@Service
+@Slf4j
+public class PayrollItemChangeTrackerImpl implements PayrollItemChangeTracker {
+
+    private static final String MARK_EMPLOYEE_SQL = """
+            INSERT INTO payroll_item_changes (batch_id, employee_id, changed_at)
+            SELECT b.id, e.id, :now FROM payroll_batches b
+            JOIN employees e ON e.id = :employeeId
+            WHERE b.payroll_status = 'PENDING'
+              AND (b.company_id = e.company_id
+                   OR EXISTS (SELECT 1 FROM payroll_items i WHERE i.batch_id = b.id AND i.employee_id = e.id))
+            """;
+
+    private static final String MARK_GRADE_SQL = """
+            INSERT INTO payroll_item_changes (batch_id, employee_id, changed_at)
+            SELECT b.id, e.id, :now FROM payroll_batches b
+            JOIN employees e ON e.company_id = b.company_id
+            WHERE b.payroll_status = 'PENDING' AND e.grade_id = :gradeId
+            """;
+
+    private static final String MARK_COMPANY_SQL = """
+            INSERT INTO payroll_item_changes (batch_id, employee_id, changed_at)
+            SELECT b.id, e.id, :now FROM payroll_batches b
+            JOIN employees e ON e.company_id = b.company_id
+            WHERE b.payroll_status = 'PENDING' AND b.company_id = :companyId
+            """;
+
+    private static final String MARK_FORMULA_SQL = """
+            INSERT INTO payroll_item_changes (batch_id, employee_id, changed_at)
+            SELECT i.batch_id, i.employee_id, :now FROM payroll_items i
+            JOIN payroll_batches b ON b.id = i.batch_id
+            JOIN companies c ON c.id = b.company_id
+            WHERE b.payroll_status = 'PENDING' AND c.salary_formula_id = :formulaId
+            """;
+
+    private static final String STALE_SQL =
+            "SELECT id, employee_id FROM payroll_item_changes WHERE batch_id = :batchId ORDER BY id";
+
+    private static final String STALE_BATCHES_SQL = """
+            SELECT DISTINCT c.batch_id FROM payroll_item_changes c
+            JOIN payroll_batches b ON b.id = c.batch_id
+            WHERE b.payroll_status = 'PENDING'
+            """;
+
+    private static final String PURGE_SETTLED_SQL = """
+            DELETE FROM payroll_item_changes
+            WHERE batch_id IN (SELECT id FROM payroll_batches WHERE payroll_status <> 'PENDING')
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public PayrollItemChangeTrackerImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public void employeeChanged(UUID employeeId) {
+        mark(MARK_EMPLOYEE_SQL, "employeeId", employeeId);
+    }
+
+    @Override
+    public void gradeChanged(UUID gradeId) {
+        mark(MARK_GRADE_SQL, "gradeId", gradeId);
+    }
+
+    @Override
+    public void companyChanged(UUID companyId) {
+        mark(MARK_COMPANY_SQL, "companyId", companyId);
+    }
+
+    @Override
+    public void formulaChanged(UUID formulaId) {
+        mark(MARK_FORMULA_SQL, "formulaId", formulaId);
+    }
+
+    @Override
+    public List<StaleEmployee> findStale(UUID batchId) {
+        Map<UUID, List<Long>> marks = new LinkedHashMap<>();
+        jdbcTemplate.query(STALE_SQL, new MapSqlParameterSource("batchId", batchId), rs -> {
+            marks.computeIfAbsent(rs.getObject("employee_id", UUID.class), id -> new ArrayList<>())
+                    .add(rs.getLong("id"));
+        });
+        return marks.entrySet().stream()
+                .map(entry -> new StaleEmployee(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    @Override
+    public List<UUID> findStaleBatchIds() {
+        return jdbcTemplate.queryForList(STALE_BATCHES_SQL, new MapSqlParameterSource(), UUID.class);
+    }
+
+    @Override
+    public void clear(List<Long> markIds) {
+        if (!markIds.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM payroll_item_changes WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", markIds));
+        }
+    }
+
+    @Override
+    public int purgeSettled() {
+        return jdbcTemplate.update(PURGE_SETTLED_SQL, new MapSqlParameterSource());
+    }
+
+    private void mark(String sql, String name, UUID id) {
+        int marked = jdbcTemplate.update(sql, new MapSqlParameterSource()
+                .addValue(name, id)
+                .addValue("now", Timestamp.from(Instant.now())));
+        if (marked > 0) {
+            log.debug("Marked {} pending payroll items stale after change of {} {}", marked, name, id);
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package org.sp.payroll_service.domain.payroll.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.config.NodeIdentity;
+import org.sp.payroll_service.domain.common.enums.PayrollItemStatus;
+import org.sp.payroll_service.domain.common.enums.PayrollStatus;
+import org.sp.payroll_service.domain.common.enums.TransactionCategory;
+import org.sp.payroll_service.domain.common.enums.TransactionType;
+import org.sp.payroll_service.domain.common.exception.ResourceNotFoundException;
+import org.sp.payroll_service.domain.payroll.dto.PayrollReversalProgress;
+import org.sp.payroll_service.domain.payroll.dto.PayrollReversalProgress.State;
+import org.sp.payroll_service.domain.payroll.entity.PayrollBatch;
+import org.sp.payroll_service.domain.payroll.entity.Transaction;
+import org.sp.payroll_service.domain.payroll.exception.PayrollProcessingException;
+import org.sp.payroll_service.domain.payroll.service.PayrollReversalService;
+import org.sp.payroll_service.domain.payroll.service.transaction.TransferTransactionExecutor;
+import org.sp.payroll_service.domain.wallet.service.LedgerService;
+import org.sp.payroll_service.repository.AccountRepository;
+import org.sp.payroll_service.repository.PayrollBatchRepository;
+import org.sp.payroll_service.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Bulk reversal of a payroll batch.
+ * <p>
+ * PAID items are reversed in chunks, each in its own transaction through the
+ * {@link TransferTransactionExecutor}. A chunk moves money with set-based guarded UPDATEs — one
+ * JDBC batch debiting the employee accounts, one credit per funding account — instead of loading
+ * accounts, and writes linked reversal transactions and their journal lines. An employee account
+ * without enough balance leaves its item PAID and is reported; the other items carry on.
+ * <p>
+ * A running reversal is recorded in {@code payroll_reversals} under a lease that every chunk
+ * renews in its own transaction, which also fences the chunk. If the owning instance dies, the
+ * batch is not left PROCESSING: {@link #recoverAbandonedReversals()} takes the expired lease over
+ * and resumes the reversal from the PAID items still left.
+ */
+@Service
+@Slf4j
+public class PayrollReversalServiceImpl implements PayrollReversalService {
+
+    private static final List<PayrollStatus> REVERSIBLE_STATUSES =
+            List.of(PayrollStatus.COMPLETED, PayrollStatus.PARTIALLY_COMPLETED, PayrollStatus.PARTIALLY_REVERSED);
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    // PROCESSING is the claim: it keeps processing, archival and a second reversal off the batch
+    private static final String CLAIM_BATCH_SQL = """
+            UPDATE payroll_batches SET payroll_status = 'PROCESSING', version = version + 1, updated_at = :now
+            WHERE id = :batchId AND payroll_status = :status AND archived_at IS NULL
+            """;
+
+    private static final String INSERT_REVERSAL_SQL = """
+            INSERT INTO payroll_reversals (batch_id, previous_status, reason, owner, lease_expires_at, started_at)
+            VALUES (:batchId, :previousStatus, :reason, :owner, :leaseExpires, :now)
+            """;
+
+    // Renewed by every chunk in its transaction: a chunk of an owner that lost the reversal rolls back
+    private static final String RENEW_REVERSAL_SQL = """
+            UPDATE payroll_reversals SET lease_expires_at = :leaseExpires
+            WHERE batch_id = :batchId AND owner = :owner
+            """;
+
+    private static final String EXPIRED_REVERSALS_SQL = """
+            SELECT batch_id, previous_status, reason FROM payroll_reversals
+            WHERE lease_expires_at < :now
+            ORDER BY lease_expires_at
+            """;
+
+    private static final String TAKE_OVER_REVERSAL_SQL = """
+            UPDATE payroll_reversals SET owner = :owner, lease_expires_at = :leaseExpires
+            WHERE batch_id = :batchId AND lease_expires_at < :now
+            """;
+
+    private static final String DELETE_REVERSAL_SQL =
+            "DELETE FROM payroll_reversals WHERE batch_id = :batchId AND owner = :owner";
+
+    private static final String COUNT_ITEMS_SQL =
+            "SELECT COUNT(*) FROM payroll_items WHERE batch_id = :batchId AND payroll_item_status = :status";
+
+    private static final String SELECT_CHUNK_SQL = """
+            SELECT i.id AS item_id, t.id AS transaction_id, t.amount, t.debit_acc_id, t.credit_acc_id, t.reference_id
+            FROM payroll_items i
+            JOIN transactions t ON t.source_item_id = i.id
+            WHERE i.batch_id = :batchId AND i.payroll_item_status = 'PAID' AND i.id > :lastId
+              AND NOT EXISTS (SELECT 1 FROM transactions r WHERE r.reverses_transaction_id = t.id)
+            ORDER BY i.id
+            LIMIT :limit
+            """;
+
+    private static final String DEBIT_SQL = """
+            UPDATE accounts SET current_balance = current_balance - ?, version = version + 1, updated_at = ?
+            WHERE id = ? AND current_balance >= ?
+            """;
+
+    private static final String CREDIT_SQL = """
+            UPDATE accounts SET current_balance = current_balance + ?, version = version + 1, updated_at = ?
+            WHERE id = ?
+            """;
+
+    private static final String MARK_ITEMS_SQL = """
+            UPDATE payroll_items SET payroll_item_status = 'REVERSED', version = version + 1, updated_at = :now
+            WHERE id IN (:ids) AND payroll_item_status = 'PAID'
+            """;
+
+    private static final String REDUCE_EXECUTED_SQL = """
+            UPDATE payroll_batches SET executed_amount = executed_amount - :amount, version = version + 1, updated_at = :now
+            WHERE id = :batchId
+            """;
+
+    private static final String FINISH_BATCH_SQL = """
+            UPDATE payroll_batches SET payroll_status = :status, version = version + 1, updated_at = :now
+            WHERE id = :batchId
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PayrollBatchRepository payrollBatchRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final LedgerService ledgerService;
+    private final TransferTransactionExecutor transferTransactionExecutor;
+    private final ExecutorService executor;
+    private final String owner;
+
+    private final Map<UUID, Job> jobs = new ConcurrentHashMap<>();
+
+    @Value("${app.payroll.reversal.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.payroll.reversal.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    @Value("${app.payroll.reversal.lease-duration:5m}")
+    private Duration leaseDuration;
+
+    public PayrollReversalServiceImpl(JdbcTemplate jdbcTemplate,
+                                      PayrollBatchRepository payrollBatchRepository,
+                                      AccountRepository accountRepository,
+                                      TransactionRepository transactionRepository,
+                                      LedgerService ledgerService,
+                                      TransferTransactionExecutor transferTransactionExecutor,
+                                      NodeIdentity nodeIdentity,
+                                      @Qualifier("virtualThreadExecutor") ExecutorService executor) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.payrollBatchRepository = payrollBatchRepository;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.ledgerService = ledgerService;
+        this.transferTransactionExecutor = transferTransactionExecutor;
+        this.executor = executor;
+        this.owner = nodeIdentity.getNodeId();
+    }
+
+    /**
+     * A PAID item and the payroll transaction that paid it.
+     */
+    private record ItemRow(UUID itemId, UUID transactionId, BigDecimal amount, UUID fundingAccountId,
+                           UUID employeeAccountId, String referenceId) {
+    }
+
+    /**
+     * What one chunk did: {@code scanned} items read, up to {@code lastItemId}.
+     */
+    private record ChunkResult(int scanned, UUID lastItemId, int reversed, BigDecimal amount, List<String> failures) {
+    }
+
+    /**
+     * A reversal whose owner stopped renewing its lease.
+     */
+    private record AbandonedReversal(UUID batchId, PayrollStatus previousStatus, String reason) {
+    }
+
+    /**
+     * Running state of one batch reversal, read by progress queries while chunks are applied.
+     */
+    private final class Job {
+        final UUID batchId;
+        final String reason;
+        final PayrollStatus previousStatus;
+        final long totalItems;
+        final Instant startedAt = Instant.now();
+        final List<String> errors = new ArrayList<>();
+        long reversedItems;
+        long failedItems;
+        BigDecimal reversedAmount = BigDecimal.ZERO;
+        State state = State.RUNNING;
+        Instant finishedAt;
+        String error;
+
+        Job(UUID batchId, String reason, PayrollStatus previousStatus, long totalItems) {
+            this.batchId = batchId;
+            this.reason = reason;
+            this.previousStatus = previousStatus;
+            this.totalItems = totalItems;
+        }
+
+        synchronized void record(ChunkResult result) {
+            reversedItems += result.reversed();
+            failedItems += result.failures().size();
+            reversedAmount = reversedAmount.add(result.amount());
+            for (String failure : result.failures()) {
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(failure);
+                }
+            }
+        }
+
+        synchronized void finish(State result, String message) {
+            state = result;
+            error = message;
+            finishedAt = Instant.now();
+        }
+
+        synchronized PayrollReversalProgress toProgress() {
+            return new PayrollReversalProgress(batchId, state, totalItems, reversedItems, failedItems, reversedAmount,
+                    startedAt, finishedAt, List.copyOf(errors), error);
+        }
+    }
+
+    @Override
+    public PayrollReversalProgress startBatchReversal(UUID batchId, String reason) {
+        log.warn("Starting bulk reversal of payroll batch {}: {}", batchId, reason);
+
+        PayrollBatch batch = payrollBatchRepository.findById(batchId)
+                .orElseThrow(() -> ResourceNotFoundException.forEntity("PayrollBatch", batchId));
+        if (batch.isArchived() || !REVERSIBLE_STATUSES.contains(batch.getPayrollStatus())) {
+            throw new PayrollProcessingException("Cannot reverse batch in status: " + batch.getPayrollStatus());
+        }
+
+        Instant now = Instant.now();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("batchId", batchId)
+                .addValue("status", batch.getPayrollStatus().name())
+                .addValue("previousStatus", batch.getPayrollStatus().name())
+                .addValue("reason", reason)
+                .addValue("owner", owner)
+                .addValue("leaseExpires", Timestamp.from(now.plus(leaseDuration)))
+                .addValue("now", Timestamp.from(now));
+        // The PROCESSING claim and the reversal record commit together, so a claimed batch is always recoverable
+        boolean claimed = transferTransactionExecutor.execute(() -> {
+            if (jdbcTemplate.update(CLAIM_BATCH_SQL, params) == 0) {
+                return false;
+            }
+            jdbcTemplate.update(INSERT_REVERSAL_SQL, params);
+            return true;
+        });
+        if (!claimed) {
+            throw new PayrollProcessingException("Payroll batch " + batchId + " changed before its reversal could start");
+        }
+
+        return launch(batchId, reason, batch.getPayrollStatus());
+    }
+
+    @Override
+    public int recoverAbandonedReversals() {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<AbandonedReversal> abandoned = jdbcTemplate.query(EXPIRED_REVERSALS_SQL,
+                new MapSqlParameterSource("now", now),
+                (rs, rowNum) -> new AbandonedReversal(rs.getObject("batch_id", UUID.class),
+                        PayrollStatus.valueOf(rs.getString("previous_status")), rs.getString("reason")));
+        int resumed = 0;
+        for (AbandonedReversal reversal : abandoned) {
+            int taken = jdbcTemplate.update(TAKE_OVER_REVERSAL_SQL, new MapSqlParameterSource()
+                    .addValue("batchId", reversal.batchId())
+                    .addValue("owner", owner)
+                    .addValue("leaseExpires", Timestamp.from(Instant.now().plus(leaseDuration)))
+                    .addValue("now", now));
+            if (taken == 0) {
+                continue;
+            }
+            log.warn("Resuming abandoned reversal of payroll batch {}", reversal.batchId());
+            launch(reversal.batchId(), reversal.reason(), reversal.previousStatus());
+            resumed++;
+        }
+        return resumed;
+    }
+
+    private PayrollReversalProgress launch(UUID batchId, String reason, PayrollStatus previousStatus) {
+        Job job = new Job(batchId, reason, previousStatus, countItems(batchId, PayrollItemStatus.PAID));
+        jobs.put(batchId, job);
+        executor.execute(() -> run(job));
+        return job.toProgress();
+    }
+
+    @Override
+    public Optional<PayrollReversalProgress> getReversalProgress(UUID batchId) {
+        return Optional.ofNullable(jobs.get(batchId)).map(Job::toProgress);
+    }
+
+    private void run(Job job) {
+        try {
+            UUID lastItemId = MIN_ID;
+            while (true) {
+                UUID from = lastItemId;
+                ChunkResult result = transferTransactionExecutor.execute(() -> reverseChunk(job, from));
+                job.record(result);
+                log.debug("Payroll batch {} reversal: {}/{} items reversed", job.batchId,
+                        job.toProgress().reversedItems(), job.totalItems);
+                if (result.scanned() < chunkSize) {
+                    break;
+                }
+                lastItemId = result.lastItemId();
+            }
+            job.finish(State.COMPLETED, null);
+        } catch (Exception e) {
+            log.error("Bulk reversal of payroll batch {} failed", job.batchId, e);
+            job.finish(State.FAILED, e.getMessage());
+        }
+
+        try {
+            PayrollStatus status = finalStatus(job);
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("batchId", job.batchId)
+                    .addValue("owner", owner)
+                    .addValue("status", status.name())
+                    .addValue("now", Timestamp.from(Instant.now()));
+            boolean owned = transferTransactionExecutor.execute(() -> {
+                if (jdbcTemplate.update(DELETE_REVERSAL_SQL, params) == 0) {
+                    return false;
+                }
+                jdbcTemplate.update(FINISH_BATCH_SQL, params);
+                return true;
+            });
+            if (!owned) {
+                log.warn("Reversal of payroll batch {} was taken over by another instance; leaving its status to it",
+                        job.batchId);
+                return;
+            }
+            PayrollReversalProgress progress = job.toProgress();
+            log.info("Payroll batch {} reversal finished as {}: {} reversed ({}), {} failed",
+                    job.batchId, status, progress.reversedItems(), progress.reversedAmount(), progress.failedItems());
+        } catch (Exception e) {
+            // The reversal record stays; once its lease expires the recovery job resumes and finishes it
+            log.error("Unable to set final status of reversed payroll batch {}", job.batchId, e);
+        }
+    }
+
+    /**
+     * Reverses the next chunk of PAID items after {@code lastItemId}. Runs inside the executor's
+     * transaction, so a conflict re-runs the whole chunk from the same cursor.
+     */
+    private ChunkResult reverseChunk(Job job, UUID lastItemId) {
+        int owned = jdbcTemplate.update(RENEW_REVERSAL_SQL, new MapSqlParameterSource()
+                .addValue("batchId", job.batchId)
+                .addValue("owner", owner)
+                .addValue("leaseExpires", Timestamp.from(Instant.now().plus(leaseDuration))));
+        if (owned == 0) {
+            throw new PayrollProcessingException("Reversal of payroll batch " + job.batchId
+                    + " was taken over by another instance");
+        }
+        List<ItemRow> rows = jdbcTemplate.query(SELECT_CHUNK_SQL, new MapSqlParameterSource()
+                        .addValue("batchId", job.batchId)
+                        .addValue("lastId", lastItemId)
+                        .addValue("limit", chunkSize),
+                (rs, rowNum) -> new ItemRow(rs.getObject("item_id", UUID.class), rs.getObject("transaction_id", UUID.class),
+                        rs.getBigDecimal("amount"), rs.getObject("debit_acc_id", UUID.class),
+                        rs.getObject("credit_acc_id", UUID.class), rs.getString("reference_id")));
+        if (rows.isEmpty()) {
+            return new ChunkResult(0, lastItemId, 0, BigDecimal.ZERO, List.of());
+        }
+        UUID chunkEnd = rows.get(rows.size() - 1).itemId();
+        Timestamp now = Timestamp.from(Instant.now());
+
+        // Employee accounts are locked in id order so concurrent chunks and transfers cannot deadlock on them
+        List<ItemRow> debits = rows.stream().sorted(Comparator.comparing(ItemRow::employeeAccountId)).toList();
+        int[] debited = jdbcTemplate.getJdbcTemplate().batchUpdate(DEBIT_SQL, debits.stream()
+                .map(row -> new Object[]{row.amount(), now, row.employeeAccountId(), row.amount()})
+                .toList());
+
+        List<ItemRow> reversed = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+        Map<UUID, BigDecimal> credits = new TreeMap<>();
+        for (int i = 0; i < debits.size(); i++) {
+            ItemRow row = debits.get(i);
+            if (debited[i] == 0) {
+                failures.add("Item " + row.itemId() + ": insufficient funds to reverse " + row.referenceId());
+                continue;
+            }
+            reversed.add(row);
+            credits.merge(row.fundingAccountId(), row.amount(), BigDecimal::add);
+        }
+        if (reversed.isEmpty()) {
+            return new ChunkResult(rows.size(), chunkEnd, 0, BigDecimal.ZERO, failures);
+        }
+
+        jdbcTemplate.getJdbcTemplate().batchUpdate(CREDIT_SQL, credits.entrySet().stream()
+                .map(credit -> new Object[]{credit.getValue(), now, credit.getKey()})
+                .toList());
+
+        int marked = jdbcTemplate.update(MARK_ITEMS_SQL, new MapSqlParameterSource()
+                .addValue("ids", reversed.stream().map(ItemRow::itemId).toList())
+                .addValue("now", now));
+        if (marked != reversed.size()) {
+            throw new OptimisticLockingFailureException("Payroll items of batch " + job.batchId + " changed during reversal");
+        }
+
+        BigDecimal amount = reversed.stream().map(ItemRow::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        jdbcTemplate.update(REDUCE_EXECUTED_SQL, new MapSqlParameterSource()
+                .addValue("batchId", job.batchId)
+                .addValue("amount", amount)
+                .addValue("now", now));
+
+        PayrollBatch batch = payrollBatchRepository.getReferenceById(job.batchId);
+        List<Transaction> transactions = new ArrayList<>(reversed.size());
+        for (ItemRow row : reversed) {
+            Transaction reversal = Transaction.builder()
+                    .debitAccount(accountRepository.getReferenceById(row.employeeAccountId()))
+                    .creditAccount(accountRepository.getReferenceById(row.fundingAccountId()))
+                    .amount(row.amount())
+                    .type(TransactionType.TRANSACTION_REVERSAL)
+                    .category(TransactionCategory.REVERSAL)
+                    .payrollBatch(batch)
+                    .reversesTransactionId(row.transactionId())
+                    .referenceId("REV-" + row.referenceId())
+                    .description("REVERSAL: " + job.reason + " | Payroll batch " + job.batchId)
+                    .requestedAt(now.toInstant())
+                    .build();
+            reversal.markAsProcessed();
+            transactions.add(reversal);
+        }
+        ledgerService.post(transactionRepository.saveAll(transactions));
+
+        return new ChunkResult(rows.size(), chunkEnd, reversed.size(), amount, failures);
+    }
+
+    /**
+     * REVERSED once no PAID item is left, PARTIALLY_REVERSED if only some were, otherwise the
+     * status the batch had before the reversal. Both counts come from the items, since a resumed
+     * reversal may find every remaining item unfunded after an earlier run reversed the others.
+     */
+    private PayrollStatus finalStatus(Job job) {
+        if (countItems(job.batchId, PayrollItemStatus.PAID) == 0) {
+            return PayrollStatus.REVERSED;
+        }
+        return countItems(job.batchId, PayrollItemStatus.REVERSED) > 0
+                ? PayrollStatus.PARTIALLY_REVERSED : job.previousStatus;
+    }
+
+    private long countItems(UUID batchId, PayrollItemStatus status) {
+        Long count = jdbcTemplate.queryForObject(COUNT_ITEMS_SQL, new MapSqlParameterSource()
+                .addValue("batchId", batchId)
+                .addValue("status", status.name()), Long.class);
+        return count != null ? count : 0L;
+    }
+}
@@ -0,0 +1,293 @@
+package org.sp.payroll_service.domain.payroll.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.api.payroll.dto.PayrollResult;
+import org.sp.payroll_service.config.WorkloadClass;
+import org.sp.payroll_service.config.WorkloadContext;
+import org.sp.payroll_service.domain.common.enums.PayrollStatus;
+import org.sp.payroll_service.domain.common.exception.ResourceNotFoundException;
+import org.sp.payroll_service.domain.payroll.dto.PayrollQueueState;
+import org.sp.payroll_service.domain.payroll.dto.PayrollRunStatus;
+import org.sp.payroll_service.domain.payroll.dto.PayrollRunStatus.State;
+import org.sp.payroll_service.domain.payroll.entity.PayrollBatch;
+import org.sp.payroll_service.domain.payroll.exception.PayrollProcessingException;
+import org.sp.payroll_service.domain.payroll.service.PayrollRunScheduler;
+import org.sp.payroll_service.domain.payroll.service.PayrollService;
+import org.sp.payroll_service.repository.PayrollBatchRepository;
+import org.sp.payroll_service.repository.PayrollItemRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process payroll run scheduler using weighted fair queuing.
+ * <p>
+ * Each company has a FIFO queue and a virtual time: the payroll items it has been served divided
+ * by its weight. A free worker slot goes to the company with the lowest virtual time whose next
+ * batch's funding account is not already being paid out of. A company that was idle rejoins at
+ * the current virtual time, so it gets no burst credit for the time it was away. Each slot runs
+ * one batch on one BATCH-class connection, so {@code workers} also caps the connections payroll
+ * runs take from the batch bulkhead.
+ */
+@Service
+@Slf4j
+public class PayrollRunSchedulerImpl implements PayrollRunScheduler {
+
+    private final PayrollService payrollService;
+    private final PayrollBatchRepository payrollBatchRepository;
+    private final PayrollItemRepository payrollItemRepository;
+    private final ExecutorService executor;
+    private final Timer waitTimer;
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+
+    // Guarded by this
+    private final Map<UUID, CompanyQueue> companies = new HashMap<>();
+    private final Set<UUID> busyFundingAccounts = new HashSet<>();
+    private double virtualTime;
+
+    private final Map<UUID, Run> runs = new ConcurrentHashMap<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    @Value("${app.payroll.scheduler.workers:2}")
+    private int workers;
+
+    @Value("#{${app.payroll.scheduler.company-weights:{:}}}")
+    private Map<String, Integer> companyWeights;
+
+    @Value("${app.payroll.scheduler.retention:1h}")
+    private Duration retention;
+
+    public PayrollRunSchedulerImpl(PayrollService payrollService,
+                                   PayrollBatchRepository payrollBatchRepository,
+                                   PayrollItemRepository payrollItemRepository,
+                                   @Qualifier("virtualThreadExecutor") ExecutorService executor,
+                                   MeterRegistry meterRegistry) {
+        this.payrollService = payrollService;
+        this.payrollBatchRepository = payrollBatchRepository;
+        this.payrollItemRepository = payrollItemRepository;
+        this.executor = executor;
+        this.waitTimer = Timer.builder("payroll.scheduler.wait")
+                .description("Time payroll runs spend queued before a worker slot is free")
+                .register(meterRegistry);
+        this.completedCounter = Counter.builder("payroll.scheduler.runs")
+                .tag("outcome", "completed")
+                .description("Payroll runs finished by the scheduler")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("payroll.scheduler.runs")
+                .tag("outcome", "failed")
+                .description("Payroll runs finished by the scheduler")
+                .register(meterRegistry);
+        Gauge.builder("payroll.scheduler.running", running, AtomicInteger::get)
+                .description("Payroll runs holding a worker slot")
+                .register(meterRegistry);
+        Gauge.builder("payroll.scheduler.queued", queued, AtomicInteger::get)
+                .description("Payroll runs waiting for a worker slot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A submitted batch. Mutable fields are written under the scheduler lock or by the run's worker.
+     */
+    private static final class Run {
+        final UUID batchId;
+        final UUID companyId;
+        final UUID fundingAccountId;
+        final long itemCount;
+        final Instant submittedAt = Instant.now();
+        final CompletableFuture<PayrollResult> result = new CompletableFuture<>();
+        volatile State state = State.QUEUED;
+        volatile Instant startedAt;
+        volatile Instant finishedAt;
+        volatile String error;
+
+        Run(UUID batchId, UUID companyId, UUID fundingAccountId, long itemCount) {
+            this.batchId = batchId;
+            this.companyId = companyId;
+            this.fundingAccountId = fundingAccountId;
+            this.itemCount = itemCount;
+        }
+
+        boolean isFinished() {
+            return state == State.COMPLETED || state == State.FAILED;
+        }
+
+        PayrollRunStatus toStatus() {
+            return new PayrollRunStatus(batchId, companyId, fundingAccountId, itemCount, state, submittedAt,
+                    startedAt, finishedAt, result.isDone() && !result.isCompletedExceptionally() ? result.join() : null,
+                    error);
+        }
+    }
+
+    private static final class CompanyQueue {
+        final UUID companyId;
+        final int weight;
+        final Deque<Run> queued = new ArrayDeque<>();
+        int running;
+        double virtualTime;
+
+        CompanyQueue(UUID companyId, int weight) {
+            this.companyId = companyId;
+            this.weight = weight;
+        }
+    }
+
+    @Override
+    public PayrollRunStatus submit(UUID batchId) {
+        return enqueue(batchId).toStatus();
+    }
+
+    @Override
+    public PayrollResult runAndWait(UUID batchId) {
+        Run run = enqueue(batchId);
+        try {
+            return run.result.join();
+        } catch (CompletionException e) {
+            // Surface the processing failure itself so the usual error mapping applies
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<PayrollRunStatus> getRun(UUID batchId) {
+        return Optional.ofNullable(runs.get(batchId)).map(Run::toStatus);
+    }
+
+    @Override
+    public synchronized PayrollQueueState queueState() {
+        return new PayrollQueueState(workers, running.get(), queued.get(), companies.values().stream()
+                .filter(queue -> queue.running > 0 || !queue.queued.isEmpty())
+                .sorted(Comparator.comparingDouble(queue -> queue.virtualTime))
+                .map(queue -> new PayrollQueueState.CompanyQueue(queue.companyId, queue.weight, queue.running,
+                        queue.virtualTime, queue.queued.stream().map(run -> run.batchId).toList()))
+                .toList());
+    }
+
+    private Run enqueue(UUID batchId) {
+        Run existing = runs.get(batchId);
+        if (existing != null && !existing.isFinished()) {
+            return existing;
+        }
+
+        PayrollBatch batch = payrollBatchRepository.findById(batchId)
+                .orElseThrow(() -> ResourceNotFoundException.forEntity("PayrollBatch", batchId));
+        if (batch.getPayrollStatus() != PayrollStatus.PENDING) {
+            throw new PayrollProcessingException("Batch is not in PENDING status: " + batch.getPayrollStatus());
+        }
+        Run run = new Run(batchId, batch.getCompany().getId(), batch.getFundingAccountId(),
+                payrollItemRepository.countByPayrollBatchId(batchId));
+
+        synchronized (this) {
+            existing = runs.get(batchId);
+            if (existing != null && !existing.isFinished()) {
+                return existing;
+            }
+            pruneFinishedRuns();
+
+            CompanyQueue queue = companies.computeIfAbsent(run.companyId,
+                    id -> new CompanyQueue(id, companyWeights.getOrDefault(id.toString(), 1)));
+            if (queue.running == 0 && queue.queued.isEmpty()) {
+                queue.virtualTime = Math.max(queue.virtualTime, virtualTime);
+            }
+            queue.queued.addLast(run);
+            runs.put(batchId, run);
+            queued.incrementAndGet();
+            log.info("Queued payroll batch {} for company {} ({} items)", batchId, run.companyId, run.itemCount);
+            dispatch();
+        }
+        return run;
+    }
+
+    /**
+     * Starts queued runs while worker slots are free. Called with the scheduler lock held.
+     */
+    private void dispatch() {
+        while (running.get() < workers) {
+            CompanyQueue next = null;
+            for (CompanyQueue queue : companies.values()) {
+                Run head = queue.queued.peekFirst();
+                if (head == null || busyFundingAccounts.contains(head.fundingAccountId)) {
+                    continue;
+                }
+                if (next == null || queue.virtualTime < next.virtualTime) {
+                    next = queue;
+                }
+            }
+            if (next == null) {
+                return;
+            }
+
+            Run run = next.queued.pollFirst();
+            virtualTime = next.virtualTime;
+            next.virtualTime += (double) Math.max(run.itemCount, 1) / Math.max(next.weight, 1);
+            next.running++;
+            running.incrementAndGet();
+            queued.decrementAndGet();
+            busyFundingAccounts.add(run.fundingAccountId);
+
+            run.state = State.RUNNING;
+            run.startedAt = Instant.now();
+            waitTimer.record(Duration.between(run.submittedAt, run.startedAt));
+            CompanyQueue queue = next;
+            executor.execute(() -> execute(queue, run));
+        }
+    }
+
+    private void execute(CompanyQueue queue, Run run) {
+        try {
+            PayrollResult result = WorkloadContext.callAs(WorkloadClass.BATCH, () -> {
+                // Picks up changes made while the batch waited for a slot
+                payrollService.refreshPendingBatch(run.batchId);
+                return payrollService.processPayroll(run.batchId);
+            });
+            run.finishedAt = Instant.now();
+            run.state = State.COMPLETED;
+            completedCounter.increment();
+            run.result.complete(result);
+        } catch (RuntimeException e) {
+            log.error("Scheduled payroll run for batch {} failed", run.batchId, e);
+            run.finishedAt = Instant.now();
+            run.error = e.getMessage();
+            run.state = State.FAILED;
+            failedCounter.increment();
+            run.result.completeExceptionally(e);
+        } finally {
+            synchronized (this) {
+                queue.running--;
+                running.decrementAndGet();
+                busyFundingAccounts.remove(run.fundingAccountId);
+                dispatch();
+            }
+        }
+    }
+
+    private void pruneFinishedRuns() {
+        Instant cutoff = Instant.now().minus(retention);
+        runs.values().removeIf(run -> run.isFinished() && run.finishedAt.isBefore(cutoff));
+    }
+}
@@ -0,0 +1,276 @@
+package org.sp.payroll_service.domain.payroll.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.api.payroll.dto.CreatePayrollBatchRequest;
+import org.sp.payroll_service.api.payroll.dto.CreatePayrollScheduleRequest;
+import org.sp.payroll_service.api.payroll.dto.PayrollBatchResponse;
+import org.sp.payroll_service.api.payroll.dto.PayrollScheduleResponse;
+import org.sp.payroll_service.api.payroll.mapper.PayrollScheduleMapper;
+import org.sp.payroll_service.domain.common.enums.PayrollStatus;
+import org.sp.payroll_service.domain.common.exception.ResourceNotFoundException;
+import org.sp.payroll_service.domain.core.entity.Company;
+import org.sp.payroll_service.domain.payroll.dto.PayrollRunStatus;
+import org.sp.payroll_service.domain.payroll.entity.PayrollBatch;
+import org.sp.payroll_service.domain.payroll.entity.PayrollSchedule;
+import org.sp.payroll_service.domain.payroll.service.PayrollRunScheduler;
+import org.sp.payroll_service.domain.payroll.service.PayrollScheduleService;
+import org.sp.payroll_service.domain.payroll.service.PayrollService;
+import org.sp.payroll_service.repository.AccountRepository;
+import org.sp.payroll_service.repository.CompanyRepository;
+import org.sp.payroll_service.repository.PayrollBatchRepository;
+import org.sp.payroll_service.repository.PayrollScheduleRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Recurring payroll schedules.
+ * <p>
+ * Each schedule is prepared and disbursed in its own transaction, so one company's failure does
+ * not hold up the others. Batch generation goes through {@link PayrollService#createPayrollBatch}
+ * and payday through {@link PayrollRunScheduler}, so scheduled batches follow the same rules as
+ * batches created and processed by hand.
+ */
+@Service
+@Slf4j
+public class PayrollScheduleServiceImpl implements PayrollScheduleService {
+
+    // Longest lead time a schedule may have; bounds the query for schedules to prepare
+    private static final int MAX_LEAD_DAYS = 27;
+
+    private final PayrollScheduleRepository payrollScheduleRepository;
+    private final PayrollBatchRepository payrollBatchRepository;
+    private final CompanyRepository companyRepository;
+    private final AccountRepository accountRepository;
+    private final PayrollService payrollService;
+    private final PayrollRunScheduler payrollRunScheduler;
+    private final PayrollScheduleMapper payrollScheduleMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public PayrollScheduleServiceImpl(PayrollScheduleRepository payrollScheduleRepository,
+                                      PayrollBatchRepository payrollBatchRepository,
+                                      CompanyRepository companyRepository,
+                                      AccountRepository accountRepository,
+                                      PayrollService payrollService,
+                                      PayrollRunScheduler payrollRunScheduler,
+                                      PayrollScheduleMapper payrollScheduleMapper,
+                                      PlatformTransactionManager transactionManager) {
+        this.payrollScheduleRepository = payrollScheduleRepository;
+        this.payrollBatchRepository = payrollBatchRepository;
+        this.companyRepository = companyRepository;
+        this.accountRepository = accountRepository;
+        this.payrollService = payrollService;
+        this.payrollRunScheduler = payrollRunScheduler;
+        this.payrollScheduleMapper = payrollScheduleMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional
+    public PayrollScheduleResponse saveSchedule(CreatePayrollScheduleRequest request) {
+        Company company = companyRepository.findById(request.companyId())
+                .orElseThrow(() -> ResourceNotFoundException.forEntity("Company", request.companyId()));
+        accountRepository.findById(request.fundingAccountId())
+                .orElseThrow(() -> ResourceNotFoundException.forEntity("Account", request.fundingAccountId()));
+
+        PayrollSchedule schedule = payrollScheduleRepository.findByCompanyId(company.getId())
+                .orElseGet(() -> PayrollSchedule.builder().company(company).build());
+        if (schedule.getPendingBatchId() != null) {
+            // Settings changed: the next preparation generates the batch again
+            findPendingBatch(schedule).ifPresent(batch -> payrollService.cancelBatch(batch.getId()));
+            schedule.setPendingBatchId(null);
+        }
+
+        schedule.setFundingAccountId(request.fundingAccountId());
+        schedule.setName(request.name());
+        schedule.setBaseSalary(request.baseSalary());
+        schedule.setDayOfMonth(request.dayOfMonth());
+        schedule.setLeadDays(request.leadDays() != null ? request.leadDays() : 3);
+        schedule.setAutoProcess(request.autoProcess() == null || request.autoProcess());
+        schedule.setEnabled(true);
+
+        LocalDate today = LocalDate.now();
+        LocalDate payday = schedule.paydayIn(YearMonth.from(today));
+        schedule.setNextPayday(payday.isBefore(today) ? schedule.paydayIn(YearMonth.from(today).plusMonths(1)) : payday);
+
+        PayrollSchedule saved = payrollScheduleRepository.save(schedule);
+        log.info("Saved payroll schedule {} for company {}: day {} of each month, next payday {}",
+                saved.getId(), company.getId(), saved.getDayOfMonth(), saved.getNextPayday());
+        return payrollScheduleMapper.toResponse(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PayrollScheduleResponse getSchedule(UUID scheduleId) {
+        return payrollScheduleMapper.toResponse(findSchedule(scheduleId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PayrollScheduleResponse> getAllSchedules() {
+        return payrollScheduleRepository.findAllActive().stream()
+                .map(payrollScheduleMapper::toResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void disableSchedule(UUID scheduleId) {
+        PayrollSchedule schedule = findSchedule(scheduleId);
+        schedule.setEnabled(false);
+        payrollScheduleRepository.save(schedule);
+        log.info("Disabled payroll schedule {} for company {}", scheduleId, schedule.getCompany().getId());
+    }
+
+    @Override
+    public PayrollScheduleResponse prepareNow(UUID scheduleId) {
+        return transactionTemplate.execute(status -> {
+            PayrollSchedule schedule = findSchedule(scheduleId);
+            prepare(schedule);
+            return payrollScheduleMapper.toResponse(schedule);
+        });
+    }
+
+    @Override
+    public int prepareUpcoming(LocalDate today) {
+        int prepared = 0;
+        for (UUID scheduleId : payrollScheduleRepository.findDueIds(today.plusDays(MAX_LEAD_DAYS))) {
+            try {
+                Boolean done = transactionTemplate.execute(status -> {
+                    PayrollSchedule schedule = findSchedule(scheduleId);
+                    if (schedule.generationDate().isAfter(today)) {
+                        return false;
+                    }
+                    prepare(schedule);
+                    return true;
+                });
+                if (Boolean.TRUE.equals(done)) {
+                    prepared++;
+                }
+            } catch (Exception e) {
+                log.error("Failed to prepare payroll for schedule {}", scheduleId, e);
+            }
+        }
+        return prepared;
+    }
+
+    @Override
+    public int disburseDue(LocalDate today) {
+        int disbursed = 0;
+        for (UUID scheduleId : payrollScheduleRepository.findDueIds(today)) {
+            try {
+                disburse(scheduleId);
+                disbursed++;
+            } catch (Exception e) {
+                log.error("Failed to disburse payroll for schedule {}", scheduleId, e);
+            }
+        }
+        return disbursed;
+    }
+
+    /**
+     * Generates the batch for the next payday, or refreshes it when it was generated already.
+     * A company with a PENDING batch created by hand keeps it; the schedule waits until it is gone.
+     */
+    private void prepare(PayrollSchedule schedule) {
+        UUID companyId = schedule.getCompany().getId();
+        if (schedule.getPendingBatchId() == null) {
+            Optional<PayrollBatch> manual = payrollBatchRepository
+                    .findFirstActiveByCompanyIdAndPayrollStatus(companyId, PayrollStatus.PENDING);
+            if (manual.isPresent()) {
+                log.warn("Company {} already has PENDING payroll batch {}; schedule {} skips generation",
+                        companyId, manual.get().getId(), schedule.getId());
+                return;
+            }
+            YearMonth month = YearMonth.from(schedule.getNextPayday());
+            PayrollBatchResponse batch = payrollService.createPayrollBatch(CreatePayrollBatchRequest.builder()
+                    .name(schedule.getName() + " " + month)
+                    .payrollMonth(month.atDay(1))
+                    .companyId(companyId)
+                    .fundingAccountId(schedule.getFundingAccountId())
+                    .baseSalary(schedule.getBaseSalary())
+                    .description("Scheduled payroll for " + schedule.getNextPayday())
+                    .build(), null);
+            schedule.setPendingBatchId(batch.id());
+            log.info("Pre-generated payroll batch {} for company {} payday {}", batch.id(), companyId,
+                    schedule.getNextPayday());
+        } else if (findPendingBatch(schedule).isPresent()) {
+            payrollService.refreshPendingBatch(schedule.getPendingBatchId());
+        }
+        schedule.setLastGeneratedAt(Instant.now());
+        payrollScheduleRepository.save(schedule);
+    }
+
+    /**
+     * Submits the prepared batch of a due schedule. The run itself (fund check and transfers)
+     * happens on the payroll run scheduler, whose queue lives in memory; so the schedule moves to
+     * its next payday only once its batch has left PENDING (processed, or cancelled by hand). Until
+     * then every disbursement tick submits the batch again, which returns the queued or running
+     * run if there is one and retries a failed or lost one. A schedule that has no batch of its
+     * own yet, because a PENDING batch created by hand blocks generation, stays on its payday too.
+     */
+    private void disburse(UUID scheduleId) {
+        // Generates now if preparation missed this payday, e.g. a schedule created on payday
+        Optional<UUID> batchId = transactionTemplate.execute(status -> {
+            PayrollSchedule schedule = findSchedule(scheduleId);
+            if (schedule.getPendingBatchId() == null) {
+                prepare(schedule);
+                if (schedule.getPendingBatchId() == null) {
+                    log.warn("Payroll schedule {} is due but has no batch of its own; retrying on payday {}",
+                            scheduleId, schedule.getNextPayday());
+                    return Optional.<UUID>empty();
+                }
+            }
+            Optional<PayrollBatch> pending = findPendingBatch(schedule);
+            if (pending.isEmpty()) {
+                Optional.ofNullable(schedule.getPendingBatchId())
+                        .flatMap(payrollBatchRepository::findById)
+                        .filter(batch -> batch.getPayrollStatus() == PayrollStatus.FAILED
+                                || batch.getPayrollStatus() == PayrollStatus.PARTIALLY_COMPLETED)
+                        .ifPresent(batch -> log.error("Scheduled payroll batch {} of schedule {} ended {}",
+                                batch.getId(), scheduleId, batch.getPayrollStatus()));
+                schedule.setNextPayday(schedule.paydayIn(YearMonth.from(schedule.getNextPayday()).plusMonths(1)));
+                schedule.setPendingBatchId(null);
+                payrollScheduleRepository.save(schedule);
+                log.info("Payroll schedule {} moved to next payday {}", scheduleId, schedule.getNextPayday());
+                return Optional.<UUID>empty();
+            }
+            if (!schedule.isAutoProcess()) {
+                log.warn("Scheduled payroll batch {} of schedule {} is due and waits to be processed by hand",
+                        pending.get().getId(), scheduleId);
+                return Optional.<UUID>empty();
+            }
+            return pending.map(PayrollBatch::getId);
+        });
+
+        if (batchId.isEmpty()) {
+            return;
+        }
+        UUID id = batchId.get();
+        payrollRunScheduler.getRun(id)
+                .filter(run -> run.state() == PayrollRunStatus.State.FAILED)
+                .ifPresent(run -> log.error("Scheduled payroll run of batch {} for schedule {} failed ({}); resubmitting",
+                        id, scheduleId, run.error()));
+        PayrollRunStatus run = payrollRunScheduler.submit(id);
+        log.info("Submitted scheduled payroll batch {} for schedule {}: {}", id, scheduleId, run.state());
+    }
+
+    private Optional<PayrollBatch> findPendingBatch(PayrollSchedule schedule) {
+        return Optional.ofNullable(schedule.getPendingBatchId())
+                .flatMap(payrollBatchRepository::findById)
+                .filter(batch -> batch.getPayrollStatus() == PayrollStatus.PENDING);
+    }
+
+    private PayrollSchedule findSchedule(UUID scheduleId) {
+        return payrollScheduleRepository.findById(scheduleId)
+                .orElseThrow(() -> ResourceNotFoundException.forEntity("PayrollSchedule", scheduleId));
+    }
+}
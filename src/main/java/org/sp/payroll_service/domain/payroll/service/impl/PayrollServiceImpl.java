@@ -7,37 +7,54 @@ import org.sp.payroll_service.api.payroll.mapper.PayrollBatchMapper;
 import org.sp.payroll_service.api.payroll.mapper.PayrollItemMapper;
 import org.sp.payroll_service.domain.auth.entity.UserDetailsImpl;
 import org.sp.payroll_service.domain.common.dto.response.Money;
+import org.sp.payroll_service.domain.common.enums.EntityStatus;
 import org.sp.payroll_service.domain.common.enums.PayrollItemStatus;
 import org.sp.payroll_service.domain.common.enums.PayrollStatus;
 import org.sp.payroll_service.domain.common.exception.DuplicateEntryException;
 import org.sp.payroll_service.domain.common.exception.ResourceNotFoundException;
 import org.sp.payroll_service.domain.core.entity.Company;
+import org.sp.payroll_service.domain.payroll.dto.PayrollArchivePayload;
+import org.sp.payroll_service.domain.payroll.dto.PayrollArchiveSummary;
 import org.sp.payroll_service.domain.payroll.entity.Employee;
 import org.sp.payroll_service.domain.payroll.entity.PayrollBatch;
 import org.sp.payroll_service.domain.payroll.entity.PayrollItem;
 import org.sp.payroll_service.domain.payroll.entity.SalaryDistributionFormula;
+import org.sp.payroll_service.domain.payroll.entity.Transaction;
 import org.sp.payroll_service.domain.payroll.exception.InsufficientFundsException;
 import org.sp.payroll_service.domain.payroll.exception.PayrollProcessingException;
+import org.sp.payroll_service.domain.payroll.service.PayrollArchiveService;
+import org.sp.payroll_service.domain.payroll.service.PayrollItemChangeTracker;
+import org.sp.payroll_service.domain.payroll.service.PayrollItemChangeTracker.StaleEmployee;
 import org.sp.payroll_service.domain.payroll.service.PayrollService;
+import org.sp.payroll_service.domain.payroll.service.PayrollWorkQueue;
 import org.sp.payroll_service.domain.payroll.service.SalaryCalculationService;
 import org.sp.payroll_service.domain.payroll.service.TransactionService;
 import org.sp.payroll_service.domain.payroll.service.transaction.TransactionStrategyService;
+import org.sp.payroll_service.domain.payroll.service.transaction.TransactionStrategyService.TransferLeg;
+import org.sp.payroll_service.domain.payroll.service.transaction.TransactionStrategyService.TransferOutcome;
+import org.sp.payroll_service.domain.payroll.service.transaction.TransferRoute;
+import org.sp.payroll_service.domain.payroll.service.transaction.TransferTransactionExecutor;
 import org.sp.payroll_service.domain.wallet.entity.Account;
+import org.sp.payroll_service.domain.wallet.service.LedgerService;
 import org.sp.payroll_service.repository.*;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -52,6 +69,9 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PayrollServiceImpl implements PayrollService {
 
+    // Stale employees loaded and recalculated per round trip during a refresh
+    private static final int REFRESH_CHUNK_SIZE = 1000;
+
     private final PayrollBatchRepository payrollBatchRepository;
     private final PayrollItemRepository payrollItemRepository;
     private final EmployeeRepository employeeRepository;
@@ -64,13 +84,21 @@ public class PayrollServiceImpl implements PayrollService {
     private final TransactionStrategyService transactionStrategyService;
     private final PayrollBatchMapper payrollBatchMapper;
     private final PayrollItemMapper payrollItemMapper;
+    private final PayrollArchiveService payrollArchiveService;
+    private final TransactionRepository transactionRepository;
+    private final LedgerService ledgerService;
+    private final TransferTransactionExecutor transferTransactionExecutor;
+    private final PayrollWorkQueue payrollWorkQueue;
+    private final PayrollItemChangeTracker payrollItemChangeTracker;
 
     @Override
     @Transactional
     public PayrollBatchResponse createPayrollBatch(CreatePayrollBatchRequest request, UserDetails currentUser) {
         log.info("Creating payroll batch: {} for company: {}", request.name(), request.companyId());
 
-        Optional<PayrollBatch> existingPayrollBatch= payrollBatchRepository.findFirstActiveByPayrollStatus(PayrollStatus.PENDING);
+        // One PENDING batch per company; other companies queue their own batches independently
+        Optional<PayrollBatch> existingPayrollBatch = payrollBatchRepository
+                .findFirstActiveByCompanyIdAndPayrollStatus(request.companyId(), PayrollStatus.PENDING);
 
         existingPayrollBatch.ifPresent(batch -> {
             String msg = String.format("Company ID %s already has an active PENDING payroll batch ID %s.",
@@ -141,7 +169,7 @@ public class PayrollServiceImpl implements PayrollService {
         Company company = companyRepository.findById(companyId)
                 .orElseThrow(() -> ResourceNotFoundException.forEntity("Company", companyId));
 
-        List<Employee> employees = employeeRepository.findAllOrderedByGrade();
+        List<Employee> employees = payableEmployees(companyId);
         SalaryDistributionFormula formula = company.getSalaryFormula();
         
         // Use default base salary for preview (30000 for grade 6)
@@ -156,8 +184,16 @@ public class PayrollServiceImpl implements PayrollService {
     }
 
     @Override
-    @Transactional(isolation = Isolation.SERIALIZABLE)
     public PayrollResult processPayroll(UUID batchId) {
+        if (payrollWorkQueue.isEnabled()) {
+            // Chunks are paid by whichever instances claim them, each chunk in its own transaction
+            return payrollWorkQueue.process(batchId);
+        }
+        // One transaction for the whole run; the funding account is only debited by its last statement
+        return transferTransactionExecutor.execute(() -> doProcessPayroll(batchId));
+    }
+
+    private PayrollResult doProcessPayroll(UUID batchId) {
         log.warn("Processing payroll batch with ACID transactions: {}", batchId);
 
         try {
@@ -204,45 +240,62 @@ public class PayrollServiceImpl implements PayrollService {
             int failedPayments = 0;
             List<String> errorMessages = new ArrayList<>();
 
-            for (PayrollItem item : payrollItems) {
-                try {
-                    item.setPayrollItemStatus(PayrollItemStatus.PROCESSING);
-                    payrollItemRepository.save(item);
-
-                    // Execute transfer (assuming TransactionService is now synchronous)
-                    TransferRequest transferRequest = TransferRequest.builder()
-                            .debitAccountId(companyAccount.getId())
-                            .creditAccountId(item.getEmployee().getAccount().getId())
-                            .amount(item.getAmount())
-                            .referenceId("PAYROLL-" + batchId + "-" + item.getEmployee().getCode())
-                            .description("Salary payment for " + item.getEmployee().getName())
-                            .build();
-
-                    transactionService.executeTransfer(transferRequest);
-
-                    item.setPayrollItemStatus(PayrollItemStatus.PAID);
+            // Items paying into the same kind of account form one chunk with one strategy lookup
+            Map<TransferRoute, List<PayrollItem>> chunks = payrollItems.stream()
+                    .collect(Collectors.groupingBy(
+                            item -> TransferRoute.of(companyAccount, item.getEmployee().getAccount()),
+                            LinkedHashMap::new, Collectors.toList()));
+
+            // Strategies move the funding balance in memory; it is restored below and debited by one
+            // guarded UPDATE instead, so top-ups and other runs on the account cannot conflict with this run
+            BigDecimal fundingBalance = companyAccount.getCurrentBalance();
+            List<Transaction> transactions = new ArrayList<>();
+            for (List<PayrollItem> chunk : chunks.values()) {
+                List<TransferLeg> legs = chunk.stream()
+                        .map(item -> new TransferLeg(
+                                item.getEmployee().getAccount(),
+                                item.getAmount(),
+                                "PAYROLL-" + batchId + "-" + item.getEmployee().getCode(),
+                                "Salary payment for " + item.getEmployee().getName()))
+                        .toList();
+                List<TransferOutcome> outcomes = transactionStrategyService.executeBatch(companyAccount, legs);
+
+                for (int i = 0; i < chunk.size(); i++) {
+                    PayrollItem item = chunk.get(i);
+                    TransferOutcome outcome = outcomes.get(i);
                     item.setExecutedAt(Instant.now());
-                    processedAmount = processedAmount.add(item.getAmount());
-                    successfulPayments++;
-
-                    log.debug("Successfully paid employee: {} amount: {}",
-                            item.getEmployee().getCode(), item.getAmount());
 
-                } catch (Exception e) {
-                    item.setPayrollItemStatus(PayrollItemStatus.FAILED);
-                    item.setFailureReason(e.getMessage());
-                    item.setExecutedAt(Instant.now());
-                    failedAmount = failedAmount.add(item.getAmount());
-                    failedPayments++;
-                    errorMessages.add("Employee " + item.getEmployee().getCode() + ": " + e.getMessage());
-
-                    log.error("Failed to pay employee: {} - {}", item.getEmployee().getCode(), e.getMessage());
+                    if (outcome.succeeded()) {
+                        Transaction transaction = outcome.transaction();
+                        transaction.setPayrollBatch(batch);
+                        transaction.setSourceItem(item);
+                        transactions.add(transaction);
+                        accountRepository.save(item.getEmployee().getAccount());
+
+                        item.setPayrollItemStatus(PayrollItemStatus.PAID);
+                        processedAmount = processedAmount.add(item.getAmount());
+                        successfulPayments++;
+
+                        log.debug("Successfully paid employee: {} amount: {}",
+                                item.getEmployee().getCode(), item.getAmount());
+                    } else {
+                        String reason = outcome.failure().getMessage();
+                        item.setPayrollItemStatus(PayrollItemStatus.FAILED);
+                        item.setFailureReason(reason);
+                        failedAmount = failedAmount.add(item.getAmount());
+                        failedPayments++;
+                        errorMessages.add("Employee " + item.getEmployee().getCode() + ": " + reason);
+
+                        log.error("Failed to pay employee: {} - {}", item.getEmployee().getCode(), reason);
+                    }
+                    processedItems.add(payrollItemMapper.toResponse(item));
                 }
-
-                payrollItemRepository.save(item);
-                processedItems.add(payrollItemMapper.toResponse(item));
             }
 
+            companyAccount.setCurrentBalance(fundingBalance);
+            ledgerService.post(transactionRepository.saveAll(transactions));
+            payrollItemRepository.saveAll(payrollItems);
+
             // Update batch status
             if (failedPayments == 0) {
                 batch.setPayrollStatus(PayrollStatus.COMPLETED);
@@ -257,6 +310,14 @@ public class PayrollServiceImpl implements PayrollService {
             batch.setExecutedAt(Instant.now());
             payrollBatchRepository.save(batch);
 
+            // Last statement: flushes the run's writes, then holds the funding row lock only until commit
+            if (processedAmount.signum() > 0
+                    && accountRepository.debitIfCovered(companyAccount.getId(), processedAmount, Instant.now()) == 0) {
+                throw new InsufficientFundsException(String.format(
+                        "Insufficient funds in funding account %s for payroll of %s",
+                        companyAccount.getAccountNumber(), processedAmount));
+            }
+
             // Get updated company balance
             Account updatedCompanyAccount = accountRepository.findById(companyAccount.getId()).get();
             Money companyBalanceAfter = Money.of(updatedCompanyAccount.getCurrentBalance());
@@ -283,6 +344,8 @@ public class PayrollServiceImpl implements PayrollService {
                     .message(message)
                     .build();
 
+        } catch (ConcurrencyFailureException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Payroll processing failed for batch: {}", batchId, e);
             throw new PayrollProcessingException("Payroll processing failed: " + e.getMessage(), e);
@@ -298,6 +361,12 @@ public class PayrollServiceImpl implements PayrollService {
         Page<PayrollBatch> batchPage = payrollBatchRepository.findAll(spec, pageable);
 
         return batchPage.map(batch -> {
+            if (batch.isArchived()) {
+                return payrollArchiveService.findSummary(batch.getId())
+                        .map(summary -> payrollBatchMapper.toSummary(batch, summary.itemCount(), summary.paidCount(),
+                                summary.failedCount(), Money.of(summary.totalAmount())))
+                        .orElseThrow(() -> ResourceNotFoundException.forEntity("PayrollBatchArchive", batch.getId()));
+            }
             Integer employeeCount = getEmployeeCountForBatch(batch.getId());
             Integer successfulPayments = getSuccessfulPaymentCount(batch.getId());
             Integer failedPayments = getFailedPaymentCount(batch.getId());
@@ -325,9 +394,16 @@ public class PayrollServiceImpl implements PayrollService {
         log.debug("Retrieving payroll items for batch: {}", batchId);
 
         // Verify batch exists
-        payrollBatchRepository.findById(batchId)
+        PayrollBatch batch = payrollBatchRepository.findById(batchId)
                 .orElseThrow(() -> ResourceNotFoundException.forEntity("PayrollBatch", batchId));
 
+        if (batch.isArchived()) {
+            List<PayrollItemResponse> archivedItems = payrollArchiveService.findPayload(batchId)
+                    .map(PayrollArchivePayload::items)
+                    .orElse(List.of());
+            return toPage(archivedItems, pageable);
+        }
+
         Page<PayrollItem> itemPage = payrollItemRepository.findByPayrollBatchId(batchId, pageable);
         return itemPage.map(payrollItemMapper::toResponse);
     }
@@ -376,6 +452,68 @@ public class PayrollServiceImpl implements PayrollService {
         return payrollBatchMapper.toResponse(savedBatch, employeeCount, 0, 0, totalAmount, Money.of(BigDecimal.ZERO), basicBaseAmount);
     }
 
+    @Override
+    @Transactional
+    public int refreshPendingBatch(UUID batchId) {
+        PayrollBatch batch = payrollBatchRepository.findById(batchId)
+                .orElseThrow(() -> ResourceNotFoundException.forEntity("PayrollBatch", batchId));
+        if (batch.getPayrollStatus() != PayrollStatus.PENDING) {
+            throw new PayrollProcessingException("Cannot refresh batch in status: " + batch.getPayrollStatus());
+        }
+
+        List<StaleEmployee> stale = payrollItemChangeTracker.findStale(batchId);
+        SalaryDistributionFormula formula = batch.getCompany().getSalaryFormula();
+        int written = 0;
+        int removed = 0;
+        for (int from = 0; from < stale.size(); from += REFRESH_CHUNK_SIZE) {
+            List<StaleEmployee> chunk = stale.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, stale.size()));
+            List<UUID> employeeIds = chunk.stream().map(StaleEmployee::employeeId).toList();
+            // Employees who left the batch's company since are dropped from it like deleted ones
+            Map<UUID, Employee> employees = employeeRepository
+                    .findAllWithGradeByCompanyIdAndIdIn(batch.getCompany().getId(), employeeIds).stream()
+                    .filter(employee -> employee.getStatus() != EntityStatus.DELETED)
+                    .collect(Collectors.toMap(Employee::getId, Function.identity()));
+            Map<UUID, PayrollItem> items = payrollItemRepository.findByBatchIdAndEmployeeIds(batchId, employeeIds).stream()
+                    .collect(Collectors.toMap(item -> item.getEmployee().getId(), Function.identity()));
+
+            List<PayrollItem> changed = new ArrayList<>();
+            List<PayrollItem> obsolete = new ArrayList<>();
+            for (UUID employeeId : employeeIds) {
+                Employee employee = employees.get(employeeId);
+                PayrollItem item = items.get(employeeId);
+                if (employee == null) {
+                    if (item != null) {
+                        obsolete.add(item);
+                    }
+                    continue;
+                }
+                PayrollItem calculated = salaryCalculationService.calculateSalary(employee, formula, batch.getBasicBaseAmount());
+                if (item == null) {
+                    calculated.setPayrollBatch(batch);
+                    changed.add(calculated);
+                } else if (!sameAmounts(item, calculated)) {
+                    item.setBasics(calculated.getBasics());
+                    item.setHra(calculated.getHra());
+                    item.setMedicalAllowance(calculated.getMedicalAllowance());
+                    item.setGross(calculated.getGross());
+                    item.setAmount(calculated.getAmount());
+                    changed.add(item);
+                }
+            }
+            payrollItemRepository.saveAll(changed);
+            payrollItemRepository.deleteAll(obsolete);
+            payrollItemChangeTracker.clear(chunk.stream().flatMap(employee -> employee.markIds().stream()).toList());
+            written += changed.size();
+            removed += obsolete.size();
+        }
+
+        if (!stale.isEmpty()) {
+            log.info("Refreshed pending payroll batch {}: {} stale employees, {} items written, {} removed",
+                    batchId, stale.size(), written, removed);
+        }
+        return written + removed;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PayrollBatchResponse findFirstPendingOrPartialPendingBatch(UUID companyId) {
@@ -391,7 +529,7 @@ public class PayrollServiceImpl implements PayrollService {
     // --- Helper Methods ---
 
     private void generatePayrollItems(PayrollBatch batch) {
-        List<Employee> employees = employeeRepository.findAllOrderedByGrade();
+        List<Employee> employees = payableEmployees(batch.getCompany().getId());
         SalaryDistributionFormula formula = batch.getCompany().getSalaryFormula();
         BigDecimal batchBaseSalary = batch.getBasicBaseAmount(); // Get base salary from batch input
 
@@ -404,6 +542,23 @@ public class PayrollServiceImpl implements PayrollService {
         log.info("Generated {} payroll items for batch {} with base salary {}", employees.size(), batch.getId(), batchBaseSalary);
     }
 
+    /**
+     * Employees paid by a batch of the company; soft-deleted employees are left out.
+     */
+    private List<Employee> payableEmployees(UUID companyId) {
+        return employeeRepository.findAllByCompanyIdOrderedByGrade(companyId).stream()
+                .filter(employee -> employee.getStatus() != EntityStatus.DELETED)
+                .toList();
+    }
+
+    private static boolean sameAmounts(PayrollItem item, PayrollItem calculated) {
+        return item.getBasics().compareTo(calculated.getBasics()) == 0
+                && item.getHra().compareTo(calculated.getHra()) == 0
+                && item.getMedicalAllowance().compareTo(calculated.getMedicalAllowance()) == 0
+                && item.getGross().compareTo(calculated.getGross()) == 0
+                && item.getAmount().compareTo(calculated.getAmount()) == 0;
+    }
+
     private Specification<PayrollBatch> createSpecification(PayrollBatchFilter filter) {
         return (root, query, cb) -> {
             var predicates = new ArrayList<jakarta.persistence.criteria.Predicate>();
@@ -447,6 +602,9 @@ public class PayrollServiceImpl implements PayrollService {
     private Optional<PayrollBatchResponse> getPayrollBatchResponse(Optional<PayrollBatch> batchOptional) {
         return batchOptional.map(
                 batch -> {
+                    if (batch.isArchived()) {
+                        return getArchivedBatchResponse(batch);
+                    }
                     Integer employeeCount = getEmployeeCountForBatch(batch.getId());
                     Integer successfulPayments = getSuccessfulPaymentCount(batch.getId());
                     Integer failedPayments = getFailedPaymentCount(batch.getId());
@@ -458,4 +616,24 @@ public class PayrollServiceImpl implements PayrollService {
                 }
         );
     }
+
+    /**
+     * Builds the batch response of an archived batch from its archive summary stub.
+     */
+    private PayrollBatchResponse getArchivedBatchResponse(PayrollBatch batch) {
+        PayrollArchiveSummary summary = payrollArchiveService.findSummary(batch.getId())
+                .orElseThrow(() -> ResourceNotFoundException.forEntity("PayrollBatchArchive", batch.getId()));
+
+        return payrollBatchMapper.toResponse(batch, summary.itemCount(), summary.paidCount(), summary.failedCount(),
+                Money.of(summary.totalAmount()), Money.of(summary.paidAmount()), Money.of(batch.getBasicBaseAmount()));
+    }
+
+    private static <T> Page<T> toPage(List<T> content, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(content);
+        }
+        int from = (int) Math.min(pageable.getOffset(), content.size());
+        int to = Math.min(from + pageable.getPageSize(), content.size());
+        return new PageImpl<>(content.subList(from, to), pageable, content.size());
+    }
 }
@@ -0,0 +1,629 @@
+package org.sp.payroll_service.domain.payroll.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.api.payroll.dto.PayrollItemResponse;
+import org.sp.payroll_service.api.payroll.dto.PayrollResult;
+import org.sp.payroll_service.api.payroll.mapper.PayrollItemMapper;
+import org.sp.payroll_service.config.NodeIdentity;
+import org.sp.payroll_service.config.WorkloadClass;
+import org.sp.payroll_service.config.WorkloadContext;
+import org.sp.payroll_service.domain.common.dto.response.Money;
+import org.sp.payroll_service.domain.common.enums.PayrollItemStatus;
+import org.sp.payroll_service.domain.common.enums.PayrollStatus;
+import org.sp.payroll_service.domain.common.exception.ResourceNotFoundException;
+import org.sp.payroll_service.domain.payroll.entity.PayrollBatch;
+import org.sp.payroll_service.domain.payroll.entity.PayrollItem;
+import org.sp.payroll_service.domain.payroll.entity.Transaction;
+import org.sp.payroll_service.domain.payroll.exception.InsufficientFundsException;
+import org.sp.payroll_service.domain.payroll.exception.PayrollProcessingException;
+import org.sp.payroll_service.domain.payroll.service.PayrollWorkQueue;
+import org.sp.payroll_service.domain.payroll.service.transaction.TransactionStrategy;
+import org.sp.payroll_service.domain.payroll.service.transaction.TransactionStrategyService;
+import org.sp.payroll_service.domain.payroll.service.transaction.TransferRoute;
+import org.sp.payroll_service.domain.payroll.service.transaction.TransferTransactionExecutor;
+import org.sp.payroll_service.domain.wallet.entity.Account;
+import org.sp.payroll_service.domain.wallet.service.LedgerService;
+import org.sp.payroll_service.repository.AccountRepository;
+import org.sp.payroll_service.repository.PayrollBatchRepository;
+import org.sp.payroll_service.repository.PayrollItemRepository;
+import org.sp.payroll_service.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Database-backed payroll work queue.
+ * <p>
+ * The instance that receives the run splits the batch's items into {@code payroll_work_chunks}
+ * rows by id range. Every instance polls the table and claims chunks under a lease: on PostgreSQL
+ * candidates are locked with {@code FOR UPDATE SKIP LOCKED} so pollers never wait on each other;
+ * other databases (H2) rely on the guarded claim UPDATE alone. A claim increments
+ * {@code attempts}, which fences all later writes of that claim, so a node whose lease expired
+ * cannot complete a chunk another node re-claimed.
+ * <p>
+ * A chunk is one transaction: employee credits and item updates first, then the funding account
+ * is debited by one guarded UPDATE as the last statement, keeping the lock on that shared row
+ * short. Whichever instance finishes the last chunk finalizes the batch.
+ */
+@Service
+@Slf4j
+public class PayrollWorkQueueImpl implements PayrollWorkQueue {
+
+    private static final String STATUS_PENDING = "PENDING";
+    private static final String STATUS_CLAIMED = "CLAIMED";
+
+    private static final String INSERT_CHUNK_SQL = """
+            INSERT INTO payroll_work_chunks (id, batch_id, chunk_no, first_item_id, last_item_id, item_count, status,
+                                             attempts, processed_count, failed_count, processed_amount, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, 'PENDING', 0, 0, 0, 0, ?)
+            """;
+
+    private static final String CANDIDATES_SQL = """
+            SELECT id FROM payroll_work_chunks
+            WHERE (status = 'PENDING' OR (status = 'CLAIMED' AND lease_expires_at < :now)) AND attempts < :maxAttempts
+            ORDER BY created_at, chunk_no
+            LIMIT :limit
+            """;
+
+    private static final String CLAIM_SQL = """
+            UPDATE payroll_work_chunks
+            SET status = 'CLAIMED', owner = :owner, attempts = attempts + 1, lease_expires_at = :leaseExpires,
+                heartbeat_at = :now, updated_at = :now
+            WHERE id = :id AND (status = 'PENDING' OR (status = 'CLAIMED' AND lease_expires_at < :now))
+              AND attempts < :maxAttempts
+            """;
+
+    private static final String SELECT_CLAIM_SQL = """
+            SELECT id, batch_id, first_item_id, last_item_id, attempts FROM payroll_work_chunks WHERE id = :id
+            """;
+
+    private static final String EXHAUSTED_SQL = """
+            SELECT id, batch_id, first_item_id, last_item_id, owner, attempts FROM payroll_work_chunks
+            WHERE status = 'CLAIMED' AND lease_expires_at < :now AND attempts >= :maxAttempts
+            """;
+
+    private static final String RENEW_SQL = """
+            UPDATE payroll_work_chunks SET lease_expires_at = :leaseExpires, heartbeat_at = :now
+            WHERE id IN (:ids) AND owner = :owner AND status = 'CLAIMED'
+            """;
+
+    private static final String COMPLETE_CHUNK_SQL = """
+            UPDATE payroll_work_chunks
+            SET status = :status, processed_count = :processed, failed_count = :failed, processed_amount = :amount,
+                error = :error, lease_expires_at = NULL, updated_at = :now
+            WHERE id = :id AND owner = :owner AND attempts = :token AND status = 'CLAIMED'
+            """;
+
+    private static final String SELECT_CHUNK_ITEMS_SQL = """
+            SELECT i.id, i.amount, e.code, e.name, e.account_id
+            FROM payroll_items i
+            JOIN employees e ON e.id = i.employee_id
+            WHERE i.batch_id = :batchId AND i.id >= :firstId AND i.id <= :lastId AND i.payroll_item_status = 'PROCESSING'
+            ORDER BY i.id
+            """;
+
+    private static final String CREDIT_SQL = """
+            UPDATE accounts SET current_balance = current_balance + ?, version = version + 1, updated_at = ?
+            WHERE id = ?
+            """;
+
+    private static final String DEBIT_FUNDING_SQL = """
+            UPDATE accounts SET current_balance = current_balance - :amount, version = version + 1, updated_at = :now
+            WHERE id = :id AND current_balance >= :amount
+            """;
+
+    private static final String MARK_PAID_SQL = """
+            UPDATE payroll_items SET payroll_item_status = 'PAID', failure_reason = NULL, executed_at = :now,
+                                     version = version + 1, updated_at = :now
+            WHERE id IN (:ids) AND payroll_item_status = 'PROCESSING'
+            """;
+
+    private static final String MARK_FAILED_SQL = """
+            UPDATE payroll_items SET payroll_item_status = 'FAILED', failure_reason = ?, executed_at = ?,
+                                     version = version + 1, updated_at = ?
+            WHERE id = ? AND payroll_item_status = 'PROCESSING'
+            """;
+
+    private static final String FAIL_RANGE_SQL = """
+            UPDATE payroll_items SET payroll_item_status = 'FAILED', failure_reason = :reason, executed_at = :now,
+                                     version = version + 1, updated_at = :now
+            WHERE batch_id = :batchId AND id >= :firstId AND id <= :lastId AND payroll_item_status = 'PROCESSING'
+            """;
+
+    private static final String OPEN_CHUNKS_SQL =
+            "SELECT COUNT(*) FROM payroll_work_chunks WHERE batch_id = :batchId AND status IN ('PENDING', 'CLAIMED')";
+
+    private static final String BATCH_TOTALS_SQL = """
+            SELECT COALESCE(SUM(amount), 0) AS total_amount,
+                   COALESCE(SUM(CASE WHEN payroll_item_status = 'PAID' THEN amount ELSE 0 END), 0) AS paid_amount,
+                   COALESCE(SUM(CASE WHEN payroll_item_status = 'PAID' THEN 1 ELSE 0 END), 0) AS paid_count,
+                   COALESCE(SUM(CASE WHEN payroll_item_status = 'FAILED' THEN 1 ELSE 0 END), 0) AS failed_count
+            FROM payroll_items WHERE batch_id = :batchId
+            """;
+
+    private static final String FINALIZE_BATCH_SQL = """
+            UPDATE payroll_batches
+            SET payroll_status = :status, total_amount = :total, executed_amount = :paid, executed_at = :now,
+                version = version + 1, updated_at = :now
+            WHERE id = :batchId AND payroll_status = 'PROCESSING'
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PayrollBatchRepository payrollBatchRepository;
+    private final PayrollItemRepository payrollItemRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionStrategyService transactionStrategyService;
+    private final TransferTransactionExecutor transferTransactionExecutor;
+    private final LedgerService ledgerService;
+    private final PayrollItemMapper payrollItemMapper;
+    private final ExecutorService executor;
+    private final String owner;
+
+    private final Map<UUID, Claim> inFlight = new ConcurrentHashMap<>();
+    private volatile Boolean skipLocked;
+
+    @Value("${app.payroll.work-queue.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.payroll.work-queue.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.payroll.work-queue.worker-threads:2}")
+    private int workerThreads;
+
+    @Value("${app.payroll.work-queue.lease-duration:60s}")
+    private Duration leaseDuration;
+
+    @Value("${app.payroll.work-queue.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.payroll.work-queue.poll-interval:1s}")
+    private Duration pollInterval;
+
+    @Value("${app.payroll.work-queue.await-timeout:30m}")
+    private Duration awaitTimeout;
+
+    public PayrollWorkQueueImpl(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                PayrollBatchRepository payrollBatchRepository,
+                                PayrollItemRepository payrollItemRepository,
+                                AccountRepository accountRepository,
+                                TransactionRepository transactionRepository,
+                                TransactionStrategyService transactionStrategyService,
+                                TransferTransactionExecutor transferTransactionExecutor,
+                                LedgerService ledgerService,
+                                PayrollItemMapper payrollItemMapper,
+                                NodeIdentity nodeIdentity,
+                                @Qualifier("virtualThreadExecutor") ExecutorService executor) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.payrollBatchRepository = payrollBatchRepository;
+        this.payrollItemRepository = payrollItemRepository;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionStrategyService = transactionStrategyService;
+        this.transferTransactionExecutor = transferTransactionExecutor;
+        this.ledgerService = ledgerService;
+        this.payrollItemMapper = payrollItemMapper;
+        this.owner = nodeIdentity.getNodeId();
+        this.executor = executor;
+    }
+
+    /**
+     * A chunk claimed by this instance; {@code token} is the attempts value set by the claim.
+     */
+    private record Claim(UUID chunkId, UUID batchId, UUID firstItemId, UUID lastItemId, String owner, int token) {
+    }
+
+    private record ItemRow(UUID itemId, BigDecimal amount, String employeeCode, String employeeName, UUID accountId) {
+    }
+
+    private record ChunkOutcome(int processed, int failed, BigDecimal amount) {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public PayrollResult process(UUID batchId) {
+        log.warn("Processing payroll batch on the work queue: {}", batchId);
+
+        Money companyBalanceBefore = transactionTemplate.execute(status -> split(batchId));
+        awaitFinished(batchId);
+        return buildResult(batchId, companyBalanceBefore);
+    }
+
+    @Override
+    public int claimAndRun() {
+        int claimed = 0;
+        while (inFlight.size() < workerThreads) {
+            Claim claim = transactionTemplate.execute(status -> claimNext());
+            if (claim == null) {
+                break;
+            }
+            inFlight.put(claim.chunkId(), claim);
+            executor.execute(() -> run(claim));
+            claimed++;
+        }
+        return claimed;
+    }
+
+    @Override
+    public int renewLeases() {
+        if (inFlight.isEmpty()) {
+            return 0;
+        }
+        Instant now = Instant.now();
+        return jdbcTemplate.update(RENEW_SQL, new MapSqlParameterSource()
+                .addValue("ids", List.copyOf(inFlight.keySet()))
+                .addValue("owner", owner)
+                .addValue("leaseExpires", Timestamp.from(now.plus(leaseDuration)))
+                .addValue("now", Timestamp.from(now)));
+    }
+
+    @Override
+    public int failExhaustedChunks() {
+        List<Claim> exhausted = jdbcTemplate.query(EXHAUSTED_SQL, new MapSqlParameterSource()
+                        .addValue("now", Timestamp.from(Instant.now()))
+                        .addValue("maxAttempts", maxAttempts),
+                (rs, rowNum) -> new Claim(rs.getObject("id", UUID.class), rs.getObject("batch_id", UUID.class),
+                        rs.getObject("first_item_id", UUID.class), rs.getObject("last_item_id", UUID.class),
+                        rs.getString("owner"), rs.getInt("attempts")));
+        for (Claim claim : exhausted) {
+            log.error("Payroll chunk {} of batch {} lost its lease after {} attempts", claim.chunkId(), claim.batchId(),
+                    claim.token());
+            failChunk(claim, "Chunk abandoned after " + claim.token() + " attempts");
+            finalizeIfDone(claim.batchId());
+        }
+        return exhausted.size();
+    }
+
+    // --- Coordinator ---
+
+    /**
+     * Validates and claims the batch for processing and writes its chunks.
+     * @return funding account balance before the run
+     */
+    private Money split(UUID batchId) {
+        PayrollBatch batch = payrollBatchRepository.findById(batchId)
+                .orElseThrow(() -> ResourceNotFoundException.forEntity("PayrollBatch", batchId));
+        if (batch.getPayrollStatus() != PayrollStatus.PENDING) {
+            throw new PayrollProcessingException("Batch is not in PENDING status: " + batch.getPayrollStatus());
+        }
+        Account fundingAccount = accountRepository.findById(batch.getFundingAccountId())
+                .orElseThrow(() -> ResourceNotFoundException.forEntity("Account", batch.getFundingAccountId()));
+
+        BigDecimal totalAmount = payrollItemRepository.getTotalAmountForBatch(batchId);
+        if (fundingAccount.getCurrentBalance().compareTo(totalAmount) < 0) {
+            throw new InsufficientFundsException(String.format("Insufficient funds. Required: %s, Available: %s",
+                    totalAmount, fundingAccount.getCurrentBalance()));
+        }
+
+        batch.setPayrollStatus(PayrollStatus.PROCESSING);
+        batch.setTotalAmount(totalAmount);
+        payrollBatchRepository.save(batch);
+
+        List<UUID> itemIds = jdbcTemplate.queryForList(
+                "SELECT id FROM payroll_items WHERE batch_id = :batchId AND payroll_item_status = 'PROCESSING' ORDER BY id",
+                new MapSqlParameterSource("batchId", batchId), UUID.class);
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> chunks = new ArrayList<>();
+        for (int from = 0; from < itemIds.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, itemIds.size());
+            chunks.add(new Object[]{UUID.randomUUID(), batchId, chunks.size(), itemIds.get(from), itemIds.get(to - 1),
+                    to - from, now});
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_CHUNK_SQL, chunks);
+        log.info("Split payroll batch {} into {} chunks of up to {} items", batchId, chunks.size(), chunkSize);
+
+        if (chunks.isEmpty()) {
+            // Nothing to pay: no chunk will finish the batch
+            transactionTemplate.executeWithoutResult(status -> finalizeBatch(batchId));
+        }
+        return Money.of(fundingAccount.getCurrentBalance());
+    }
+
+    private void awaitFinished(UUID batchId) {
+        long deadline = System.nanoTime() + awaitTimeout.toNanos();
+        while (true) {
+            String status = jdbcTemplate.queryForObject("SELECT payroll_status FROM payroll_batches WHERE id = :batchId",
+                    new MapSqlParameterSource("batchId", batchId), String.class);
+            if (!PayrollStatus.PROCESSING.name().equals(status)) {
+                return;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new PayrollProcessingException(
+                        "Payroll batch " + batchId + " is still processing on the work queue; check its status later");
+            }
+            try {
+                Thread.sleep(pollInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PayrollProcessingException("Interrupted while waiting for payroll batch " + batchId, e);
+            }
+        }
+    }
+
+    private PayrollResult buildResult(UUID batchId, Money companyBalanceBefore) {
+        PayrollBatch batch = payrollBatchRepository.findById(batchId)
+                .orElseThrow(() -> ResourceNotFoundException.forEntity("PayrollBatch", batchId));
+        List<PayrollItem> items = payrollItemRepository.findAllByPayrollBatchId(batchId);
+        Account fundingAccount = accountRepository.findById(batch.getFundingAccountId())
+                .orElseThrow(() -> ResourceNotFoundException.forEntity("Account", batch.getFundingAccountId()));
+
+        List<PayrollItemResponse> itemResponses = items.stream().map(payrollItemMapper::toResponse).toList();
+        List<PayrollItem> failed = items.stream()
+                .filter(item -> item.getPayrollItemStatus() == PayrollItemStatus.FAILED).toList();
+        BigDecimal failedAmount = failed.stream().map(PayrollItem::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        int successfulPayments = items.size() - failed.size();
+        String message = String.format("Payroll processing completed. Success: %d, Failed: %d",
+                successfulPayments, failed.size());
+        log.info("Payroll batch {} processing completed: {}", batchId, message);
+
+        return PayrollResult.builder()
+                .success(failed.isEmpty())
+                .batchId(batchId)
+                .batchStatus(batch.getPayrollStatus())
+                .totalAmount(Money.of(batch.getTotalAmount()))
+                .processedAmount(Money.of(batch.getExecutedAmount()))
+                .failedAmount(Money.of(failedAmount))
+                .totalEmployees(items.size())
+                .successfulPayments(successfulPayments)
+                .failedPayments(failed.size())
+                .companyBalanceBefore(companyBalanceBefore)
+                .companyBalanceAfter(Money.of(fundingAccount.getCurrentBalance()))
+                .payrollItems(itemResponses)
+                .errorMessages(failed.stream()
+                        .map(item -> "Employee " + item.getEmployee().getCode() + ": " + item.getFailureReason())
+                        .toList())
+                .message(message)
+                .build();
+    }
+
+    // --- Workers ---
+
+    private Claim claimNext() {
+        Instant now = Instant.now();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("now", Timestamp.from(now))
+                .addValue("maxAttempts", maxAttempts)
+                .addValue("limit", workerThreads)
+                .addValue("owner", owner)
+                .addValue("leaseExpires", Timestamp.from(now.plus(leaseDuration)));
+        String candidatesSql = useSkipLocked() ? CANDIDATES_SQL + "FOR UPDATE SKIP LOCKED" : CANDIDATES_SQL;
+        for (UUID id : jdbcTemplate.queryForList(candidatesSql, params, UUID.class)) {
+            if (jdbcTemplate.update(CLAIM_SQL, params.addValue("id", id)) == 1) {
+                return jdbcTemplate.queryForObject(SELECT_CLAIM_SQL, new MapSqlParameterSource("id", id),
+                        (rs, rowNum) -> new Claim(id, rs.getObject("batch_id", UUID.class),
+                                rs.getObject("first_item_id", UUID.class), rs.getObject("last_item_id", UUID.class),
+                                owner, rs.getInt("attempts")));
+            }
+        }
+        return null;
+    }
+
+    private void run(Claim claim) {
+        try {
+            ChunkOutcome outcome = WorkloadContext.callAs(WorkloadClass.BATCH,
+                    () -> transferTransactionExecutor.execute(() -> processChunk(claim)));
+            log.debug("Payroll chunk {} of batch {}: {} paid, {} failed", claim.chunkId(), claim.batchId(),
+                    outcome.processed(), outcome.failed());
+        } catch (Exception e) {
+            log.error("Payroll chunk {} of batch {} failed", claim.chunkId(), claim.batchId(), e);
+            try {
+                failChunk(claim, e.getMessage());
+            } catch (Exception failure) {
+                log.error("Unable to mark payroll chunk {} failed; it is retried when its lease expires",
+                        claim.chunkId(), failure);
+            }
+        } finally {
+            inFlight.remove(claim.chunkId());
+        }
+        try {
+            finalizeIfDone(claim.batchId());
+        } catch (Exception e) {
+            log.error("Unable to finalize payroll batch {}", claim.batchId(), e);
+        }
+    }
+
+    /**
+     * Pays one chunk. Runs inside the executor's transaction; a conflict re-runs the whole chunk.
+     */
+    private ChunkOutcome processChunk(Claim claim) {
+        List<ItemRow> rows = jdbcTemplate.query(SELECT_CHUNK_ITEMS_SQL, new MapSqlParameterSource()
+                        .addValue("batchId", claim.batchId())
+                        .addValue("firstId", claim.firstItemId())
+                        .addValue("lastId", claim.lastItemId()),
+                (rs, rowNum) -> new ItemRow(rs.getObject("id", UUID.class), rs.getBigDecimal("amount"),
+                        rs.getString("code"), rs.getString("name"), rs.getObject("account_id", UUID.class)));
+        Timestamp now = Timestamp.from(Instant.now());
+
+        PayrollBatch batch = payrollBatchRepository.findById(claim.batchId())
+                .orElseThrow(() -> ResourceNotFoundException.forEntity("PayrollBatch", claim.batchId()));
+        Account fundingAccount = accountRepository.findById(batch.getFundingAccountId())
+                .orElseThrow(() -> ResourceNotFoundException.forEntity("Account", batch.getFundingAccountId()));
+        Map<UUID, Account> accounts = accountRepository.findAllById(rows.stream().map(ItemRow::accountId).toList())
+                .stream().collect(Collectors.toMap(Account::getId, Function.identity()));
+
+        // Accounts are only read here, for routing; balances move through the guarded UPDATEs below
+        Map<TransferRoute, List<ItemRow>> routes = rows.stream().collect(Collectors.groupingBy(
+                row -> TransferRoute.of(fundingAccount, accounts.get(row.accountId())),
+                LinkedHashMap::new, Collectors.toList()));
+        List<ItemRow> paid = new ArrayList<>();
+        Map<ItemRow, TransactionStrategy> strategies = new HashMap<>();
+        List<Object[]> failures = new ArrayList<>();
+        for (List<ItemRow> routeRows : routes.values()) {
+            ItemRow first = routeRows.get(0);
+            try {
+                TransactionStrategy strategy = transactionStrategyService.resolveStrategy(
+                        fundingAccount, accounts.get(first.accountId()), first.amount());
+                routeRows.forEach(row -> strategies.put(row, strategy));
+                paid.addAll(routeRows);
+            } catch (PayrollProcessingException e) {
+                routeRows.forEach(row -> failures.add(new Object[]{e.getMessage(), now, now, row.itemId()}));
+            }
+        }
+
+        BigDecimal amount = paid.stream().map(ItemRow::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (!paid.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(CREDIT_SQL, paid.stream()
+                    .sorted(Comparator.comparing(ItemRow::accountId))
+                    .map(row -> new Object[]{row.amount(), now, row.accountId()})
+                    .toList());
+
+            List<Transaction> transactions = new ArrayList<>(paid.size());
+            for (ItemRow row : paid) {
+                TransactionStrategy strategy = strategies.get(row);
+                Transaction transaction = Transaction.builder()
+                        .debitAccount(fundingAccount)
+                        .creditAccount(accounts.get(row.accountId()))
+                        .amount(row.amount())
+                        .type(strategy.getType())
+                        .category(strategy.getCategory())
+                        .payrollBatch(batch)
+                        .sourceItem(payrollItemRepository.getReferenceById(row.itemId()))
+                        .referenceId("PAYROLL-" + claim.batchId() + "-" + row.employeeCode())
+                        .description("Salary payment for " + row.employeeName())
+                        .requestedAt(now.toInstant())
+                        .build();
+                transaction.markAsProcessed();
+                transactions.add(transaction);
+            }
+            ledgerService.post(transactionRepository.saveAll(transactions));
+            transactionRepository.flush();
+
+            int marked = jdbcTemplate.update(MARK_PAID_SQL, new MapSqlParameterSource()
+                    .addValue("ids", paid.stream().map(ItemRow::itemId).toList())
+                    .addValue("now", now));
+            if (marked != paid.size()) {
+                throw new OptimisticLockingFailureException("Payroll items of chunk " + claim.chunkId() + " changed");
+            }
+        }
+        if (!failures.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(MARK_FAILED_SQL, failures);
+        }
+
+        ChunkOutcome outcome = new ChunkOutcome(paid.size(), failures.size(), amount);
+        completeChunk(claim, "DONE", outcome, null);
+
+        // Last statement: the shared funding row stays locked only until commit
+        if (amount.signum() > 0) {
+            int debited = jdbcTemplate.update(DEBIT_FUNDING_SQL, new MapSqlParameterSource()
+                    .addValue("id", fundingAccount.getId())
+                    .addValue("amount", amount)
+                    .addValue("now", now));
+            if (debited == 0) {
+                throw new InsufficientFundsException("Insufficient funds in funding account for payroll chunk of " + amount);
+            }
+        }
+        return outcome;
+    }
+
+    /**
+     * Marks the claim's remaining items and the chunk FAILED. Does nothing if the claim was lost.
+     */
+    private void failChunk(Claim claim, String reason) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Timestamp now = Timestamp.from(Instant.now());
+            if (!completeChunk(claim, "FAILED", new ChunkOutcome(0, 0, BigDecimal.ZERO), reason)) {
+                return;
+            }
+            int failed = jdbcTemplate.update(FAIL_RANGE_SQL, new MapSqlParameterSource()
+                    .addValue("batchId", claim.batchId())
+                    .addValue("firstId", claim.firstItemId())
+                    .addValue("lastId", claim.lastItemId())
+                    .addValue("reason", reason)
+                    .addValue("now", now));
+            jdbcTemplate.update("UPDATE payroll_work_chunks SET failed_count = :failed WHERE id = :id",
+                    new MapSqlParameterSource().addValue("failed", failed).addValue("id", claim.chunkId()));
+        });
+    }
+
+    /**
+     * Completes the chunk if this claim still holds it.
+     * @return false when the lease was lost to another claim
+     */
+    private boolean completeChunk(Claim claim, String status, ChunkOutcome outcome, String error) {
+        int updated = jdbcTemplate.update(COMPLETE_CHUNK_SQL, new MapSqlParameterSource()
+                .addValue("id", claim.chunkId())
+                .addValue("owner", claim.owner())
+                .addValue("token", claim.token())
+                .addValue("status", status)
+                .addValue("processed", outcome.processed())
+                .addValue("failed", outcome.failed())
+                .addValue("amount", outcome.amount())
+                .addValue("error", error)
+                .addValue("now", Timestamp.from(Instant.now())));
+        if (updated == 0 && "DONE".equals(status)) {
+            // Rolls the chunk back: another node re-claimed it after this node's lease expired
+            throw new PayrollProcessingException("Lease on payroll chunk " + claim.chunkId() + " was lost");
+        }
+        return updated == 1;
+    }
+
+    private void finalizeIfDone(UUID batchId) {
+        Long open = jdbcTemplate.queryForObject(OPEN_CHUNKS_SQL, new MapSqlParameterSource("batchId", batchId), Long.class);
+        if (open != null && open == 0) {
+            transactionTemplate.executeWithoutResult(status -> finalizeBatch(batchId));
+        }
+    }
+
+    /**
+     * Sets the final status and amounts of a batch from its items. Only the first caller wins.
+     */
+    private void finalizeBatch(UUID batchId) {
+        Map<String, Object> totals = jdbcTemplate.queryForMap(BATCH_TOTALS_SQL, new MapSqlParameterSource("batchId", batchId));
+        long paidCount = ((Number) totals.get("paid_count")).longValue();
+        long failedCount = ((Number) totals.get("failed_count")).longValue();
+        PayrollStatus status = failedCount == 0 ? PayrollStatus.COMPLETED
+                : paidCount > 0 ? PayrollStatus.PARTIALLY_COMPLETED : PayrollStatus.FAILED;
+        Timestamp now = Timestamp.from(Instant.now());
+        int updated = jdbcTemplate.update(FINALIZE_BATCH_SQL, new MapSqlParameterSource()
+                .addValue("batchId", batchId)
+                .addValue("status", status.name())
+                .addValue("total", totals.get("total_amount"))
+                .addValue("paid", totals.get("paid_amount"))
+                .addValue("now", now));
+        if (updated == 1) {
+            log.info("Payroll batch {} finished on the work queue as {} ({} paid, {} failed)",
+                    batchId, status, paidCount, failedCount);
+        }
+    }
+
+    private boolean useSkipLocked() {
+        if (skipLocked == null) {
+            String product = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            // H2 (dev and tests) claims through the guarded UPDATE alone
+            skipLocked = "PostgreSQL".equalsIgnoreCase(product);
+        }
+        return skipLocked;
+    }
+}
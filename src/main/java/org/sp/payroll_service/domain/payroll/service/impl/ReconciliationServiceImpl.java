@@ -0,0 +1,315 @@
+package org.sp.payroll_service.domain.payroll.service.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.domain.payroll.dto.ReconciliationReport;
+import org.sp.payroll_service.domain.payroll.dto.ReconciliationReport.Kind;
+import org.sp.payroll_service.domain.payroll.dto.ReconciliationReport.Mismatch;
+import org.sp.payroll_service.domain.payroll.dto.ReconciliationReport.State;
+import org.sp.payroll_service.domain.payroll.service.ReconciliationService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Reconciliation engine. Account and batch ids are read in keyset-ordered chunks and each chunk
+ * is checked by one aggregate query on a virtual thread; a semaphore caps the chunks in flight,
+ * so memory stays bounded by {@code parallelism} chunks plus the kept mismatches. Each check is
+ * a single statement, so the rows it compares are read from one consistent snapshot.
+ * <p>
+ * Account balances are checked in two steps. The journal is the balance's source of truth, since
+ * opening balances and company top-ups are journal credits without a transaction row; so the
+ * balance is compared with the opening snapshot plus the journal. The journal lines posted for
+ * transactions are then compared with sum(credits) - sum(debits) over the settled transactions of
+ * the same period, which ties the balance back to the transactions table.
+ */
+@Service
+@Slf4j
+public class ReconciliationServiceImpl implements ReconciliationService {
+
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    private static final String ACCOUNT_IDS_SQL =
+            "SELECT id FROM accounts WHERE id > :lastId ORDER BY id LIMIT :limit";
+
+    private static final String BATCH_IDS_SQL =
+            "SELECT id FROM payroll_batches WHERE id > :lastId AND archived_at IS NULL ORDER BY id LIMIT :limit";
+
+    // Journal balance = first snapshot (opening balance when the journal started) + every line after it
+    private static final String ACCOUNT_CHUNK_SQL = """
+            SELECT a.id, a.account_number, a.current_balance, o.balance AS opening_balance,
+                   COUNT(j.id) AS line_count,
+                   COALESCE(SUM(CASE WHEN j.side = 'CREDIT' THEN j.amount ELSE -j.amount END), 0) AS movement
+            FROM accounts a
+            LEFT JOIN account_balance_snapshots o
+                   ON o.account_id = a.id
+                  AND o.as_of = (SELECT MIN(f.as_of) FROM account_balance_snapshots f WHERE f.account_id = a.id)
+            LEFT JOIN journal_entries j
+                   ON j.account_id = a.id
+                  AND (o.as_of IS NULL OR j.posted_at > o.as_of)
+            WHERE a.id IN (:ids)
+            GROUP BY a.id, a.account_number, a.current_balance, o.balance
+            """;
+
+    // Transactions settled after the account's first snapshot against the journal lines posted for them
+    private static final String ACCOUNT_TRANSACTIONS_CHUNK_SQL = """
+            WITH opening AS (
+                SELECT a.id AS account_id, a.account_number,
+                       (SELECT MIN(f.as_of) FROM account_balance_snapshots f WHERE f.account_id = a.id) AS as_of
+                FROM accounts a
+                WHERE a.id IN (:ids)
+            ),
+            settled AS (
+                SELECT o.account_id, t.amount
+                FROM opening o
+                JOIN transactions t ON t.credit_acc_id = o.account_id
+                WHERE t.transaction_status IN ('COMPLETED', 'SUCCESS', 'REVERSED')
+                  AND (o.as_of IS NULL OR t.requested_at > o.as_of)
+                UNION ALL
+                SELECT o.account_id, -t.amount
+                FROM opening o
+                JOIN transactions t ON t.debit_acc_id = o.account_id
+                WHERE t.transaction_status IN ('COMPLETED', 'SUCCESS', 'REVERSED')
+                  AND (o.as_of IS NULL OR t.requested_at > o.as_of)
+            ),
+            posted AS (
+                SELECT o.account_id, CASE WHEN j.side = 'CREDIT' THEN j.amount ELSE -j.amount END AS amount
+                FROM opening o
+                JOIN journal_entries j ON j.account_id = o.account_id
+                JOIN transactions t ON t.id = j.transaction_id
+                WHERE o.as_of IS NULL OR t.requested_at > o.as_of
+            )
+            SELECT o.account_id AS id, o.account_number,
+                   COALESCE(s.movement, 0) AS transaction_movement, COALESCE(s.row_count, 0) AS transaction_count,
+                   COALESCE(p.movement, 0) AS journal_movement, COALESCE(p.row_count, 0) AS line_count
+            FROM opening o
+            LEFT JOIN (SELECT account_id, SUM(amount) AS movement, COUNT(*) AS row_count
+                       FROM settled GROUP BY account_id) s ON s.account_id = o.account_id
+            LEFT JOIN (SELECT account_id, SUM(amount) AS movement, COUNT(*) AS row_count
+                       FROM posted GROUP BY account_id) p ON p.account_id = o.account_id
+            """;
+
+    private static final String BATCH_CHUNK_SQL = """
+            SELECT b.id, b.name, b.executed_amount, COUNT(i.id) AS item_count,
+                   COALESCE(SUM(CASE WHEN i.payroll_item_status = 'PAID' THEN i.amount ELSE 0 END), 0) AS paid_amount
+            FROM payroll_batches b
+            LEFT JOIN payroll_items i ON i.batch_id = b.id
+            WHERE b.id IN (:ids)
+            GROUP BY b.id, b.name, b.executed_amount
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ExecutorService executor;
+    private final Timer durationTimer;
+    private final AtomicLong lastRowsPerSecond = new AtomicLong();
+    private final AtomicLong lastMismatches = new AtomicLong();
+    private final AtomicReference<ReconciliationReport> latest = new AtomicReference<>();
+
+    @Value("${app.reconciliation.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.reconciliation.parallelism:2}")
+    private int parallelism;
+
+    @Value("${app.reconciliation.max-reported-mismatches:1000}")
+    private int maxReportedMismatches;
+
+    public ReconciliationServiceImpl(JdbcTemplate jdbcTemplate,
+                                     @Qualifier("virtualThreadExecutor") ExecutorService executor,
+                                     MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.executor = executor;
+        this.durationTimer = Timer.builder("reconciliation.duration")
+                .description("Duration of ledger reconciliation runs")
+                .register(meterRegistry);
+        Gauge.builder("reconciliation.rows.per.second", lastRowsPerSecond, AtomicLong::get)
+                .description("Rows scanned per second by the last reconciliation run")
+                .register(meterRegistry);
+        Gauge.builder("reconciliation.mismatches", lastMismatches, AtomicLong::get)
+                .description("Mismatches found by the last reconciliation run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counters and kept mismatches of a run, shared by its chunk workers.
+     */
+    private final class RunState {
+        final AtomicLong accounts = new AtomicLong();
+        final AtomicLong batches = new AtomicLong();
+        final AtomicLong rows = new AtomicLong();
+        final AtomicLong mismatchCount = new AtomicLong();
+        final List<Mismatch> mismatches = new ArrayList<>();
+
+        void mismatch(Mismatch mismatch) {
+            mismatchCount.incrementAndGet();
+            synchronized (mismatches) {
+                if (mismatches.size() < maxReportedMismatches) {
+                    mismatches.add(mismatch);
+                }
+            }
+        }
+    }
+
+    @Override
+    public ReconciliationReport run() {
+        ReconciliationReport started = begin();
+        return started != null ? complete(started) : latest.get();
+    }
+
+    @Override
+    public ReconciliationReport start() {
+        ReconciliationReport started = begin();
+        if (started == null) {
+            return latest.get();
+        }
+        executor.execute(() -> complete(started));
+        return started;
+    }
+
+    @Override
+    public Optional<ReconciliationReport> latestReport() {
+        return Optional.ofNullable(latest.get());
+    }
+
+    /**
+     * Registers a new RUNNING report, or returns null when a run is already in progress.
+     */
+    private synchronized ReconciliationReport begin() {
+        ReconciliationReport current = latest.get();
+        if (current != null && current.state() == State.RUNNING) {
+            return null;
+        }
+        ReconciliationReport started = new ReconciliationReport(UUID.randomUUID(), State.RUNNING, Instant.now(),
+                null, 0, 0, 0, 0, 0, List.of(), null);
+        latest.set(started);
+        return started;
+    }
+
+    private ReconciliationReport complete(ReconciliationReport started) {
+        RunState state = new RunState();
+        long begin = System.nanoTime();
+        ReconciliationReport report;
+        try {
+            Semaphore slots = new Semaphore(parallelism);
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            dispatchChunks(ACCOUNT_IDS_SQL, ids -> checkAccounts(ids, state), slots, failure);
+            dispatchChunks(BATCH_IDS_SQL, ids -> checkBatches(ids, state), slots, failure);
+            slots.acquire(parallelism);
+            if (failure.get() != null) {
+                throw new IllegalStateException("Reconciliation chunk failed: " + failure.get().getMessage(), failure.get());
+            }
+            report = finish(started, state, begin, State.COMPLETED, null);
+            log.info("Reconciliation {} completed: {} accounts, {} batches, {} rows at {} rows/s, {} mismatches",
+                    started.runId(), report.accountsChecked(), report.batchesChecked(), report.rowsScanned(),
+                    report.rowsPerSecond(), report.mismatchCount());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            report = finish(started, state, begin, State.FAILED, "Interrupted");
+        } catch (Exception e) {
+            log.error("Reconciliation {} failed", started.runId(), e);
+            report = finish(started, state, begin, State.FAILED, e.getMessage());
+        }
+        latest.set(report);
+        return report;
+    }
+
+    /**
+     * Reads ids in keyset order and hands each chunk to a worker, blocking while
+     * {@code parallelism} chunks are being checked.
+     */
+    private void dispatchChunks(String idsSql, Consumer<List<UUID>> check, Semaphore slots,
+                                AtomicReference<Throwable> failure) throws InterruptedException {
+        UUID lastId = MIN_ID;
+        while (failure.get() == null) {
+            List<UUID> ids = jdbcTemplate.queryForList(idsSql,
+                    new MapSqlParameterSource().addValue("lastId", lastId).addValue("limit", chunkSize), UUID.class);
+            if (ids.isEmpty()) {
+                return;
+            }
+            lastId = ids.get(ids.size() - 1);
+            slots.acquire();
+            executor.execute(() -> {
+                try {
+                    check.accept(ids);
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    slots.release();
+                }
+            });
+            if (ids.size() < chunkSize) {
+                return;
+            }
+        }
+    }
+
+    private void checkAccounts(List<UUID> ids, RunState state) {
+        jdbcTemplate.query(ACCOUNT_CHUNK_SQL, new MapSqlParameterSource("ids", ids), rs -> {
+            BigDecimal opening = rs.getBigDecimal("opening_balance");
+            BigDecimal expected = (opening != null ? opening : BigDecimal.ZERO).add(rs.getBigDecimal("movement"));
+            BigDecimal actual = rs.getBigDecimal("current_balance");
+            state.accounts.incrementAndGet();
+            state.rows.addAndGet(1 + rs.getLong("line_count"));
+            if (expected.compareTo(actual) != 0) {
+                state.mismatch(new Mismatch(Kind.ACCOUNT_BALANCE, rs.getObject("id", UUID.class),
+                        rs.getString("account_number"), expected, actual));
+            }
+        });
+        jdbcTemplate.query(ACCOUNT_TRANSACTIONS_CHUNK_SQL, new MapSqlParameterSource("ids", ids), rs -> {
+            BigDecimal expected = rs.getBigDecimal("transaction_movement");
+            BigDecimal actual = rs.getBigDecimal("journal_movement");
+            state.rows.addAndGet(rs.getLong("transaction_count") + rs.getLong("line_count"));
+            if (expected.compareTo(actual) != 0) {
+                state.mismatch(new Mismatch(Kind.ACCOUNT_TRANSACTIONS, rs.getObject("id", UUID.class),
+                        rs.getString("account_number"), expected, actual));
+            }
+        });
+    }
+
+    private void checkBatches(List<UUID> ids, RunState state) {
+        jdbcTemplate.query(BATCH_CHUNK_SQL, new MapSqlParameterSource("ids", ids), rs -> {
+            BigDecimal expected = rs.getBigDecimal("paid_amount");
+            BigDecimal actual = rs.getBigDecimal("executed_amount");
+            state.batches.incrementAndGet();
+            state.rows.addAndGet(1 + rs.getLong("item_count"));
+            if (expected.compareTo(actual) != 0) {
+                state.mismatch(new Mismatch(Kind.BATCH_EXECUTED_AMOUNT, rs.getObject("id", UUID.class),
+                        rs.getString("name"), expected, actual));
+            }
+        });
+    }
+
+    private ReconciliationReport finish(ReconciliationReport started, RunState state, long begin,
+                                        State result, String error) {
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - begin);
+        durationTimer.record(elapsed);
+        long rowsPerSecond = Math.round(state.rows.get() / Math.max(elapsed.toNanos() / 1_000_000_000.0, 0.001));
+        lastRowsPerSecond.set(rowsPerSecond);
+        lastMismatches.set(state.mismatchCount.get());
+        List<Mismatch> mismatches;
+        synchronized (state.mismatches) {
+            mismatches = List.copyOf(state.mismatches);
+        }
+        return new ReconciliationReport(started.runId(), result, started.startedAt(), Instant.now(),
+                state.accounts.get(), state.batches.get(), state.rows.get(), rowsPerSecond,
+                state.mismatchCount.get(), mismatches, error);
+    }
+}
@@ -2,9 +2,11 @@ package org.sp.payroll_service.domain.payroll.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
 import org.sp.payroll_service.api.payroll.dto.*;
+import org.sp.payroll_service.api.payroll.mapper.SalaryDistributionFormulaMapper;
 import org.sp.payroll_service.domain.common.exception.DuplicateEntryException;
 import org.sp.payroll_service.domain.common.service.AbstractCrudService;
 import org.sp.payroll_service.domain.payroll.entity.SalaryDistributionFormula;
+import org.sp.payroll_service.domain.payroll.service.PayrollItemChangeTracker;
 import org.sp.payroll_service.domain.payroll.service.SalaryDistributionFormulaService;
 import org.sp.payroll_service.repository.SalaryDistributionFormulaRepository;
 import org.springframework.data.jpa.domain.Specification;
@@ -38,15 +40,23 @@ public class SalaryDistributionFormulaServiceImpl extends AbstractCrudService<
         implements SalaryDistributionFormulaService {
 
     private final SalaryDistributionFormulaRepository formulaRepository;
+    private final PayrollItemChangeTracker payrollItemChangeTracker;
+    private final SalaryDistributionFormulaMapper formulaMapper;
 
     /**
      * Constructs the SalaryDistributionFormulaServiceImpl.
      *
      * @param formulaRepository The JPA repository for SalaryDistributionFormula entities.
+     * @param payrollItemChangeTracker Marks pending payroll items stale when a formula changes.
+     * @param formulaMapper Generated entity-to-response mapper.
      */
-    public SalaryDistributionFormulaServiceImpl(SalaryDistributionFormulaRepository formulaRepository) {
+    public SalaryDistributionFormulaServiceImpl(SalaryDistributionFormulaRepository formulaRepository,
+                                                PayrollItemChangeTracker payrollItemChangeTracker,
+                                                SalaryDistributionFormulaMapper formulaMapper) {
         super(formulaRepository, "SalaryFormula");
         this.formulaRepository = formulaRepository;
+        this.payrollItemChangeTracker = payrollItemChangeTracker;
+        this.formulaMapper = formulaMapper;
     }
 
     // --- Overrides for Creation and Update with Business Logic ---
@@ -85,7 +95,9 @@ public class SalaryDistributionFormulaServiceImpl extends AbstractCrudService<
         checkUniquenessOnUpdate(id, request.name());
 
         // Delegate to abstract base class logic for fetching and mapping
-        return super.update(id, request);
+        SalaryDistributionFormulaResponse response = super.update(id, request);
+        payrollItemChangeTracker.formulaChanged(id);
+        return response;
     }
 
     // --- Abstract Mapping Implementations (No changes needed) ---
@@ -113,16 +125,7 @@ public class SalaryDistributionFormulaServiceImpl extends AbstractCrudService<
 
     @Override
     protected SalaryDistributionFormulaResponse mapToResponse(SalaryDistributionFormula entity) {
-        return new SalaryDistributionFormulaResponse(
-                entity.getId(),
-                entity.getName(),
-                entity.getBaseSalaryGrade(),
-                entity.getHraPercentage(),
-                entity.getMedicalPercentage(),
-                entity.getGradeIncrementAmount(),
-                entity.getCreatedAt(),
-                entity.getCreatedBy()
-        );
+        return formulaMapper.toResponse(entity);
     }
 
     // --- Private Helper: Uniqueness Check (No changes needed) ---
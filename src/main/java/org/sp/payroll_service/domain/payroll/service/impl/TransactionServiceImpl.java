@@ -10,31 +10,43 @@ import org.sp.payroll_service.domain.common.dto.response.Money;
 import org.sp.payroll_service.domain.common.enums.TransactionCategory;
 import org.sp.payroll_service.domain.common.enums.TransactionStatus;
 import org.sp.payroll_service.domain.common.enums.TransactionType;
+import org.sp.payroll_service.domain.common.exception.BusinessException;
 import org.sp.payroll_service.domain.common.exception.ResourceNotFoundException;
+import org.sp.payroll_service.domain.payroll.dto.PayrollArchivePayload;
 import org.sp.payroll_service.domain.payroll.entity.Transaction;
 import org.sp.payroll_service.domain.payroll.exception.InsufficientFundsException;
+import org.sp.payroll_service.domain.payroll.service.PayrollArchiveService;
 import org.sp.payroll_service.domain.payroll.service.TransactionService;
 import org.sp.payroll_service.domain.payroll.service.transaction.TransactionStrategyService;
+import org.sp.payroll_service.domain.payroll.service.transaction.TransferTransactionExecutor;
 import org.sp.payroll_service.domain.wallet.entity.Account;
+import org.sp.payroll_service.domain.wallet.service.LedgerService;
 import org.sp.payroll_service.repository.AccountRepository;
 import org.sp.payroll_service.repository.TransactionRepository;
+import org.sp.payroll_service.repository.projection.TransactionListRow;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
  * Service implementation for financial transaction operations.
  * Provides ACID-compliant double-entry accounting with proper isolation.
+ * Balance-changing operations run through {@link TransferTransactionExecutor}, which picks the
+ * isolation level and retries attempts that lost to a concurrent update.
  * <p>
  * NOTE: All methods are now synchronous (blocking). Asynchronous execution using
  * Virtual Threads should be handled by the calling Controller or service layer.
@@ -48,10 +60,19 @@ public class TransactionServiceImpl implements TransactionService {
     private final AccountRepository accountRepository;
     private final TransactionMapper transactionMapper;
     private final TransactionStrategyService transactionStrategyService;
+    private final PayrollArchiveService payrollArchiveService;
+    private final TransferTransactionExecutor transferTransactionExecutor;
+    private final LedgerService ledgerService;
+
+    // Upper bound on the gap between requestedAt and the insert's createdAt, used for partition pruning
+    private static final Duration CREATED_AT_SLACK = Duration.ofDays(1);
 
     @Override
-    @Transactional(isolation = Isolation.SERIALIZABLE)
     public TransactionResponse executeTransfer(TransferRequest request) {
+        return transferTransactionExecutor.execute(() -> doExecuteTransfer(request));
+    }
+
+    private TransactionResponse doExecuteTransfer(TransferRequest request) {
         log.info("Executing transfer: {} from {} to {}",
                 request.amount(), request.debitAccountId(), request.creditAccountId());
 
@@ -75,12 +96,18 @@ public class TransactionServiceImpl implements TransactionService {
             accountRepository.save(debitAccount);
             accountRepository.save(creditAccount);
             Transaction savedTransaction = transactionRepository.save(transaction);
+            ledgerService.post(savedTransaction);
 
             log.info("Transfer completed successfully: {} - Transaction ID: {}",
                     request.amount(), savedTransaction.getId());
 
             return transactionMapper.toResponse(savedTransaction);
 
+        } catch (BusinessException | ConcurrencyFailureException e) {
+            // Business failures keep their status; conflicts must reach the retrying executor
+            log.warn("Transfer failed: {} from {} to {} - {}",
+                    request.amount(), request.debitAccountId(), request.creditAccountId(), e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Transfer failed: {} from {} to {} - {}",
                     request.amount(), request.debitAccountId(), request.creditAccountId(), e.getMessage());
@@ -99,15 +126,26 @@ public class TransactionServiceImpl implements TransactionService {
         return Money.of(account.getCurrentBalance());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Money getAccountBalanceAsOf(UUID accountId, Instant asOf) {
+        log.debug("Retrieving balance for account: {} as of {}", accountId, asOf);
+
+        accountRepository.findById(accountId)
+                .orElseThrow(() -> ResourceNotFoundException.forEntity("Account", accountId));
+
+        return Money.of(ledgerService.balanceAsOf(accountId, asOf));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<TransactionResponse> getTransactionHistory(TransactionFilter filter, Pageable pageable) {
         log.debug("Retrieving transaction history with filter: {}", filter);
 
         Specification<Transaction> spec = createSpecification(filter);
-        Page<Transaction> transactionPage = transactionRepository.findAll(spec, pageable);
+        Page<TransactionListRow> rowPage = transactionRepository.findAllProjected(spec, pageable, TransactionRepository.LIST_VIEW);
 
-        return transactionPage.map(transactionMapper::toResponse);
+        return rowPage.map(transactionMapper::toResponse);
     }
 
     @Override
@@ -130,8 +168,15 @@ public class TransactionServiceImpl implements TransactionService {
         accountRepository.findById(accountId)
                 .orElseThrow(() -> ResourceNotFoundException.forEntity("Account", accountId));
 
-        Page<Transaction> transactionPage = transactionRepository.findByAccountId(accountId, pageable);
-        return transactionPage.map(transactionMapper::toResponse);
+        Specification<Transaction> spec = (root, query, cb) -> cb.or(
+                cb.equal(root.get("debitAccount").get("id"), accountId),
+                cb.equal(root.get("creditAccount").get("id"), accountId));
+        Pageable newestFirst = pageable.getSort().isSorted()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        Page<TransactionListRow> rowPage = transactionRepository.findAllProjected(spec, newestFirst, TransactionRepository.LIST_VIEW);
+        return rowPage.map(transactionMapper::toResponse);
     }
 
     @Override
@@ -139,6 +184,12 @@ public class TransactionServiceImpl implements TransactionService {
     public List<TransactionResponse> getBatchTransactions(UUID batchId) {
         log.debug("Retrieving transactions for batch: {}", batchId);
 
+        // Archived batches no longer have rows in the transactions table
+        Optional<PayrollArchivePayload> archived = payrollArchiveService.findPayload(batchId);
+        if (archived.isPresent()) {
+            return archived.get().transactions();
+        }
+
         List<Transaction> transactions = transactionRepository.findByPayrollBatchId(batchId);
         return transactions.stream()
                 .map(transactionMapper::toResponse)
@@ -157,28 +208,41 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
-    @Transactional(isolation = Isolation.SERIALIZABLE)
     public TransactionResponse reverseTransaction(UUID transactionId, String reason) {
+        return transferTransactionExecutor.execute(() -> doReverseTransaction(transactionId, reason));
+    }
+
+    private TransactionResponse doReverseTransaction(UUID transactionId, String reason) {
         log.warn("Reversing transaction: {} with reason: {}", transactionId, reason);
 
         Transaction originalTransaction = transactionRepository.findById(transactionId)
                 .orElseThrow(() -> ResourceNotFoundException.forEntity("Transaction", transactionId));
 
-        if (originalTransaction.getTransactionStatus() != TransactionStatus.SUCCESS) {
-            throw new IllegalStateException("Cannot reverse transaction that is not successful: " + originalTransaction.getStatus());
+        TransactionStatus originalStatus = originalTransaction.getTransactionStatus();
+        if (originalStatus != TransactionStatus.COMPLETED && originalStatus != TransactionStatus.SUCCESS) {
+            throw new IllegalStateException("Cannot reverse transaction that is not successful: " + originalStatus);
+        }
+        if (transactionRepository.existsByReversesTransactionId(transactionId)) {
+            throw new IllegalStateException("Transaction has already been reversed: " + transactionId);
         }
 
-        // Create reversal transfer request
-        TransferRequest reversalRequest = TransferRequest.builder()
-                .debitAccountId(originalTransaction.getCreditAccount().getId())
-                .creditAccountId(originalTransaction.getDebitAccount().getId())
-                .amount(originalTransaction.getAmount())
-                .referenceId("REV-" + originalTransaction.getReferenceId())
-                .description("REVERSAL: " + reason + " | Original: " + originalTransaction.getDescription())
-                .build();
-
-        // Execute reversal transfer (now synchronous)
-        TransactionResponse reversalTransaction = executeTransfer(reversalRequest);
+        // The reversal is a new transaction with opposite journal lines; the original stays untouched
+        Account debitAccount = originalTransaction.getCreditAccount();
+        Account creditAccount = originalTransaction.getDebitAccount();
+        Transaction reversal = transactionStrategyService.executeReversal(
+                debitAccount,
+                creditAccount,
+                originalTransaction.getAmount(),
+                "REV-" + originalTransaction.getReferenceId(),
+                "REVERSAL: " + reason + " | Original: " + originalTransaction.getDescription());
+        reversal.setReversesTransactionId(transactionId);
+        reversal.setPayrollBatch(originalTransaction.getPayrollBatch());
+
+        accountRepository.save(debitAccount);
+        accountRepository.save(creditAccount);
+        Transaction savedReversal = transactionRepository.save(reversal);
+        ledgerService.post(savedReversal);
+        TransactionResponse reversalTransaction = transactionMapper.toResponse(savedReversal);
 
         log.info("Transaction {} reversed successfully. Reversal transaction: {}",
                 transactionId, reversalTransaction.id());
@@ -224,12 +288,16 @@ public class TransactionServiceImpl implements TransactionService {
                 predicates.add(cb.lessThanOrEqualTo(root.get("amount"), filter.maxAmount()));
             }
 
+            // createdAt bounds mirror the requestedAt range so PostgreSQL can prune monthly partitions.
+            // A row is inserted at or after it is requested, so createdAt >= requestedAt always holds.
             if (filter.fromDate() != null) {
                 predicates.add(cb.greaterThanOrEqualTo(root.get("requestedAt"), filter.fromDate()));
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.fromDate()));
             }
 
             if (filter.toDate() != null) {
                 predicates.add(cb.lessThanOrEqualTo(root.get("requestedAt"), filter.toDate()));
+                predicates.add(cb.lessThan(root.get("createdAt"), filter.toDate().plus(CREATED_AT_SLACK)));
             }
 
             if (filter.searchText() != null) {
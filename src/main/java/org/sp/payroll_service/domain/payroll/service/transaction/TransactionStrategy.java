@@ -9,6 +9,7 @@ import java.util.UUID;
 /**
  * Strategy interface for different types of financial transactions.
  * Implements the Strategy pattern for transaction processing.
+ * Implementations declare their precedence with {@code @Order}; lower values are tried first.
  */
 public interface TransactionStrategy {
     
@@ -20,6 +21,14 @@ public interface TransactionStrategy {
      * @return true if strategy can handle this transaction
      */
     boolean canHandle(Account debitAccount, Account creditAccount, BigDecimal amount);
+
+    /**
+     * Declares the account routes this strategy applies to. Evaluated once per route at startup
+     * to build the dispatch table; {@link #canHandle} still checks the individual transfer.
+     * @param route owner and account types of both sides
+     * @return true if transfers on this route may use this strategy
+     */
+    boolean supports(TransferRoute route);
     
     /**
      * Executes the transaction using this strategy.
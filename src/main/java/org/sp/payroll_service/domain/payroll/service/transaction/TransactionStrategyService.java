@@ -1,26 +1,67 @@
 package org.sp.payroll_service.domain.payroll.service.transaction;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.domain.common.enums.TransactionType;
 import org.sp.payroll_service.domain.payroll.entity.Transaction;
+import org.sp.payroll_service.domain.payroll.exception.InsufficientFundsException;
 import org.sp.payroll_service.domain.payroll.exception.PayrollProcessingException;
 import org.sp.payroll_service.domain.wallet.entity.Account;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service that manages transaction strategies and executes transactions.
  * Uses Strategy pattern to handle different types of financial transactions.
+ * <p>
+ * Strategies are indexed once at startup by {@link TransferRoute}: each route maps to the
+ * strategies that support it, in {@code @Order} precedence. A transfer only evaluates
+ * {@link TransactionStrategy#canHandle} on the candidates for its own route.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class TransactionStrategyService {
-    
+
     private final List<TransactionStrategy> strategies;
-    
+    private final Map<TransferRoute, List<TransactionStrategy>> dispatchTable;
+
+    public TransactionStrategyService(List<TransactionStrategy> strategies) {
+        List<TransactionStrategy> ordered = new ArrayList<>(strategies);
+        AnnotationAwareOrderComparator.sort(ordered);
+        this.strategies = List.copyOf(ordered);
+
+        Map<TransferRoute, List<TransactionStrategy>> table = new HashMap<>();
+        for (TransferRoute route : TransferRoute.all()) {
+            List<TransactionStrategy> candidates = ordered.stream().filter(s -> s.supports(route)).toList();
+            if (!candidates.isEmpty()) {
+                table.put(route, candidates);
+            }
+        }
+        this.dispatchTable = Map.copyOf(table);
+        log.info("Transaction strategy dispatch table built: {} routes, strategies {}", dispatchTable.size(),
+                this.strategies.stream().map(s -> s.getClass().getSimpleName()).toList());
+    }
+
+    /**
+     * One credit leg of a batch that shares its debit account and route with the other legs.
+     */
+    public record TransferLeg(Account creditAccount, BigDecimal amount, String referenceId, String description) {
+    }
+
+    /**
+     * Result of one leg: the transaction when it succeeded, otherwise the failure.
+     */
+    public record TransferOutcome(TransferLeg leg, Transaction transaction, Exception failure) {
+        public boolean succeeded() {
+            return failure == null;
+        }
+    }
+
     /**
      * Executes a transaction using the appropriate strategy.
      * @param debitAccount source account
@@ -30,25 +71,95 @@ public class TransactionStrategyService {
      * @param description transaction description
      * @return completed transaction
      */
-    public Transaction executeTransaction(Account debitAccount, Account creditAccount, 
+    public Transaction executeTransaction(Account debitAccount, Account creditAccount,
                                         BigDecimal amount, String referenceId, String description) {
-        
-        log.info("Finding strategy for transaction: {} from {} to {}", 
-                amount, debitAccount.getAccountNumber(), creditAccount.getAccountNumber());
-        
-        // Find appropriate strategy
+        TransactionStrategy strategy = resolveStrategy(debitAccount, creditAccount, amount);
+        log.debug("Using strategy {} for {} from {} to {}", strategy.getClass().getSimpleName(), amount,
+                debitAccount != null ? debitAccount.getAccountNumber() : "external", creditAccount.getAccountNumber());
+
+        // Execute transaction using the selected strategy
+        return strategy.execute(debitAccount, creditAccount, amount, referenceId, description);
+    }
+
+    /**
+     * Executes a reversal with the strategy registered for {@link TransactionType#TRANSACTION_REVERSAL},
+     * bypassing route dispatch so the reversal is recorded as such.
+     * @param debitAccount account that received the original transfer
+     * @param creditAccount account that funded the original transfer
+     * @param amount original amount
+     * @param referenceId reference identifier of the reversal
+     * @param description reversal description
+     * @return completed reversal transaction
+     */
+    public Transaction executeReversal(Account debitAccount, Account creditAccount,
+                                       BigDecimal amount, String referenceId, String description) {
         TransactionStrategy strategy = strategies.stream()
+            .filter(s -> s.getType() == TransactionType.TRANSACTION_REVERSAL)
+            .findFirst()
+            .orElseThrow(() -> new PayrollProcessingException("No transaction reversal strategy registered"));
+        if (!strategy.canHandle(debitAccount, creditAccount, amount)) {
+            throw new InsufficientFundsException(String.format(
+                "Cannot reverse %s: account %s has insufficient funds", referenceId, debitAccount.getAccountNumber()));
+        }
+        return strategy.execute(debitAccount, creditAccount, amount, referenceId, description);
+    }
+
+    /**
+     * Executes transfers from one debit account to credit accounts that all share the same
+     * route, resolving the strategy once for the whole chunk. A failing leg does not stop the
+     * others; it is reported in its outcome.
+     * @param debitAccount source account shared by all legs
+     * @param legs credit legs on a single route
+     * @return one outcome per leg, in input order
+     */
+    public List<TransferOutcome> executeBatch(Account debitAccount, List<TransferLeg> legs) {
+        if (legs.isEmpty()) {
+            return List.of();
+        }
+        TransferLeg first = legs.get(0);
+        TransferRoute route = TransferRoute.of(debitAccount, first.creditAccount());
+        for (TransferLeg leg : legs) {
+            if (!route.equals(TransferRoute.of(debitAccount, leg.creditAccount()))) {
+                throw new IllegalArgumentException("Batch legs must share one route; expected " + route);
+            }
+        }
+
+        TransactionStrategy strategy;
+        try {
+            strategy = resolveStrategy(debitAccount, first.creditAccount(), first.amount());
+        } catch (PayrollProcessingException e) {
+            return legs.stream().map(leg -> new TransferOutcome(leg, null, e)).toList();
+        }
+        log.debug("Using strategy {} for {} transfers on route {}", strategy.getClass().getSimpleName(), legs.size(), route);
+
+        List<TransferOutcome> outcomes = new ArrayList<>(legs.size());
+        for (TransferLeg leg : legs) {
+            try {
+                if (!strategy.canHandle(debitAccount, leg.creditAccount(), leg.amount())) {
+                    throw new PayrollProcessingException(
+                            "No suitable transaction strategy found for the given accounts and amount");
+                }
+                Transaction transaction = strategy.execute(debitAccount, leg.creditAccount(), leg.amount(),
+                        leg.referenceId(), leg.description());
+                outcomes.add(new TransferOutcome(leg, transaction, null));
+            } catch (RuntimeException e) {
+                outcomes.add(new TransferOutcome(leg, null, e));
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Picks the first strategy for the transfer's route whose {@code canHandle} accepts it.
+     */
+    public TransactionStrategy resolveStrategy(Account debitAccount, Account creditAccount, BigDecimal amount) {
+        return dispatchTable.getOrDefault(TransferRoute.of(debitAccount, creditAccount), List.of()).stream()
             .filter(s -> s.canHandle(debitAccount, creditAccount, amount))
             .findFirst()
             .orElseThrow(() -> new PayrollProcessingException(
                 "No suitable transaction strategy found for the given accounts and amount"));
-        
-        log.info("Using strategy: {} for transaction", strategy.getClass().getSimpleName());
-        
-        // Execute transaction using the selected strategy
-        return strategy.execute(debitAccount, creditAccount, amount, referenceId, description);
     }
-    
+
     /**
      * Gets all available transaction strategies.
      * @return list of available strategies
@@ -56,4 +167,4 @@ public class TransactionStrategyService {
     public List<TransactionStrategy> getAvailableStrategies() {
         return strategies;
     }
-}
\ No newline at end of file
+}
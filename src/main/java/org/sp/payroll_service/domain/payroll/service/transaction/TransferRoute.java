@@ -0,0 +1,49 @@
+package org.sp.payroll_service.domain.payroll.service.transaction;
+
+import org.sp.payroll_service.domain.common.enums.AccountType;
+import org.sp.payroll_service.domain.common.enums.OwnerType;
+import org.sp.payroll_service.domain.wallet.entity.Account;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Owner and account type on both sides of a transfer; the key of the strategy dispatch table.
+ * A {@code null} debit owner and type stand for money entering from outside the system.
+ */
+public record TransferRoute(OwnerType debitOwner, AccountType debitType,
+                            OwnerType creditOwner, AccountType creditType) {
+
+    public static TransferRoute of(Account debitAccount, Account creditAccount) {
+        return new TransferRoute(
+                debitAccount != null ? debitAccount.getOwnerType() : null,
+                debitAccount != null ? debitAccount.getAccountType() : null,
+                creditAccount.getOwnerType(),
+                creditAccount.getAccountType());
+    }
+
+    public boolean isExternalDebit() {
+        return debitOwner == null;
+    }
+
+    /**
+     * Every route a transfer can take, including external top-ups.
+     */
+    static List<TransferRoute> all() {
+        List<TransferRoute> routes = new ArrayList<>();
+        List<OwnerType> debitOwners = new ArrayList<>(List.of(OwnerType.values()));
+        debitOwners.add(null);
+        for (OwnerType debitOwner : debitOwners) {
+            List<AccountType> debitTypes = debitOwner == null ? Collections.singletonList(null) : List.of(AccountType.values());
+            for (AccountType debitType : debitTypes) {
+                for (OwnerType creditOwner : OwnerType.values()) {
+                    for (AccountType creditType : AccountType.values()) {
+                        routes.add(new TransferRoute(debitOwner, debitType, creditOwner, creditType));
+                    }
+                }
+            }
+        }
+        return routes;
+    }
+}
@@ -0,0 +1,105 @@
+package org.sp.payroll_service.domain.payroll.service.transaction;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.domain.payroll.exception.TransferConflictException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs balance-changing work in its own transaction and retries it when it loses a race.
+ * <p>
+ * In {@link Mode#OPTIMISTIC} mode the work runs at READ COMMITTED and relies on the
+ * {@code @Version} check of {@code Account}: a concurrent balance change makes the flush fail
+ * and the whole unit is re-run against fresh rows. {@link Mode#SERIALIZABLE} keeps the previous
+ * isolation level but retries serialization failures the same way. Retries are bounded and use
+ * exponential backoff with full jitter so colliding callers spread out.
+ */
+@Component
+@Slf4j
+public class TransferTransactionExecutor {
+
+    public enum Mode {
+        OPTIMISTIC,
+        SERIALIZABLE
+    }
+
+    private final TransactionTemplate transactionTemplate;
+    private final Mode mode;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Counter conflicts;
+    private final Counter exhausted;
+
+    public TransferTransactionExecutor(PlatformTransactionManager transactionManager,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${app.transactions.transfer.mode:OPTIMISTIC}") Mode mode,
+                                       @Value("${app.transactions.transfer.max-attempts:5}") int maxAttempts,
+                                       @Value("${app.transactions.transfer.initial-backoff:10ms}") Duration initialBackoff,
+                                       @Value("${app.transactions.transfer.max-backoff:200ms}") Duration maxBackoff) {
+        this.mode = mode;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(mode == Mode.SERIALIZABLE
+                ? TransactionDefinition.ISOLATION_SERIALIZABLE
+                : TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.conflicts = Counter.builder("transactions.transfer.conflicts")
+                .description("Transfer attempts rolled back by a concurrent update and retried")
+                .tag("mode", mode.name())
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("transactions.transfer.aborted")
+                .description("Transfers that still conflicted after the last retry")
+                .tag("mode", mode.name())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executes {@code work} in a new transaction, retrying on concurrency failures. When a
+     * transaction is already active the work joins it: a conflict then belongs to the caller's
+     * unit of work, which is the one that has to be retried.
+     *
+     * @throws TransferConflictException when every attempt conflicted
+     */
+    public <T> T execute(Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw new TransferConflictException(
+                            "Accounts were modified concurrently; transfer not applied after " + attempt + " attempts", e);
+                }
+                conflicts.increment();
+                log.debug("Transfer conflict on attempt {}/{} ({}): {}", attempt, maxAttempts, mode, e.getMessage());
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransferConflictException("Interrupted while waiting to retry transfer", e);
+        }
+    }
+}
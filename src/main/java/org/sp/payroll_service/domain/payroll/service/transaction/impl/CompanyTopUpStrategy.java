@@ -9,7 +9,9 @@ import org.sp.payroll_service.domain.common.enums.TransactionStatus;
 import org.sp.payroll_service.domain.common.enums.TransactionType;
 import org.sp.payroll_service.domain.payroll.entity.Transaction;
 import org.sp.payroll_service.domain.payroll.service.transaction.TransactionStrategy;
+import org.sp.payroll_service.domain.payroll.service.transaction.TransferRoute;
 import org.sp.payroll_service.domain.wallet.entity.Account;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -19,6 +21,7 @@ import java.time.Instant;
  * Strategy for company account top-up transactions.
  * Handles external funding to company accounts.
  */
+@Order(1)
 @Component("activeCompanyTopUpStrategy")  // Explicit name to avoid conflicts
 @RequiredArgsConstructor
 @Slf4j
@@ -34,10 +37,17 @@ public class CompanyTopUpStrategy implements TransactionStrategy {
                amount.compareTo(BigDecimal.ZERO) > 0;
     }
     
+    @Override
+    public boolean supports(TransferRoute route) {
+        return route.isExternalDebit() &&
+               route.creditOwner() == OwnerType.COMPANY &&
+               route.creditType() == AccountType.CURRENT;
+    }
+    
     @Override
     public Transaction execute(Account debitAccount, Account creditAccount, BigDecimal amount, 
                               String referenceId, String description) {
-        log.info("Executing company top-up: {} to company account {}", 
+        log.debug("Executing company top-up: {} to company account {}", 
                 amount, creditAccount.getAccountNumber());
         
         // Create transaction record (debit account is null for external funding)
@@ -61,7 +71,7 @@ public class CompanyTopUpStrategy implements TransactionStrategy {
             // Mark transaction as successful
             transaction.markAsProcessed();
             
-            log.info("Company top-up completed successfully: {} - New balance: {}", referenceId, newBalance);
+            log.debug("Company top-up completed successfully: {} - New balance: {}", referenceId, newBalance);
             return transaction;
             
         } catch (Exception e) {
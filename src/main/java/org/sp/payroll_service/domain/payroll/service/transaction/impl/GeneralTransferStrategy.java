@@ -10,7 +10,9 @@ import org.sp.payroll_service.domain.common.enums.TransactionType;
 import org.sp.payroll_service.domain.payroll.entity.Transaction;
 import org.sp.payroll_service.domain.payroll.exception.InsufficientFundsException;
 import org.sp.payroll_service.domain.payroll.service.transaction.TransactionStrategy;
+import org.sp.payroll_service.domain.payroll.service.transaction.TransferRoute;
 import org.sp.payroll_service.domain.wallet.entity.Account;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -20,6 +22,7 @@ import java.time.Instant;
  * Strategy for general money transfers between accounts.
  * Handles basic account-to-account transfers with validation.
  */
+@Order(3)
 @Component("activeGeneralTransferStrategy")  // Explicit name to avoid conflicts
 @RequiredArgsConstructor
 @Slf4j
@@ -35,10 +38,15 @@ public class GeneralTransferStrategy implements TransactionStrategy {
                amount.compareTo(BigDecimal.ZERO) > 0;
     }
     
+    @Override
+    public boolean supports(TransferRoute route) {
+        return !route.isExternalDebit();
+    }
+    
     @Override
     public Transaction execute(Account debitAccount, Account creditAccount, BigDecimal amount, 
                               String referenceId, String description) {
-        log.info("Executing general transfer: {} from {} to {}", 
+        log.debug("Executing general transfer: {} from {} to {}", 
                 amount, debitAccount.getAccountNumber(), creditAccount.getAccountNumber());
         
         // Validate sufficient balance
@@ -73,7 +81,7 @@ public class GeneralTransferStrategy implements TransactionStrategy {
             // Mark transaction as successful
             transaction.markAsProcessed();
             
-            log.info("General transfer completed successfully: {}", referenceId);
+            log.debug("General transfer completed successfully: {}", referenceId);
             return transaction;
             
         } catch (Exception e) {
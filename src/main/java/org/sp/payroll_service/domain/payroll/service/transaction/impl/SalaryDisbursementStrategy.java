@@ -10,7 +10,9 @@ import org.sp.payroll_service.domain.common.enums.TransactionType;
 import org.sp.payroll_service.domain.payroll.entity.Transaction;
 import org.sp.payroll_service.domain.payroll.exception.InsufficientFundsException;
 import org.sp.payroll_service.domain.payroll.service.transaction.TransactionStrategy;
+import org.sp.payroll_service.domain.payroll.service.transaction.TransferRoute;
 import org.sp.payroll_service.domain.wallet.entity.Account;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -20,6 +22,7 @@ import java.time.Instant;
  * Strategy for salary disbursement transactions.
  * Handles company account to employee account transfers for payroll.
  */
+@Order(2)
 @Component("activeSalaryDisbursementStrategy")  // Explicit name to avoid conflicts
 @RequiredArgsConstructor
 @Slf4j
@@ -36,10 +39,17 @@ public class SalaryDisbursementStrategy implements TransactionStrategy {
                amount.compareTo(BigDecimal.ZERO) > 0;
     }
     
+    @Override
+    public boolean supports(TransferRoute route) {
+        return route.debitOwner() == OwnerType.COMPANY &&
+               route.debitType() == AccountType.CURRENT &&
+               route.creditOwner() == OwnerType.EMPLOYEE;
+    }
+    
     @Override
     public Transaction execute(Account debitAccount, Account creditAccount, BigDecimal amount, 
                               String referenceId, String description) {
-        log.info("Executing salary disbursement: {} from {} to {}", 
+        log.debug("Executing salary disbursement: {} from {} to {}", 
                 amount, debitAccount.getAccountNumber(), creditAccount.getAccountNumber());
         
         // Validate sufficient balance
@@ -70,7 +80,7 @@ public class SalaryDisbursementStrategy implements TransactionStrategy {
             // Mark transaction as successful
             transaction.markAsProcessed();
             
-            log.info("Salary disbursement completed successfully: {}", referenceId);
+            log.debug("Salary disbursement completed successfully: {}", referenceId);
             return transaction;
             
         } catch (Exception e) {
@@ -7,7 +7,9 @@ import org.sp.payroll_service.domain.common.enums.TransactionStatus;
 import org.sp.payroll_service.domain.common.enums.TransactionType;
 import org.sp.payroll_service.domain.payroll.entity.Transaction;
 import org.sp.payroll_service.domain.payroll.service.transaction.TransactionStrategy;
+import org.sp.payroll_service.domain.payroll.service.transaction.TransferRoute;
 import org.sp.payroll_service.domain.wallet.entity.Account;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -17,6 +19,7 @@ import java.time.Instant;
  * Strategy for transaction reversal operations.
  * Handles reversing failed or incorrect transactions.
  */
+@Order(4)
 @Component("transactionReversalStrategy")  // Explicit name to avoid conflicts
 @RequiredArgsConstructor
 @Slf4j
@@ -33,10 +36,15 @@ public class TransactionReversalStrategy implements TransactionStrategy {
                debitAccount.getCurrentBalance().compareTo(amount) >= 0; // Sufficient funds for reversal
     }
     
+    @Override
+    public boolean supports(TransferRoute route) {
+        return !route.isExternalDebit();
+    }
+    
     @Override
     public Transaction execute(Account debitAccount, Account creditAccount, BigDecimal amount, 
                               String referenceId, String description) {
-        log.info("Executing transaction reversal: {} from {} to {}", 
+        log.debug("Executing transaction reversal: {} from {} to {}", 
                 amount, debitAccount.getAccountNumber(), creditAccount.getAccountNumber());
         
         // Create reversal transaction record
@@ -63,7 +71,7 @@ public class TransactionReversalStrategy implements TransactionStrategy {
             // Mark transaction as successful
             transaction.markAsProcessed();
             
-            log.info("Transaction reversal completed successfully: {} - Debit balance: {}, Credit balance: {}", 
+            log.debug("Transaction reversal completed successfully: {} - Debit balance: {}, Credit balance: {}", 
                     referenceId, newDebitBalance, newCreditBalance);
             return transaction;
             
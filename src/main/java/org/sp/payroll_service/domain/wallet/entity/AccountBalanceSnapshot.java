@@ -0,0 +1,44 @@
+package org.sp.payroll_service.domain.wallet.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Balance of an account including every journal line posted at or before {@code asOf}.
+ * The balance at any later time is the snapshot plus the journal lines after it.
+ */
+@Entity
+@Table(name = "account_balance_snapshots")
+@IdClass(AccountBalanceSnapshot.Key.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceSnapshot {
+
+    @Id
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Id
+    @Column(name = "as_of", nullable = false)
+    private Instant asOf;
+
+    @Column(name = "balance", nullable = false, precision = 19, scale = 4)
+    private BigDecimal balance;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID accountId;
+        private Instant asOf;
+    }
+}
@@ -0,0 +1,54 @@
+package org.sp.payroll_service.domain.wallet.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.sp.payroll_service.domain.common.entity.id.TimeOrderedUuid;
+import org.sp.payroll_service.domain.common.enums.EntrySide;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One line of the append-only double-entry journal. Every transaction posts a debit line for
+ * the source account and a credit line for the destination; money entering from outside the
+ * system posts a credit line only. Lines are never updated or deleted; corrections are new lines.
+ */
+@Entity
+@Table(name = "journal_entries")
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalEntry {
+
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private UUID accountId;
+
+    @Column(name = "transaction_id", updatable = false)
+    private UUID transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "side", nullable = false, updatable = false, length = 10)
+    private EntrySide side;
+
+    @Column(name = "amount", nullable = false, updatable = false, precision = 19, scale = 4)
+    private BigDecimal amount;
+
+    @Column(name = "description", updatable = false)
+    private String description;
+
+    @Column(name = "posted_at", nullable = false, updatable = false)
+    private Instant postedAt;
+
+    /**
+     * Signed effect of this line on the account balance.
+     */
+    public BigDecimal signedAmount() {
+        return side == EntrySide.CREDIT ? amount : amount.negate();
+    }
+}
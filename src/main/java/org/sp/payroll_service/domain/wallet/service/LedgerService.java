@@ -0,0 +1,60 @@
+package org.sp.payroll_service.domain.wallet.service;
+
+import org.sp.payroll_service.domain.payroll.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Service interface for the append-only journal and its balance snapshots.
+ * Posting methods join the caller's transaction, so journal lines commit or roll back with the
+ * balance change they describe.
+ */
+public interface LedgerService {
+
+    /**
+     * Appends the debit and credit lines of a completed transaction.
+     * @param transaction saved transaction
+     */
+    void post(Transaction transaction);
+
+    /**
+     * Appends the lines of several completed transactions in one batch.
+     * @param transactions saved transactions
+     */
+    void post(Collection<Transaction> transactions);
+
+    /**
+     * Appends a credit line for money entering the system (opening balance, top-up).
+     * @param accountId credited account
+     * @param amount amount credited
+     * @param description reason shown in the journal
+     */
+    void postExternalCredit(UUID accountId, BigDecimal amount, String description);
+
+    /**
+     * Balance from the journal: latest snapshot plus the lines posted after it.
+     * @param accountId account identifier
+     * @return current journal balance
+     */
+    BigDecimal balanceOf(UUID accountId);
+
+    /**
+     * Balance including every line posted at or before {@code at}.
+     * @param accountId account identifier
+     * @param at point in time
+     * @return balance as of that time
+     */
+    BigDecimal balanceAsOf(UUID accountId, Instant at);
+
+    /**
+     * Writes a snapshot at {@code cutoff} for every account with lines posted since its previous
+     * snapshot. On PostgreSQL it first waits for posting transactions in flight to commit; other
+     * databases require lines to be committed once they are older than the cutoff.
+     * @param cutoff as-of time of the new snapshots
+     * @return number of snapshots written
+     */
+    int snapshotBalances(Instant cutoff);
+}
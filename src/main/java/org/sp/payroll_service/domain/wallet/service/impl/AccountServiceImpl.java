@@ -1,10 +1,12 @@
 package org.sp.payroll_service.domain.wallet.service.impl;
 
 import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.api.wallet.mapper.AccountMapper;
 import org.sp.payroll_service.api.wallet.dto.AccountFilter;
 import org.sp.payroll_service.api.wallet.dto.AccountResponse;
 import org.sp.payroll_service.api.wallet.dto.CreateAccountRequest;
 import org.sp.payroll_service.api.wallet.dto.UpdateAccountRequest;
+import org.sp.payroll_service.domain.common.repository.ListProjection;
 import org.sp.payroll_service.domain.common.enums.OwnerType;
 import org.sp.payroll_service.domain.common.exception.DuplicateEntryException;
 import org.sp.payroll_service.domain.common.exception.ResourceNotFoundException;
@@ -42,11 +44,13 @@ public class AccountServiceImpl extends AbstractCrudService<
 
     private final AccountRepository accountRepository;
     private final BranchRepository branchRepository;
+    private final AccountMapper accountMapper;
 
-    public AccountServiceImpl(AccountRepository accountRepository, BranchRepository branchRepository) {
+    public AccountServiceImpl(AccountRepository accountRepository, BranchRepository branchRepository, AccountMapper accountMapper) {
         super(accountRepository, "Account");
         this.accountRepository = accountRepository;
         this.branchRepository = branchRepository;
+        this.accountMapper = accountMapper;
     }
 
     // --- Core CRUD Overrides ---
@@ -99,25 +103,14 @@ public class AccountServiceImpl extends AbstractCrudService<
         return entity;
     }
 
+    @Override
+    protected ListProjection<Account, ?> listProjection() {
+        return AccountRepository.LIST_VIEW;
+    }
+
     @Override
     protected AccountResponse mapToResponse(Account entity) {
-        String branchName = entity.getBranch() != null ? entity.getBranch().getBranchName() : null;
-
-        return new AccountResponse(
-                entity.getId(),
-                entity.getOwnerType(),
-                entity.getOwnerId(),
-                entity.getAccountType(),
-                entity.getAccountName(),
-                entity.getAccountNumber(),
-                entity.getCurrentBalance(),
-                entity.getOverdraftLimit(),
-                entity.getBranch().getId(),
-                branchName,
-                entity.getStatus(),
-                entity.getCreatedAt(),
-                entity.getCreatedBy()
-        );
+        return accountMapper.toResponse(entity);
     }
 
     // --- Private Helpers (No changes needed) ---
@@ -0,0 +1,172 @@
+package org.sp.payroll_service.domain.wallet.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.domain.common.enums.EntrySide;
+import org.sp.payroll_service.domain.payroll.entity.Transaction;
+import org.sp.payroll_service.domain.wallet.entity.AccountBalanceSnapshot;
+import org.sp.payroll_service.domain.wallet.entity.JournalEntry;
+import org.sp.payroll_service.domain.wallet.service.LedgerService;
+import org.sp.payroll_service.repository.AccountBalanceSnapshotRepository;
+import org.sp.payroll_service.repository.JournalEntryRepository;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Journal and snapshot implementation. An account without a snapshot starts from zero at the
+ * epoch, so its balance is the sum of all of its lines.
+ * <p>
+ * Lines are stamped when posted but become visible only when their transaction commits. On
+ * PostgreSQL every posting transaction holds a shared advisory lock from before the stamp until
+ * commit, and sealing snapshots takes it exclusively, so a snapshot never misses a line stamped
+ * before its cutoff. Other databases (H2 in dev) rely on the settle time of the snapshot job.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerServiceImpl implements LedgerService {
+
+    // Accounts that already have a snapshot: previous balance plus the lines since it
+    private static final String ROLL_FORWARD_SQL = """
+            INSERT INTO account_balance_snapshots (account_id, as_of, balance, created_at)
+            SELECT s.account_id, :cutoff,
+                   s.balance + SUM(CASE WHEN j.side = 'CREDIT' THEN j.amount ELSE -j.amount END), :now
+            FROM account_balance_snapshots s
+            JOIN journal_entries j ON j.account_id = s.account_id AND j.posted_at > s.as_of AND j.posted_at <= :cutoff
+            WHERE s.as_of = (SELECT MAX(l.as_of) FROM account_balance_snapshots l
+                             WHERE l.account_id = s.account_id AND l.as_of < :cutoff)
+            GROUP BY s.account_id, s.balance
+            """;
+
+    // Accounts created after the journal was introduced: sum of all their lines
+    private static final String FIRST_SNAPSHOT_SQL = """
+            INSERT INTO account_balance_snapshots (account_id, as_of, balance, created_at)
+            SELECT j.account_id, :cutoff, SUM(CASE WHEN j.side = 'CREDIT' THEN j.amount ELSE -j.amount END), :now
+            FROM journal_entries j
+            WHERE j.posted_at <= :cutoff
+              AND NOT EXISTS (SELECT 1 FROM account_balance_snapshots s WHERE s.account_id = j.account_id)
+            GROUP BY j.account_id
+            """;
+
+    private static final String POSTING_LOCK_SQL = "SELECT pg_advisory_xact_lock_shared(:key)";
+    private static final String SEALING_LOCK_SQL = "SELECT pg_advisory_xact_lock(:key)";
+    private static final long POSTING_LOCK_KEY = "journal_entries.posting".hashCode();
+    // Posts queue behind a waiting seal, so it gives up (until the next run) rather than stall them
+    private static final String SEALING_LOCK_TIMEOUT_SQL = "SET LOCAL lock_timeout = '5s'";
+
+    private final JournalEntryRepository journalEntryRepository;
+    private final AccountBalanceSnapshotRepository snapshotRepository;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private volatile Boolean advisoryLocks;
+
+    @Override
+    @Transactional
+    public void post(Transaction transaction) {
+        holdPostingLock();
+        journalEntryRepository.saveAll(linesOf(transaction, Instant.now()));
+    }
+
+    @Override
+    @Transactional
+    public void post(Collection<Transaction> transactions) {
+        holdPostingLock();
+        Instant postedAt = Instant.now();
+        List<JournalEntry> lines = new ArrayList<>(transactions.size() * 2);
+        transactions.forEach(transaction -> lines.addAll(linesOf(transaction, postedAt)));
+        journalEntryRepository.saveAll(lines);
+    }
+
+    @Override
+    @Transactional
+    public void postExternalCredit(UUID accountId, BigDecimal amount, String description) {
+        holdPostingLock();
+        journalEntryRepository.save(JournalEntry.builder()
+                .accountId(accountId)
+                .side(EntrySide.CREDIT)
+                .amount(amount)
+                .description(description)
+                .postedAt(Instant.now())
+                .build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal balanceOf(UUID accountId) {
+        return balanceAsOf(accountId, Instant.now());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal balanceAsOf(UUID accountId, Instant at) {
+        Optional<AccountBalanceSnapshot> snapshot =
+                snapshotRepository.findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(accountId, at);
+        BigDecimal base = snapshot.map(AccountBalanceSnapshot::getBalance).orElse(BigDecimal.ZERO);
+        Instant from = snapshot.map(AccountBalanceSnapshot::getAsOf).orElse(Instant.EPOCH);
+        return base.add(journalEntryRepository.sumPosted(accountId, from, at));
+    }
+
+    @Override
+    @Transactional
+    public int snapshotBalances(Instant cutoff) {
+        if (useAdvisoryLocks()) {
+            // Returns once every transaction that stamped lines before now has committed
+            namedParameterJdbcTemplate.getJdbcTemplate().execute(SEALING_LOCK_TIMEOUT_SQL);
+            namedParameterJdbcTemplate.query(SEALING_LOCK_SQL,
+                    new MapSqlParameterSource("key", POSTING_LOCK_KEY), rs -> null);
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.from(cutoff))
+                .addValue("now", Timestamp.from(Instant.now()));
+        int rolled = namedParameterJdbcTemplate.update(ROLL_FORWARD_SQL, params);
+        int first = namedParameterJdbcTemplate.update(FIRST_SNAPSHOT_SQL, params);
+        return rolled + first;
+    }
+
+    private void holdPostingLock() {
+        if (useAdvisoryLocks()) {
+            namedParameterJdbcTemplate.query(POSTING_LOCK_SQL,
+                    new MapSqlParameterSource("key", POSTING_LOCK_KEY), rs -> null);
+        }
+    }
+
+    private boolean useAdvisoryLocks() {
+        if (advisoryLocks == null) {
+            String product = namedParameterJdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<String>)
+                    connection -> connection.getMetaData().getDatabaseProductName());
+            advisoryLocks = "PostgreSQL".equalsIgnoreCase(product);
+        }
+        return advisoryLocks;
+    }
+
+    private List<JournalEntry> linesOf(Transaction transaction, Instant postedAt) {
+        List<JournalEntry> lines = new ArrayList<>(2);
+        if (transaction.getDebitAccount() != null) {
+            lines.add(line(transaction, transaction.getDebitAccount().getId(), EntrySide.DEBIT, postedAt));
+        }
+        lines.add(line(transaction, transaction.getCreditAccount().getId(), EntrySide.CREDIT, postedAt));
+        return lines;
+    }
+
+    private JournalEntry line(Transaction transaction, UUID accountId, EntrySide side, Instant postedAt) {
+        return JournalEntry.builder()
+                .accountId(accountId)
+                .transactionId(transaction.getId())
+                .side(side)
+                .amount(transaction.getAmount())
+                .description(transaction.getReferenceId())
+                .postedAt(postedAt)
+                .build();
+    }
+}
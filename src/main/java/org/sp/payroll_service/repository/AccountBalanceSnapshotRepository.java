@@ -0,0 +1,25 @@
+package org.sp.payroll_service.repository;
+
+import org.sp.payroll_service.domain.wallet.entity.AccountBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Account balance snapshot data access repository.
+ */
+@Repository
+public interface AccountBalanceSnapshotRepository extends JpaRepository<AccountBalanceSnapshot, AccountBalanceSnapshot.Key> {
+
+    /**
+     * Latest snapshot of an account taken at or before a point in time; one index probe on the
+     * (account_id, as_of) primary key.
+     * @param accountId account identifier
+     * @param at point in time
+     * @return Optional snapshot
+     */
+    Optional<AccountBalanceSnapshot> findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(UUID accountId, Instant at);
+}
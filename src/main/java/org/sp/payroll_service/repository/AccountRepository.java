@@ -1,10 +1,21 @@
 package org.sp.payroll_service.repository;
 
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Selection;
+import org.sp.payroll_service.api.wallet.dto.AccountResponse;
+import org.sp.payroll_service.domain.common.repository.ListProjection;
+import org.sp.payroll_service.domain.core.entity.Branch;
 import org.sp.payroll_service.domain.wallet.entity.Account;
 import org.sp.payroll_service.domain.common.repository.BaseRepository;
 import org.sp.payroll_service.domain.common.enums.OwnerType;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -49,4 +60,38 @@ public interface AccountRepository extends BaseRepository<Account, UUID> {
      */
 
     boolean existsByAccountNumberAndIdNot(String accountNumber, UUID currentId);
-}
\ No newline at end of file
+
+    /**
+     * Debits the account only if its balance covers the amount. Pending changes are flushed
+     * first, so when issued last the row stays locked just until commit; the persistence context
+     * is cleared afterwards, since its copy of the account is stale.
+     * @return 1 if debited, 0 if the balance does not cover the amount
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.currentBalance = a.currentBalance - :amount, a.version = a.version + 1, "
+            + "a.updatedAt = :now WHERE a.id = :id AND a.currentBalance >= :amount")
+    int debitIfCovered(@Param("id") UUID id, @Param("amount") BigDecimal amount, @Param("now") Instant now);
+
+    /**
+     * List-view projection selecting only the {@link AccountResponse} columns (branch via LEFT join).
+     */
+    ListProjection<Account, AccountResponse> LIST_VIEW = ListProjection.of(Account.class, AccountResponse.class,
+            (root, cb) -> {
+                Join<Account, Branch> branch = root.join("branch", JoinType.LEFT);
+                return new Selection<?>[]{
+                        root.get("id"),
+                        root.get("ownerType"),
+                        root.get("ownerId"),
+                        root.get("accountType"),
+                        root.get("accountName"),
+                        root.get("accountNumber"),
+                        root.get("currentBalance"),
+                        root.get("overdraftLimit"),
+                        branch.get("id"),
+                        branch.get("branchName"),
+                        root.get("status"),
+                        root.get("createdAt"),
+                        root.get("createdBy")
+                };
+            });
+}
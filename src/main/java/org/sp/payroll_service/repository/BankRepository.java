@@ -1,5 +1,8 @@
 package org.sp.payroll_service.repository;
 
+import jakarta.persistence.criteria.Selection;
+import org.sp.payroll_service.api.core.dto.BankResponse;
+import org.sp.payroll_service.domain.common.repository.ListProjection;
 import org.sp.payroll_service.domain.core.entity.Bank;
 import org.sp.payroll_service.domain.common.repository.BaseRepository;
 import org.springframework.stereotype.Repository;
@@ -65,4 +68,17 @@ public interface BankRepository extends BaseRepository<Bank, UUID> {
      * @return true if a bank with that SWIFT/BIC code exists excluding id
      */
     boolean existsBySwiftBicCodeAndIdNot(String swiftBicCode, UUID id);
+
+    /**
+     * List-view projection selecting only the {@link BankResponse} columns.
+     */
+    ListProjection<Bank, BankResponse> LIST_VIEW = ListProjection.of(Bank.class, BankResponse.class,
+            (root, cb) -> new Selection<?>[]{
+                    root.get("id"),
+                    root.get("name"),
+                    root.get("swiftBicCode"),
+                    root.get("countryCode"),
+                    root.get("createdAt"),
+                    root.get("createdBy")
+            });
 }
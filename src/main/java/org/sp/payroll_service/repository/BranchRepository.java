@@ -1,5 +1,11 @@
 package org.sp.payroll_service.repository;
 
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Selection;
+import org.sp.payroll_service.api.core.dto.BranchResponse;
+import org.sp.payroll_service.domain.common.repository.ListProjection;
+import org.sp.payroll_service.domain.core.entity.Bank;
 import org.sp.payroll_service.domain.core.entity.Branch;
 import org.sp.payroll_service.domain.common.repository.BaseRepository;
 import org.springframework.data.domain.Page;
@@ -56,4 +62,21 @@ public interface BranchRepository extends BaseRepository<Branch, UUID> {
      * @return true if a branch exists with branch name and under bank id, excluding current id
      */
     boolean existsByBranchNameAndBankIdAndIdNot(String branchName, UUID bankId, UUID currentId);
-}
\ No newline at end of file
+
+    /**
+     * List-view projection selecting only the {@link BranchResponse} columns (bank via LEFT join).
+     */
+    ListProjection<Branch, BranchResponse> LIST_VIEW = ListProjection.of(Branch.class, BranchResponse.class,
+            (root, cb) -> {
+                Join<Branch, Bank> bank = root.join("bank", JoinType.LEFT);
+                return new Selection<?>[]{
+                        root.get("id"),
+                        root.get("branchName"),
+                        root.get("address"),
+                        bank.get("id"),
+                        bank.get("name"),
+                        root.get("createdAt"),
+                        root.get("createdBy")
+                };
+            });
+}
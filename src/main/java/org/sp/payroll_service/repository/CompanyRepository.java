@@ -1,5 +1,12 @@
 package org.sp.payroll_service.repository;
 
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Selection;
+import org.sp.payroll_service.domain.common.repository.ListProjection;
+import org.sp.payroll_service.domain.core.entity.Branch;
+import org.sp.payroll_service.domain.wallet.entity.Account;
+import org.sp.payroll_service.repository.projection.CompanyListRow;
 import org.sp.payroll_service.domain.core.entity.Company;
 import org.sp.payroll_service.domain.common.repository.BaseRepository;
 import org.springframework.stereotype.Repository;
@@ -34,4 +41,34 @@ public interface CompanyRepository extends BaseRepository<Company, UUID> {
      * @return true if a company with that name exists excluding the provided Id
      */
     boolean existsByNameAndIdNot(String name, UUID id);
-}
\ No newline at end of file
+
+    /**
+     * List-view projection for companies with their main account, as a flat {@link CompanyListRow}.
+     */
+    ListProjection<Company, CompanyListRow> LIST_VIEW = ListProjection.of(Company.class, CompanyListRow.class,
+            (root, cb) -> {
+                Join<Company, Account> account = root.join("account", JoinType.LEFT);
+                Join<Account, Branch> branch = account.join("branch", JoinType.LEFT);
+                return new Selection<?>[]{
+                        root.get("id"),
+                        root.get("name"),
+                        root.get("description"),
+                        root.get("salaryFormula").get("id"),
+                        root.get("createdAt"),
+                        root.get("createdBy"),
+                        account.get("id"),
+                        account.get("ownerType"),
+                        account.get("ownerId"),
+                        account.get("accountType"),
+                        account.get("accountName"),
+                        account.get("accountNumber"),
+                        account.get("currentBalance"),
+                        account.get("overdraftLimit"),
+                        branch.get("id"),
+                        branch.get("branchName"),
+                        account.get("status"),
+                        account.get("createdAt"),
+                        account.get("createdBy")
+                };
+            });
+}
@@ -1,5 +1,14 @@
 package org.sp.payroll_service.repository;
 
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Selection;
+import org.sp.payroll_service.domain.common.repository.ListProjection;
+import org.sp.payroll_service.domain.core.entity.Branch;
+import org.sp.payroll_service.domain.core.entity.Company;
+import org.sp.payroll_service.domain.core.entity.Grade;
+import org.sp.payroll_service.domain.wallet.entity.Account;
+import org.sp.payroll_service.repository.projection.EmployeeListRow;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import org.sp.payroll_service.domain.common.repository.BaseRepository;
@@ -8,6 +17,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -53,11 +63,22 @@ public interface EmployeeRepository extends BaseRepository<Employee, UUID> {
     Optional<Employee> findByIdWithJoins(@Param("id") UUID id);
 
     /**
-     * Finds all employees ordered by grade ranking.
-     * @return list of employees
+     * Finds a company's employees ordered by grade ranking.
+     * @param companyId company identifier
+     * @return list of employees, including soft-deleted ones
      */
-    @Query("SELECT e FROM Employee e JOIN FETCH e.grade g ORDER BY g.rank ASC, e.name ASC")
-    List<Employee> findAllOrderedByGrade();
+    @Query("SELECT e FROM Employee e JOIN FETCH e.grade g WHERE e.company.id = :companyId ORDER BY g.rank ASC, e.name ASC")
+    List<Employee> findAllByCompanyIdOrderedByGrade(@Param("companyId") UUID companyId);
+
+    /**
+     * Finds a company's employees by id with their grades, for recalculating their payroll items.
+     * @param companyId company identifier
+     * @param ids employee identifiers
+     * @return found employees, including soft-deleted ones; employees of other companies are left out
+     */
+    @Query("SELECT e FROM Employee e JOIN FETCH e.grade WHERE e.company.id = :companyId AND e.id IN :ids")
+    List<Employee> findAllWithGradeByCompanyIdAndIdIn(@Param("companyId") UUID companyId,
+                                                      @Param("ids") Collection<UUID> ids);
     
     /**
      * Counts employees by grade for validation.
@@ -88,4 +109,53 @@ public interface EmployeeRepository extends BaseRepository<Employee, UUID> {
     // We are now casting the String 'bizId' field to an Integer type for the MAX aggregation.
     @Query("SELECT COALESCE(MAX(CAST(e.code AS integer)),1) FROM Employee e")
     int findMaxIdNumber();
-}
\ No newline at end of file
+
+    /**
+     * List-view projection for employees, flattening company, grade and account summaries
+     * into an {@link EmployeeListRow} (all associations via LEFT join).
+     */
+    ListProjection<Employee, EmployeeListRow> LIST_VIEW = ListProjection.of(Employee.class, EmployeeListRow.class,
+            (root, cb) -> {
+                Join<Employee, Company> company = root.join("company", JoinType.LEFT);
+                Join<Employee, Grade> grade = root.join("grade", JoinType.LEFT);
+                Join<Grade, Grade> parentGrade = grade.join("parent", JoinType.LEFT);
+                Join<Employee, Account> account = root.join("account", JoinType.LEFT);
+                Join<Account, Branch> branch = account.join("branch", JoinType.LEFT);
+                return new Selection<?>[]{
+                        root.get("id"),
+                        root.get("code"),
+                        root.get("name"),
+                        root.get("address"),
+                        root.get("mobile"),
+                        root.get("status"),
+                        root.get("createdAt"),
+                        root.get("createdBy"),
+                        company.get("id"),
+                        company.get("name"),
+                        company.get("description"),
+                        company.get("salaryFormula").get("id"),
+                        company.get("createdAt"),
+                        company.get("createdBy"),
+                        grade.get("id"),
+                        grade.get("name"),
+                        grade.get("rank"),
+                        parentGrade.get("id"),
+                        parentGrade.get("name"),
+                        grade.get("createdAt"),
+                        grade.get("createdBy"),
+                        account.get("id"),
+                        account.get("ownerType"),
+                        account.get("ownerId"),
+                        account.get("accountType"),
+                        account.get("accountName"),
+                        account.get("accountNumber"),
+                        account.get("currentBalance"),
+                        account.get("overdraftLimit"),
+                        branch.get("id"),
+                        branch.get("branchName"),
+                        account.get("status"),
+                        account.get("createdAt"),
+                        account.get("createdBy")
+                };
+            });
+}
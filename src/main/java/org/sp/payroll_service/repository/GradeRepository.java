@@ -1,5 +1,10 @@
 package org.sp.payroll_service.repository;
 
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Selection;
+import org.sp.payroll_service.api.core.dto.GradeResponse;
+import org.sp.payroll_service.domain.common.repository.ListProjection;
 import org.sp.payroll_service.domain.core.entity.Grade;
 import org.sp.payroll_service.domain.common.repository.BaseRepository;
 import org.springframework.stereotype.Repository;
@@ -35,4 +40,21 @@ public interface GradeRepository extends BaseRepository<Grade, UUID> {
      * @return true if a grade with that name exists, excluding the current id
      */
     boolean existsByNameAndIdNot(String name, UUID currentId);
+
+    /**
+     * List-view projection selecting only the {@link GradeResponse} columns (parent via LEFT join).
+     */
+    ListProjection<Grade, GradeResponse> LIST_VIEW = ListProjection.of(Grade.class, GradeResponse.class,
+            (root, cb) -> {
+                Join<Grade, Grade> parent = root.join("parent", JoinType.LEFT);
+                return new Selection<?>[]{
+                        root.get("id"),
+                        root.get("name"),
+                        root.get("rank"),
+                        parent.get("id"),
+                        parent.get("name"),
+                        root.get("createdAt"),
+                        root.get("createdBy")
+                };
+            });
 }
@@ -0,0 +1,31 @@
+package org.sp.payroll_service.repository;
+
+import org.sp.payroll_service.domain.wallet.entity.JournalEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Append-only journal data access repository.
+ */
+@Repository
+public interface JournalEntryRepository extends JpaRepository<JournalEntry, UUID> {
+
+    /**
+     * Net effect of the lines posted to an account in {@code (from, to]}; served by
+     * idx_journal_entries_account_posted.
+     * @param accountId account identifier
+     * @param from exclusive lower bound, usually the as-of time of a snapshot
+     * @param to inclusive upper bound
+     * @return credits minus debits
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN j.side = org.sp.payroll_service.domain.common.enums.EntrySide.CREDIT " +
+            "THEN j.amount ELSE -j.amount END), 0) " +
+            "FROM JournalEntry j WHERE j.accountId = :accountId AND j.postedAt > :from AND j.postedAt <= :to")
+    BigDecimal sumPosted(@Param("accountId") UUID accountId, @Param("from") Instant from, @Param("to") Instant to);
+}
@@ -0,0 +1,35 @@
+package org.sp.payroll_service.repository;
+
+import org.sp.payroll_service.domain.common.repository.BaseRepository;
+import org.sp.payroll_service.domain.payroll.dto.PayrollArchiveSummary;
+import org.sp.payroll_service.domain.payroll.entity.PayrollBatchArchive;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Archived payroll batch data access repository.
+ */
+@Repository
+public interface PayrollBatchArchiveRepository extends BaseRepository<PayrollBatchArchive, UUID> {
+
+    /**
+     * Finds the archive record of a batch.
+     * @param batchId payroll batch identifier
+     * @return Optional archive record
+     */
+    Optional<PayrollBatchArchive> findByBatchId(UUID batchId);
+
+    /**
+     * Reads the summary counters of an archived batch without the payload.
+     * @param batchId payroll batch identifier
+     * @return Optional summary
+     */
+    @Query("SELECT new org.sp.payroll_service.domain.payroll.dto.PayrollArchiveSummary(" +
+            "a.batchId, a.itemCount, a.paidCount, a.failedCount, a.transactionCount, a.totalAmount, a.paidAmount, a.archivedAt) " +
+            "FROM PayrollBatchArchive a WHERE a.batchId = :batchId")
+    Optional<PayrollArchiveSummary> findSummaryByBatchId(@Param("batchId") UUID batchId);
+}
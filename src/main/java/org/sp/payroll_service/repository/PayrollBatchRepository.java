@@ -60,6 +60,21 @@ public interface PayrollBatchRepository extends BaseRepository<PayrollBatch, UUI
             @Param("payrollStatus") PayrollStatus payrollStatus
     );
 
+    /**
+     * Finds the oldest active (not DELETED) PayrollBatch of a company with the given status.
+     * @param companyId company identifier
+     * @param payrollStatus the status to search for
+     * @return an Optional containing the first matching entity, or empty if none found.
+     */
+    @Query(value = "SELECT e FROM PayrollBatch e " +
+            "WHERE e.company.id = :companyId AND e.payrollStatus = :payrollStatus AND e.status <> 'DELETED' " +
+            "ORDER BY e.createdAt ASC " +
+            "FETCH FIRST 1 ROWS ONLY")
+    Optional<PayrollBatch> findFirstActiveByCompanyIdAndPayrollStatus(
+            @Param("companyId") UUID companyId,
+            @Param("payrollStatus") PayrollStatus payrollStatus
+    );
+
     /**
      * Finds the first active (not DELETED) {@link PayrollBatch} belonging to a specific company
      * and having one of the specified statuses.
@@ -73,4 +88,17 @@ public interface PayrollBatchRepository extends BaseRepository<PayrollBatch, UUI
      */
     @Query("SELECT pb FROM PayrollBatch pb WHERE pb.company.id = :companyId AND pb.payrollStatus IN :statuses ORDER BY pb.createdAt ASC")
     Optional<PayrollBatch> findFirstByCompanyIdAndPayrollStatusInOrderByCreatedAtAsc(@Param("companyId") UUID companyId, @Param("statuses") List<PayrollStatus> statuses);
+
+    /**
+     * Finds ids of finished, not yet archived batches created before the cutoff, oldest first.
+     * @param statuses terminal statuses eligible for archival
+     * @param cutoff batches created before this instant are eligible
+     * @param pageable limits how many batches one archival run handles
+     * @return batch ids
+     */
+    @Query("SELECT pb.id FROM PayrollBatch pb WHERE pb.payrollStatus IN :statuses " +
+            "AND pb.archivedAt IS NULL AND pb.createdAt < :cutoff ORDER BY pb.createdAt ASC")
+    List<UUID> findArchivableBatchIds(@Param("statuses") List<PayrollStatus> statuses,
+                                      @Param("cutoff") Instant cutoff,
+                                      Pageable pageable);
 }
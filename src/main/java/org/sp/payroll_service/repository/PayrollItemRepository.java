@@ -5,10 +5,13 @@ import org.sp.payroll_service.domain.payroll.entity.PayrollItem;
 import org.sp.payroll_service.domain.common.repository.BaseRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,6 +30,16 @@ public interface PayrollItemRepository extends BaseRepository<PayrollItem, UUID>
      */
     List<PayrollItem> findAllByPayrollBatchId(UUID payrollBatchId);
 
+    /**
+     * Finds the items of the given employees in a batch.
+     * @param batchId payroll batch identifier
+     * @param employeeIds employee identifiers
+     * @return matching items
+     */
+    @Query("SELECT pi FROM PayrollItem pi WHERE pi.payrollBatch.id = :batchId AND pi.employee.id IN :employeeIds")
+    List<PayrollItem> findByBatchIdAndEmployeeIds(@Param("batchId") UUID batchId,
+                                                  @Param("employeeIds") Collection<UUID> employeeIds);
+
     /**
      * Find paginated payroll items for a specific batch.
      */
@@ -79,4 +92,13 @@ public interface PayrollItemRepository extends BaseRepository<PayrollItem, UUID>
      * Count payroll items by batch ID.
      */
     long countByPayrollBatchId(UUID batchId);
+
+    /**
+     * Deletes all payroll items of a batch (archival).
+     * @param batchId payroll batch identifier
+     * @return number of deleted items
+     */
+    @Modifying
+    @Query("DELETE FROM PayrollItem pi WHERE pi.payrollBatch.id = :batchId")
+    int deleteAllByBatchId(@Param("batchId") UUID batchId);
 }
@@ -0,0 +1,36 @@
+package org.sp.payroll_service.repository;
+
+import org.sp.payroll_service.domain.common.repository.BaseRepository;
+import org.sp.payroll_service.domain.payroll.entity.PayrollSchedule;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Recurring payroll schedule data access repository.
+ */
+@Repository
+public interface PayrollScheduleRepository extends BaseRepository<PayrollSchedule, UUID> {
+
+    /**
+     * Finds the active schedule of a company.
+     * @param companyId company identifier
+     * @return the schedule, if the company has one
+     */
+    @Query("SELECT s FROM PayrollSchedule s WHERE s.company.id = :companyId AND s.status <> 'DELETED'")
+    Optional<PayrollSchedule> findByCompanyId(@Param("companyId") UUID companyId);
+
+    /**
+     * Finds ids of enabled schedules whose next payday is on or before the given date.
+     * @param date last payday to include
+     * @return schedule ids, earliest payday first
+     */
+    @Query("SELECT s.id FROM PayrollSchedule s WHERE s.enabled = true AND s.status <> 'DELETED' " +
+            "AND s.nextPayday <= :date ORDER BY s.nextPayday ASC")
+    List<UUID> findDueIds(@Param("date") LocalDate date);
+}
@@ -21,9 +21,9 @@ import java.util.UUID;
 public interface TokenInfoRepository extends JpaRepository<TokenInfo, UUID> {
 
     /**
-     * Find token info by refresh token
+     * Find token info by refresh token digest
      */
-    Optional<TokenInfo> findByRefreshToken(String refreshToken);
+    Optional<TokenInfo> findByRefreshTokenHash(String refreshTokenHash);
 
     /**
      * Find token info by access JTI
@@ -44,8 +44,8 @@ public interface TokenInfoRepository extends JpaRepository<TokenInfo, UUID> {
     /**
      * Check if refresh token exists and is valid
      */
-    @Query("SELECT t FROM TokenInfo t WHERE t.refreshToken = :refreshToken AND t.isRevoked = false AND t.refreshExpires > :now")
-    Optional<TokenInfo> findValidRefreshToken(@Param("refreshToken") String refreshToken, @Param("now") Instant now);
+    @Query("SELECT t FROM TokenInfo t WHERE t.refreshTokenHash = :refreshTokenHash AND t.isRevoked = false AND t.refreshExpires > :now")
+    Optional<TokenInfo> findValidRefreshToken(@Param("refreshTokenHash") String refreshTokenHash, @Param("now") Instant now);
 
     /**
      * Revoke all tokens for a user
@@ -55,11 +55,11 @@ public interface TokenInfoRepository extends JpaRepository<TokenInfo, UUID> {
     int revokeAllTokensForUser(@Param("user") User user);
 
     /**
-     * Revoke specific token by refresh token
+     * Revoke specific token by refresh token digest
      */
     @Modifying
-    @Query("UPDATE TokenInfo t SET t.isRevoked = true WHERE t.refreshToken = :refreshToken")
-    int revokeTokenByRefreshToken(@Param("refreshToken") String refreshToken);
+    @Query("UPDATE TokenInfo t SET t.isRevoked = true WHERE t.refreshTokenHash = :refreshTokenHash")
+    int revokeTokenByRefreshTokenHash(@Param("refreshTokenHash") String refreshTokenHash);
 
     /**
      * Revoke specific token by access JTI
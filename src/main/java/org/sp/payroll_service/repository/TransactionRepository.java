@@ -1,12 +1,20 @@
 package org.sp.payroll_service.repository;
 
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Selection;
+import org.sp.payroll_service.domain.common.repository.ListProjection;
+import org.sp.payroll_service.domain.wallet.entity.Account;
+import org.sp.payroll_service.repository.projection.TransactionListRow;
 import org.sp.payroll_service.domain.common.enums.TransactionCategory;
 import org.sp.payroll_service.domain.common.enums.TransactionStatus;
 import org.sp.payroll_service.domain.common.repository.BaseRepository;
 import org.sp.payroll_service.domain.payroll.entity.Transaction;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
@@ -76,4 +84,64 @@ public interface TransactionRepository extends BaseRepository<Transaction, UUID>
      * @return list of transactions
      */
     List<Transaction> findByPayrollBatchId(UUID batchId);
-}
\ No newline at end of file
+
+    /**
+     * Finds every transaction belonging to a payroll batch: linked by batch, by source item, or
+     * reversing one of those. Every condition is an indexed key lookup on each partition.
+     * @param batchId payroll batch identifier
+     * @return list of transactions
+     */
+    @Query("SELECT t FROM Transaction t WHERE t.payrollBatch.id = :batchId " +
+            "OR t.sourceItem.id IN (SELECT pi.id FROM PayrollItem pi WHERE pi.payrollBatch.id = :batchId) " +
+            "OR t.reversesTransactionId IN (SELECT o.id FROM Transaction o WHERE o.payrollBatch.id = :batchId)")
+    List<Transaction> findAllForBatch(@Param("batchId") UUID batchId);
+
+    /**
+     * Deletes the transactions selected by {@link #findAllForBatch(UUID)} (archival).
+     * @param batchId payroll batch identifier
+     * @return number of deleted transactions
+     */
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.payrollBatch.id = :batchId " +
+            "OR t.sourceItem.id IN (SELECT pi.id FROM PayrollItem pi WHERE pi.payrollBatch.id = :batchId) " +
+            "OR t.reversesTransactionId IN (SELECT o.id FROM Transaction o WHERE o.payrollBatch.id = :batchId)")
+    int deleteAllForBatch(@Param("batchId") UUID batchId);
+
+    /**
+     * Checks whether a transaction has already been reversed.
+     * @param transactionId original transaction identifier
+     * @return true if a reversal references it
+     */
+    boolean existsByReversesTransactionId(UUID transactionId);
+
+    /**
+     * List-view projection for transaction history, as a flat {@link TransactionListRow}.
+     */
+    ListProjection<Transaction, TransactionListRow> LIST_VIEW = ListProjection.of(Transaction.class, TransactionListRow.class,
+            (root, cb) -> {
+                Join<Transaction, Account> debit = root.join("debitAccount", JoinType.LEFT);
+                Join<Transaction, Account> credit = root.join("creditAccount", JoinType.LEFT);
+                return new Selection<?>[]{
+                        root.get("id"),
+                        root.get("amount"),
+                        root.get("type"),
+                        root.get("category"),
+                        root.get("transactionStatus"),
+                        root.get("status"),
+                        debit.get("id"),
+                        debit.get("accountName"),
+                        credit.get("id"),
+                        credit.get("accountName"),
+                        root.get("payrollBatch").get("id"),
+                        root.get("referenceId"),
+                        root.get("description"),
+                        root.get("requestedAt"),
+                        root.get("processedAt"),
+                        root.get("createdAt"),
+                        root.get("updatedAt"),
+                        root.get("createdBy"),
+                        root.get("updatedBy"),
+                        root.get("version")
+                };
+            });
+}
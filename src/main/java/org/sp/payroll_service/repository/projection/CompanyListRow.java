@@ -0,0 +1,34 @@
+package org.sp.payroll_service.repository.projection;
+
+import org.sp.payroll_service.domain.common.enums.AccountType;
+import org.sp.payroll_service.domain.common.enums.EntityStatus;
+import org.sp.payroll_service.domain.common.enums.OwnerType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Flat list-view row for a company and its main account.
+ */
+public record CompanyListRow(
+        UUID id,
+        String name,
+        String description,
+        UUID salaryFormulaId,
+        Instant createdAt,
+        UUID createdBy,
+        UUID accountId,
+        OwnerType accountOwnerType,
+        UUID accountOwnerId,
+        AccountType accountType,
+        String accountName,
+        String accountNumber,
+        BigDecimal accountCurrentBalance,
+        BigDecimal accountOverdraftLimit,
+        UUID accountBranchId,
+        String accountBranchName,
+        EntityStatus accountStatus,
+        Instant accountCreatedAt,
+        UUID accountCreatedBy
+) {}
@@ -0,0 +1,49 @@
+package org.sp.payroll_service.repository.projection;
+
+import org.sp.payroll_service.domain.common.enums.AccountType;
+import org.sp.payroll_service.domain.common.enums.EntityStatus;
+import org.sp.payroll_service.domain.common.enums.OwnerType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Flat list-view row for an employee with its company, grade and account summary columns.
+ */
+public record EmployeeListRow(
+        UUID id,
+        String code,
+        String name,
+        String address,
+        String mobile,
+        EntityStatus status,
+        Instant createdAt,
+        UUID createdBy,
+        UUID companyId,
+        String companyName,
+        String companyDescription,
+        UUID companySalaryFormulaId,
+        Instant companyCreatedAt,
+        UUID companyCreatedBy,
+        UUID gradeId,
+        String gradeName,
+        Integer gradeRank,
+        UUID gradeParentId,
+        String gradeParentName,
+        Instant gradeCreatedAt,
+        UUID gradeCreatedBy,
+        UUID accountId,
+        OwnerType accountOwnerType,
+        UUID accountOwnerId,
+        AccountType accountType,
+        String accountName,
+        String accountNumber,
+        BigDecimal accountCurrentBalance,
+        BigDecimal accountOverdraftLimit,
+        UUID accountBranchId,
+        String accountBranchName,
+        EntityStatus accountStatus,
+        Instant accountCreatedAt,
+        UUID accountCreatedBy
+) {}
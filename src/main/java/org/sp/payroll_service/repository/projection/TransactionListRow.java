@@ -0,0 +1,36 @@
+package org.sp.payroll_service.repository.projection;
+
+import org.sp.payroll_service.domain.common.enums.EntityStatus;
+import org.sp.payroll_service.domain.common.enums.TransactionCategory;
+import org.sp.payroll_service.domain.common.enums.TransactionStatus;
+import org.sp.payroll_service.domain.common.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Flat list-view row for a transaction with debit/credit account names.
+ */
+public record TransactionListRow(
+        UUID id,
+        BigDecimal amount,
+        TransactionType type,
+        TransactionCategory category,
+        TransactionStatus transactionStatus,
+        EntityStatus status,
+        UUID debitAccountId,
+        String debitAccountName,
+        UUID creditAccountId,
+        String creditAccountName,
+        UUID payrollBatchId,
+        String referenceId,
+        String description,
+        Instant requestedAt,
+        Instant processedAt,
+        Instant createdAt,
+        Instant updatedAt,
+        UUID createdBy,
+        UUID updatedBy,
+        Long version
+) {}
@@ -0,0 +1,39 @@
+package org.sp.payroll_service.security;
+
+import org.sp.payroll_service.utils.PasswordHashUtils;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt encoder using the calibrated work factor. Hashes with a lower cost than the calibrated
+ * one are reported by {@link #upgradeEncoding(String)} so they can be rehashed on the next
+ * successful login. Stronger hashes are kept: calibration is per instance and can come out lower
+ * on a slower or busier host, which must not downgrade hashes or make instances rehash the same
+ * users back and forth.
+ */
+public class CalibratedPasswordEncoder implements PasswordEncoder {
+
+    private final BCryptPasswordEncoder delegate;
+    private final int cost;
+
+    public CalibratedPasswordEncoder(PasswordHashCalibration calibration) {
+        this.cost = calibration.cost();
+        this.delegate = new BCryptPasswordEncoder(cost);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        Integer storedCost = PasswordHashUtils.costOf(encodedPassword);
+        return storedCost != null && storedCost < cost;
+    }
+}
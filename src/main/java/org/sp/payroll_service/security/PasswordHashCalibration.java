@@ -0,0 +1,23 @@
+package org.sp.payroll_service.security;
+
+import java.time.Instant;
+
+/**
+ * Outcome of the startup BCrypt timing benchmark.
+ *
+ * @param algorithm      hash algorithm new passwords are encoded with
+ * @param cost           work factor chosen for new hashes and login rehashes
+ * @param measuredMillis observed time of one hash at {@code cost}
+ * @param targetMillis   configured latency target per hash
+ * @param calibrated     false when calibration is disabled and the configured default cost is used
+ * @param calibratedAt   when the benchmark ran
+ */
+public record PasswordHashCalibration(
+        String algorithm,
+        int cost,
+        long measuredMillis,
+        long targetMillis,
+        boolean calibrated,
+        Instant calibratedAt
+) {
+}
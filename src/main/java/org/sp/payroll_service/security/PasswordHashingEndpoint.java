@@ -0,0 +1,22 @@
+package org.sp.payroll_service.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the password-hash calibration at {@code /actuator/passwordhashing}.
+ */
+@Component
+@Endpoint(id = "passwordhashing")
+@RequiredArgsConstructor
+public class PasswordHashingEndpoint {
+
+    private final PasswordHashCalibration calibration;
+
+    @ReadOperation
+    public PasswordHashCalibration calibration() {
+        return calibration;
+    }
+}
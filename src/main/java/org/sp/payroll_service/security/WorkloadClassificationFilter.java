@@ -0,0 +1,51 @@
+package org.sp.payroll_service.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.sp.payroll_service.config.WorkloadClass;
+import org.sp.payroll_service.config.WorkloadContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Tags each request with its {@link WorkloadClass} before security or any database work runs,
+ * so its connections are drawn from the matching bulkhead.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class WorkloadClassificationFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+    private static final List<String> AUTH_PATHS = List.of("/api/v1/auth/**");
+    private static final List<String> BATCH_PATHS = List.of("/api/v1/payroll/batches/*/process");
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        WorkloadContext.set(classify(request.getRequestURI().substring(request.getContextPath().length())));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            WorkloadContext.clear();
+        }
+    }
+
+    private WorkloadClass classify(String path) {
+        if (AUTH_PATHS.stream().anyMatch(pattern -> MATCHER.match(pattern, path))) {
+            return WorkloadClass.AUTH;
+        }
+        if (BATCH_PATHS.stream().anyMatch(pattern -> MATCHER.match(pattern, path))) {
+            return WorkloadClass.BATCH;
+        }
+        return WorkloadClass.INTERACTIVE;
+    }
+}
@@ -0,0 +1,39 @@
+package org.sp.payroll_service.service.scheduled;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.config.ScheduledJobLock;
+import org.sp.payroll_service.domain.common.service.IdempotencyService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Scheduled job that drops Idempotency-Key records past their retention period.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyKeyCleanupJob {
+
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    private final IdempotencyService idempotencyService;
+    private final ScheduledJobLock scheduledJobLock;
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:15m}")
+    public void purgeExpiredKeys() {
+        try {
+            scheduledJobLock.runExclusively("idempotency-key-purge", LEASE, lease -> {
+                int purged = idempotencyService.purgeExpired(Instant.now());
+                if (purged > 0) {
+                    log.info("Purged {} expired idempotency keys", purged);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Error while purging expired idempotency keys", e);
+        }
+    }
+}
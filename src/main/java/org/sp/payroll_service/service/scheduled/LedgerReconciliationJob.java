@@ -0,0 +1,46 @@
+package org.sp.payroll_service.service.scheduled;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.config.ScheduledJobLock;
+import org.sp.payroll_service.domain.payroll.dto.ReconciliationReport;
+import org.sp.payroll_service.domain.payroll.service.ReconciliationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Scheduled job that reconciles account balances and batch totals against the ledger.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerReconciliationJob {
+
+    private static final Duration LEASE = Duration.ofHours(2);
+
+    private final ReconciliationService reconciliationService;
+    private final ScheduledJobLock scheduledJobLock;
+
+    @Value("${app.reconciliation.enabled:true}")
+    private boolean enabled;
+
+    @Scheduled(cron = "${app.reconciliation.cron:0 30 3 * * *}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            scheduledJobLock.runExclusively("ledger-reconciliation", LEASE, lease -> {
+                ReconciliationReport report = reconciliationService.run();
+                if (report.mismatchCount() > 0) {
+                    log.warn("Ledger reconciliation {} found {} mismatches", report.runId(), report.mismatchCount());
+                }
+            });
+        } catch (Exception e) {
+            log.error("Error during scheduled ledger reconciliation", e);
+        }
+    }
+}
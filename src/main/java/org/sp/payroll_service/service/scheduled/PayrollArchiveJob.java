@@ -0,0 +1,69 @@
+package org.sp.payroll_service.service.scheduled;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.config.ScheduledJobLock;
+import org.sp.payroll_service.domain.payroll.service.PayrollArchiveService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Scheduled archival of COMPLETED/CANCELLED/REVERSED payroll batches older than the retention window.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollArchiveJob {
+
+    private static final Duration LEASE = Duration.ofHours(1);
+
+    private final PayrollArchiveService payrollArchiveService;
+    private final ScheduledJobLock scheduledJobLock;
+
+    @Value("${app.payroll.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.payroll.archive.retention-days:730}")
+    private long retentionDays;
+
+    @Value("${app.payroll.archive.batch-limit:50}")
+    private int batchLimit;
+
+    /**
+     * Archives eligible batches every day at 02:00, at most batch-limit per run.
+     * Each batch is archived in its own transaction, so one failure does not block the rest.
+     */
+    @Scheduled(cron = "${app.payroll.archive.cron:0 0 2 * * *}")
+    public void archiveOldBatches() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            scheduledJobLock.runExclusively("payroll-archive", LEASE, lease -> archive());
+        } catch (Exception e) {
+            log.error("Error during scheduled payroll archival", e);
+        }
+    }
+
+    private void archive() {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(retentionDays));
+        List<UUID> batchIds = payrollArchiveService.findArchivableBatchIds(cutoff, batchLimit);
+        int archived = 0;
+        for (UUID batchId : batchIds) {
+            try {
+                payrollArchiveService.archiveBatch(batchId);
+                archived++;
+            } catch (Exception e) {
+                log.error("Failed to archive payroll batch {}", batchId, e);
+            }
+        }
+        log.info("Payroll archival completed. Archived {} of {} eligible batches created before {}",
+                archived, batchIds.size(), cutoff);
+    }
+}
@@ -0,0 +1,49 @@
+package org.sp.payroll_service.service.scheduled;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.config.ScheduledJobLock;
+import org.sp.payroll_service.domain.payroll.service.PayrollItemChangeTracker;
+import org.sp.payroll_service.domain.payroll.service.PayrollService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Scheduled job that recalculates the stale items of PENDING payroll batches, so large pending
+ * batches stay current between edits and processing.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollItemRefreshJob {
+
+    private static final Duration LEASE = Duration.ofMinutes(15);
+
+    private final PayrollService payrollService;
+    private final PayrollItemChangeTracker payrollItemChangeTracker;
+    private final ScheduledJobLock scheduledJobLock;
+
+    @Scheduled(fixedDelayString = "${app.payroll.refresh.interval:5m}")
+    public void refreshPendingBatches() {
+        try {
+            scheduledJobLock.runExclusively("payroll-item-refresh", LEASE, lease -> {
+                for (UUID batchId : payrollItemChangeTracker.findStaleBatchIds()) {
+                    try {
+                        payrollService.refreshPendingBatch(batchId);
+                    } catch (Exception e) {
+                        log.error("Failed to refresh pending payroll batch {}", batchId, e);
+                    }
+                }
+                int purged = payrollItemChangeTracker.purgeSettled();
+                if (purged > 0) {
+                    log.info("Dropped {} change marks of settled payroll batches", purged);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Error while refreshing pending payroll batches", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.sp.payroll_service.service.scheduled;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.config.ScheduledJobLock;
+import org.sp.payroll_service.domain.payroll.service.PayrollReversalService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Resumes bulk payroll reversals left behind by an instance that stopped, so their batches do
+ * not stay PROCESSING.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollReversalRecoveryJob {
+
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    private final PayrollReversalService payrollReversalService;
+    private final ScheduledJobLock scheduledJobLock;
+
+    @Scheduled(fixedDelayString = "${app.payroll.reversal.recovery-interval:60s}")
+    public void recoverAbandonedReversals() {
+        try {
+            scheduledJobLock.runExclusively("payroll-reversal-recovery", LEASE, lease -> {
+                int resumed = payrollReversalService.recoverAbandonedReversals();
+                if (resumed > 0) {
+                    log.warn("Resumed {} abandoned payroll reversals", resumed);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Error while recovering abandoned payroll reversals", e);
+        }
+    }
+}
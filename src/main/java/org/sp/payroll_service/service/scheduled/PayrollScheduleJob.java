@@ -0,0 +1,69 @@
+package org.sp.payroll_service.service.scheduled;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.config.ScheduledJobLock;
+import org.sp.payroll_service.domain.payroll.service.PayrollScheduleService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Scheduled jobs for recurring payroll: off-peak batch preparation and payday disbursement.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollScheduleJob {
+
+    private static final Duration LEASE = Duration.ofHours(1);
+
+    private final PayrollScheduleService payrollScheduleService;
+    private final ScheduledJobLock scheduledJobLock;
+
+    @Value("${app.payroll.schedules.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Generates upcoming batches and refreshes generated ones, daily at 01:00.
+     */
+    @Scheduled(cron = "${app.payroll.schedules.prepare-cron:0 0 1 * * *}")
+    public void prepareUpcomingPayrolls() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            scheduledJobLock.runExclusively("payroll-schedule-prepare", LEASE, lease -> {
+                int prepared = payrollScheduleService.prepareUpcoming(LocalDate.now());
+                if (prepared > 0) {
+                    log.info("Prepared {} scheduled payroll batches", prepared);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Error while preparing scheduled payrolls", e);
+        }
+    }
+
+    /**
+     * Submits batches whose payday has come, every 15 minutes from 08:00, until they are paid.
+     */
+    @Scheduled(cron = "${app.payroll.schedules.disburse-cron:0 */15 8-23 * * *}")
+    public void disburseDuePayrolls() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            scheduledJobLock.runExclusively("payroll-schedule-disburse", LEASE, lease -> {
+                int disbursed = payrollScheduleService.disburseDue(LocalDate.now());
+                if (disbursed > 0) {
+                    log.info("Disbursed {} scheduled payrolls", disbursed);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Error while disbursing scheduled payrolls", e);
+        }
+    }
+}
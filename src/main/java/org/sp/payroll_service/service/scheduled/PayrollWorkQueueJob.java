@@ -0,0 +1,58 @@
+package org.sp.payroll_service.service.scheduled;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.config.WorkloadClass;
+import org.sp.payroll_service.config.WorkloadContext;
+import org.sp.payroll_service.domain.payroll.service.PayrollWorkQueue;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Background worker that claims payroll chunks from the work queue and keeps their leases alive.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PayrollWorkQueueJob {
+
+    private final PayrollWorkQueue payrollWorkQueue;
+
+    /**
+     * Fails chunks abandoned too often, then claims as many chunks as this instance can run.
+     */
+    @Scheduled(fixedDelayString = "${app.payroll.work-queue.poll-interval:1s}")
+    public void poll() {
+        if (!payrollWorkQueue.isEnabled()) {
+            return;
+        }
+        try {
+            int exhausted = payrollWorkQueue.failExhaustedChunks();
+            if (exhausted > 0) {
+                log.warn("Failed {} payroll chunks that exceeded their claim attempts", exhausted);
+            }
+            int claimed = payrollWorkQueue.claimAndRun();
+            if (claimed > 0) {
+                log.debug("Claimed {} payroll chunks", claimed);
+            }
+        } catch (Exception e) {
+            log.error("Error while polling the payroll work queue", e);
+        }
+    }
+
+    /**
+     * Extends the leases of chunks still being processed here, so other instances do not re-claim them.
+     * Runs in the infra bulkhead: the chunk workers it keeps alive may hold every batch permit.
+     */
+    @Scheduled(fixedDelayString = "${app.payroll.work-queue.heartbeat-interval:10s}")
+    public void heartbeat() {
+        if (!payrollWorkQueue.isEnabled()) {
+            return;
+        }
+        try {
+            WorkloadContext.callAs(WorkloadClass.INFRA, payrollWorkQueue::renewLeases);
+        } catch (Exception e) {
+            log.error("Error while renewing payroll chunk leases", e);
+        }
+    }
+}
@@ -1,33 +1,164 @@
 package org.sp.payroll_service.service.scheduled;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.sp.payroll_service.domain.auth.service.TokenInfoService;
+import org.sp.payroll_service.config.ScheduledJobLock;
+import org.sp.payroll_service.config.ScheduledJobLock.Lease;
+import org.sp.payroll_service.domain.auth.service.impl.TokenRevocationStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Scheduled service for token maintenance tasks.
+ * <p>
+ * Expired tokens are purged incrementally: small chunks in {@code (refresh_expires, id)} order,
+ * each deleted in its own short autocommit statement, with a pause between chunks. The keyset
+ * cursor keeps each scan past rows already deleted (and not yet vacuumed) instead of rescanning them.
+ * Only the replica holding the {@code token-purge} lease runs a tick, and its deletes are fenced.
+ * Each tick also drops revocation tombstones that can no longer match an unexpired token.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class TokenCleanupService {
 
-    private final TokenInfoService tokenInfoService;
+    private static final String SELECT_CHUNK_SQL = """
+            SELECT id, refresh_expires FROM token_info
+            WHERE refresh_expires < :now
+              AND (refresh_expires > :lastExpires OR (refresh_expires = :lastExpires AND id > :lastId))
+            ORDER BY refresh_expires, id
+            LIMIT :limit
+            """;
+
+    private static final String DELETE_CHUNK_SQL =
+            "DELETE FROM token_info WHERE id IN (:ids) AND " + ScheduledJobLock.FENCE_SQL;
+
+    private static final String JOB_NAME = "token-purge";
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+    private static final Timestamp MIN_EXPIRES = Timestamp.from(Instant.EPOCH);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ScheduledJobLock scheduledJobLock;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final Counter deletedCounter;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong lastRunRowsPerSecond = new AtomicLong();
+
+    @Value("${app.auth.token-purge.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.auth.token-purge.pause:200ms}")
+    private Duration pause;
+
+    @Value("${app.auth.token-purge.max-run-time:20s}")
+    private Duration maxRunTime;
+
+    public TokenCleanupService(JdbcTemplate jdbcTemplate, ScheduledJobLock scheduledJobLock,
+                               TokenRevocationStore tokenRevocationStore, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.scheduledJobLock = scheduledJobLock;
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.deletedCounter = Counter.builder("token.purge.deleted")
+                .description("Expired token_info rows deleted by the incremental purge")
+                .register(meterRegistry);
+        Gauge.builder("token.purge.backlog", backlog, AtomicLong::get)
+                .description("Expired token_info rows still waiting to be purged")
+                .register(meterRegistry);
+        Gauge.builder("token.purge.rows.per.second", lastRunRowsPerSecond, AtomicLong::get)
+                .description("Purge throughput of the last run")
+                .register(meterRegistry);
+    }
 
     /**
-     * Cleans up expired tokens every hour.
-     * This task runs at the beginning of every hour (0 minutes, 0 seconds).
+     * Purges expired tokens continuously: each run deletes paced chunks until the backlog is
+     * empty or the run-time budget is used, and the next run starts a minute after it ends.
      */
-    @Scheduled(cron = "0 0 * * * *") // Every hour at minute 0
+    @Scheduled(fixedDelayString = "${app.auth.token-purge.interval:60s}")
     public void cleanupExpiredTokens() {
+        Optional<Lease> lease = Optional.empty();
         try {
-            log.info("Starting scheduled token cleanup");
-            int deletedCount = tokenInfoService.cleanupExpiredTokens();
-            log.info("Token cleanup completed. Deleted {} expired tokens", deletedCount);
+            lease = scheduledJobLock.tryAcquire(JOB_NAME, maxRunTime.plusMinutes(1));
+            if (lease.isEmpty()) {
+                return;
+            }
+            Instant now = Instant.now();
+            int purgedRevocations = tokenRevocationStore.purgeExpired(now);
+            if (purgedRevocations > 0) {
+                log.info("Token purge deleted {} expired revocation tombstones", purgedRevocations);
+            }
+            long started = System.nanoTime();
+            long deadline = started + maxRunTime.toNanos();
+
+            Timestamp lastExpires = MIN_EXPIRES;
+            UUID lastId = MIN_ID;
+            long deleted = 0;
+            while (System.nanoTime() < deadline) {
+                List<ChunkRow> chunk = jdbcTemplate.query(SELECT_CHUNK_SQL,
+                        new MapSqlParameterSource()
+                                .addValue("now", Timestamp.from(now))
+                                .addValue("lastExpires", lastExpires)
+                                .addValue("lastId", lastId)
+                                .addValue("limit", chunkSize),
+                        (rs, rowNum) -> new ChunkRow(rs.getObject("id", UUID.class), rs.getTimestamp("refresh_expires")));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                int removed = jdbcTemplate.update(DELETE_CHUNK_SQL, lease.get().bind(
+                        new MapSqlParameterSource("ids", chunk.stream().map(ChunkRow::id).toList())));
+                deleted += removed;
+                deletedCounter.increment(removed);
+                if (removed == 0) {
+                    // Fenced out: another replica has taken the lease over
+                    log.warn("Token purge lost its lease; stopping this run");
+                    break;
+                }
+
+                ChunkRow last = chunk.get(chunk.size() - 1);
+                lastExpires = last.refreshExpires();
+                lastId = last.id();
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+                Thread.sleep(pause.toMillis());
+            }
+
+            double seconds = Math.max((System.nanoTime() - started) / 1_000_000_000.0, 0.001);
+            lastRunRowsPerSecond.set(Math.round(deleted / seconds));
+            backlog.set(countExpired(Instant.now()));
+            if (deleted > 0) {
+                log.info("Token purge deleted {} expired tokens ({} rows/s), backlog {}",
+                        deleted, lastRunRowsPerSecond.get(), backlog.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Token purge interrupted");
         } catch (Exception e) {
             log.error("Error during scheduled token cleanup", e);
+        } finally {
+            lease.ifPresent(scheduledJobLock::release);
         }
     }
-}
\ No newline at end of file
+
+    private long countExpired(Instant now) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM token_info WHERE refresh_expires < :now",
+                new MapSqlParameterSource("now", Timestamp.from(now)), Long.class);
+        return count != null ? count : 0L;
+    }
+
+    private record ChunkRow(UUID id, Timestamp refreshExpires) {
+    }
+}
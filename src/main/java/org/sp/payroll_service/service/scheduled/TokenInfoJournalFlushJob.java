@@ -0,0 +1,36 @@
+package org.sp.payroll_service.service.scheduled;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.config.WorkloadClass;
+import org.sp.payroll_service.config.WorkloadContext;
+import org.sp.payroll_service.domain.auth.service.impl.TokenInfoJournal;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Background worker that drains the token write-behind journal into {@code token_info}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenInfoJournalFlushJob {
+
+    private final TokenInfoJournal tokenInfoJournal;
+
+    /**
+     * Flushes pending token records in one JDBC batch. Records the database rejects are set
+     * aside; any other failure keeps the records pending and journaled for the next run.
+     */
+    @Scheduled(fixedDelayString = "${app.auth.token-journal.flush-interval:200ms}")
+    public void flush() {
+        try {
+            int flushed = WorkloadContext.callAs(WorkloadClass.AUTH, tokenInfoJournal::flush);
+            if (flushed > 0) {
+                log.debug("Flushed {} journaled token records", flushed);
+            }
+        } catch (Exception e) {
+            log.error("Error while flushing token journal", e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.sp.payroll_service.service.scheduled;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.sp.payroll_service.config.ScheduledJobLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keeps monthly partitions of the {@code transactions} table created ahead of time (PostgreSQL only).
+ * Rows for a month without a partition land in {@code transactions_default}; the job also creates
+ * partitions for those months, and {@code ensure_transactions_partition} moves the rows into them.
+ * On other databases (H2 in dev) the table is not partitioned and this job does nothing.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionPartitionMaintenanceService {
+
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    // Months with rows in the default partition, e.g. after downtime across a month boundary
+    private static final String STRANDED_MONTHS_SQL =
+            "SELECT DISTINCT date_trunc('month', created_at)::date FROM transactions_default ORDER BY 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ScheduledJobLock scheduledJobLock;
+
+    @Value("${app.transactions.partition.months-ahead:3}")
+    private int monthsAhead;
+
+    private Boolean partitioned;
+
+    /**
+     * Ensures partitions on startup, so a long downtime across a month boundary cannot miss one.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensureFuturePartitions();
+    }
+
+    /**
+     * Ensures partitions for the current month and the configured months ahead, daily at 00:30.
+     */
+    @Scheduled(cron = "0 30 0 * * *")
+    public void ensureFuturePartitions() {
+        if (!isPartitioned()) {
+            return;
+        }
+        try {
+            scheduledJobLock.runExclusively("transaction-partitions", LEASE, lease -> {
+                List<LocalDate> stranded = jdbcTemplate.queryForList(STRANDED_MONTHS_SQL, LocalDate.class);
+                for (LocalDate strandedMonth : stranded) {
+                    log.warn("Moving transactions of {} out of the default partition", strandedMonth);
+                    ensurePartition(strandedMonth);
+                }
+                LocalDate month = LocalDate.now().withDayOfMonth(1);
+                for (int i = 0; i <= monthsAhead; i++) {
+                    ensurePartition(month.plusMonths(i));
+                }
+                log.info("Transaction partitions ensured through {}", month.plusMonths(monthsAhead));
+            });
+        } catch (Exception e) {
+            log.error("Error while creating transaction partitions", e);
+        }
+    }
+
+    private void ensurePartition(LocalDate month) {
+        String partition = jdbcTemplate.queryForObject(
+                "SELECT ensure_transactions_partition(?)", String.class, month);
+        log.debug("Transaction partition ready: {}", partition);
+    }
+
+    private boolean isPartitioned() {
+        if (partitioned == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            partitioned = "PostgreSQL".equalsIgnoreCase(product);
+            if (!partitioned) {
+                log.info("Transaction partition maintenance disabled for database: {}", product);
+            }
+        }
+        return partitioned;
+    }
+}
@@ -0,0 +1,30 @@
+package org.sp.payroll_service.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Message digest helpers.
+ */
+@UtilityClass
+public class HashUtils {
+
+    /**
+     * Returns the lowercase hex SHA-256 digest (64 characters) of the UTF-8 bytes of a value.
+     *
+     * @param value value to digest
+     * @return hex digest
+     */
+    public static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
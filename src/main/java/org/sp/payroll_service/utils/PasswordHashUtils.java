@@ -0,0 +1,35 @@
+package org.sp.payroll_service.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Helpers for inspecting stored password hashes.
+ */
+@UtilityClass
+public class PasswordHashUtils {
+
+    public static final String BCRYPT = "bcrypt";
+
+    private static final Pattern BCRYPT_PREFIX = Pattern.compile("^\\$2[aby]?\\$(\\d{2})\\$");
+
+    /**
+     * Returns the algorithm of an encoded hash, or {@code null} when it is not recognised.
+     */
+    public static String algorithmOf(String encodedPassword) {
+        return encodedPassword != null && BCRYPT_PREFIX.matcher(encodedPassword).find() ? BCRYPT : null;
+    }
+
+    /**
+     * Returns the work factor (log2 rounds) of a BCrypt hash, or {@code null} when it is not a BCrypt hash.
+     */
+    public static Integer costOf(String encodedPassword) {
+        if (encodedPassword == null) {
+            return null;
+        }
+        Matcher matcher = BCRYPT_PREFIX.matcher(encodedPassword);
+        return matcher.find() ? Integer.valueOf(matcher.group(1)) : null;
+    }
+}
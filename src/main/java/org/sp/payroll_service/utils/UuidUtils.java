@@ -0,0 +1,32 @@
+package org.sp.payroll_service.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * UUID helpers.
+ */
+@UtilityClass
+public class UuidUtils {
+
+    private static final long VERSION_7 = 0x7000L;
+    private static final long IETF_VARIANT = 0x8000000000000000L;
+
+    /**
+     * Generates a time-ordered UUID (RFC 9562 version 7): 48-bit Unix epoch millis followed by
+     * 74 random bits. Ids created later sort after earlier ones, so B-tree inserts land on the
+     * right-most index pages instead of random ones.
+     *
+     * @return new version 7 UUID
+     */
+    public static UUID timeOrdered() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long millis = System.currentTimeMillis();
+
+        long msb = (millis << 16) | VERSION_7 | (random.nextInt() & 0x0FFFL);
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | IETF_VARIANT;
+        return new UUID(msb, lsb);
+    }
+}
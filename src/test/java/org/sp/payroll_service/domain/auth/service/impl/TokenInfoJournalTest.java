@@ -0,0 +1,306 @@
+package org.sp.payroll_service.domain.auth.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sp.payroll_service.domain.auth.entity.TokenInfo;
+import org.sp.payroll_service.domain.auth.entity.User;
+import org.sp.payroll_service.support.ChangelogDatabase;
+import org.sp.payroll_service.support.TestData;
+import org.sp.payroll_service.utils.HashUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Write-behind token journal against H2 and a temporary journal directory: flushing, replay after
+ * a crash, revocations of records that were not flushed yet, isolation and expiry of rejected
+ * records, the directory requirements and group-committed appends.
+ */
+class TokenInfoJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private TestData testData;
+    private final List<TokenInfoJournal> journals = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        database = ChangelogDatabase.create();
+        jdbcTemplate = new JdbcTemplate(database);
+        testData = new TestData(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journals.forEach(TokenInfoJournal::shutdown);
+        database.shutdown();
+    }
+
+    @Test
+    void flushWritesPendingRecordsInOneBatchAndDropsTheirSegment() throws IOException {
+        TokenInfoJournal journal = startJournal();
+        TokenInfo first = token(testData.user());
+        TokenInfo second = token(testData.user());
+        journal.append(first);
+        journal.append(second);
+
+        assertThat(journal.isPending(first.getId())).isTrue();
+        assertThat(journal.findPending(token -> token.getRefreshToken().equals(second.getRefreshToken())))
+                .containsSame(second);
+
+        assertThat(journal.flush()).isEqualTo(2);
+
+        assertThat(journal.isPending(first.getId())).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT refresh_token_hash FROM token_info WHERE id = ?",
+                String.class, first.getId())).isEqualTo(HashUtils.sha256Hex(first.getRefreshToken()));
+        assertThat(rowCount()).isEqualTo(2);
+        assertThat(segments("*.flushing")).isEmpty();
+        assertThat(journal.flush()).isZero();
+    }
+
+    @Test
+    void laterAppendsOfAFlushedRecordUpdateItsRow() {
+        TokenInfoJournal journal = startJournal();
+        TokenInfo tokenInfo = token(testData.user());
+        journal.append(tokenInfo);
+        journal.flush();
+
+        String rotatedJti = UUID.randomUUID().toString();
+        tokenInfo.setAccessJti(rotatedJti);
+        tokenInfo.setUpdatedAt(Instant.now());
+        journal.append(tokenInfo);
+        journal.flush();
+
+        assertThat(jdbcTemplate.queryForMap("SELECT access_jti, version FROM token_info WHERE id = ?", tokenInfo.getId()))
+                .containsEntry("access_jti", rotatedJti)
+                .containsEntry("version", 1L);
+    }
+
+    @Test
+    void recordsJournaledBeforeACrashAreReplayedOnStart() {
+        TokenInfoJournal crashed = new TokenInfoJournal(jdbcTemplate, new DataSourceTransactionManager(database),
+                new ObjectMapper().findAndRegisterModules());
+        configure(crashed);
+        crashed.afterSingletonsInstantiated();
+        TokenInfo tokenInfo = token(testData.user());
+        crashed.append(tokenInfo);
+        // No flush and no shutdown: the record only exists in the journal file
+
+        startJournal();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT access_jti FROM token_info WHERE id = ?",
+                String.class, tokenInfo.getId())).isEqualTo(tokenInfo.getAccessJti());
+    }
+
+    @Test
+    void pendingRecordsRevokedBeforeTheirFlushAreWrittenRevoked() {
+        TokenInfoJournal journal = startJournal();
+        UUID userId = testData.user();
+        TokenInfo revoked = token(userId);
+        TokenInfo kept = token(testData.user());
+        journal.append(revoked);
+        journal.append(kept);
+
+        assertThat(journal.revokePending(token -> token.getUser().getId().equals(userId))).isEqualTo(1);
+        journal.flush();
+
+        assertThat(isRevoked(revoked)).isTrue();
+        assertThat(isRevoked(kept)).isFalse();
+    }
+
+    @Test
+    void flushAppliesTombstonesOfRevocationsThatReachedNoRow() {
+        TokenInfoJournal journal = startJournal();
+        UUID userId = testData.user();
+        TokenInfo tokenInfo = token(userId);
+        TokenInfo otherUser = token(testData.user());
+        // Journaled on another replica, so this one's revocation finds neither a row nor a pending record
+        journal.append(tokenInfo);
+        journal.append(otherUser);
+        new TokenRevocationStore(jdbcTemplate).revokeAllForUser(userId, Instant.now().plus(Duration.ofDays(7)));
+
+        journal.flush();
+
+        assertThat(isRevoked(tokenInfo)).isTrue();
+        assertThat(isRevoked(otherUser)).isFalse();
+    }
+
+    @Test
+    void recordRejectedByTheDatabaseIsSetAsideWithoutHoldingBackTheBatch() throws IOException {
+        TokenInfoJournal journal = startJournal();
+        TokenInfo original = token(testData.user());
+        TokenInfo duplicate = token(testData.user());
+        duplicate.setRefreshToken(original.getRefreshToken());
+        TokenInfo unrelated = token(testData.user());
+        journal.append(original);
+        journal.append(duplicate);
+        journal.append(unrelated);
+
+        assertThat(journal.flush()).isEqualTo(3);
+
+        // One of the two records sharing a refresh token digest is written, the other set aside
+        assertThat(rowCount()).isEqualTo(2);
+        assertThat(isRevoked(unrelated)).isFalse();
+        // Traceable by digest, without the refresh token itself
+        assertThat(Files.readAllLines(directory.resolve("token-info.rejected"))).singleElement().satisfies(line -> {
+            assertThat(line).contains(HashUtils.sha256Hex(original.getRefreshToken()));
+            assertThat(line).doesNotContain(original.getRefreshToken());
+        });
+        assertThat(journal.findAllPending(token -> true)).isEmpty();
+    }
+
+    @Test
+    void startDropsExpiredRejectedRecordsAndTheTokensOfOlderOnes() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        Instant future = Instant.now().plus(Duration.ofDays(1));
+        TokenInfo expired = token(testData.user());
+        expired.setRefreshExpires(Instant.now().minusSeconds(60));
+        TokenInfo live = token(testData.user());
+        live.setRefreshExpires(future);
+        // Lines as an earlier version wrote them, refresh token included
+        Files.write(directory.resolve("token-info.rejected"), List.of(
+                objectMapper.writeValueAsString(TokenInfoJournal.Entry.of(expired)),
+                objectMapper.writeValueAsString(TokenInfoJournal.Entry.of(live)),
+                "{\"id\": \"torn"));
+
+        startJournal();
+
+        assertThat(Files.readAllLines(directory.resolve("token-info.rejected"))).singleElement().satisfies(line -> {
+            assertThat(line).contains(live.getId().toString(), HashUtils.sha256Hex(live.getRefreshToken()));
+            assertThat(line).doesNotContain(live.getRefreshToken());
+        });
+    }
+
+    @Test
+    void refusesToStartWithoutAnAbsoluteDirectory() {
+        TokenInfoJournal journal = new TokenInfoJournal(jdbcTemplate, new DataSourceTransactionManager(database),
+                new ObjectMapper().findAndRegisterModules());
+        configure(journal);
+
+        ReflectionTestUtils.setField(journal, "directory", "");
+        assertThatThrownBy(journal::afterSingletonsInstantiated).isInstanceOf(IllegalStateException.class);
+
+        ReflectionTestUtils.setField(journal, "directory", "data/token-journal");
+        assertThatThrownBy(journal::afterSingletonsInstantiated)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("absolute");
+    }
+
+    @Test
+    void journalIsReadableByItsOwnerOnly() throws IOException {
+        Path journalDirectory = directory.resolve("journal");
+        TokenInfoJournal journal = startJournal(journalDirectory);
+        journal.append(token(testData.user()));
+
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(journalDirectory)))
+                .isEqualTo("rwx------");
+        assertThat(PosixFilePermissions.toString(
+                Files.getPosixFilePermissions(journalDirectory.resolve("token-info.journal"))))
+                .isEqualTo("rw-------");
+    }
+
+    @Test
+    void concurrentSyncedAppendsAreAllJournaledAcrossFlushes() throws Exception {
+        TokenInfoJournal journal = startJournal();
+        ReflectionTestUtils.setField(journal, "fsync", true);
+        List<UUID> users = List.of(testData.user(), testData.user(), testData.user(), testData.user());
+        ExecutorService appenders = Executors.newFixedThreadPool(users.size());
+        List<Future<?>> appends = new ArrayList<>();
+        for (UUID userId : users) {
+            appends.add(appenders.submit(() -> {
+                for (int i = 0; i < 25; i++) {
+                    journal.append(token(userId));
+                }
+            }));
+        }
+        // Rotates segments while appenders wait on their sync
+        while (!appends.stream().allMatch(Future::isDone)) {
+            journal.flush();
+        }
+        appenders.shutdown();
+        for (Future<?> append : appends) {
+            append.get();
+        }
+        journal.flush();
+
+        assertThat(rowCount()).isEqualTo(100);
+        assertThat(segments("*.flushing")).isEmpty();
+    }
+
+    private TokenInfoJournal startJournal() {
+        return startJournal(directory);
+    }
+
+    private TokenInfoJournal startJournal(Path journalDirectory) {
+        TokenInfoJournal journal = new TokenInfoJournal(jdbcTemplate, new DataSourceTransactionManager(database),
+                new ObjectMapper().findAndRegisterModules());
+        configure(journal);
+        ReflectionTestUtils.setField(journal, "directory", journalDirectory.toString());
+        journal.afterSingletonsInstantiated();
+        journals.add(journal);
+        return journal;
+    }
+
+    private void configure(TokenInfoJournal journal) {
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "directory", directory.toString());
+        ReflectionTestUtils.setField(journal, "fsync", false);
+    }
+
+    private TokenInfo token(UUID userId) {
+        Instant now = Instant.now().minusSeconds(1);
+        TokenInfo tokenInfo = TokenInfo.builder()
+                .id(UUID.randomUUID())
+                .user(User.builder().id(userId).build())
+                .refreshToken("refresh-" + UUID.randomUUID())
+                .accessJti(UUID.randomUUID().toString())
+                .accessExpires(now.plus(Duration.ofMinutes(15)))
+                .refreshExpires(now.plus(Duration.ofDays(7)))
+                .build();
+        tokenInfo.setCreatedAt(now);
+        tokenInfo.setUpdatedAt(now);
+        return tokenInfo;
+    }
+
+    private boolean isRevoked(TokenInfo tokenInfo) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT is_revoked FROM token_info WHERE id = ?",
+                Boolean.class, tokenInfo.getId()));
+    }
+
+    private long rowCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM token_info", Long.class);
+    }
+
+    private List<Path> segments(String glob) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> directory.getFileSystem().getPathMatcher("glob:" + glob)
+                    .matches(file.getFileName())).forEach(segments::add);
+        }
+        return segments;
+    }
+}
@@ -0,0 +1,246 @@
+package org.sp.payroll_service.domain.payroll.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sp.payroll_service.config.NodeIdentity;
+import org.sp.payroll_service.domain.common.enums.PayrollStatus;
+import org.sp.payroll_service.domain.payroll.dto.PayrollReversalProgress;
+import org.sp.payroll_service.domain.payroll.entity.PayrollBatch;
+import org.sp.payroll_service.domain.payroll.exception.PayrollProcessingException;
+import org.sp.payroll_service.domain.payroll.service.transaction.TransferTransactionExecutor;
+import org.sp.payroll_service.domain.wallet.service.LedgerService;
+import org.sp.payroll_service.repository.AccountRepository;
+import org.sp.payroll_service.repository.PayrollBatchRepository;
+import org.sp.payroll_service.repository.TransactionRepository;
+import org.sp.payroll_service.support.ChangelogDatabase;
+import org.sp.payroll_service.support.TestData;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bulk reversal against H2: chunked set-based reversal, items left PAID on insufficient funds,
+ * resuming a partial reversal and taking over the reversal of a dead instance. Reversals run on
+ * the calling thread, so each call returns with the job finished.
+ */
+class PayrollReversalServiceImplTest {
+
+    private static final BigDecimal SALARY = new BigDecimal("100.00");
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private PayrollBatchRepository payrollBatchRepository;
+    private LedgerService ledgerService;
+    private PayrollReversalServiceImpl reversalService;
+
+    private UUID batchId;
+    private UUID fundingAccountId;
+    private final UUID[] employeeAccountIds = new UUID[3];
+
+    @BeforeEach
+    void setUp() {
+        database = ChangelogDatabase.create();
+        jdbcTemplate = new JdbcTemplate(database);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(database);
+
+        TestData testData = new TestData(jdbcTemplate);
+        UUID companyId = testData.company();
+        fundingAccountId = testData.account(BigDecimal.ZERO);
+        batchId = testData.batch(companyId, fundingAccountId, "COMPLETED", new BigDecimal("300"),
+                new BigDecimal("300"));
+        for (int i = 0; i < employeeAccountIds.length; i++) {
+            UUID itemId = new UUID(0L, i + 1);
+            employeeAccountIds[i] = testData.account(SALARY);
+            testData.item(itemId, batchId, testData.employee(companyId, employeeAccountIds[i]), SALARY, "PAID");
+            jdbcTemplate.update("INSERT INTO transactions (id, debit_acc_id, credit_acc_id, amount, batch_id, "
+                            + "source_item_id, reference_id) VALUES (?, ?, ?, ?, ?, ?, ?)", UUID.randomUUID(),
+                    fundingAccountId, employeeAccountIds[i], SALARY, batchId, itemId,
+                    "PAYROLL-" + batchId + "-" + (i + 1));
+        }
+
+        payrollBatchRepository = mock(PayrollBatchRepository.class);
+        // The batch as the database has it, the way the JPA read would see it
+        when(payrollBatchRepository.findById(batchId)).thenAnswer(invocation -> Optional.of(PayrollBatch.builder()
+                .id(batchId)
+                .payrollStatus(PayrollStatus.valueOf(batchStatus()))
+                .fundingAccountId(fundingAccountId)
+                .build()));
+        ledgerService = mock(LedgerService.class);
+        ExecutorService executor = mock(ExecutorService.class);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        reversalService = new PayrollReversalServiceImpl(jdbcTemplate, payrollBatchRepository,
+                mock(AccountRepository.class), mock(TransactionRepository.class), ledgerService,
+                new TransferTransactionExecutor(transactionManager, new SimpleMeterRegistry(),
+                        TransferTransactionExecutor.Mode.OPTIMISTIC, 3, Duration.ofMillis(1), Duration.ofMillis(5)),
+                new NodeIdentity("node-a"), executor);
+        ReflectionTestUtils.setField(reversalService, "chunkSize", 2);
+        ReflectionTestUtils.setField(reversalService, "maxReportedErrors", 100);
+        ReflectionTestUtils.setField(reversalService, "leaseDuration", Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void reversesEveryPaidItemInChunks() {
+        reversalService.startBatchReversal(batchId, "Duplicate run");
+
+        PayrollReversalProgress progress = reversalService.getReversalProgress(batchId).orElseThrow();
+        assertThat(progress.state()).isEqualTo(PayrollReversalProgress.State.COMPLETED);
+        assertThat(progress.totalItems()).isEqualTo(3);
+        assertThat(progress.reversedItems()).isEqualTo(3);
+        assertThat(progress.failedItems()).isZero();
+        assertThat(progress.reversedAmount()).isEqualByComparingTo("300");
+
+        assertThat(batchStatus()).isEqualTo("REVERSED");
+        assertThat(executedAmount()).isEqualByComparingTo("0");
+        assertThat(itemsIn("REVERSED")).isEqualTo(3);
+        assertThat(balance(fundingAccountId)).isEqualByComparingTo("300");
+        for (UUID employeeAccountId : employeeAccountIds) {
+            assertThat(balance(employeeAccountId)).isEqualByComparingTo("0");
+        }
+        assertThat(reversalRows()).isZero();
+        // One set of reversal transactions per chunk of two
+        verify(ledgerService, times(2)).post(anyCollection());
+    }
+
+    @Test
+    void leavesUnfundedItemsPaidAndResumesThePartialReversal() {
+        jdbcTemplate.update("UPDATE accounts SET current_balance = 50 WHERE id = ?", employeeAccountIds[2]);
+
+        reversalService.startBatchReversal(batchId, "Duplicate run");
+
+        PayrollReversalProgress progress = reversalService.getReversalProgress(batchId).orElseThrow();
+        assertThat(progress.reversedItems()).isEqualTo(2);
+        assertThat(progress.failedItems()).isEqualTo(1);
+        assertThat(progress.errors()).hasSize(1).allMatch(error -> error.contains("insufficient funds"));
+        assertThat(batchStatus()).isEqualTo("PARTIALLY_REVERSED");
+        assertThat(executedAmount()).isEqualByComparingTo("100");
+        assertThat(itemsIn("PAID")).isEqualTo(1);
+        assertThat(balance(employeeAccountIds[2])).isEqualByComparingTo("50");
+
+        jdbcTemplate.update("UPDATE accounts SET current_balance = 100 WHERE id = ?", employeeAccountIds[2]);
+        reversalService.startBatchReversal(batchId, "Duplicate run");
+
+        assertThat(reversalService.getReversalProgress(batchId).orElseThrow().reversedItems()).isEqualTo(1);
+        assertThat(batchStatus()).isEqualTo("REVERSED");
+        assertThat(itemsIn("REVERSED")).isEqualTo(3);
+        assertThat(balance(fundingAccountId)).isEqualByComparingTo("300");
+    }
+
+    @Test
+    void rejectsBatchesThatAreNotReversibleOrChangedUnderneath() {
+        jdbcTemplate.update("UPDATE payroll_batches SET payroll_status = 'PENDING' WHERE id = ?", batchId);
+        assertThatThrownBy(() -> reversalService.startBatchReversal(batchId, "Wrong batch"))
+                .isInstanceOf(PayrollProcessingException.class);
+
+        // Read as COMPLETED, but another reversal claimed the batch before this one could
+        when(payrollBatchRepository.findById(batchId)).thenReturn(Optional.of(PayrollBatch.builder()
+                .id(batchId).payrollStatus(PayrollStatus.COMPLETED).fundingAccountId(fundingAccountId).build()));
+        jdbcTemplate.update("UPDATE payroll_batches SET payroll_status = 'PROCESSING' WHERE id = ?", batchId);
+        assertThatThrownBy(() -> reversalService.startBatchReversal(batchId, "Duplicate run"))
+                .isInstanceOf(PayrollProcessingException.class)
+                .hasMessageContaining("changed");
+
+        assertThat(reversalRows()).isZero();
+        assertThat(itemsIn("PAID")).isEqualTo(3);
+    }
+
+    @Test
+    void takesOverReversalsOnlyOnceTheirLeaseExpired() {
+        // A reversal claimed by an instance that died before reversing anything
+        jdbcTemplate.update("UPDATE payroll_batches SET payroll_status = 'PROCESSING' WHERE id = ?", batchId);
+        jdbcTemplate.update("INSERT INTO payroll_reversals (batch_id, previous_status, reason, owner, lease_expires_at, "
+                        + "started_at) VALUES (?, 'COMPLETED', 'Duplicate run', 'node-dead', ?, ?)", batchId,
+                Timestamp.from(Instant.now().plusSeconds(60)), Timestamp.from(Instant.now()));
+
+        assertThat(reversalService.recoverAbandonedReversals()).isZero();
+        assertThat(batchStatus()).isEqualTo("PROCESSING");
+
+        jdbcTemplate.update("UPDATE payroll_reversals SET lease_expires_at = ? WHERE batch_id = ?",
+                Timestamp.from(Instant.now().minusSeconds(1)), batchId);
+        assertThat(reversalService.recoverAbandonedReversals()).isEqualTo(1);
+
+        assertThat(batchStatus()).isEqualTo("REVERSED");
+        assertThat(itemsIn("REVERSED")).isEqualTo(3);
+        assertThat(reversalRows()).isZero();
+        assertThat(reversalService.recoverAbandonedReversals()).isZero();
+    }
+
+    @Test
+    void takenOverReversalThatReversesNothingMoreStaysPartiallyReversed() {
+        // The dead instance reversed the first two items; the third is no longer funded
+        jdbcTemplate.update("UPDATE payroll_batches SET payroll_status = 'PROCESSING', executed_amount = 100 WHERE id = ?",
+                batchId);
+        jdbcTemplate.update("UPDATE payroll_items SET payroll_item_status = 'REVERSED' WHERE id IN (?, ?)",
+                new UUID(0L, 1), new UUID(0L, 2));
+        jdbcTemplate.update("UPDATE accounts SET current_balance = 0 WHERE id IN (?, ?)",
+                employeeAccountIds[0], employeeAccountIds[1]);
+        jdbcTemplate.update("UPDATE accounts SET current_balance = 50 WHERE id = ?", employeeAccountIds[2]);
+        jdbcTemplate.update("UPDATE accounts SET current_balance = 200 WHERE id = ?", fundingAccountId);
+        jdbcTemplate.update("INSERT INTO payroll_reversals (batch_id, previous_status, reason, owner, lease_expires_at, "
+                        + "started_at) VALUES (?, 'COMPLETED', 'Duplicate run', 'node-dead', ?, ?)", batchId,
+                Timestamp.from(Instant.now().minusSeconds(1)), Timestamp.from(Instant.now()));
+
+        assertThat(reversalService.recoverAbandonedReversals()).isEqualTo(1);
+
+        PayrollReversalProgress progress = reversalService.getReversalProgress(batchId).orElseThrow();
+        assertThat(progress.reversedItems()).isZero();
+        assertThat(progress.failedItems()).isEqualTo(1);
+        assertThat(batchStatus()).isEqualTo("PARTIALLY_REVERSED");
+        assertThat(itemsIn("REVERSED")).isEqualTo(2);
+        assertThat(balance(fundingAccountId)).isEqualByComparingTo("200");
+    }
+
+    private String batchStatus() {
+        return jdbcTemplate.queryForObject("SELECT payroll_status FROM payroll_batches WHERE id = ?",
+                String.class, batchId);
+    }
+
+    private BigDecimal executedAmount() {
+        return jdbcTemplate.queryForObject("SELECT executed_amount FROM payroll_batches WHERE id = ?",
+                BigDecimal.class, batchId);
+    }
+
+    private long itemsIn(String status) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payroll_items WHERE batch_id = ? AND payroll_item_status = ?",
+                Long.class, batchId, status);
+    }
+
+    private BigDecimal balance(UUID accountId) {
+        return jdbcTemplate.queryForObject("SELECT current_balance FROM accounts WHERE id = ?",
+                BigDecimal.class, accountId);
+    }
+
+    private long reversalRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payroll_reversals", Long.class);
+    }
+}
@@ -0,0 +1,158 @@
+package org.sp.payroll_service.domain.payroll.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sp.payroll_service.api.payroll.dto.PayrollResult;
+import org.sp.payroll_service.domain.common.enums.PayrollStatus;
+import org.sp.payroll_service.domain.core.entity.Company;
+import org.sp.payroll_service.domain.payroll.dto.PayrollRunStatus.State;
+import org.sp.payroll_service.domain.payroll.entity.PayrollBatch;
+import org.sp.payroll_service.domain.payroll.exception.PayrollProcessingException;
+import org.sp.payroll_service.domain.payroll.service.PayrollService;
+import org.sp.payroll_service.repository.PayrollBatchRepository;
+import org.sp.payroll_service.repository.PayrollItemRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Queuing and dispatch of the payroll run scheduler. Started runs are held by a recording
+ * executor, so each test finishes them one at a time and checks what is dispatched next.
+ */
+class PayrollRunSchedulerImplTest {
+
+    private PayrollService payrollService;
+    private PayrollBatchRepository payrollBatchRepository;
+    private PayrollItemRepository payrollItemRepository;
+    private final List<Runnable> started = new ArrayList<>();
+    private PayrollRunSchedulerImpl scheduler;
+
+    @BeforeEach
+    void setUp() {
+        payrollService = mock(PayrollService.class);
+        payrollBatchRepository = mock(PayrollBatchRepository.class);
+        payrollItemRepository = mock(PayrollItemRepository.class);
+        ExecutorService executor = mock(ExecutorService.class);
+        doAnswer(invocation -> started.add(invocation.getArgument(0))).when(executor).execute(any(Runnable.class));
+
+        scheduler = new PayrollRunSchedulerImpl(payrollService, payrollBatchRepository, payrollItemRepository,
+                executor, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(scheduler, "workers", 2);
+        ReflectionTestUtils.setField(scheduler, "companyWeights", Map.of());
+        ReflectionTestUtils.setField(scheduler, "retention", Duration.ofHours(1));
+    }
+
+    @Test
+    void refreshesAndProcessesTheBatchOnceAWorkerSlotIsFree() {
+        UUID batchId = pendingBatch(UUID.randomUUID(), UUID.randomUUID(), 10);
+        when(payrollService.processPayroll(batchId)).thenReturn(PayrollResult.builder().batchId(batchId).build());
+
+        assertThat(scheduler.submit(batchId).state()).isEqualTo(State.RUNNING);
+        // Submitting again returns the run in progress instead of queuing a second one
+        assertThat(scheduler.submit(batchId).state()).isEqualTo(State.RUNNING);
+        assertThat(started).hasSize(1);
+
+        started.get(0).run();
+
+        var order = inOrder(payrollService);
+        order.verify(payrollService).refreshPendingBatch(batchId);
+        order.verify(payrollService).processPayroll(batchId);
+        assertThat(scheduler.getRun(batchId)).hasValueSatisfying(run -> {
+            assertThat(run.state()).isEqualTo(State.COMPLETED);
+            assertThat(run.result().batchId()).isEqualTo(batchId);
+        });
+        assertThat(scheduler.queueState().running()).isZero();
+    }
+
+    @Test
+    void runsOnTheSameFundingAccountNeverOverlap() {
+        UUID fundingAccountId = UUID.randomUUID();
+        UUID first = pendingBatch(UUID.randomUUID(), fundingAccountId, 10);
+        UUID second = pendingBatch(UUID.randomUUID(), fundingAccountId, 10);
+
+        scheduler.submit(first);
+        assertThat(scheduler.submit(second).state()).isEqualTo(State.QUEUED);
+        assertThat(started).hasSize(1);
+        assertThat(scheduler.queueState().queued()).isEqualTo(1);
+
+        started.get(0).run();
+
+        assertThat(started).hasSize(2);
+        assertThat(scheduler.getRun(second).orElseThrow().state()).isEqualTo(State.RUNNING);
+    }
+
+    @Test
+    void idleCompanyIsServedBeforeTheBacklogOfABusyOne() {
+        ReflectionTestUtils.setField(scheduler, "workers", 1);
+        UUID busyCompany = UUID.randomUUID();
+        UUID busyFirst = pendingBatch(busyCompany, UUID.randomUUID(), 100);
+        UUID busySecond = pendingBatch(busyCompany, UUID.randomUUID(), 100);
+        UUID idle = pendingBatch(UUID.randomUUID(), UUID.randomUUID(), 100);
+
+        scheduler.submit(busyFirst);
+        scheduler.submit(busySecond);
+        scheduler.submit(idle);
+
+        started.get(0).run();
+
+        assertThat(scheduler.getRun(idle).orElseThrow().state()).isEqualTo(State.RUNNING);
+        assertThat(scheduler.getRun(busySecond).orElseThrow().state()).isEqualTo(State.QUEUED);
+    }
+
+    @Test
+    void failedRunIsReportedAndCanBeSubmittedAgain() {
+        UUID batchId = pendingBatch(UUID.randomUUID(), UUID.randomUUID(), 10);
+        when(payrollService.processPayroll(batchId))
+                .thenThrow(new PayrollProcessingException("Insufficient funds"))
+                .thenReturn(PayrollResult.builder().batchId(batchId).build());
+
+        scheduler.submit(batchId);
+        started.get(0).run();
+
+        assertThat(scheduler.getRun(batchId)).hasValueSatisfying(run -> {
+            assertThat(run.state()).isEqualTo(State.FAILED);
+            assertThat(run.error()).isEqualTo("Insufficient funds");
+        });
+
+        assertThat(scheduler.submit(batchId).state()).isEqualTo(State.RUNNING);
+        started.get(1).run();
+        assertThat(scheduler.getRun(batchId).orElseThrow().state()).isEqualTo(State.COMPLETED);
+    }
+
+    @Test
+    void rejectsBatchesThatAreNotPending() {
+        UUID batchId = UUID.randomUUID();
+        when(payrollBatchRepository.findById(batchId)).thenReturn(Optional.of(PayrollBatch.builder()
+                .id(batchId).payrollStatus(PayrollStatus.COMPLETED).build()));
+
+        assertThatThrownBy(() -> scheduler.submit(batchId)).isInstanceOf(PayrollProcessingException.class);
+        assertThat(started).isEmpty();
+    }
+
+    private UUID pendingBatch(UUID companyId, UUID fundingAccountId, long items) {
+        UUID batchId = UUID.randomUUID();
+        when(payrollBatchRepository.findById(batchId)).thenReturn(Optional.of(PayrollBatch.builder()
+                .id(batchId)
+                .payrollStatus(PayrollStatus.PENDING)
+                .company(Company.builder().id(companyId).build())
+                .fundingAccountId(fundingAccountId)
+                .build()));
+        when(payrollItemRepository.countByPayrollBatchId(batchId)).thenReturn(items);
+        return batchId;
+    }
+}
@@ -0,0 +1,169 @@
+package org.sp.payroll_service.domain.payroll.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sp.payroll_service.api.payroll.dto.PayrollBatchResponse;
+import org.sp.payroll_service.api.payroll.mapper.PayrollScheduleMapper;
+import org.sp.payroll_service.domain.common.enums.PayrollStatus;
+import org.sp.payroll_service.domain.core.entity.Company;
+import org.sp.payroll_service.domain.payroll.dto.PayrollRunStatus;
+import org.sp.payroll_service.domain.payroll.entity.PayrollBatch;
+import org.sp.payroll_service.domain.payroll.entity.PayrollSchedule;
+import org.sp.payroll_service.domain.payroll.service.PayrollRunScheduler;
+import org.sp.payroll_service.domain.payroll.service.PayrollService;
+import org.sp.payroll_service.repository.AccountRepository;
+import org.sp.payroll_service.repository.CompanyRepository;
+import org.sp.payroll_service.repository.PayrollBatchRepository;
+import org.sp.payroll_service.repository.PayrollScheduleRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Payday handling of recurring payroll schedules: a due schedule keeps submitting its batch until
+ * the batch has left PENDING, and only then moves on to the next payday. A schedule without a
+ * batch of its own never moves on.
+ */
+class PayrollScheduleServiceImplTest {
+
+    private static final LocalDate PAYDAY = LocalDate.of(2026, 10, 25);
+
+    private PayrollScheduleRepository payrollScheduleRepository;
+    private PayrollBatchRepository payrollBatchRepository;
+    private PayrollService payrollService;
+    private PayrollRunScheduler payrollRunScheduler;
+    private PayrollScheduleServiceImpl scheduleService;
+
+    private final UUID scheduleId = UUID.randomUUID();
+    private final UUID batchId = UUID.randomUUID();
+    private PayrollSchedule schedule;
+
+    @BeforeEach
+    void setUp() {
+        payrollScheduleRepository = mock(PayrollScheduleRepository.class);
+        payrollBatchRepository = mock(PayrollBatchRepository.class);
+        payrollService = mock(PayrollService.class);
+        payrollRunScheduler = mock(PayrollRunScheduler.class);
+        scheduleService = new PayrollScheduleServiceImpl(payrollScheduleRepository, payrollBatchRepository,
+                mock(CompanyRepository.class), mock(AccountRepository.class), payrollService,
+                payrollRunScheduler, mock(PayrollScheduleMapper.class), mock(PlatformTransactionManager.class));
+
+        schedule = PayrollSchedule.builder()
+                .id(scheduleId)
+                .company(Company.builder().id(UUID.randomUUID()).build())
+                .fundingAccountId(UUID.randomUUID())
+                .name("Monthly payroll")
+                .baseSalary(new BigDecimal("30000.00"))
+                .dayOfMonth(25)
+                .nextPayday(PAYDAY)
+                .pendingBatchId(batchId)
+                .build();
+        when(payrollScheduleRepository.findDueIds(PAYDAY)).thenReturn(List.of(scheduleId));
+        when(payrollScheduleRepository.findById(scheduleId)).thenReturn(Optional.of(schedule));
+        when(payrollRunScheduler.submit(batchId)).thenReturn(run(PayrollRunStatus.State.QUEUED, null));
+    }
+
+    @Test
+    void submitsThePendingBatchAndStaysOnPaydayUntilItIsPaid() {
+        batchIn(PayrollStatus.PENDING);
+
+        assertThat(scheduleService.disburseDue(PAYDAY)).isEqualTo(1);
+        assertThat(scheduleService.disburseDue(PAYDAY)).isEqualTo(1);
+
+        // Every tick resubmits; the run scheduler returns the queued or running run
+        verify(payrollRunScheduler, times(2)).submit(batchId);
+        assertThat(schedule.getNextPayday()).isEqualTo(PAYDAY);
+        assertThat(schedule.getPendingBatchId()).isEqualTo(batchId);
+    }
+
+    @Test
+    void resubmitsABatchWhoseRunFailed() {
+        batchIn(PayrollStatus.PENDING);
+        when(payrollRunScheduler.getRun(batchId))
+                .thenReturn(Optional.of(run(PayrollRunStatus.State.FAILED, "Insufficient funds")));
+
+        scheduleService.disburseDue(PAYDAY);
+
+        verify(payrollRunScheduler).submit(batchId);
+        assertThat(schedule.getNextPayday()).isEqualTo(PAYDAY);
+    }
+
+    @Test
+    void movesToTheNextPaydayOnceTheBatchLeftPending() {
+        batchIn(PayrollStatus.COMPLETED);
+
+        scheduleService.disburseDue(PAYDAY);
+
+        verify(payrollRunScheduler, never()).submit(any());
+        verify(payrollScheduleRepository).save(schedule);
+        assertThat(schedule.getNextPayday()).isEqualTo(LocalDate.of(2026, 11, 25));
+        assertThat(schedule.getPendingBatchId()).isNull();
+    }
+
+    @Test
+    void leavesBatchesOfManualSchedulesToBeProcessedByHand() {
+        schedule.setAutoProcess(false);
+        batchIn(PayrollStatus.PENDING);
+
+        scheduleService.disburseDue(PAYDAY);
+
+        verify(payrollRunScheduler, never()).submit(any());
+        assertThat(schedule.getNextPayday()).isEqualTo(PAYDAY);
+        assertThat(schedule.getPendingBatchId()).isEqualTo(batchId);
+    }
+
+    @Test
+    void staysOnPaydayWhileAManualBatchBlocksGeneration() {
+        schedule.setPendingBatchId(null);
+        UUID companyId = schedule.getCompany().getId();
+        when(payrollBatchRepository.findFirstActiveByCompanyIdAndPayrollStatus(companyId, PayrollStatus.PENDING))
+                .thenReturn(Optional.of(PayrollBatch.builder().id(UUID.randomUUID()).build()));
+
+        scheduleService.disburseDue(PAYDAY);
+
+        verify(payrollService, never()).createPayrollBatch(any(), any());
+        verify(payrollRunScheduler, never()).submit(any());
+        assertThat(schedule.getNextPayday()).isEqualTo(PAYDAY);
+        assertThat(schedule.getPendingBatchId()).isNull();
+
+        // Once the manual batch is processed, the next tick generates and submits this payday's batch
+        when(payrollBatchRepository.findFirstActiveByCompanyIdAndPayrollStatus(companyId, PayrollStatus.PENDING))
+                .thenReturn(Optional.empty());
+        when(payrollService.createPayrollBatch(any(), any()))
+                .thenReturn(PayrollBatchResponse.builder().id(batchId).build());
+        batchIn(PayrollStatus.PENDING);
+
+        scheduleService.disburseDue(PAYDAY);
+
+        verify(payrollRunScheduler).submit(batchId);
+        assertThat(schedule.getNextPayday()).isEqualTo(PAYDAY);
+        assertThat(schedule.getPendingBatchId()).isEqualTo(batchId);
+    }
+
+    private void batchIn(PayrollStatus status) {
+        when(payrollBatchRepository.findById(batchId)).thenReturn(Optional.of(PayrollBatch.builder()
+                .id(batchId)
+                .payrollStatus(status)
+                .company(schedule.getCompany())
+                .fundingAccountId(schedule.getFundingAccountId())
+                .build()));
+    }
+
+    private PayrollRunStatus run(PayrollRunStatus.State state, String error) {
+        return new PayrollRunStatus(batchId, schedule.getCompany().getId(), schedule.getFundingAccountId(), 10, state,
+                Instant.now(), null, null, null, error);
+    }
+}
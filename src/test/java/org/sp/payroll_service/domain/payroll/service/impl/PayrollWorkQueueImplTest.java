@@ -0,0 +1,215 @@
+package org.sp.payroll_service.domain.payroll.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sp.payroll_service.api.payroll.mapper.PayrollItemMapper;
+import org.sp.payroll_service.config.NodeIdentity;
+import org.sp.payroll_service.domain.payroll.exception.PayrollProcessingException;
+import org.sp.payroll_service.domain.payroll.service.transaction.TransactionStrategyService;
+import org.sp.payroll_service.domain.payroll.service.transaction.TransferTransactionExecutor;
+import org.sp.payroll_service.domain.wallet.service.LedgerService;
+import org.sp.payroll_service.repository.AccountRepository;
+import org.sp.payroll_service.repository.PayrollBatchRepository;
+import org.sp.payroll_service.repository.PayrollItemRepository;
+import org.sp.payroll_service.repository.TransactionRepository;
+import org.sp.payroll_service.support.ChangelogDatabase;
+import org.sp.payroll_service.support.TestData;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Chunk claiming, lease expiry and claim fencing of the work queue against H2. Claimed chunks are
+ * handed to a recording executor instead of running, so each test decides when a node's worker
+ * runs; every transfer is rejected, which takes the worker down its fail-the-chunk path.
+ */
+class PayrollWorkQueueImplTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(1);
+    private static final int MAX_ATTEMPTS = 2;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private TransferTransactionExecutor transferTransactionExecutor;
+    private UUID batchId;
+
+    @BeforeEach
+    void setUp() {
+        database = ChangelogDatabase.create();
+        jdbcTemplate = new JdbcTemplate(database);
+        transferTransactionExecutor = mock(TransferTransactionExecutor.class);
+        when(transferTransactionExecutor.execute(any())).thenThrow(new PayrollProcessingException("Transfer rejected"));
+
+        TestData testData = new TestData(jdbcTemplate);
+        UUID companyId = testData.company();
+        batchId = testData.batch(companyId, testData.account(new BigDecimal("1000.00")), "PROCESSING",
+                new BigDecimal("400"), BigDecimal.ZERO);
+        // Small ids sort the same in Java and in the database, so each chunk's range holds two items
+        for (long item = 1; item <= 4; item++) {
+            UUID employeeId = testData.employee(companyId, testData.account(BigDecimal.ZERO));
+            testData.item(itemId(item), batchId, employeeId, new BigDecimal("100"), "PROCESSING");
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        for (int chunk = 0; chunk < 2; chunk++) {
+            jdbcTemplate.update("INSERT INTO payroll_work_chunks (id, batch_id, chunk_no, first_item_id, last_item_id, "
+                            + "item_count, status, created_at) VALUES (?, ?, ?, ?, ?, 2, 'PENDING', ?)",
+                    UUID.randomUUID(), batchId, chunk, itemId(chunk * 2L + 1), itemId(chunk * 2L + 2), now);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void claimsUpToWorkerCapacityAndLeavesLiveLeasesAlone() {
+        List<Runnable> startedOnA = new ArrayList<>();
+        PayrollWorkQueueImpl nodeA = queue("node-a", startedOnA);
+        PayrollWorkQueueImpl nodeB = queue("node-b", new ArrayList<>());
+
+        assertThat(nodeA.claimAndRun()).isEqualTo(2);
+        assertThat(startedOnA).hasSize(2);
+        for (int chunk = 0; chunk < 2; chunk++) {
+            assertThat(chunk(chunk))
+                    .containsEntry("status", "CLAIMED")
+                    .containsEntry("attempts", 1);
+            assertThat((String) chunk(chunk).get("owner")).startsWith("node-a");
+        }
+
+        assertThat(nodeB.claimAndRun()).isZero();
+        assertThat(nodeA.renewLeases()).isEqualTo(2);
+    }
+
+    @Test
+    void expiredLeaseIsReclaimedAndFencesTheFormerOwner() {
+        List<Runnable> startedOnA = new ArrayList<>();
+        List<Runnable> startedOnB = new ArrayList<>();
+        PayrollWorkQueueImpl nodeA = queue("node-a", startedOnA);
+        PayrollWorkQueueImpl nodeB = queue("node-b", startedOnB);
+
+        nodeA.claimAndRun();
+        expireLease(0);
+
+        assertThat(nodeB.claimAndRun()).isEqualTo(1);
+        assertThat(chunk(0)).containsEntry("status", "CLAIMED").containsEntry("attempts", 2);
+        assertThat((String) chunk(0).get("owner")).startsWith("node-b");
+        // Node A only keeps the lease it still holds
+        assertThat(nodeA.renewLeases()).isEqualTo(1);
+
+        // Node A's stale worker for chunk 0 fails its transfer but cannot touch the re-claimed chunk
+        startedOnA.get(0).run();
+        assertThat(chunk(0)).containsEntry("status", "CLAIMED").containsEntry("attempts", 2);
+        assertThat(itemStatus(1)).isEqualTo("PROCESSING");
+        assertThat(itemStatus(2)).isEqualTo("PROCESSING");
+
+        startedOnB.get(0).run();
+        assertThat(chunk(0)).containsEntry("status", "FAILED").containsEntry("failed_count", 2);
+        assertThat(itemStatus(1)).isEqualTo("FAILED");
+        assertThat(itemStatus(2)).isEqualTo("FAILED");
+        assertThat(itemStatus(3)).isEqualTo("PROCESSING");
+        assertThat(batchStatus()).isEqualTo("PROCESSING");
+    }
+
+    @Test
+    void exhaustedChunksFailTheirItemsAndFinalizeTheBatch() {
+        PayrollWorkQueueImpl nodeA = queue("node-a", new ArrayList<>());
+        PayrollWorkQueueImpl nodeB = queue("node-b", new ArrayList<>());
+
+        nodeA.claimAndRun();
+        jdbcTemplate.update("UPDATE payroll_work_chunks SET attempts = ?", MAX_ATTEMPTS);
+        expireLease(0);
+        expireLease(1);
+
+        // Out of attempts: nobody may claim them again
+        assertThat(nodeB.claimAndRun()).isZero();
+
+        assertThat(nodeB.failExhaustedChunks()).isEqualTo(2);
+        assertThat(chunk(0)).containsEntry("status", "FAILED");
+        assertThat(chunk(1)).containsEntry("status", "FAILED");
+        for (long item = 1; item <= 4; item++) {
+            assertThat(itemStatus(item)).isEqualTo("FAILED");
+        }
+        assertThat(batchStatus()).isEqualTo("FAILED");
+        assertThat(nodeB.failExhaustedChunks()).isZero();
+    }
+
+    @Test
+    void skipLockedClaimPassesOverChunksLockedByAnotherPoller() throws Exception {
+        PayrollWorkQueueImpl nodeB = queue("node-b", new ArrayList<>());
+        // The PostgreSQL claim path, which H2 supports as well
+        ReflectionTestUtils.setField(nodeB, "skipLocked", Boolean.TRUE);
+
+        try (Connection otherPoller = database.getConnection()) {
+            otherPoller.setAutoCommit(false);
+            try (Statement statement = otherPoller.createStatement()) {
+                statement.executeQuery("SELECT id FROM payroll_work_chunks WHERE chunk_no = 0 FOR UPDATE").close();
+            }
+
+            assertThat(nodeB.claimAndRun()).isEqualTo(1);
+            assertThat(chunk(0)).containsEntry("status", "PENDING");
+            assertThat(chunk(1)).containsEntry("status", "CLAIMED");
+            assertThat((String) chunk(1).get("owner")).startsWith("node-b");
+            otherPoller.rollback();
+        }
+    }
+
+    private PayrollWorkQueueImpl queue(String node, List<Runnable> started) {
+        ExecutorService executor = mock(ExecutorService.class);
+        doAnswer(invocation -> started.add(invocation.getArgument(0))).when(executor).execute(any(Runnable.class));
+        PayrollWorkQueueImpl queue = new PayrollWorkQueueImpl(jdbcTemplate, new DataSourceTransactionManager(database),
+                mock(PayrollBatchRepository.class), mock(PayrollItemRepository.class), mock(AccountRepository.class),
+                mock(TransactionRepository.class), mock(TransactionStrategyService.class), transferTransactionExecutor,
+                mock(LedgerService.class), mock(PayrollItemMapper.class), new NodeIdentity(node), executor);
+        ReflectionTestUtils.setField(queue, "enabled", true);
+        ReflectionTestUtils.setField(queue, "chunkSize", 2);
+        ReflectionTestUtils.setField(queue, "workerThreads", 2);
+        ReflectionTestUtils.setField(queue, "leaseDuration", LEASE);
+        ReflectionTestUtils.setField(queue, "maxAttempts", MAX_ATTEMPTS);
+        return queue;
+    }
+
+    private void expireLease(int chunkNo) {
+        jdbcTemplate.update("UPDATE payroll_work_chunks SET lease_expires_at = ? WHERE chunk_no = ?",
+                Timestamp.from(Instant.now().minusSeconds(1)), chunkNo);
+    }
+
+    private Map<String, Object> chunk(int chunkNo) {
+        return jdbcTemplate.queryForMap(
+                "SELECT status, owner, attempts, failed_count FROM payroll_work_chunks WHERE chunk_no = ?", chunkNo);
+    }
+
+    private String itemStatus(long item) {
+        return jdbcTemplate.queryForObject("SELECT payroll_item_status FROM payroll_items WHERE id = ?",
+                String.class, itemId(item));
+    }
+
+    private String batchStatus() {
+        return jdbcTemplate.queryForObject("SELECT payroll_status FROM payroll_batches WHERE id = ?",
+                String.class, batchId);
+    }
+
+    private static UUID itemId(long item) {
+        return new UUID(0L, item);
+    }
+}
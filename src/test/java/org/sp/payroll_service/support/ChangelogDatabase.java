@@ -0,0 +1,68 @@
+package org.sp.payroll_service.support;
+
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.List;
+
+/**
+ * H2 databases holding the schema and seed data of the application's Liquibase changelog, for
+ * tests that run a service's JDBC code against the real tables. The changelog runs once per test
+ * JVM; every database after that is restored from an H2 script of the migrated one.
+ */
+public final class ChangelogDatabase {
+
+    private static final String CHANGELOG = "classpath:db/changelog/db.changelog-master.xml";
+
+    private static List<String> script;
+
+    private ChangelogDatabase() {
+    }
+
+    /**
+     * Creates a new, uniquely named H2 database migrated to the current changelog.
+     */
+    public static EmbeddedDatabase create() {
+        List<String> statements = script();
+        EmbeddedDatabase database = newDatabase();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        statements.forEach(jdbcTemplate::execute);
+        return database;
+    }
+
+    private static synchronized List<String> script() {
+        if (script == null) {
+            EmbeddedDatabase migrated = newDatabase();
+            try {
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(migrated);
+                // Default of the changelog's UUID id columns, built into PostgreSQL only
+                jdbcTemplate.execute("CREATE ALIAS GEN_RANDOM_UUID FOR 'java.util.UUID.randomUUID'");
+
+                SpringLiquibase liquibase = new SpringLiquibase();
+                liquibase.setDataSource(migrated);
+                liquibase.setChangeLog(CHANGELOG);
+                liquibase.setResourceLoader(new DefaultResourceLoader());
+                liquibase.afterPropertiesSet();
+
+                script = jdbcTemplate.queryForList("SCRIPT", String.class);
+            } catch (LiquibaseException e) {
+                throw new IllegalStateException("Changelog could not be applied to H2", e);
+            } finally {
+                migrated.shutdown();
+            }
+        }
+        return script;
+    }
+
+    private static EmbeddedDatabase newDatabase() {
+        return new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package org.sp.payroll_service.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Inserts rows that satisfy the constraints of a {@link ChangelogDatabase}, filling the columns a
+ * test does not care about and reusing the seeded company and branches.
+ */
+public final class TestData {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicInteger sequence = new AtomicInteger();
+    private UUID gradeId;
+
+    public TestData(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The company of the seed data.
+     */
+    public UUID company() {
+        return jdbcTemplate.queryForObject("SELECT id FROM companies ORDER BY created_at LIMIT 1", UUID.class);
+    }
+
+    public UUID user() {
+        UUID userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, username, password_hash, role) VALUES (?, ?, 'x', 'EMPLOYEE')",
+                userId, "test-user-" + sequence.incrementAndGet());
+        return userId;
+    }
+
+    public UUID account(BigDecimal balance) {
+        UUID accountId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO accounts (id, owner_type, owner_id, account_type, account_number, "
+                        + "current_balance, branch_id) VALUES (?, 'COMPANY', ?, 'CURRENT', ?, ?, "
+                        + "(SELECT id FROM branch ORDER BY branch_name LIMIT 1))",
+                accountId, UUID.randomUUID(), "TEST" + sequence.incrementAndGet(), balance);
+        return accountId;
+    }
+
+    /**
+     * An employee of the company, paid into the given account.
+     */
+    public UUID employee(UUID companyId, UUID accountId) {
+        UUID employeeId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO employees (id, user_id, company_id, account_id, grade_id, code, name) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)", employeeId, user(), companyId, accountId, grade(),
+                String.valueOf(9000 + sequence.incrementAndGet()), "Test employee");
+        return employeeId;
+    }
+
+    public UUID batch(UUID companyId, UUID fundingAccountId, String status, BigDecimal totalAmount,
+                      BigDecimal executedAmount) {
+        UUID batchId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO payroll_batches (id, name, payroll_month, payroll_status, company_id, "
+                        + "funding_account_id, total_amount, executed_amount) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                batchId, "Test batch " + sequence.incrementAndGet(), LocalDate.now().withDayOfMonth(1), status,
+                companyId, fundingAccountId, totalAmount, executedAmount);
+        return batchId;
+    }
+
+    public void item(UUID itemId, UUID batchId, UUID employeeId, BigDecimal amount, String status) {
+        jdbcTemplate.update("INSERT INTO payroll_items (id, batch_id, employee_id, amount, payroll_item_status) "
+                + "VALUES (?, ?, ?, ?, ?)", itemId, batchId, employeeId, amount, status);
+    }
+
+    private UUID grade() {
+        if (gradeId == null) {
+            // Grades are seeded on PostgreSQL only
+            gradeId = UUID.randomUUID();
+            jdbcTemplate.update("INSERT INTO grades (id, name, rank) VALUES (?, 'Test grade', 1)", gradeId);
+        }
+        return gradeId;
+    }
+}